@@ -15,10 +15,12 @@ import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import javax.sql.DataSource;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.stream.Stream;
 
 /**
  * Provides the API for fetching and saving beans to a particular database.
@@ -1233,6 +1235,47 @@ public interface Database {
    */
   void insertAll(Collection<?> beans, InsertOptions options, Transaction transaction);
 
+  /**
+   * Bulk insert the beans returning the number of beans inserted.
+   * <p>
+   * This is intended for loading a large number of beans. The beans are pulled from the
+   * iterator as rows are written such that memory use is bounded and the source is only
+   * read as fast as the database consumes the rows.
+   * <p>
+   * On Postgres this uses {@code COPY ... FROM STDIN} and on other platforms uses JDBC batch
+   * (using multi-row inserts when {@link DatabaseBuilder#persistBatchMultiRow(boolean)} is enabled).
+   * <p>
+   * The beans are not added to the persistence context and persist is not cascaded. With COPY,
+   * persist listeners are not invoked for the beans and generated identity values are not set
+   * on the beans.
+   * <p>
+   * Without COPY the batch is flushed every batch size beans after which the beans are removed
+   * from the persistence context. Persist listeners and L2 cache notification are as per other
+   * inserts, that is, persist listeners are invoked for each bean after commit (and so for bean
+   * types with a persist listener the beans are held until the transaction completes).
+   *
+   * <pre>{@code
+   *
+   *   long rows = database.insertAll(Customer.class, customers.iterator());
+   *
+   * }</pre>
+   */
+  <T> long insertAll(Class<T> beanType, Iterator<T> beans);
+
+  /**
+   * Bulk insert the beans from the stream returning the number of beans inserted.
+   *
+   * @see #insertAll(Class, Iterator)
+   */
+  <T> long insertAll(Class<T> beanType, Stream<T> beans);
+
+  /**
+   * Bulk insert the beans with an explicit transaction.
+   *
+   * @see #insertAll(Class, Iterator)
+   */
+  <T> long insertAll(Class<T> beanType, Iterator<T> beans, Transaction transaction);
+
   /**
    * Execute explicitly passing a transaction.
    */
@@ -20,6 +20,7 @@ import jakarta.persistence.EnumType;
 import javax.sql.DataSource;
 import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -255,6 +256,19 @@ public interface DatabaseBuilder {
   @Deprecated
   DatabaseBuilder setPersistBatchSize(int persistBatchSize);
 
+  /**
+   * Set to true to execute batched inserts as multi-row {@code insert ... values (...),(...)}
+   * statements rather than JDBC addBatch() / executeBatch().
+   * <p>
+   * This is only used when the database platform supports multi-row insert with getGeneratedKeys
+   * returning all the generated keys (Postgres, MySQL, MariaDB, H2). Inserts using InsertOptions
+   * continue to use JDBC batch.
+   * <p>
+   * The rows are executed in statements of 128, 32, 8 and 1 rows such that only a small number
+   * of distinct statements are prepared per bean type.
+   */
+  DatabaseBuilder persistBatchMultiRow(boolean persistBatchMultiRow);
+
   /**
    * Set to true to disable lazy loading by default.
    * <p>
@@ -290,6 +304,30 @@ public interface DatabaseBuilder {
    */
   DatabaseBuilder setLazyLoadBatchSize(int lazyLoadBatchSize);
 
+  /**
+   * Set to true to adapt the lazy loading batch size based on the observed lazy loading.
+   * <p>
+   * The batch size is adapted per query origin and path. When lazy loading for a path
+   * typically requires more than one batch the batch size is increased and when lazy
+   * loading typically uses only a small part of the batch it is reduced. The batch sizes
+   * used match the IN clause bind padding sizes (5, 10, 20, 40, 50, 100) plus 200 and 500.
+   * <p>
+   * A batch size explicitly set on the query or on a fetch path is not adapted.
+   */
+  DatabaseBuilder lazyLoadBatchSizeAdaptive(boolean lazyLoadBatchSizeAdaptive);
+
+  /**
+   * Set to true to bind IN lists as a single array parameter using {@code = any(?)} on H2.
+   * <p>
+   * With array binding a query has the same SQL regardless of the number of values in
+   * the IN list (rather than padding the IN list to bucket sizes) such that lazy loading,
+   * secondary queries and id IN queries use a single statement and query plan.
+   * <p>
+   * Postgres based platforms (Postgres, Yugabyte, CockroachDB) always use array binding.
+   * UUID and binary values continue to use a bind parameter per value on H2.
+   */
+  DatabaseBuilder bindInArray(boolean bindInArray);
+
   /**
    * Set the clock used for setting the timestamps (e.g. @UpdatedTimestamp) on objects.
    */
@@ -888,6 +926,48 @@ public interface DatabaseBuilder {
   @Deprecated
   DatabaseBuilder setBackgroundExecutorWrapper(BackgroundExecutorWrapper backgroundExecutorWrapper);
 
+  /**
+   * Set to true to run background tasks on virtual threads when running on Java 21 or later.
+   * <p>
+   * Tasks submitted to the background executor (post commit processing, cache notification,
+   * background fetching etc) then each run on a new virtual thread rather than on a cached
+   * pool of platform threads. Scheduled tasks continue to use platform threads.
+   * <p>
+   * Transactions are held per thread such that each virtual thread has its own transaction
+   * scope (and not the scope of the carrier thread).
+   */
+  DatabaseBuilder backgroundExecutorVirtualThreads(boolean backgroundExecutorVirtualThreads);
+
+  /**
+   * Set the size of the bounded queue used for post commit processing.
+   * <p>
+   * By default (0) the post commit processing (L2 cache updates, BeanPersistListener
+   * notification, cluster broadcast and document store updates) is submitted to the
+   * background executor as a task per transaction. Under burst load that creates an
+   * unbounded number of queued tasks.
+   * <p>
+   * When set the committed transactions are instead added to a bounded queue that is
+   * consumed by a dedicated thread. The consumer takes the queued transactions in batches
+   * merging the L2 cache changes (per bean type) and cluster events of the batch such that
+   * these are applied and sent once per batch. When the queue is full the
+   * {@link #postCommitOverflow(PostCommitOverflow)} policy applies.
+   */
+  DatabaseBuilder postCommitQueueSize(int postCommitQueueSize);
+
+  /**
+   * Set the policy used when the bounded post commit queue is full. Defaults to
+   * {@link PostCommitOverflow#BLOCK}.
+   */
+  DatabaseBuilder postCommitOverflow(PostCommitOverflow postCommitOverflow);
+
+  /**
+   * Set the executor used to execute queries via findListAsync(), findOneAsync() and findCountAsync().
+   * <p>
+   * When not set a virtual thread per task executor is used when running on Java 21 or later and
+   * otherwise the background executor is used.
+   */
+  DatabaseBuilder asyncQueryExecutor(Executor asyncQueryExecutor);
+
   /**
    * Enable tenant-partitioned caches. When enabled each tenant gets its own cache namespace,
    * improving cache-hit ratio by preventing cross-tenant key collisions.
@@ -895,6 +975,75 @@ public interface DatabaseBuilder {
    */
   DatabaseBuilder tenantPartitionedCache(boolean tenantPartitionedCache);
 
+  /**
+   * Set to true to use the segmented W-TinyLFU implementation for the local L2 bean,
+   * natural key and collection ids caches.
+   * <p>
+   * This cache uses a frequency sketch to decide admission and evicts in O(1) as entries
+   * are added, rather than periodically sorting all entries by last access time. This is
+   * recommended for caches holding a large number of entries.
+   */
+  DatabaseBuilder cacheTinyLfu(boolean cacheTinyLfu);
+
+  /**
+   * Set to true to invalidate L2 query cache entries at row level for updates and deletes.
+   * <p>
+   * By default any modification to a table invalidates all the query cache entries that
+   * depend on that table. With row level invalidation query cache entries additionally
+   * hold the ids of the result and the properties used by the predicates. An update or
+   * delete then only invalidates the entries that contain a modified id or where the
+   * modified properties are used by the predicates (such that the row could newly match).
+   * <p>
+   * Inserts, bulk updates and remote (cluster) modifications continue to invalidate at
+   * table level. Queries with predicates other than simple property expressions also
+   * invalidate at table level.
+   */
+  DatabaseBuilder queryCacheRowInvalidation(boolean queryCacheRowInvalidation);
+
+  /**
+   * Set the bean types whose queries are evaluated in memory (without hitting the database).
+   * <p>
+   * Each entry is the bean class name optionally followed by properties to index separated
+   * by colons, for example {@code "org.example.Country:code:region"}.
+   *
+   * @see #addInMemoryQueryType(Class, String...)
+   */
+  DatabaseBuilder inMemoryQueryTypes(List<String> inMemoryQueryTypes);
+
+  /**
+   * Add a bean type whose queries are evaluated in memory with optional properties to index.
+   * <p>
+   * This is intended for read mostly reference data (countries, currencies, product types etc).
+   * All the beans of the type are loaded into a snapshot held in the L2 query cache of the type
+   * and queries using supported expressions (eq, ne, lt, gt, between, in, like, isNull and
+   * and/or/not junctions) with order by, first rows and max rows are evaluated against the
+   * snapshot. Equal to and in expressions on indexed properties use a hash index. Queries that
+   * are not supported in memory (for example using fetch joins, raw expressions, formula or
+   * lazy loaded properties) execute against the database as normal.
+   * <p>
+   * The bean type must have the query cache enabled via {@code @Cache(enableQueryCache=true)}
+   * and the snapshot is invalidated in the same way as the query cache (any modification to
+   * the table). Types using inheritance, multi-tenancy, drafts or read auditing are not supported.
+   * <p>
+   * String (and char) expressions and order by are only evaluated in memory when the database
+   * compares Strings the same way as Java. With H2 String equal to, like and ordering are
+   * evaluated in memory. With Postgres (deterministic default collation) equal to and like are
+   * evaluated in memory but ordering and range expressions (lt, gt, between) on Strings execute
+   * against the database as the collation ordering is locale specific. With other platforms
+   * (for example MySQL and SQL Server with case insensitive default collations) String expressions
+   * and order by execute against the database and String properties can not be indexed.
+   *
+   * <pre>{@code
+   *
+   *   config.addInMemoryQueryType(Country.class, "code");
+   *
+   *   // evaluated in memory using the index on code
+   *   Country nz = DB.find(Country.class).where().eq("code", "NZ").findOne();
+   *
+   * }</pre>
+   */
+  DatabaseBuilder addInMemoryQueryType(Class<?> beanType, String... indexProperties);
+
   /**
    * Set the L2 cache default max size.
    */
@@ -1868,6 +2017,24 @@ public interface DatabaseBuilder {
   @Deprecated
   DatabaseBuilder setPersistenceContextScope(PersistenceContextScope persistenceContextScope);
 
+  /**
+   * Set to true to use a persistence context optimised for loading large query results.
+   * <p>
+   * This persistence context does not take a lock while used by a single thread and holds
+   * beans with Long and Integer ids in tables keyed by primitive long.
+   */
+  DatabaseBuilder lockFreePersistenceContext(boolean lockFreePersistenceContext);
+
+  /**
+   * Set to true to compile a row reader per query plan for loading beans.
+   * <p>
+   * The row reader is built once when the query plan is created and reads the scalar
+   * properties of each bean by position, skipping the per row and per property checks
+   * made when walking the query tree. Queries that lazy load, use inheritance or RawSql
+   * continue to use the normal loading.
+   */
+  DatabaseBuilder compiledRowReader(boolean compiledRowReader);
+
   /**
    * Set the ClassLoadConfig which is used to detect Joda, Java8 types etc and also
    * create new instances of plugins given a className.
@@ -2031,6 +2198,34 @@ public interface DatabaseBuilder {
   @Deprecated
   DatabaseBuilder setQueryPlanTTLSeconds(int queryPlanTTLSeconds);
 
+  /**
+   * Set the maximum number of query plans held per bean type. Defaults to 1000.
+   * <p>
+   * When exceeded the least frequently and least recently used plans are evicted such
+   * that bursts of one off query shapes do not grow the query plan cache. Set to 0 for
+   * no limit (plans are then only trimmed by queryPlanTTLSeconds).
+   */
+  DatabaseBuilder queryPlanCacheMaxSize(int queryPlanCacheMaxSize);
+
+  /**
+   * Set the file used to snapshot the observed query plans.
+   * <p>
+   * On shutdown the shape of each cached ORM query plan (select, fetch, where, order by
+   * and limit but no bind values) is written to this file along with a checksum of the
+   * bean descriptor. On start the shapes for descriptors with a matching checksum are
+   * replayed to build the query plans before the first requests arrive.
+   * <p>
+   * Query plans that can not be expressed as a replayable shape (raw sql, for update,
+   * sub-queries etc) are not included.
+   */
+  DatabaseBuilder queryPlanSnapshotFile(String queryPlanSnapshotFile);
+
+  /**
+   * Set to false to replay the query plan snapshot on start before the database is
+   * returned. Defaults to true to replay the snapshot in the background.
+   */
+  DatabaseBuilder queryPlanSnapshotBackground(boolean queryPlanSnapshotBackground);
+
   /**
    * Set the EXPLAIN (with options) to use for query plan capture.
    */
@@ -2096,6 +2291,16 @@ public interface DatabaseBuilder {
   @Deprecated
   DatabaseBuilder setQueryPlanEnable(boolean queryPlanEnable);
 
+  /**
+   * Set to true for the query plan and transaction timed metrics to be histogram backed.
+   * <p>
+   * The metrics then additionally report latency percentiles (p50, p95, p99) rather than
+   * just the mean and max. The histogram uses log-linear buckets with lock free recording
+   * at the cost of ~4KB of memory per metric (up to ~15KB for metrics that are recorded
+   * by contending threads).
+   */
+  DatabaseBuilder metricsHistogram(boolean metricsHistogram);
+
   /**
    * Set the query plan collection threshold in microseconds.
    * <p>
@@ -2168,6 +2373,30 @@ public interface DatabaseBuilder {
   @Deprecated
   DatabaseBuilder setQueryPlanCaptureMaxCount(int queryPlanCaptureMaxCount);
 
+  /**
+   * Set to true to enable continuous capture of the query plans of slow query executions.
+   * <p>
+   * Each query plan tracks a running estimate of its p99 execution time. Executions slower
+   * than that (and slower than {@link #queryPlanSlowCaptureMinMicros(long)}) have their bind
+   * values captured and the database query plan (EXPLAIN) is collected asynchronously using
+   * the background executor. The last captures per query plan are held in a bounded ring
+   * buffer and are obtained via {@link io.ebean.meta.MetaInfoManager#queryPlanSlowCaptures()}.
+   * <p>
+   * This implicitly enables bind capture (as per queryPlanEnable).
+   */
+  DatabaseBuilder queryPlanSlowCapture(boolean queryPlanSlowCapture);
+
+  /**
+   * Set the number of slow query plan captures held per query plan. Defaults to 5.
+   */
+  DatabaseBuilder queryPlanSlowCaptureSize(int queryPlanSlowCaptureSize);
+
+  /**
+   * Set the minimum execution time in micros for a query to be a slow capture candidate.
+   * Defaults to 10,000 (10 millis) such that fast queries are never explained.
+   */
+  DatabaseBuilder queryPlanSlowCaptureMinMicros(long queryPlanSlowCaptureMinMicros);
+
   /**
    * Set the listener used to process captured query plans.
    */
@@ -2215,6 +2444,9 @@ public interface DatabaseBuilder {
    * When using query beans that also generates a module info class that
    * can register the entity bean classes (to aDatabaseBuilder classpath scanning).
    * This is on by default and setting this to false turns it off.
+   * <p>
+   * The generated deployment metadata (used to create the bean properties without
+   * reflecting on the generic types and annotations) is also only used when this is on.
    */
   default DatabaseBuilder loadModuleInfo(boolean loadModuleInfo) {
     return setLoadModuleInfo(loadModuleInfo);
@@ -2226,6 +2458,15 @@ public interface DatabaseBuilder {
   @Deprecated
   DatabaseBuilder setLoadModuleInfo(boolean loadModuleInfo);
 
+  /**
+   * Set the number of threads used to deploy the entity beans at startup.
+   * <p>
+   * Defaults to 1 (serial). Set to 0 to use the number of available processors. With a
+   * large number of entity beans this reduces startup time as reading the annotations
+   * and the association annotations for the bean types is performed in parallel.
+   */
+  DatabaseBuilder deployParallelism(int deployParallelism);
+
   /**
    * Set if generated SQL SELECT should include the query label as an
    * inline SQL comment (to help reference back from the SQL to the code
@@ -2413,6 +2654,11 @@ public interface DatabaseBuilder {
      */
     int getPersistBatchSize();
 
+    /**
+     * Return true if batched inserts use multi-row insert statements.
+     */
+    boolean isPersistBatchMultiRow();
+
     /**
      * Gets the query batch size. This defaults to 100.
      *
@@ -2432,6 +2678,16 @@ public interface DatabaseBuilder {
      */
     int getLazyLoadBatchSize();
 
+    /**
+     * Return true if the lazy loading batch size is adapted per origin and path.
+     */
+    boolean isLazyLoadBatchSizeAdaptive();
+
+    /**
+     * Return true if IN lists are bound as a single array parameter on H2.
+     */
+    boolean isBindInArray();
+
 
     /**
      * Return the default JDBC fetchSize hint for findList queries.
@@ -2570,6 +2826,26 @@ public interface DatabaseBuilder {
      */
     BackgroundExecutorWrapper getBackgroundExecutorWrapper();
 
+    /**
+     * Return true if background tasks run on virtual threads (when available).
+     */
+    boolean isBackgroundExecutorVirtualThreads();
+
+    /**
+     * Return the size of the bounded post commit queue (0 for a background task per transaction).
+     */
+    int getPostCommitQueueSize();
+
+    /**
+     * Return the policy used when the bounded post commit queue is full.
+     */
+    PostCommitOverflow getPostCommitOverflow();
+
+    /**
+     * Return the executor used for async queries (null for the default).
+     */
+    Executor getAsyncQueryExecutor();
+
     /**
      * Return true if dirty beans are automatically persisted.
      */
@@ -2580,6 +2856,21 @@ public interface DatabaseBuilder {
      */
     boolean isTenantPartitionedCache();
 
+    /**
+     * Return true if the segmented W-TinyLFU local L2 cache should be used.
+     */
+    boolean isCacheTinyLfu();
+
+    /**
+     * Return true if L2 query cache entries are invalidated at row level for updates and deletes.
+     */
+    boolean isQueryCacheRowInvalidation();
+
+    /**
+     * Return the bean types (with optional index properties) whose queries are evaluated in memory.
+     */
+    List<String> getInMemoryQueryTypes();
+
     /**
      * Return the L2 cache default max size.
      */
@@ -3013,6 +3304,16 @@ public interface DatabaseBuilder {
      */
     PersistenceContextScope getPersistenceContextScope();
 
+    /**
+     * Return true if the persistence context optimised for large query results should be used.
+     */
+    boolean isLockFreePersistenceContext();
+
+    /**
+     * Return true if query plans compile a row reader for loading beans.
+     */
+    boolean isCompiledRowReader();
+
     /**
      * Return the ClassLoadConfig which is used to detect Joda, Java8 types etc and also
      * create new instances of plugins given a className.
@@ -3071,6 +3372,21 @@ public interface DatabaseBuilder {
      */
     int getQueryPlanTTLSeconds();
 
+    /**
+     * Return the maximum number of query plans held per bean type.
+     */
+    int getQueryPlanCacheMaxSize();
+
+    /**
+     * Return the file used to snapshot the observed query plans.
+     */
+    String getQueryPlanSnapshotFile();
+
+    /**
+     * Return true if the query plan snapshot is replayed in the background.
+     */
+    boolean isQueryPlanSnapshotBackground();
+
     /**
      * Return the EXPLAIN (with options) to use for capturing query plans.
      */
@@ -3093,6 +3409,11 @@ public interface DatabaseBuilder {
      */
     boolean isQueryPlanEnable();
 
+    /**
+     * Return true if the query plan and transaction metrics are histogram backed.
+     */
+    boolean isMetricsHistogram();
+
     /**
      * Return the query plan collection threshold in microseconds.
      */
@@ -3122,6 +3443,21 @@ public interface DatabaseBuilder {
      */
     int getQueryPlanCaptureMaxCount();
 
+    /**
+     * Return true if query plans of slow query executions are captured continuously.
+     */
+    boolean isQueryPlanSlowCapture();
+
+    /**
+     * Return the number of slow query plan captures held per query plan.
+     */
+    int getQueryPlanSlowCaptureSize();
+
+    /**
+     * Return the minimum execution time in micros for a slow query plan capture.
+     */
+    long getQueryPlanSlowCaptureMinMicros();
+
     /**
      * Return the listener used to process captured query plans.
      */
@@ -3145,6 +3481,11 @@ public interface DatabaseBuilder {
      */
     boolean isLoadModuleInfo();
 
+    /**
+     * Return the number of threads used to deploy the entity beans (1 for serial).
+     */
+    int getDeployParallelism();
+
     /**
      * Return true if generated sql select query should include an inline sql comment with the
      * query label or profile location label.
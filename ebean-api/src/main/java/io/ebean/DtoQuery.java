@@ -4,6 +4,9 @@ import org.jspecify.annotations.NullMarked;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * Query for performing native SQL queries that return DTO Bean's.
@@ -47,6 +50,48 @@ public interface DtoQuery<T> extends StreamableQuery<DtoQuery<T>, T> {
    */
   QueryIterator<T> findIterate();
 
+  /**
+   * Execute the query processing each row via a reused {@link RowView}.
+   * <p>
+   * Rows are not mapped to DTO beans. Instead, the values of each row are read into a
+   * reused buffer with long, int and double columns held unboxed. This allows very large
+   * queries (e.g. analytics exports) to be processed with flat memory and no per row
+   * allocation. Use {@link #setBufferFetchSizeHint(int)} to control the JDBC fetch size.
+   *
+   * <pre>{@code
+   *
+   *   DB.findDto(Object.class, "select id, amount from payment")
+   *     .setBufferFetchSizeHint(1000)
+   *     .findEachRow(row -> {
+   *       long id = row.getLong(0);
+   *       double amount = row.getDouble(1);
+   *       ...
+   *     });
+   *
+   * }</pre>
+   *
+   * @param consumer Process the current row. The RowView must not be retained.
+   */
+  void findEachRow(Consumer<RowView> consumer);
+
+  /**
+   * Execute the query delivering chunks of beans to the consumer in parallel using the executor.
+   * <p>
+   * Rows are read and mapped to beans by the calling thread and each chunk (of up to batchSize
+   * beans) is processed by the consumer using the executor. At most {@code parallelism} chunks
+   * are in flight with the reading of further rows blocked until a chunk completes.
+   * <p>
+   * This method returns when all the chunks have been processed. If the consumer throws an
+   * exception reading stops and the exception is rethrown after in flight chunks complete.
+   *
+   * @param batchSize   The maximum number of beans in each chunk
+   * @param parallelism The maximum number of chunks being processed concurrently
+   * @param executor    The executor used to process the chunks
+   * @param consumer    Process a chunk of beans
+   * @throws IllegalArgumentException if batchSize or parallelism is less than 1
+   */
+  void findEach(int batchSize, int parallelism, Executor executor, Consumer<List<T>> consumer);
+
   /**
    * Bind all the parameters using index positions.
    * <p>
@@ -149,9 +194,25 @@ public interface DtoQuery<T> extends StreamableQuery<DtoQuery<T>, T> {
    * Gives the JDBC driver a hint as to the number of rows that should be
    * fetched from the database when more rows are needed for ResultSet.
    * </p>
+   * <p>
+   * When set this takes precedence over the default fetch size used for
+   * findEach, findEachRow, findIterate and findStream.
+   * </p>
    */
   DtoQuery<T> setBufferFetchSizeHint(int bufferFetchSizeHint);
 
+  /**
+   * Execute the query asynchronously returning the list of beans.
+   * <p>
+   * Cancelling the returned stage (via toCompletableFuture().cancel()) cancels the query.
+   */
+  CompletionStage<List<T>> findListAsync();
+
+  /**
+   * Execute the query asynchronously returning a single bean (or null).
+   */
+  CompletionStage<T> findOneAsync();
+
   /**
    * Return a PagedList for this query using firstRow and maxRows.
    * <p>
@@ -441,6 +441,27 @@ public class OrderBy<T> implements Serializable {
       this.ascending = ascending;
     }
 
+    /**
+     * Return the collation (null when not specified).
+     */
+    public String getCollation() {
+      return collation;
+    }
+
+    /**
+     * Return the nulls clause (null when not specified).
+     */
+    public String getNulls() {
+      return nulls;
+    }
+
+    /**
+     * Return the nulls high low position of "first" or "last" (null when not specified).
+     */
+    public String getHighLow() {
+      return highLow;
+    }
+
   }
 
   private void parse(String orderByClause) {
@@ -1,8 +1,11 @@
 package io.ebean;
 
+import io.ebean.text.json.JsonWriteOptions;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.io.OutputStream;
+
 /**
  * Object relational query for finding a List, Set, Map or single entity bean.
  * <p>
@@ -226,6 +229,46 @@ public interface Query<T> extends QueryBuilder<Query<T>, T> {
    */
   int update();
 
+  /**
+   * Execute the query streaming the results as a JSON array to the JsonWriter.
+   * <p>
+   * This is a convenience wrapper of {@link #findIterate()} that writes each bean as JSON as it
+   * is read such that large query results are written without holding all the beans in memory.
+   * Each row is still loaded into a bean (with the persistence context holding weak references
+   * as per findIterate) and the bean then written as JSON, that is, this does not write JSON
+   * directly from the ResultSet. The query itself is not modified.
+   * <p>
+   * Lazy loading is disabled such that the JSON contains the properties loaded by the
+   * select() and fetch() clauses (or FetchGroup) of the query unless path properties are
+   * specified on the JsonWriteOptions. A fetched ToMany path is loaded as per findIterate().
+   * <p>
+   * The JsonWriter is flushed but not closed.
+   *
+   * <pre>{@code
+   *
+   *   try (JsonWriter writer = DB.json().createGenerator(out)) {
+   *     DB.find(Customer.class)
+   *       .select("id, name")
+   *       .fetch("contacts", "firstName, lastName")
+   *       .writeJson(writer, null);
+   *   }
+   *
+   * }</pre>
+   *
+   * @param writer  The JsonWriter the array of beans is written to
+   * @param options The options used to write the JSON (can be null)
+   */
+  void writeJson(io.avaje.json.JsonWriter writer, @Nullable JsonWriteOptions options);
+
+  /**
+   * Execute the query streaming the results as a JSON array (UTF-8) to the OutputStream.
+   * <p>
+   * The OutputStream is flushed but not closed.
+   *
+   * @see #writeJson(io.avaje.json.JsonWriter, JsonWriteOptions)
+   */
+  void writeJson(OutputStream outputStream, @Nullable JsonWriteOptions options);
+
   /**
    * Set a named bind parameter. Named parameters have a colon to prefix the name.
    * <pre>{@code
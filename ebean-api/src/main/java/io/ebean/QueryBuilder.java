@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
@@ -871,4 +872,38 @@ public interface QueryBuilder<SELF extends QueryBuilder<SELF, T>, T> extends Que
    */
   <K> FutureMap<K,T> findFutureMap();
 
+  /**
+   * Execute the find list query asynchronously.
+   * <p>
+   * The query executes using the async query executor (virtual threads by default) in its
+   * own PersistenceContext. Cancelling the returned stage (via toCompletableFuture().cancel())
+   * cancels the query.
+   *
+   * <pre>{@code
+   *
+   *  CompletionStage<List<Order>> orders =
+   *    DB.find(Order.class)
+   *      .where().eq("status", Order.Status.NEW)
+   *      .findListAsync();
+   *
+   * }</pre>
+   *
+   * @return A CompletionStage for the list result of the query
+   */
+  CompletionStage<List<T>> findListAsync();
+
+  /**
+   * Execute the find one query asynchronously (completing with null when no bean is found).
+   *
+   * @see #findListAsync()
+   */
+  CompletionStage<T> findOneAsync();
+
+  /**
+   * Execute the find count query asynchronously.
+   *
+   * @see #findListAsync()
+   */
+  CompletionStage<Integer> findCountAsync();
+
 }
@@ -0,0 +1,92 @@
+package io.ebean;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A reused view of the current row used with {@link DtoQuery#findEachRow(java.util.function.Consumer)}.
+ * <p>
+ * The values of the current row are held in a buffer with BIGINT, INTEGER (SMALLINT, TINYINT)
+ * and DOUBLE (FLOAT, REAL) columns held unboxed as primitive values. Other column types are
+ * held as the object returned by the JDBC driver.
+ * <p>
+ * The same instance is reused for every row such that a large number of rows can be processed
+ * with flat memory. The view is only valid during the callback and MUST NOT be retained, read the
+ * values of interest instead.
+ * <p>
+ * Columns are identified by their index starting at 0.
+ *
+ * <pre>{@code
+ *
+ *   String sql = "select customer_id, sum(total) from orders group by customer_id";
+ *
+ *   DB.findDto(Object.class, sql)
+ *     .setBufferFetchSizeHint(1000)
+ *     .findEachRow(row -> {
+ *       long customerId = row.getLong(0);
+ *       double total = row.getDouble(1);
+ *       ...
+ *     });
+ *
+ * }</pre>
+ */
+@NullMarked
+public interface RowView {
+
+  /**
+   * Return the number of the current row (starting at 0).
+   */
+  long rowNumber();
+
+  /**
+   * Return the number of columns.
+   */
+  int columnCount();
+
+  /**
+   * Return the column label for the given column index.
+   */
+  String columnName(int index);
+
+  /**
+   * Return the index of the column with the given label (case insensitive) or -1 if not found.
+   */
+  int columnIndex(String columnName);
+
+  /**
+   * Return true if the value of the column is null.
+   */
+  boolean isNull(int index);
+
+  /**
+   * Return the value as a long (0 when null).
+   */
+  long getLong(int index);
+
+  /**
+   * Return the value as an int (0 when null).
+   */
+  int getInt(int index);
+
+  /**
+   * Return the value as a double (0 when null).
+   */
+  double getDouble(int index);
+
+  /**
+   * Return the value as a boolean (false when null).
+   */
+  boolean getBoolean(int index);
+
+  /**
+   * Return the value as a String.
+   */
+  @Nullable
+  String getString(int index);
+
+  /**
+   * Return the value (boxing primitive column values).
+   */
+  @Nullable
+  Object get(int index);
+}
@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -91,6 +92,18 @@ public interface SqlQuery extends Serializable, FindableQuery<SqlQuery, SqlRow>
    */
   void findEachRow(RowConsumer consumer);
 
+  /**
+   * Execute the query asynchronously returning the list of rows.
+   * <p>
+   * Cancelling the returned stage (via toCompletableFuture().cancel()) cancels the query.
+   */
+  CompletionStage<List<SqlRow>> findListAsync();
+
+  /**
+   * Execute the query asynchronously returning a single row (or null).
+   */
+  CompletionStage<SqlRow> findOneAsync();
+
   /**
    * Set one of more positioned parameters.
    * <p>
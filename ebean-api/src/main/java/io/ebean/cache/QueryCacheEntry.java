@@ -16,6 +16,9 @@ public final class QueryCacheEntry {
   private final Object value;
   private final Set<String> dependentTables;
   private final Instant timestamp;
+  private final String baseTable;
+  private final Set<Object> ids;
+  private final Set<String> predicateProperties;
 
   /**
    * Create with dependent tables and timestamp.
@@ -25,9 +28,26 @@ public final class QueryCacheEntry {
    * @param timestamp       The timestamp that the query uses to check for modifications
    */
   public QueryCacheEntry(Object value, Set<String> dependentTables, Instant timestamp) {
+    this(value, dependentTables, timestamp, null, null, null);
+  }
+
+  /**
+   * Create additionally with the ids of the result and predicate properties used for row level invalidation.
+   *
+   * @param value               The query result being cached
+   * @param dependentTables     The extra tables the query is dependent on (joins to)
+   * @param timestamp           The timestamp that the query uses to check for modifications
+   * @param baseTable           The base table of the root type of the query
+   * @param ids                 The ids of the beans in the result (null when not known)
+   * @param predicateProperties The properties the where and order by depend on (null when not known)
+   */
+  public QueryCacheEntry(Object value, Set<String> dependentTables, Instant timestamp, String baseTable, Set<Object> ids, Set<String> predicateProperties) {
     this.value = value;
     this.dependentTables = dependentTables;
     this.timestamp = timestamp;
+    this.baseTable = baseTable;
+    this.ids = ids;
+    this.predicateProperties = predicateProperties;
   }
 
   /**
@@ -50,4 +70,25 @@ public final class QueryCacheEntry {
   public Instant timestamp() {
     return timestamp;
   }
+
+  /**
+   * Return the base table of the root type of the query (null when row level information is not held).
+   */
+  public String baseTable() {
+    return baseTable;
+  }
+
+  /**
+   * Return the ids of the beans in the query result (null when not known).
+   */
+  public Set<Object> ids() {
+    return ids;
+  }
+
+  /**
+   * Return the properties the where and order by clauses depend on (null when not known).
+   */
+  public Set<String> predicateProperties() {
+    return predicateProperties;
+  }
 }
@@ -15,6 +15,8 @@ public class ContainerConfig {
   private String namespace;
   private String podName;
   private int port;
+  private int coalesceMillis;
+  private int coalesceMaxEvents = 100;
   private Properties properties;
 
   /**
@@ -73,6 +75,42 @@ public class ContainerConfig {
     this.port = port;
   }
 
+  /**
+   * Return the window in millis over which transaction events are coalesced before
+   * being broadcast to the cluster (0 for no coalescing).
+   */
+  public int getCoalesceMillis() {
+    return coalesceMillis;
+  }
+
+  /**
+   * Set the window in millis over which transaction events are coalesced before being
+   * broadcast to the cluster.
+   * <p>
+   * When set, the events committed within the window (or up to the coalesceMaxEvents) are
+   * merged into a single event per database with the table modifications and ids merged
+   * per bean type. The merged event writes numeric ids in a compact (varint delta) form
+   * and all the members of the cluster need to support reading that form.
+   */
+  public void setCoalesceMillis(int coalesceMillis) {
+    this.coalesceMillis = coalesceMillis;
+  }
+
+  /**
+   * Return the maximum number of transaction events coalesced into a single broadcast.
+   */
+  public int getCoalesceMaxEvents() {
+    return coalesceMaxEvents;
+  }
+
+  /**
+   * Set the maximum number of transaction events coalesced into a single broadcast.
+   * When this number of events is reached they are sent without waiting for the window.
+   */
+  public void setCoalesceMaxEvents(int coalesceMaxEvents) {
+    this.coalesceMaxEvents = coalesceMaxEvents;
+  }
+
   /**
    * Return true if clustering is active.
    */
@@ -114,6 +152,14 @@ public class ContainerConfig {
     if (portParam != null) {
       this.port = Integer.parseInt(portParam);
     }
+    String coalesceParam = properties.getProperty("ebean.cluster.coalesceMillis");
+    if (coalesceParam != null) {
+      this.coalesceMillis = Integer.parseInt(coalesceParam);
+    }
+    String coalesceMaxParam = properties.getProperty("ebean.cluster.coalesceMaxEvents");
+    if (coalesceMaxParam != null) {
+      this.coalesceMaxEvents = Integer.parseInt(coalesceMaxParam);
+    }
   }
 
   /**
@@ -27,6 +27,7 @@ import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -98,10 +99,16 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
    * <p>
    * NB: EntityClassRegister implementations are generated by querybean generator.
    * Having this on and registering entity classes means we don't need to manually
-   * write that code or use classpath scanning to find entity classes.
+   * write that code or use classpath scanning to find entity classes. The deployment
+   * metadata generated by querybean generator is also used when this is on.
    */
   private boolean loadModuleInfo = true;
 
+  /**
+   * The number of threads used to deploy the entity beans (1 for serial, 0 for the number of processors).
+   */
+  private int deployParallelism = 1;
+
   /**
    * When true then include a sql comment in generated SELECT queries with the query
    * label or profile location label.
@@ -221,6 +228,11 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
 
   private int persistBatchSize = 100;
 
+  /**
+   * Set to true to use multi-row insert statements for batched inserts.
+   */
+  private boolean persistBatchMultiRow;
+
   private EnumType defaultEnumType = EnumType.ORDINAL;
 
   private boolean disableLazyLoading;
@@ -230,6 +242,16 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
    */
   private int lazyLoadBatchSize = 100;
 
+  /**
+   * Set to true to adapt the lazy loading batch size per origin and path.
+   */
+  private boolean lazyLoadBatchSizeAdaptive;
+
+  /**
+   * Set to true to bind IN lists as a single array parameter on H2.
+   */
+  private boolean bindInArray;
+
   /**
    * The default batch size for 'query joins'.
    */
@@ -420,6 +442,16 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
    * The default PersistenceContextScope used if one is not explicitly set on a query.
    */
   private PersistenceContextScope persistenceContextScope = PersistenceContextScope.TRANSACTION;
+
+  /**
+   * Set to true to use the persistence context optimised for large query results.
+   */
+  private boolean lockFreePersistenceContext;
+
+  /**
+   * Set to true to compile a row reader per query plan for loading beans.
+   */
+  private boolean compiledRowReader;
   private JsonStream jsonStream;
   private boolean localTimeWithNanos;
   private boolean durationWithNanos;
@@ -432,8 +464,40 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
   private int backgroundExecutorShutdownSecs = 30;
   private BackgroundExecutorWrapper backgroundExecutorWrapper = new MdcBackgroundExecutorWrapper();
 
+  /**
+   * Set to true to use virtual threads for background tasks (when available).
+   */
+  private boolean backgroundExecutorVirtualThreads;
+
+  /**
+   * The size of the bounded post commit queue (0 for a background task per transaction).
+   */
+  private int postCommitQueueSize;
+
+  private PostCommitOverflow postCommitOverflow = PostCommitOverflow.BLOCK;
+
+  /**
+   * The executor used for async queries (defaults to virtual threads when available).
+   */
+  private Executor asyncQueryExecutor;
+
   private boolean tenantPartitionedCache;
 
+  /**
+   * Set to true to use the segmented W-TinyLFU local L2 cache for bean caches.
+   */
+  private boolean cacheTinyLfu;
+
+  /**
+   * Set to true to invalidate query cache entries at row level for updates and deletes.
+   */
+  private boolean queryCacheRowInvalidation;
+
+  /**
+   * The bean types (with optional index properties) whose queries are evaluated in memory.
+   */
+  private List<String> inMemoryQueryTypes = new ArrayList<>();
+
   // defaults for the L2 bean caching
 
   private int cacheMaxSize = 10000;
@@ -463,6 +527,21 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
    * Time to live for query plans - defaults to 5 minutes.
    */
   private int queryPlanTTLSeconds = 60 * 5;
+
+  /**
+   * Maximum number of query plans per bean type - defaults to 1000.
+   */
+  private int queryPlanCacheMaxSize = 1000;
+
+  /**
+   * File the observed query plan shapes are written to on shutdown and replayed from on start.
+   */
+  private String queryPlanSnapshotFile;
+
+  /**
+   * Set to false to replay the query plan snapshot in the foreground on start.
+   */
+  private boolean queryPlanSnapshotBackground = true;
   private String queryPlanExplain;
 
   /**
@@ -489,6 +568,11 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
    */
   private boolean notifyL2CacheInForeground;
 
+  /**
+   * Set to true for query plan and transaction metrics to be histogram backed (percentiles).
+   */
+  private boolean metricsHistogram;
+
   /**
    * Set to true to enable bind capture required for query plan capture.
    */
@@ -508,6 +592,13 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
   private int queryPlanCaptureMaxCount = 10;
   private QueryPlanListener queryPlanListener;
 
+  /**
+   * Set to true to continuously capture the query plans of slow query executions.
+   */
+  private boolean queryPlanSlowCapture;
+  private int queryPlanSlowCaptureSize = 5;
+  private long queryPlanSlowCaptureMinMicros = 10_000; // 10 millis
+
   /**
    * The time in millis used to determine when a query is alerted for being slow.
    */
@@ -858,6 +949,17 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public boolean isPersistBatchMultiRow() {
+    return persistBatchMultiRow;
+  }
+
+  @Override
+  public DatabaseConfig persistBatchMultiRow(boolean persistBatchMultiRow) {
+    this.persistBatchMultiRow = persistBatchMultiRow;
+    return this;
+  }
+
   @Override
   public int getQueryBatchSize() {
     return queryBatchSize;
@@ -902,6 +1004,28 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public boolean isLazyLoadBatchSizeAdaptive() {
+    return lazyLoadBatchSizeAdaptive;
+  }
+
+  @Override
+  public DatabaseConfig lazyLoadBatchSizeAdaptive(boolean lazyLoadBatchSizeAdaptive) {
+    this.lazyLoadBatchSizeAdaptive = lazyLoadBatchSizeAdaptive;
+    return this;
+  }
+
+  @Override
+  public boolean isBindInArray() {
+    return bindInArray;
+  }
+
+  @Override
+  public DatabaseConfig bindInArray(boolean bindInArray) {
+    this.bindInArray = bindInArray;
+    return this;
+  }
+
   @Override
   public DatabaseConfig setDatabaseSequenceBatchSize(int databaseSequenceBatchSize) {
     platformConfig.setDatabaseSequenceBatchSize(databaseSequenceBatchSize);
@@ -1172,6 +1296,50 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public boolean isBackgroundExecutorVirtualThreads() {
+    return backgroundExecutorVirtualThreads;
+  }
+
+  @Override
+  public DatabaseConfig backgroundExecutorVirtualThreads(boolean backgroundExecutorVirtualThreads) {
+    this.backgroundExecutorVirtualThreads = backgroundExecutorVirtualThreads;
+    return this;
+  }
+
+  @Override
+  public int getPostCommitQueueSize() {
+    return postCommitQueueSize;
+  }
+
+  @Override
+  public DatabaseConfig postCommitQueueSize(int postCommitQueueSize) {
+    this.postCommitQueueSize = postCommitQueueSize;
+    return this;
+  }
+
+  @Override
+  public PostCommitOverflow getPostCommitOverflow() {
+    return postCommitOverflow;
+  }
+
+  @Override
+  public DatabaseConfig postCommitOverflow(PostCommitOverflow postCommitOverflow) {
+    this.postCommitOverflow = postCommitOverflow;
+    return this;
+  }
+
+  @Override
+  public Executor getAsyncQueryExecutor() {
+    return asyncQueryExecutor;
+  }
+
+  @Override
+  public DatabaseConfig asyncQueryExecutor(Executor asyncQueryExecutor) {
+    this.asyncQueryExecutor = asyncQueryExecutor;
+    return this;
+  }
+
   @Override
   public int getCacheMaxSize() {
     return cacheMaxSize;
@@ -1188,6 +1356,49 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public boolean isCacheTinyLfu() {
+    return cacheTinyLfu;
+  }
+
+  @Override
+  public DatabaseConfig cacheTinyLfu(boolean cacheTinyLfu) {
+    this.cacheTinyLfu = cacheTinyLfu;
+    return this;
+  }
+
+  @Override
+  public boolean isQueryCacheRowInvalidation() {
+    return queryCacheRowInvalidation;
+  }
+
+  @Override
+  public DatabaseConfig queryCacheRowInvalidation(boolean queryCacheRowInvalidation) {
+    this.queryCacheRowInvalidation = queryCacheRowInvalidation;
+    return this;
+  }
+
+  @Override
+  public List<String> getInMemoryQueryTypes() {
+    return inMemoryQueryTypes;
+  }
+
+  @Override
+  public DatabaseConfig inMemoryQueryTypes(List<String> inMemoryQueryTypes) {
+    this.inMemoryQueryTypes = inMemoryQueryTypes;
+    return this;
+  }
+
+  @Override
+  public DatabaseConfig addInMemoryQueryType(Class<?> beanType, String... indexProperties) {
+    StringBuilder entry = new StringBuilder(beanType.getName());
+    for (String indexProperty : indexProperties) {
+      entry.append(':').append(indexProperty);
+    }
+    inMemoryQueryTypes.add(entry.toString());
+    return this;
+  }
+
   @Override
   public DatabaseConfig setCacheMaxSize(int cacheMaxSize) {
     this.cacheMaxSize = cacheMaxSize;
@@ -2030,6 +2241,28 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public boolean isLockFreePersistenceContext() {
+    return lockFreePersistenceContext;
+  }
+
+  @Override
+  public DatabaseConfig lockFreePersistenceContext(boolean lockFreePersistenceContext) {
+    this.lockFreePersistenceContext = lockFreePersistenceContext;
+    return this;
+  }
+
+  @Override
+  public boolean isCompiledRowReader() {
+    return compiledRowReader;
+  }
+
+  @Override
+  public DatabaseConfig compiledRowReader(boolean compiledRowReader) {
+    this.compiledRowReader = compiledRowReader;
+    return this;
+  }
+
   @Override
   public ClassLoadConfig getClassLoadConfig() {
     return classLoadConfig;
@@ -2144,18 +2377,26 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     readOnlyDatabase = p.getBoolean("readOnlyDatabase", readOnlyDatabase);
     autoPersistUpdates = p.getBoolean("autoPersistUpdates", autoPersistUpdates);
     loadModuleInfo = p.getBoolean("loadModuleInfo", loadModuleInfo);
+    deployParallelism = p.getInt("deployParallelism", deployParallelism);
     includeLabelInSql = p.getBoolean("includeLabelInSql", includeLabelInSql);
     maxCallStack = p.getInt("maxCallStack", maxCallStack);
     dumpMetricsOnShutdown = p.getBoolean("dumpMetricsOnShutdown", dumpMetricsOnShutdown);
     dumpMetricsOptions = p.get("dumpMetricsOptions", dumpMetricsOptions);
     queryPlanTTLSeconds = p.getInt("queryPlanTTLSeconds", queryPlanTTLSeconds);
+    queryPlanCacheMaxSize = p.getInt("queryPlanCacheMaxSize", queryPlanCacheMaxSize);
+    queryPlanSnapshotFile = p.get("queryPlanSnapshotFile", queryPlanSnapshotFile);
+    queryPlanSnapshotBackground = p.getBoolean("queryPlanSnapshotBackground", queryPlanSnapshotBackground);
     slowQueryMillis = p.getLong("slowQueryMillis", slowQueryMillis);
     queryPlanEnable = p.getBoolean("queryPlan.enable", queryPlanEnable);
+    metricsHistogram = p.getBoolean("metricsHistogram", metricsHistogram);
     queryPlanThresholdMicros = p.getLong("queryPlan.thresholdMicros", queryPlanThresholdMicros);
     queryPlanCapture = p.getBoolean("queryPlan.capture", queryPlanCapture);
     queryPlanCapturePeriodSecs = p.getLong("queryPlan.capturePeriodSecs", queryPlanCapturePeriodSecs);
     queryPlanCaptureMaxTimeMillis = p.getLong("queryPlan.captureMaxTimeMillis", queryPlanCaptureMaxTimeMillis);
     queryPlanCaptureMaxCount = p.getInt("queryPlan.captureMaxCount", queryPlanCaptureMaxCount);
+    queryPlanSlowCapture = p.getBoolean("queryPlan.slowCapture", queryPlanSlowCapture);
+    queryPlanSlowCaptureSize = p.getInt("queryPlan.slowCaptureSize", queryPlanSlowCaptureSize);
+    queryPlanSlowCaptureMinMicros = p.getLong("queryPlan.slowCaptureMinMicros", queryPlanSlowCaptureMinMicros);
     queryPlanExplain = p.get("queryPlan.explain", queryPlanExplain);
     docStoreOnly = p.getBoolean("docStoreOnly", docStoreOnly);
     disableL2Cache = p.getBoolean("disableL2Cache", disableL2Cache);
@@ -2170,6 +2411,9 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     backgroundExecutorSchedulePoolSize = p.getInt("backgroundExecutorSchedulePoolSize", backgroundExecutorSchedulePoolSize);
     backgroundExecutorShutdownSecs = p.getInt("backgroundExecutorShutdownSecs", backgroundExecutorShutdownSecs);
     backgroundExecutorWrapper = p.createInstance(BackgroundExecutorWrapper.class, "backgroundExecutorWrapper", backgroundExecutorWrapper);
+    backgroundExecutorVirtualThreads = p.getBoolean("backgroundExecutorVirtualThreads", backgroundExecutorVirtualThreads);
+    postCommitQueueSize = p.getInt("postCommitQueueSize", postCommitQueueSize);
+    postCommitOverflow = p.getEnum(PostCommitOverflow.class, "postCommitOverflow", postCommitOverflow);
     disableClasspathSearch = p.getBoolean("disableClasspathSearch", disableClasspathSearch);
     currentUserProvider = p.createInstance(CurrentUserProvider.class, "currentUserProvider", currentUserProvider);
     databasePlatform = p.createInstance(DatabasePlatform.class, "databasePlatform", databasePlatform);
@@ -2195,8 +2439,11 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
 
     int batchSize = p.getInt("batch.size", persistBatchSize);
     persistBatchSize = p.getInt("persistBatchSize", batchSize);
+    persistBatchMultiRow = p.getBoolean("persistBatchMultiRow", persistBatchMultiRow);
 
     persistenceContextScope = PersistenceContextScope.valueOf(p.get("persistenceContextScope", "TRANSACTION"));
+    lockFreePersistenceContext = p.getBoolean("lockFreePersistenceContext", lockFreePersistenceContext);
+    compiledRowReader = p.getBoolean("compiledRowReader", compiledRowReader);
 
     changeLogAsync = p.getBoolean("changeLogAsync", changeLogAsync);
     changeLogIncludeInserts = p.getBoolean("changeLogIncludeInserts", changeLogIncludeInserts);
@@ -2222,6 +2469,8 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     defaultEnumType = p.getEnum(EnumType.class, "defaultEnumType", defaultEnumType);
     disableLazyLoading = p.getBoolean("disableLazyLoading", disableLazyLoading);
     lazyLoadBatchSize = p.getInt("lazyLoadBatchSize", lazyLoadBatchSize);
+    lazyLoadBatchSizeAdaptive = p.getBoolean("lazyLoadBatchSizeAdaptive", lazyLoadBatchSizeAdaptive);
+    bindInArray = p.getBoolean("bindInArray", bindInArray);
     queryBatchSize = p.getInt("queryBatchSize", queryBatchSize);
 
     jsonInclude = p.getEnum(JsonConfig.Include.class, "jsonInclude", jsonInclude);
@@ -2242,6 +2491,9 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     ddlHeader = p.get("ddl.header", ddlHeader);
 
     tenantPartitionedCache = p.getBoolean("tenantPartitionedCache", tenantPartitionedCache);
+    cacheTinyLfu = p.getBoolean("cacheTinyLfu", cacheTinyLfu);
+    queryCacheRowInvalidation = p.getBoolean("queryCacheRowInvalidation", queryCacheRowInvalidation);
+    inMemoryQueryTypes = searchList(p.get("inMemoryQueryTypes", null), inMemoryQueryTypes);
 
     cacheMaxSize = p.getInt("cacheMaxSize", cacheMaxSize);
     cacheMaxIdleTime = p.getInt("cacheMaxIdleTime", cacheMaxIdleTime);
@@ -2434,6 +2686,39 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public int getQueryPlanCacheMaxSize() {
+    return queryPlanCacheMaxSize;
+  }
+
+  @Override
+  public DatabaseConfig queryPlanCacheMaxSize(int queryPlanCacheMaxSize) {
+    this.queryPlanCacheMaxSize = queryPlanCacheMaxSize;
+    return this;
+  }
+
+  @Override
+  public String getQueryPlanSnapshotFile() {
+    return queryPlanSnapshotFile;
+  }
+
+  @Override
+  public DatabaseConfig queryPlanSnapshotFile(String queryPlanSnapshotFile) {
+    this.queryPlanSnapshotFile = queryPlanSnapshotFile;
+    return this;
+  }
+
+  @Override
+  public boolean isQueryPlanSnapshotBackground() {
+    return queryPlanSnapshotBackground;
+  }
+
+  @Override
+  public DatabaseConfig queryPlanSnapshotBackground(boolean queryPlanSnapshotBackground) {
+    this.queryPlanSnapshotBackground = queryPlanSnapshotBackground;
+    return this;
+  }
+
   @Override
   public PlatformConfig newPlatformConfig(String propertiesPath, String platformPrefix) {
     if (properties == null) {
@@ -2487,6 +2772,17 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public boolean isMetricsHistogram() {
+    return metricsHistogram;
+  }
+
+  @Override
+  public DatabaseConfig metricsHistogram(boolean metricsHistogram) {
+    this.metricsHistogram = metricsHistogram;
+    return this;
+  }
+
   @Override
   public long getQueryPlanThresholdMicros() {
     return queryPlanThresholdMicros;
@@ -2542,6 +2838,39 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public boolean isQueryPlanSlowCapture() {
+    return queryPlanSlowCapture;
+  }
+
+  @Override
+  public DatabaseConfig queryPlanSlowCapture(boolean queryPlanSlowCapture) {
+    this.queryPlanSlowCapture = queryPlanSlowCapture;
+    return this;
+  }
+
+  @Override
+  public int getQueryPlanSlowCaptureSize() {
+    return queryPlanSlowCaptureSize;
+  }
+
+  @Override
+  public DatabaseConfig queryPlanSlowCaptureSize(int queryPlanSlowCaptureSize) {
+    this.queryPlanSlowCaptureSize = queryPlanSlowCaptureSize;
+    return this;
+  }
+
+  @Override
+  public long getQueryPlanSlowCaptureMinMicros() {
+    return queryPlanSlowCaptureMinMicros;
+  }
+
+  @Override
+  public DatabaseConfig queryPlanSlowCaptureMinMicros(long queryPlanSlowCaptureMinMicros) {
+    this.queryPlanSlowCaptureMinMicros = queryPlanSlowCaptureMinMicros;
+    return this;
+  }
+
   @Override
   public QueryPlanListener getQueryPlanListener() {
     return queryPlanListener;
@@ -2601,6 +2930,17 @@ public class DatabaseConfig implements DatabaseBuilder.Settings {
     return this;
   }
 
+  @Override
+  public int getDeployParallelism() {
+    return deployParallelism;
+  }
+
+  @Override
+  public DatabaseConfig deployParallelism(int deployParallelism) {
+    this.deployParallelism = deployParallelism;
+    return this;
+  }
+
   @Override
   public DatabaseConfig includeLabelInSql(boolean includeLabelInSql) {
     this.includeLabelInSql = includeLabelInSql;
@@ -0,0 +1,35 @@
+package io.ebean.config;
+
+/**
+ * Defines what happens when the bounded post commit queue is full.
+ *
+ * @see io.ebean.DatabaseBuilder#postCommitQueueSize(int)
+ */
+public enum PostCommitOverflow {
+
+  /**
+   * The committing thread blocks until there is space in the queue (backpressure).
+   */
+  BLOCK,
+
+  /**
+   * The post commit processing for the transaction is dropped and replaced by table level
+   * invalidation of the L2 caches (locally and in the cluster) for the tables it modified.
+   * The invalidation is applied once the transactions queued before it have been processed.
+   * <p>
+   * BeanPersistListener and bulk table listener notification and document store updates
+   * are skipped for the dropped transaction. Use CALLER_RUNS when these are required.
+   */
+  INVALIDATE,
+
+  /**
+   * The committing thread performs the full post commit processing for the transaction
+   * (L2 cache changes, BeanPersistListener and bulk table listener notification, cluster
+   * broadcast and document store updates) rather than waiting for space in the queue.
+   * <p>
+   * As transactions committed earlier can still be queued the tables modified are also
+   * invalidated in the L2 caches (locally and in the cluster) once the queued transactions
+   * have been processed.
+   */
+  CALLER_RUNS
+}
@@ -210,6 +210,22 @@ public class DatabasePlatform {
 
   protected boolean supportsNativeIlike;
 
+  /**
+   * Set to true when multi-row insert is supported with getGeneratedKeys returning the
+   * generated keys for all the inserted rows (in row order).
+   */
+  protected boolean supportsMultiRowInsert;
+
+  /**
+   * The maximum number of bind parameters in a single statement.
+   */
+  protected int maxBindParameters = 32767;
+
+  /**
+   * Set to true when bulk insert can use COPY FROM STDIN (Postgres).
+   */
+  protected boolean supportsCopyIn;
+
   protected SqlExceptionTranslator exceptionTranslator = new SqlCodeTranslator();
 
   /**
@@ -314,6 +330,27 @@ public class DatabasePlatform {
     return supportsNativeIlike;
   }
 
+  /**
+   * Return true if the platform supports multi-row insert returning all generated keys.
+   */
+  public boolean supportsMultiRowInsert() {
+    return supportsMultiRowInsert;
+  }
+
+  /**
+   * Return true if the platform supports bulk insert via COPY FROM STDIN.
+   */
+  public boolean supportsCopyIn() {
+    return supportsCopyIn;
+  }
+
+  /**
+   * Return the maximum number of bind parameters supported in a single statement.
+   */
+  public int maxBindParameters() {
+    return maxBindParameters;
+  }
+
   /**
    * Return true if the platform supports delete statements with table alias.
    */
@@ -1,5 +1,6 @@
 package io.ebean.meta;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -59,5 +60,14 @@ public interface MetaInfoManager {
    */
   List<MetaQueryPlan> queryPlanCollectNow(QueryPlanRequest request);
 
+  /**
+   * Return the query plans captured for slow query executions (most recent first).
+   * <p>
+   * Requires DatabaseConfig queryPlanSlowCapture to be enabled. The most recent captures
+   * per query plan are held in a bounded ring buffer.
+   */
+  default List<MetaQueryPlan> queryPlanSlowCaptures() {
+    return Collections.emptyList();
+  }
 
 }
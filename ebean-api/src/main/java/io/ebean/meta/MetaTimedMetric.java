@@ -31,6 +31,23 @@ public interface MetaTimedMetric extends MetaMetric {
    */
   long mean();
 
+  /**
+   * Return true if the metric is histogram backed such that percentiles are available.
+   */
+  default boolean hasPercentiles() {
+    return false;
+  }
+
+  /**
+   * Return the execution time in micros at the given percentile (for example 95 or 99.9).
+   * <p>
+   * The value is accurate to within about 6% (log-linear histogram buckets). This returns
+   * 0 when the metric is not histogram backed.
+   */
+  default long percentile(double percentile) {
+    return 0;
+  }
+
   /**
    * Return true if this is the first metrics collection for this query.
    * <p>
@@ -14,6 +14,9 @@ public class MetricData {
   private Long mean;
   private Long max;
   private Long total;
+  private Long p50;
+  private Long p95;
+  private Long p99;
 
   public MetricData(String name) {
     this.name = name;
@@ -85,4 +88,28 @@ public class MetricData {
   public void setTotal(Long total) {
     this.total = total;
   }
+
+  public Long getP50() {
+    return p50;
+  }
+
+  public void setP50(Long p50) {
+    this.p50 = p50;
+  }
+
+  public Long getP95() {
+    return p95;
+  }
+
+  public void setP95(Long p95) {
+    this.p95 = p95;
+  }
+
+  public Long getP99() {
+    return p99;
+  }
+
+  public void setP99(Long p99) {
+    this.p99 = p99;
+  }
 }
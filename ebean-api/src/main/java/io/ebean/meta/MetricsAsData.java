@@ -62,5 +62,10 @@ final class MetricsAsData {
     data.setTotal(timedMetric.total());
     data.setMean(timedMetric.mean());
     data.setMax(timedMetric.max());
+    if (timedMetric.hasPercentiles()) {
+      data.setP50(timedMetric.percentile(50));
+      data.setP95(timedMetric.percentile(95));
+      data.setP99(timedMetric.percentile(99));
+    }
   }
 }
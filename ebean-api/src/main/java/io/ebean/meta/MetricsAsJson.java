@@ -242,6 +242,11 @@ final class MetricsAsJson implements ServerMetricsAsJson {
     append("total", timedMetric.total());
     append("mean", timedMetric.mean());
     append("max", timedMetric.max());
+    if (timedMetric.hasPercentiles()) {
+      append("p50", timedMetric.percentile(50));
+      append("p95", timedMetric.percentile(95));
+      append("p99", timedMetric.percentile(99));
+    }
   }
 
   private void append(String key, long value) throws IOException {
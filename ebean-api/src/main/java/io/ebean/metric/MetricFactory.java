@@ -26,6 +26,13 @@ public interface MetricFactory extends BootstrapService {
    */
   TimedMetric createTimedMetric(String name);
 
+  /**
+   * Create a Timed metric that is optionally histogram backed (supporting percentiles).
+   */
+  default TimedMetric createTimedMetric(String name, boolean histogram) {
+    return createTimedMetric(name);
+  }
+
   /**
    * Create a counter metric.
    */
@@ -36,4 +43,10 @@ public interface MetricFactory extends BootstrapService {
    */
   QueryPlanMetric createQueryPlanMetric(Class<?> type, String name, String label, ProfileLocation profileLocation, String sql, String hash);
 
+  /**
+   * Create a query plan metric that is optionally histogram backed (supporting percentiles).
+   */
+  default QueryPlanMetric createQueryPlanMetric(Class<?> type, String name, String label, ProfileLocation profileLocation, String sql, String hash, boolean histogram) {
+    return createQueryPlanMetric(type, name, label, profileLocation, sql, hash);
+  }
 }
@@ -0,0 +1,73 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import io.ebean.bench.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Find by id hitting the L2 bean cache (BeanDescriptorCacheHelp) compared to the same
+ * find by id executing the query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BeanCacheBenchmark {
+
+  private Database database;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    database = BenchDatabase.create("beanCache");
+    for (long id = 1; id <= BenchDatabase.CUSTOMERS; id++) {
+      database.find(Customer.class, id);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.shutdown();
+  }
+
+  @Benchmark
+  public Customer cacheHit() {
+    return database.find(Customer.class, nextId());
+  }
+
+  @Benchmark
+  public Customer cacheHitLoadReference() {
+    Customer customer = database.reference(Customer.class, nextId());
+    customer.getName();
+    return customer;
+  }
+
+  @Benchmark
+  public Customer noCache() {
+    return database.find(Customer.class)
+      .setUseCache(false)
+      .setId(nextId())
+      .findOne();
+  }
+
+  private long nextId() {
+    return 1 + ThreadLocalRandom.current().nextInt(BenchDatabase.CUSTOMERS);
+  }
+}
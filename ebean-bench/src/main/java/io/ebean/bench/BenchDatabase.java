@@ -0,0 +1,154 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.Transaction;
+import io.ebean.bench.model.Address;
+import io.ebean.bench.model.Customer;
+import io.ebean.bench.model.Order;
+import io.ebean.bench.model.OrderLine;
+import io.ebean.bench.model.Product;
+import io.ebean.datasource.DataSourceBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Creates an in-memory H2 database for the benchmarks seeded with customers, addresses,
+ * products and orders (with lines).
+ * <p>
+ * Identity ids start at 1 such that benchmarks can select the first N rows via {@code id <= N}.
+ */
+final class BenchDatabase {
+
+  static final int CUSTOMERS = 1000;
+  static final int ADDRESSES = 200;
+  static final int PRODUCTS = 100;
+  static final int ORDERS = 1000;
+  static final int LINES_PER_ORDER = 5;
+
+  private BenchDatabase() {
+  }
+
+  /**
+   * Create and seed the database.
+   */
+  static Database create(String name) {
+    return create(name, builder -> {});
+  }
+
+  /**
+   * Create and seed the database applying the given options to the builder.
+   */
+  static Database create(String name, Consumer<DatabaseBuilder> options) {
+    DatabaseBuilder builder = Database.builder()
+      .name(name)
+      .dataSourceBuilder(dataSource(name))
+      .ddlGenerate(true)
+      .ddlRun(true)
+      .ddlExtra(false)
+      .register(false)
+      .defaultDatabase(false)
+      .addClass(Address.class)
+      .addClass(Product.class)
+      .addClass(Customer.class)
+      .addClass(Order.class)
+      .addClass(OrderLine.class);
+
+    options.accept(builder);
+    Database database = builder.build();
+    seed(database);
+    return database;
+  }
+
+  /**
+   * Return the H2 data source builder for the given database name.
+   */
+  static DataSourceBuilder dataSource(String name) {
+    return DataSourceBuilder.create()
+      .url("jdbc:h2:mem:" + name)
+      .username("sa")
+      .password("");
+  }
+
+  /**
+   * Return a new (unsaved) customer.
+   */
+  static Customer newCustomer(int i, Address address) {
+    Customer customer = new Customer();
+    customer.setName("customer" + i);
+    customer.setEmail("customer" + i + "@example.com");
+    customer.setPhone("+64 21 555 " + i);
+    customer.setStatus(Customer.Status.values()[i % 3]);
+    customer.setCreditLimit(BigDecimal.valueOf(1000 + i));
+    customer.setBalance(BigDecimal.valueOf(i, 2));
+    customer.setRegistered(LocalDate.of(2020, 1, 1).plusDays(i));
+    customer.setLastLogin(Instant.ofEpochSecond(1_600_000_000L + i));
+    customer.setRating(i % 5);
+    customer.setActive(i % 7 != 0);
+    customer.setRegion("region" + (i % 10));
+    customer.setSegment("segment" + (i % 4));
+    customer.setReferenceCode("REF-" + i);
+    customer.setNotes("notes for customer " + i);
+    customer.setCurrency(i % 2 == 0 ? "NZD" : "AUD");
+    customer.setLoyaltyPoints(i * 10L);
+    customer.setBillingAddress(address);
+    return customer;
+  }
+
+  private static void seed(Database database) {
+    try (Transaction transaction = database.beginTransaction()) {
+      transaction.setBatchSize(100);
+      List<Address> addresses = new ArrayList<>(ADDRESSES);
+      for (int i = 0; i < ADDRESSES; i++) {
+        Address address = new Address();
+        address.setLine1(i + " Main Street");
+        address.setLine2("Unit " + i);
+        address.setCity("city" + (i % 20));
+        address.setPostCode(String.valueOf(1000 + i));
+        address.setCountry("NZ");
+        database.save(address);
+        addresses.add(address);
+      }
+      List<Product> products = new ArrayList<>(PRODUCTS);
+      for (int i = 0; i < PRODUCTS; i++) {
+        Product product = new Product();
+        product.setSku("SKU-" + i);
+        product.setName("product" + i);
+        product.setPrice(BigDecimal.valueOf(100 + i, 2));
+        database.save(product);
+        products.add(product);
+      }
+      List<Customer> customers = new ArrayList<>(CUSTOMERS);
+      for (int i = 0; i < CUSTOMERS; i++) {
+        Customer customer = newCustomer(i, addresses.get(i % ADDRESSES));
+        database.save(customer);
+        customers.add(customer);
+      }
+      for (int i = 0; i < ORDERS; i++) {
+        Order order = new Order();
+        order.setStatus(Order.Status.values()[i % 3]);
+        order.setOrderDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        order.setShipDate(order.getOrderDate().plusDays(2));
+        order.setTotal(BigDecimal.valueOf(i * 10L, 2));
+        order.setCustomer(customers.get(i % CUSTOMERS));
+        order.setShippingAddress(addresses.get(i % ADDRESSES));
+        for (int j = 0; j < LINES_PER_ORDER; j++) {
+          OrderLine line = new OrderLine();
+          line.setOrder(order);
+          line.setProduct(products.get((i + j) % PRODUCTS));
+          line.setQuantity(j + 1);
+          line.setUnitPrice(BigDecimal.valueOf(100 + j, 2));
+          line.setDescription("line " + j + " of order " + i);
+          order.getLines().add(line);
+        }
+        database.save(order);
+      }
+      transaction.commit();
+    }
+  }
+}
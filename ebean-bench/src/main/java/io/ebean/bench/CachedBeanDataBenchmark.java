@@ -0,0 +1,95 @@
+package io.ebean.bench;
+
+import io.ebeaninternal.server.cache.CachedBeanData;
+import io.ebeaninternal.server.cache.CachedBeanDataSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare CachedBeanData held by slot (schema of the descriptor) with data held by name.
+ * <p>
+ * Run with {@code -prof gc} to compare the bytes allocated per extract which reflects
+ * the heap footprint of each cached bean.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CachedBeanDataBenchmark {
+
+  private static final int PROPERTIES = 20;
+
+  private String[] names;
+  private Object[] source;
+  private CachedBeanDataSchema schema;
+  private CachedBeanData bySlot;
+  private CachedBeanData byName;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    names = new String[PROPERTIES];
+    source = new Object[PROPERTIES];
+    for (int i = 0; i < PROPERTIES; i++) {
+      names[i] = "property" + i;
+      source[i] = "value" + i;
+    }
+    schema = CachedBeanDataSchema.of(names);
+    bySlot = extractBySlot();
+    byName = extractByName();
+  }
+
+  @Benchmark
+  public CachedBeanData extractBySlot() {
+    Object[] values = new Object[PROPERTIES];
+    long[] loaded = CachedBeanData.newLoaded(PROPERTIES);
+    for (int i = 0; i < PROPERTIES; i++) {
+      values[i] = source[i];
+      CachedBeanData.setLoaded(loaded, i);
+    }
+    return new CachedBeanData(null, null, schema, values, loaded, 1);
+  }
+
+  @Benchmark
+  public CachedBeanData extractByName() {
+    Map<String, Object> data = new LinkedHashMap<>();
+    for (int i = 0; i < PROPERTIES; i++) {
+      data.put(names[i], source[i]);
+    }
+    return new CachedBeanData(null, null, data, 1);
+  }
+
+  @Benchmark
+  public void hitBySlot(Blackhole bh) {
+    for (int i = 0; i < PROPERTIES; i++) {
+      if (bySlot.isLoaded(i)) {
+        bh.consume(bySlot.getData(i));
+      }
+    }
+  }
+
+  @Benchmark
+  public void hitByName(Blackhole bh) {
+    for (int i = 0; i < PROPERTIES; i++) {
+      String name = names[i];
+      if (byName.isLoaded(name)) {
+        bh.consume(byName.getData(name));
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import io.ebean.bench.model.Customer;
+import io.ebean.bench.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load rows via findList (SqlTreeLoadBean hydration) for a wide bean and for a bean with
+ * many joins including a OneToMany.
+ * <p>
+ * Compares walking the query tree per row with the row reader compiled per query plan
+ * (compiledRowReader) for the 20 column Customer.
+ * <p>
+ * The JDBC baseline reads the same customer columns such that the difference is the ORM
+ * overhead rather than H2 execution time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HydrateBenchmark {
+
+  private static final String JDBC_SQL = "select t0.id, t0.version, t0.name, t0.email, t0.phone, t0.status, t0.credit_limit,"
+    + " t0.balance, t0.registered, t0.last_login, t0.rating, t0.active, t0.region, t0.segment, t0.reference_code,"
+    + " t0.notes, t0.currency, t0.loyalty_points, t0.when_created, t0.billing_address_id from bench_customer t0 where t0.id <= ?";
+
+  @Param({"default", "lockFree"})
+  public String contextType;
+
+  @Param({"false", "true"})
+  public boolean compiledRowReader;
+
+  @Param({"100", "1000"})
+  public int rows;
+
+  private Database database;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    database = BenchDatabase.create("hydrate", builder -> builder
+      .lockFreePersistenceContext("lockFree".equals(contextType))
+      .compiledRowReader(compiledRowReader));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.shutdown();
+  }
+
+  @Benchmark
+  public List<Customer> wideBean() {
+    return database.find(Customer.class)
+      .setUseCache(false)
+      .where().le("id", rows)
+      .findList();
+  }
+
+  @Benchmark
+  public List<Order> manyJoins() {
+    return database.find(Order.class)
+      .fetch("customer")
+      .fetch("customer.billingAddress")
+      .fetch("shippingAddress")
+      .fetch("lines")
+      .fetch("lines.product")
+      .setUseCache(false)
+      .where().le("id", rows)
+      .findList();
+  }
+
+  @Benchmark
+  public List<Object[]> jdbcBaseline() throws SQLException {
+    try (Connection connection = database.dataSource().getConnection();
+         PreparedStatement statement = connection.prepareStatement(JDBC_SQL)) {
+      statement.setInt(1, rows);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        List<Object[]> list = new ArrayList<>(rows);
+        while (resultSet.next()) {
+          Object[] row = new Object[20];
+          row[0] = resultSet.getLong(1);
+          row[1] = resultSet.getLong(2);
+          row[2] = resultSet.getString(3);
+          row[3] = resultSet.getString(4);
+          row[4] = resultSet.getString(5);
+          row[5] = resultSet.getInt(6);
+          row[6] = resultSet.getBigDecimal(7);
+          row[7] = resultSet.getBigDecimal(8);
+          row[8] = resultSet.getDate(9);
+          row[9] = resultSet.getTimestamp(10);
+          row[10] = resultSet.getInt(11);
+          row[11] = resultSet.getBoolean(12);
+          row[12] = resultSet.getString(13);
+          row[13] = resultSet.getString(14);
+          row[14] = resultSet.getString(15);
+          row[15] = resultSet.getString(16);
+          row[16] = resultSet.getString(17);
+          row[17] = resultSet.getLong(18);
+          row[18] = resultSet.getTimestamp(19);
+          row[19] = resultSet.getLong(20);
+          list.add(row);
+        }
+        return list;
+      }
+    }
+  }
+}
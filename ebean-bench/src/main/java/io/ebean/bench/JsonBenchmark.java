@@ -0,0 +1,67 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import io.ebean.bench.model.Customer;
+import io.ebean.text.json.JsonContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and read a list of wide beans as JSON via DJsonContext.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+  @Param({"10", "1000"})
+  public int rows;
+
+  private Database database;
+  private JsonContext json;
+  private List<Customer> customers;
+  private String content;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    database = BenchDatabase.create("json");
+    json = database.json();
+    customers = database.find(Customer.class)
+      .setUseCache(false)
+      .where().le("id", rows)
+      .findList();
+    content = json.toJson(customers);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.shutdown();
+  }
+
+  @Benchmark
+  public String write() {
+    return json.toJson(customers);
+  }
+
+  @Benchmark
+  public List<Customer> read() {
+    return json.toList(Customer.class, content);
+  }
+}
@@ -0,0 +1,159 @@
+package io.ebean.bench;
+
+import io.ebean.enhance.Transformer;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A large entity model generated at runtime for startup benchmarks.
+ * <p>
+ * Generates the source of N entity beans (each with scalar properties plus a ManyToOne
+ * and OneToMany to its neighbours), compiles them with the system java compiler, enhances
+ * them with the ebean agent and loads them via a child class loader.
+ */
+final class LargeModel implements AutoCloseable {
+
+  static final String PACKAGE = "io.ebean.bench.large";
+
+  private final Path dir;
+  private final URLClassLoader classLoader;
+  private final List<Class<?>> classes;
+
+  private LargeModel(Path dir, URLClassLoader classLoader, List<Class<?>> classes) {
+    this.dir = dir;
+    this.classLoader = classLoader;
+    this.classes = classes;
+  }
+
+  /**
+   * Generate, compile, enhance and load the given number of entity beans.
+   */
+  static LargeModel create(int entityCount) {
+    try {
+      Path dir = Files.createTempDirectory("ebean-large-model");
+      Path src = dir.resolve("src");
+      Path out = dir.resolve("classes");
+      Path pkg = src.resolve(PACKAGE.replace('.', '/'));
+      Files.createDirectories(pkg);
+      Files.createDirectories(out);
+
+      List<String> args = new ArrayList<>();
+      args.add("-proc:none");
+      args.add("-nowarn");
+      args.add("-classpath");
+      args.add(System.getProperty("java.class.path"));
+      args.add("-d");
+      args.add(out.toString());
+      for (int i = 0; i < entityCount; i++) {
+        Path file = pkg.resolve(name(i) + ".java");
+        Files.writeString(file, source(i, entityCount));
+        args.add(file.toString());
+      }
+      JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+      if (compiler == null) {
+        throw new IllegalStateException("No system java compiler - run the benchmark using a JDK");
+      }
+      if (compiler.run(null, null, System.err, args.toArray(new String[0])) != 0) {
+        throw new IllegalStateException("Failed to compile the generated entity beans in " + src);
+      }
+      enhance(out, entityCount);
+
+      URLClassLoader classLoader = classLoader(out);
+      List<Class<?>> classes = new ArrayList<>(entityCount);
+      for (int i = 0; i < entityCount; i++) {
+        classes.add(classLoader.loadClass(PACKAGE + "." + name(i)));
+      }
+      return new LargeModel(dir, classLoader, classes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void enhance(Path out, int entityCount) throws IOException {
+    try (URLClassLoader loader = classLoader(out)) {
+      Transformer transformer = new Transformer(loader, "debug=0");
+      for (int i = 0; i < entityCount; i++) {
+        String className = PACKAGE.replace('.', '/') + "/" + name(i);
+        Path file = out.resolve(className + ".class");
+        byte[] enhanced = transformer.transform(loader, className, null, null, Files.readAllBytes(file));
+        if (enhanced == null) {
+          throw new IllegalStateException("Entity bean " + className + " was not enhanced");
+        }
+        Files.write(file, enhanced);
+      }
+    }
+  }
+
+  private static URLClassLoader classLoader(Path out) throws MalformedURLException {
+    return new URLClassLoader(new URL[]{out.toUri().toURL()}, LargeModel.class.getClassLoader());
+  }
+
+  private static String name(int i) {
+    return "Large" + i;
+  }
+
+  private static String source(int i, int entityCount) {
+    StringBuilder sb = new StringBuilder(1000);
+    sb.append("package ").append(PACKAGE).append(";\n\n")
+      .append("import jakarta.persistence.*;\n")
+      .append("import java.math.BigDecimal;\n")
+      .append("import java.time.Instant;\n")
+      .append("import java.time.LocalDate;\n")
+      .append("import java.util.List;\n\n")
+      .append("@Entity\n")
+      .append("public class ").append(name(i)).append(" {\n")
+      .append("  @Id Long id;\n")
+      .append("  @Version long version;\n")
+      .append("  String name;\n")
+      .append("  String code;\n")
+      .append("  String description;\n")
+      .append("  BigDecimal amount;\n")
+      .append("  LocalDate startDate;\n")
+      .append("  Instant modified;\n")
+      .append("  boolean active;\n")
+      .append("  int rating;\n");
+    if (i > 0) {
+      sb.append("  @ManyToOne ").append(name(i - 1)).append(" parent;\n");
+    }
+    if (i < entityCount - 1) {
+      sb.append("  @OneToMany(mappedBy = \"parent\") List<").append(name(i + 1)).append("> children;\n");
+    }
+    return sb.append("}\n").toString();
+  }
+
+  /**
+   * Return the generated (and enhanced) entity bean classes.
+   */
+  List<Class<?>> classes() {
+    return classes;
+  }
+
+  /**
+   * Return the class loader of the generated entity beans.
+   */
+  ClassLoader classLoader() {
+    return classLoader;
+  }
+
+  @Override
+  public void close() throws IOException {
+    classLoader.close();
+    try (Stream<Path> paths = Files.walk(dir)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import io.ebean.Transaction;
+import io.ebean.bench.model.Address;
+import io.ebean.bench.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched insert and update via DefaultPersister with JDBC batch compared to multi-row
+ * insert (persistBatchMultiRow).
+ * <p>
+ * Inserts are rolled back such that the table size is stable. Updates are committed as the
+ * bean version is incremented on the bean.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PersistBenchmark {
+
+  @Param({"false", "true"})
+  public boolean multiRow;
+
+  @Param({"100", "1000"})
+  public int beans;
+
+  private Database database;
+  private Address address;
+  private List<Customer> customers;
+  private int counter;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    database = BenchDatabase.create("persist", builder -> builder.persistBatchMultiRow(multiRow));
+    address = database.reference(Address.class, 1L);
+    customers = database.find(Customer.class)
+      .setUseCache(false)
+      .where().le("id", beans)
+      .findList();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.shutdown();
+  }
+
+  @Benchmark
+  public int insertBatch() {
+    List<Customer> list = new ArrayList<>(beans);
+    for (int i = 0; i < beans; i++) {
+      list.add(BenchDatabase.newCustomer(i, address));
+    }
+    try (Transaction transaction = database.beginTransaction()) {
+      transaction.setBatchSize(100);
+      database.saveAll(list, transaction);
+      transaction.flush();
+      transaction.rollback();
+    }
+    return list.size();
+  }
+
+  @Benchmark
+  public int updateBatch() {
+    int rating = counter++;
+    try (Transaction transaction = database.beginTransaction()) {
+      transaction.setBatchSize(100);
+      for (Customer customer : customers) {
+        customer.setRating(rating);
+        customer.setNotes("updated " + rating);
+      }
+      database.updateAll(customers, transaction);
+      transaction.commit();
+    }
+    return customers.size();
+  }
+}
@@ -0,0 +1,69 @@
+package io.ebean.bench;
+
+import io.ebean.bean.PersistenceContext;
+import io.ebeaninternal.server.transaction.DefaultPersistenceContext;
+import io.ebeaninternal.server.transaction.LockFreePersistenceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The persistence context operations performed when a findList query loads a large
+ * result with a join. Each row does a putIfAbsent for the root bean and a get and
+ * putIfAbsent for the joined (shared) bean.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PersistenceContextBenchmark {
+
+  @Param({"default", "lockFree"})
+  public String contextType;
+
+  @Param({"100000", "500000"})
+  public int rows;
+
+  private Object[] beans;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    beans = new Object[rows];
+    for (int i = 0; i < rows; i++) {
+      beans[i] = new Object();
+    }
+  }
+
+  @Benchmark
+  public PersistenceContext findListRows() {
+    PersistenceContext pc = "lockFree".equals(contextType) ? new LockFreePersistenceContext() : new DefaultPersistenceContext();
+    for (int i = 0; i < rows; i++) {
+      Long id = (long) i;
+      pc.putIfAbsent(Order.class, id, beans[i]);
+      Long customerId = (long) (i & 1023);
+      if (pc.get(Customer.class, customerId) == null) {
+        pc.putIfAbsent(Customer.class, customerId, beans[i]);
+      }
+    }
+    return pc;
+  }
+
+  private static final class Order {
+  }
+
+  private static final class Customer {
+  }
+}
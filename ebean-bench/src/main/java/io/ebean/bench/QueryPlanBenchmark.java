@@ -0,0 +1,78 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import io.ebean.bench.model.Order;
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.api.SpiQuery;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compile an ORM query (CQueryBuilder) with the query plan cached compared to building
+ * the SqlTree and SQL for each query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class QueryPlanBenchmark {
+
+  private Database database;
+  private SpiEbeanServer server;
+  private BeanDescriptor<Order> descriptor;
+  private final LocalDate since = LocalDate.of(2024, 3, 1);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    database = BenchDatabase.create("queryPlan");
+    server = (SpiEbeanServer) database;
+    descriptor = server.descriptor(Order.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.shutdown();
+  }
+
+  @Benchmark
+  public String cachedPlan() {
+    return server.compileQuery(SpiQuery.Type.LIST, query(), null).generatedSql();
+  }
+
+  @Benchmark
+  public String uncachedPlan() {
+    descriptor.clearQueryPlans();
+    return server.compileQuery(SpiQuery.Type.LIST, query(), null).generatedSql();
+  }
+
+  private SpiQuery<Order> query() {
+    return (SpiQuery<Order>) database.find(Order.class)
+      .select("status, orderDate, total")
+      .fetch("customer", "name, email, status")
+      .fetch("customer.billingAddress", "city, country")
+      .fetch("shippingAddress", "line1, city")
+      .where()
+      .eq("status", Order.Status.NEW)
+      .ge("orderDate", since)
+      .icontains("customer.name", "customer")
+      .orderBy("orderDate desc, id")
+      .setMaxRows(100)
+      .query();
+  }
+}
@@ -0,0 +1,88 @@
+package io.ebean.bench;
+
+import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheConfig;
+import io.ebean.cache.ServerCacheOptions;
+import io.ebean.cache.ServerCacheType;
+import io.ebeaninternal.server.cache.DefaultServerCache;
+import io.ebeaninternal.server.cache.DefaultServerCacheConfig;
+import io.ebeaninternal.server.cache.TinyLfuServerCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare DefaultServerCache (periodic sort based trim) with TinyLfuServerCache.
+ * <p>
+ * Keys follow a skewed distribution over a key space larger than the cache such that
+ * puts continually drive eviction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ServerCacheBenchmark {
+
+  @Param({"default", "tinyLfu"})
+  public String cacheType;
+
+  @Param({"100000", "1000000"})
+  public int maxSize;
+
+  private ServerCache cache;
+  private int keySpace;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    ServerCacheOptions options = new ServerCacheOptions();
+    options.setMaxSize(maxSize);
+    ServerCacheConfig config = new ServerCacheConfig(ServerCacheType.BEAN, "bench", "bench", options, null, null);
+    DefaultServerCacheConfig cacheConfig = new DefaultServerCacheConfig(config);
+    cache = "tinyLfu".equals(cacheType) ? new TinyLfuServerCache(cacheConfig) : new DefaultServerCache(cacheConfig);
+    keySpace = maxSize * 4;
+    for (int i = 0; i < maxSize; i++) {
+      cache.put(i, i);
+    }
+  }
+
+  @Benchmark
+  public Object readMostly() {
+    int key = nextKey();
+    Object value = cache.get(key);
+    if (value == null) {
+      cache.put(key, key);
+    }
+    return value;
+  }
+
+  @Benchmark
+  public Object putOnly() {
+    int key = nextKey();
+    cache.put(key, key);
+    return key;
+  }
+
+  /**
+   * Skewed key - squaring a uniform random favours the low keys.
+   */
+  private int nextKey() {
+    double r = ThreadLocalRandom.current().nextDouble();
+    return (int) (r * r * keySpace);
+  }
+}
@@ -0,0 +1,79 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Database startup (bean descriptor deployment) for a large generated entity model
+ * with serial deployment compared to parallel deployment (0 for the number of processors).
+ * <p>
+ * The per phase deployment timings are available via the {@code ebean.deploy.*} metrics.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  @Param({"1", "0"})
+  int deployParallelism;
+
+  @Param({"900"})
+  int entityCount;
+
+  private final AtomicInteger counter = new AtomicInteger();
+  private LargeModel model;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    model = LargeModel.create(entityCount);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    model.close();
+  }
+
+  @Benchmark
+  public int startup() {
+    String name = "startup" + counter.incrementAndGet();
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    thread.setContextClassLoader(model.classLoader());
+    try {
+      Database database = Database.builder()
+        .name(name)
+        .dataSourceBuilder(BenchDatabase.dataSource(name))
+        .ddlGenerate(false)
+        .ddlRun(false)
+        .register(false)
+        .defaultDatabase(false)
+        .deployParallelism(deployParallelism)
+        .classes(model.classes())
+        .build();
+      int beanTypes = database.pluginApi().beanTypes().size();
+      database.shutdown();
+      return beanTypes;
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+  }
+}
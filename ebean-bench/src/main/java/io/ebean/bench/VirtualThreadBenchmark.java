@@ -0,0 +1,108 @@
+package io.ebean.bench;
+
+import io.ebean.Database;
+import io.ebean.Transaction;
+import io.ebean.bench.model.Customer;
+import io.ebean.bench.model.Order;
+import io.ebeaninternal.server.executor.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of 10k concurrent requests (each a transaction with a find by id and a
+ * findList) using a virtual thread per request compared to a pool of platform threads.
+ * <p>
+ * The virtual thread mode also runs the background executor (post commit processing)
+ * on virtual threads and requires Java 21 or later.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+  private static final int REQUESTS = 10_000;
+
+  @Param({"virtual", "platform"})
+  public String threads;
+
+  private Database database;
+  private ExecutorService executor;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    boolean virtual = "virtual".equals(threads);
+    database = BenchDatabase.create("virtualThreads", builder -> builder
+      .dataSourceBuilder(BenchDatabase.dataSource("virtualThreads")
+        .maxConnections(50)
+        .waitTimeoutMillis(60_000))
+      .backgroundExecutorVirtualThreads(virtual));
+
+    if (virtual) {
+      executor = VirtualThreads.perTaskExecutor("bench-request-");
+      if (executor == null) {
+        throw new IllegalStateException("Virtual threads require Java 21 or later");
+      }
+    } else {
+      executor = Executors.newFixedThreadPool(200);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    database.shutdown();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REQUESTS)
+  public int requests() throws ExecutionException, InterruptedException {
+    List<Future<Integer>> futures = new ArrayList<>(REQUESTS);
+    for (int i = 0; i < REQUESTS; i++) {
+      long id = 1 + (i % BenchDatabase.CUSTOMERS);
+      futures.add(executor.submit(() -> request(id)));
+    }
+    int total = 0;
+    for (Future<Integer> future : futures) {
+      total += future.get();
+    }
+    return total;
+  }
+
+  private int request(long customerId) {
+    try (Transaction transaction = database.beginTransaction()) {
+      Customer customer = database.find(Customer.class)
+        .setUseCache(false)
+        .setId(customerId)
+        .findOne();
+      List<Order> orders = database.find(Order.class)
+        .where().eq("customer", customer)
+        .findList();
+      transaction.commit();
+      return orders.size();
+    }
+  }
+}
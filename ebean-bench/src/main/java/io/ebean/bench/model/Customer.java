@@ -0,0 +1,215 @@
+package io.ebean.bench.model;
+
+import io.ebean.annotation.Cache;
+import io.ebean.annotation.WhenCreated;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A wide bean with L2 bean caching.
+ */
+@Cache
+@Entity
+@Table(name = "bench_customer")
+public class Customer {
+
+  public enum Status {
+    NEW, ACTIVE, SUSPENDED
+  }
+
+  @Id
+  Long id;
+
+  @Version
+  long version;
+
+  String name;
+  String email;
+  String phone;
+  Status status;
+  BigDecimal creditLimit;
+  BigDecimal balance;
+  LocalDate registered;
+  Instant lastLogin;
+  int rating;
+  boolean active;
+  String region;
+  String segment;
+  String referenceCode;
+  String notes;
+  String currency;
+  long loyaltyPoints;
+
+  @ManyToOne
+  Address billingAddress;
+
+  @WhenCreated
+  Instant whenCreated;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+
+  public String getPhone() {
+    return phone;
+  }
+
+  public void setPhone(String phone) {
+    this.phone = phone;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public BigDecimal getCreditLimit() {
+    return creditLimit;
+  }
+
+  public void setCreditLimit(BigDecimal creditLimit) {
+    this.creditLimit = creditLimit;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public void setBalance(BigDecimal balance) {
+    this.balance = balance;
+  }
+
+  public LocalDate getRegistered() {
+    return registered;
+  }
+
+  public void setRegistered(LocalDate registered) {
+    this.registered = registered;
+  }
+
+  public Instant getLastLogin() {
+    return lastLogin;
+  }
+
+  public void setLastLogin(Instant lastLogin) {
+    this.lastLogin = lastLogin;
+  }
+
+  public int getRating() {
+    return rating;
+  }
+
+  public void setRating(int rating) {
+    this.rating = rating;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+
+  public String getRegion() {
+    return region;
+  }
+
+  public void setRegion(String region) {
+    this.region = region;
+  }
+
+  public String getSegment() {
+    return segment;
+  }
+
+  public void setSegment(String segment) {
+    this.segment = segment;
+  }
+
+  public String getReferenceCode() {
+    return referenceCode;
+  }
+
+  public void setReferenceCode(String referenceCode) {
+    this.referenceCode = referenceCode;
+  }
+
+  public String getNotes() {
+    return notes;
+  }
+
+  public void setNotes(String notes) {
+    this.notes = notes;
+  }
+
+  public String getCurrency() {
+    return currency;
+  }
+
+  public void setCurrency(String currency) {
+    this.currency = currency;
+  }
+
+  public long getLoyaltyPoints() {
+    return loyaltyPoints;
+  }
+
+  public void setLoyaltyPoints(long loyaltyPoints) {
+    this.loyaltyPoints = loyaltyPoints;
+  }
+
+  public Address getBillingAddress() {
+    return billingAddress;
+  }
+
+  public void setBillingAddress(Address billingAddress) {
+    this.billingAddress = billingAddress;
+  }
+
+  public Instant getWhenCreated() {
+    return whenCreated;
+  }
+
+  public void setWhenCreated(Instant whenCreated) {
+    this.whenCreated = whenCreated;
+  }
+}
@@ -0,0 +1,115 @@
+package io.ebean.bench.model;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "bench_order")
+public class Order {
+
+  public enum Status {
+    NEW, SHIPPED, COMPLETE
+  }
+
+  @Id
+  Long id;
+
+  @Version
+  long version;
+
+  Status status;
+  LocalDate orderDate;
+  LocalDate shipDate;
+  BigDecimal total;
+
+  @ManyToOne
+  Customer customer;
+
+  @ManyToOne
+  Address shippingAddress;
+
+  @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+  List<OrderLine> lines = new ArrayList<>();
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public LocalDate getOrderDate() {
+    return orderDate;
+  }
+
+  public void setOrderDate(LocalDate orderDate) {
+    this.orderDate = orderDate;
+  }
+
+  public LocalDate getShipDate() {
+    return shipDate;
+  }
+
+  public void setShipDate(LocalDate shipDate) {
+    this.shipDate = shipDate;
+  }
+
+  public BigDecimal getTotal() {
+    return total;
+  }
+
+  public void setTotal(BigDecimal total) {
+    this.total = total;
+  }
+
+  public Customer getCustomer() {
+    return customer;
+  }
+
+  public void setCustomer(Customer customer) {
+    this.customer = customer;
+  }
+
+  public Address getShippingAddress() {
+    return shippingAddress;
+  }
+
+  public void setShippingAddress(Address shippingAddress) {
+    this.shippingAddress = shippingAddress;
+  }
+
+  public List<OrderLine> getLines() {
+    return lines;
+  }
+
+  public void setLines(List<OrderLine> lines) {
+    this.lines = lines;
+  }
+}
@@ -44,4 +44,31 @@ public final class BinaryReadContext {
   public long readLong() throws IOException {
     return in.readLong();
   }
+
+  /**
+   * Read an unsigned variable length long (7 bits per byte).
+   */
+  public long readVarLong() throws IOException {
+    long value = 0;
+    int shift = 0;
+    while (true) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+      shift += 7;
+      if (shift > 63) {
+        throw new IOException("Malformed variable length long");
+      }
+    }
+  }
+
+  /**
+   * Read a signed variable length long using zigzag encoding.
+   */
+  public long readZigZagLong() throws IOException {
+    long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
 }
@@ -14,6 +14,7 @@ public interface BinaryWritable {
   int TYPE_TABLEIUD = 2;
   int TYPE_CACHE = 3;
   int TYPE_TABLEMOD = 4;
+  int TYPE_BEANIDS_COMPACT = 5;
 
   /**
    * Write message in binary format.
@@ -39,6 +39,24 @@ public final class BinaryWriteContext {
     return out;
   }
 
+  /**
+   * Write an unsigned variable length long (7 bits per byte).
+   */
+  public void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Write a signed variable length long using zigzag encoding.
+   */
+  public void writeZigZagLong(long value) throws IOException {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
   /**
    * End of message parts.
    */
@@ -12,9 +12,25 @@ public final class ExtraMetrics {
 
   private final TimedMetric bindCapture;
   private final TimedMetric planCollect;
+  private final TimedMetric planCompile;
+  private final CountMetric planHit;
+  private final CountMetric planMiss;
+  private final CountMetric planEvict;
+  private final CountMetric queryCacheRowValid;
+  private final CountMetric lazyLoadGrow;
+  private final CountMetric lazyLoadShrink;
+  private final CountMetric bindInArray;
+  private final CountMetric bindInExpanded;
+  private final TimedMetric asyncQueue;
+  private final TimedMetric asyncExecute;
   private final CountMetric loadOneL2;
   private final CountMetric loadOneRef;
   private final CountMetric loadOneNoLoader;
+  private final TimedMetric deployRead;
+  private final TimedMetric deployTables;
+  private final TimedMetric deployAssociations;
+  private final TimedMetric deployRelationships;
+  private final TimedMetric deployInitialise;
 
   /**
    * Create the extra metrics.
@@ -23,9 +39,25 @@ public final class ExtraMetrics {
     final MetricFactory factory = MetricFactory.get();
     this.bindCapture = factory.createTimedMetric("ebean.queryplan.bindcapture");
     this.planCollect = factory.createTimedMetric("ebean.queryplan.collect");
+    this.planCompile = factory.createTimedMetric("ebean.queryplan.compile");
+    this.planHit = factory.createCountMetric("ebean.queryplan.hit");
+    this.planMiss = factory.createCountMetric("ebean.queryplan.miss");
+    this.planEvict = factory.createCountMetric("ebean.queryplan.evict");
+    this.queryCacheRowValid = factory.createCountMetric("ebean.querycache.rowvalid");
+    this.lazyLoadGrow = factory.createCountMetric("ebean.lazyload.batchsize.grow");
+    this.lazyLoadShrink = factory.createCountMetric("ebean.lazyload.batchsize.shrink");
+    this.bindInArray = factory.createCountMetric("ebean.query.bind.inarray");
+    this.bindInExpanded = factory.createCountMetric("ebean.query.bind.inexpanded");
+    this.asyncQueue = factory.createTimedMetric("ebean.query.async.queue");
+    this.asyncExecute = factory.createTimedMetric("ebean.query.async.execute");
     this.loadOneL2 = factory.createCountMetric("loadone.l2");
     this.loadOneRef = factory.createCountMetric("loadone.ref");
     this.loadOneNoLoader = factory.createCountMetric("loadone.noloader");
+    this.deployRead = factory.createTimedMetric("ebean.deploy.read");
+    this.deployTables = factory.createTimedMetric("ebean.deploy.tables");
+    this.deployAssociations = factory.createTimedMetric("ebean.deploy.associations");
+    this.deployRelationships = factory.createTimedMetric("ebean.deploy.relationships");
+    this.deployInitialise = factory.createTimedMetric("ebean.deploy.initialise");
   }
 
   /**
@@ -42,6 +74,84 @@ public final class ExtraMetrics {
     return planCollect;
   }
 
+  /**
+   * Timed metric for building ORM query plans (SqlTree and SQL generation).
+   */
+  public TimedMetric planCompile() {
+    return planCompile;
+  }
+
+  /**
+   * Counter for ORM query plan cache hits.
+   */
+  public CountMetric planHit() {
+    return planHit;
+  }
+
+  /**
+   * Counter for ORM query plan cache misses.
+   */
+  public CountMetric planMiss() {
+    return planMiss;
+  }
+
+  /**
+   * Counter for ORM query plans evicted from the query plan cache due to its maximum size.
+   */
+  public CountMetric planEvict() {
+    return planEvict;
+  }
+
+  /**
+   * Counter for query cache hits where row level invalidation found the entry still valid
+   * (and table level invalidation would have treated the entry as invalid).
+   */
+  public CountMetric queryCacheRowValid() {
+    return queryCacheRowValid;
+  }
+
+  /**
+   * Counter for increases of an adaptive lazy loading batch size.
+   */
+  public CountMetric lazyLoadGrow() {
+    return lazyLoadGrow;
+  }
+
+  /**
+   * Counter for decreases of an adaptive lazy loading batch size.
+   */
+  public CountMetric lazyLoadShrink() {
+    return lazyLoadShrink;
+  }
+
+  /**
+   * Counter for IN lists bound as a single array parameter (one SQL statement for any number of values).
+   */
+  public CountMetric bindInArray() {
+    return bindInArray;
+  }
+
+  /**
+   * Counter for IN lists bound using a parameter per value (SQL statement per number of values).
+   */
+  public CountMetric bindInExpanded() {
+    return bindInExpanded;
+  }
+
+  /**
+   * Timed metric for the time async queries wait before they start executing.
+   */
+  public TimedMetric asyncQueue() {
+    return asyncQueue;
+  }
+
+  /**
+   * Timed metric for the execution time of async queries.
+   */
+  public TimedMetric asyncExecute() {
+    return asyncExecute;
+  }
+
   /**
    * Increment counter for lazy loading one bean from L2 cache.
    * All good when lazy loading also hits L2 cache.
@@ -66,14 +176,65 @@ public final class ExtraMetrics {
     loadOneNoLoader.increment();
   }
 
+  /**
+   * Startup timed metric for reading the annotations and creating the deploy properties.
+   */
+  public TimedMetric deployRead() {
+    return deployRead;
+  }
+
+  /**
+   * Startup timed metric for creating the bean tables and registering embedded beans.
+   */
+  public TimedMetric deployTables() {
+    return deployTables;
+  }
+
+  /**
+   * Startup timed metric for reading the association annotations.
+   */
+  public TimedMetric deployAssociations() {
+    return deployAssociations;
+  }
+
+  /**
+   * Startup timed metric for resolving the relationships and creating the bean descriptors.
+   */
+  public TimedMetric deployRelationships() {
+    return deployRelationships;
+  }
+
+  /**
+   * Startup timed metric for initialising the bean descriptors (and their bean managers).
+   */
+  public TimedMetric deployInitialise() {
+    return deployInitialise;
+  }
+
   /**
    * Collect the metrics.
    */
   public void visitMetrics(MetricVisitor visitor) {
     bindCapture.visit(visitor);
     planCollect.visit(visitor);
+    planCompile.visit(visitor);
+    planHit.visit(visitor);
+    planMiss.visit(visitor);
+    planEvict.visit(visitor);
+    queryCacheRowValid.visit(visitor);
+    lazyLoadGrow.visit(visitor);
+    lazyLoadShrink.visit(visitor);
+    bindInArray.visit(visitor);
+    bindInExpanded.visit(visitor);
+    asyncQueue.visit(visitor);
+    asyncExecute.visit(visitor);
     loadOneL2.visit(visitor);
     loadOneRef.visit(visitor);
     loadOneNoLoader.visit(visitor);
+    deployRead.visit(visitor);
+    deployTables.visit(visitor);
+    deployAssociations.visit(visitor);
+    deployRelationships.visit(visitor);
+    deployInitialise.visit(visitor);
   }
 }
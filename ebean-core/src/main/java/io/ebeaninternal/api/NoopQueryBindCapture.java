@@ -18,4 +18,9 @@ final class NoopQueryBindCapture implements SpiQueryBindCapture {
   public void queryPlanInit(long thresholdMicros) {
     // do nothing
   }
+
+  @Override
+  public void release() {
+    // do nothing
+  }
 }
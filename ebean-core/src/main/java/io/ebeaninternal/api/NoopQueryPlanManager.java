@@ -22,4 +22,9 @@ final class NoopQueryPlanManager implements QueryPlanManager {
   public List<MetaQueryPlan> collect(QueryPlanRequest request) {
     return Collections.emptyList();
   }
+
+  @Override
+  public List<MetaQueryPlan> slowCaptures() {
+    return Collections.emptyList();
+  }
 }
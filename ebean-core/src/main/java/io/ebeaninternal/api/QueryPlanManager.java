@@ -26,4 +26,9 @@ public interface QueryPlanManager {
    * Collect the database query plans.
    */
   List<MetaQueryPlan> collect(QueryPlanRequest request);
+
+  /**
+   * Return the query plans captured for slow query executions.
+   */
+  List<MetaQueryPlan> slowCaptures();
 }
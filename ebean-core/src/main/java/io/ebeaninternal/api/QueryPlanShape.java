@@ -0,0 +1,220 @@
+package io.ebeaninternal.api;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The shape of an ORM query (select, fetch, where, order by and limit) that can be
+ * replayed to build the same query plan.
+ * <p>
+ * Where expressions are held as EQL with placeholder values such that no bind values
+ * are held. Used by the query plan snapshot to warm the query plans on start.
+ */
+public final class QueryPlanShape {
+
+  private final SpiQuery.Type type;
+  private final String label;
+  private String select;
+  private final Map<String, String> fetch = new LinkedHashMap<>();
+  private final List<String> where = new ArrayList<>();
+  private String orderBy;
+  private int firstRow;
+  private int maxRows;
+  private String planKey;
+
+  public QueryPlanShape(SpiQuery.Type type, String label) {
+    this.type = type;
+    this.label = label;
+  }
+
+  /**
+   * Read the shape in binary form.
+   */
+  public static QueryPlanShape read(DataInput in) throws IOException {
+    QueryPlanShape shape = new QueryPlanShape(SpiQuery.Type.valueOf(readString(in)), readString(in));
+    shape.select = readString(in);
+    int fetchCount = in.readInt();
+    for (int i = 0; i < fetchCount; i++) {
+      shape.fetch.put(readString(in), readString(in));
+    }
+    int whereCount = in.readInt();
+    for (int i = 0; i < whereCount; i++) {
+      shape.where.add(readString(in));
+    }
+    shape.orderBy = readString(in);
+    shape.firstRow = in.readInt();
+    shape.maxRows = in.readInt();
+    shape.planKey = readString(in);
+    return shape;
+  }
+
+  /**
+   * Write the shape in binary form.
+   */
+  public void write(DataOutput out) throws IOException {
+    writeString(out, type.name());
+    writeString(out, label);
+    writeString(out, select);
+    out.writeInt(fetch.size());
+    for (Map.Entry<String, String> entry : fetch.entrySet()) {
+      writeString(out, entry.getKey());
+      writeString(out, entry.getValue());
+    }
+    out.writeInt(where.size());
+    for (String expression : where) {
+      writeString(out, expression);
+    }
+    writeString(out, orderBy);
+    out.writeInt(firstRow);
+    out.writeInt(maxRows);
+    writeString(out, planKey);
+  }
+
+  /**
+   * Read a length prefixed UTF-8 string (that can be null).
+   */
+  public static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Write a string (that can be null) as length prefixed UTF-8.
+   * <p>
+   * Unlike writeUTF() this is not limited to 65535 bytes such that large select
+   * and where clauses can be written.
+   */
+  public static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Set the select properties (null for all properties).
+   */
+  public void select(String select) {
+    this.select = select;
+  }
+
+  /**
+   * Add a fetch path with its properties (null for all properties).
+   */
+  public void fetch(String path, String properties) {
+    fetch.put(path, properties);
+  }
+
+  /**
+   * Add a top level where expression in EQL form.
+   */
+  public void where(String eql) {
+    where.add(eql);
+  }
+
+  /**
+   * Set the order by clause.
+   */
+  public void orderBy(String orderBy) {
+    this.orderBy = orderBy;
+  }
+
+  /**
+   * Set the first row and max rows.
+   */
+  public void limit(int firstRow, int maxRows) {
+    this.firstRow = firstRow;
+    this.maxRows = maxRows;
+  }
+
+  /**
+   * Set the key of the query plan the shape was captured from.
+   */
+  public void planKey(String planKey) {
+    this.planKey = planKey;
+  }
+
+  public SpiQuery.Type type() {
+    return type;
+  }
+
+  public String label() {
+    return label;
+  }
+
+  public String select() {
+    return select;
+  }
+
+  public Map<String, String> fetch() {
+    return fetch;
+  }
+
+  public List<String> where() {
+    return where;
+  }
+
+  public String orderBy() {
+    return orderBy;
+  }
+
+  public int firstRow() {
+    return firstRow;
+  }
+
+  public int maxRows() {
+    return maxRows;
+  }
+
+  /**
+   * Return the key of the query plan the shape was captured from.
+   */
+  public String planKey() {
+    return planKey;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof QueryPlanShape)) {
+      return false;
+    }
+    QueryPlanShape that = (QueryPlanShape) obj;
+    return type == that.type
+      && firstRow == that.firstRow
+      && maxRows == that.maxRows
+      && Objects.equals(label, that.label)
+      && Objects.equals(select, that.select)
+      && fetch.equals(that.fetch)
+      && where.equals(that.where)
+      && Objects.equals(orderBy, that.orderBy)
+      && Objects.equals(planKey, that.planKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, label, select, fetch, where, orderBy, firstRow, maxRows, planKey);
+  }
+
+  @Override
+  public String toString() {
+    return type + " select:" + select + " fetch:" + fetch + " where:" + where + " orderBy:" + orderBy;
+  }
+}
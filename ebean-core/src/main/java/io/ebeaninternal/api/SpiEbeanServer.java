@@ -9,19 +9,25 @@ import io.ebean.event.readaudit.ReadAuditLogger;
 import io.ebean.event.readaudit.ReadAuditPrepare;
 import io.ebean.meta.MetricVisitor;
 import io.ebean.plugin.SpiServer;
+import io.ebean.text.json.JsonWriteOptions;
 import io.ebeaninternal.api.SpiQuery.Type;
 import io.ebeaninternal.server.core.SpiResultSet;
 import io.ebeaninternal.server.core.timezone.DataTimeZone;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.loadcontext.LazyLoadBatchAdvisor;
 import io.ebeaninternal.server.query.CQuery;
 import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -77,6 +83,11 @@ public interface SpiEbeanServer extends SpiServer, BeanCollectionLoader {
    */
   PersistenceContextScope persistenceContextScope(SpiQuery<?> query);
 
+  /**
+   * Create a new persistence context (for query scoped persistence context).
+   */
+  SpiPersistenceContext createPersistenceContext();
+
   /**
    * Clear the query execution statistics.
    */
@@ -196,6 +207,11 @@ public interface SpiEbeanServer extends SpiServer, BeanCollectionLoader {
    */
   int lazyLoadBatchSize();
 
+  /**
+   * Return the advisor adapting the lazy loading batch size (null when not adaptive).
+   */
+  LazyLoadBatchAdvisor lazyLoadBatchAdvisor();
+
   /**
    * Return true if the type is known as an Entity or Xml type or a List Set or
    * Map of known bean types.
@@ -284,6 +300,16 @@ public interface SpiEbeanServer extends SpiServer, BeanCollectionLoader {
    */
   <T> void findDtoEach(SpiDtoQuery<T> query, int batch, Consumer<List<T>> consumer);
 
+  /**
+   * DTO findEach query with chunks processed in parallel.
+   */
+  <T> void findDtoEach(SpiDtoQuery<T> query, int batch, int parallelism, Executor executor, Consumer<List<T>> consumer);
+
+  /**
+   * DTO findEachRow query using a reused RowView.
+   */
+  <T> void findDtoEachRow(SpiDtoQuery<T> query, Consumer<RowView> consumer);
+
   /**
    * DTO findEachWhile query.
    */
@@ -361,6 +387,18 @@ public interface SpiEbeanServer extends SpiServer, BeanCollectionLoader {
 
   <T> void findEachWhile(SpiQuery<T> query, Predicate<T> consumer);
 
+  /**
+   * Execute the query streaming the results as a JSON array to the JsonWriter.
+   * <p>
+   * Convenience wrapper of findIterate() writing each bean as it is read.
+   */
+  <T> void writeJson(SpiQuery<T> query, io.avaje.json.JsonWriter writer, @Nullable JsonWriteOptions options);
+
+  /**
+   * Execute the query streaming the results as a JSON array (UTF-8) to the OutputStream.
+   */
+  <T> void writeJson(SpiQuery<T> query, OutputStream outputStream, @Nullable JsonWriteOptions options);
+
   <T> List<Version<T>> findVersions(SpiQuery<T> query);
 
   <T> List<T> findList(SpiQuery<T> query);
@@ -373,6 +411,27 @@ public interface SpiEbeanServer extends SpiServer, BeanCollectionLoader {
 
   <K, T> FutureMap<K, T> findFutureMap(SpiQuery<T> query);
 
+  /**
+   * Execute the findList query asynchronously.
+   */
+  <T> CompletionStage<List<T>> findListAsync(SpiQuery<T> query);
+
+  /**
+   * Execute the findOne query asynchronously.
+   */
+  <T> CompletionStage<T> findOneAsync(SpiQuery<T> query);
+
+  /**
+   * Execute the findCount query asynchronously.
+   */
+  <T> CompletionStage<Integer> findCountAsync(SpiQuery<T> query);
+
+  /**
+   * Execute the query asynchronously using the async query executor.
+   * Cancelling the returned stage cancels the query.
+   */
+  <R> CompletionStage<R> executeAsync(CancelableQuery query, Supplier<R> supplier);
+
   <T> PagedList<T> findPagedList(SpiQuery<T> query);
 
   <T> Set<T> findSet(SpiQuery<T> query);
@@ -3,6 +3,8 @@ package io.ebeaninternal.api;
 import io.ebean.Expression;
 import io.ebean.event.BeanQueryRequest;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.expression.DocQueryContext;
 
 import java.io.IOException;
@@ -53,6 +55,16 @@ public interface SpiExpression extends Expression {
    */
   void queryPlanHash(StringBuilder builder);
 
+  /**
+   * Append the expression as EQL with placeholder values (for the query plan snapshot).
+   * <p>
+   * Return false if the expression can not be expressed in EQL such that parsing
+   * the EQL produces an expression with the same query plan hash.
+   */
+  default boolean writeEql(StringBuilder eql) {
+    return false;
+  }
+
   /**
    * Build the key for bind values of the query.
    */
@@ -106,6 +118,13 @@ public interface SpiExpression extends Expression {
    */
   boolean naturalKey(NaturalKeyQueryData<?> data);
 
+  /**
+   * Return the predicate to evaluate this expression in memory or null if that is not supported.
+   */
+  default <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return null;
+  }
+
   /**
    * Apply property prefix when filterMany expressions included into main query.
    */
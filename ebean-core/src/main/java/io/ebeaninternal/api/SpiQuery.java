@@ -19,6 +19,7 @@ import io.ebeaninternal.server.core.SpiOrmQueryRequest;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 import io.ebeaninternal.server.deploy.TableJoin;
+import io.ebeaninternal.server.el.ElQuery;
 import io.ebeaninternal.server.querydefn.NaturalKeyBindParam;
 import io.ebeaninternal.server.querydefn.OrmQueryDetail;
 import io.ebeaninternal.server.querydefn.OrmQueryProperties;
@@ -243,6 +244,25 @@ public interface SpiQuery<T> extends Query<T>, SpiQueryFetch, TxnProfileEventCod
    */
   String planLabel();
 
+  /**
+   * Return the shape of this query for the query plan snapshot or null if the query
+   * can not be replayed to build the same query plan.
+   */
+  QueryPlanShape planShape();
+
+  /**
+   * Return the properties (first path element) used by the where and order by clauses for
+   * row level query cache invalidation or null if these can not be fully determined.
+   */
+  Set<String> predicateProperties();
+
+  /**
+   * Return true if the query fetches or filters through an association that joins back to the
+   * base table of the query (such as an employee fetching its manager). The result then contains
+   * values of rows that are not result ids and row level query cache invalidation is not used.
+   */
+  boolean isJoinToBaseTable();
+
   /**
    * Return the transaction explicitly assigned or null.
    */
@@ -526,6 +546,12 @@ public interface SpiQuery<T> extends Query<T>, SpiQueryFetch, TxnProfileEventCod
    */
   NaturalKeyQueryData<T> naturalKey();
 
+  /**
+   * Return the query compiled for evaluation in memory or null if the query does not
+   * match the requirements of in memory evaluation.
+   */
+  ElQuery<T> inMemoryQuery();
+
   /**
    * Return a Natural Key bind parameter if supported by this query.
    */
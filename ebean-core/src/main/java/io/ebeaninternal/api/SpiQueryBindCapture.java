@@ -31,4 +31,9 @@ public interface SpiQueryBindCapture {
    * Update the threshold micros triggering the bind capture.
    */
   void queryPlanInit(long thresholdMicros);
+
+  /**
+   * The query plan was removed from the plan cache so release the captured bind values and query plans.
+   */
+  void release();
 }
@@ -0,0 +1,45 @@
+package io.ebeaninternal.server.bind;
+
+import io.ebeaninternal.server.bind.capture.CopyTextStatement;
+import io.ebeaninternal.server.core.timezone.DataTimeZone;
+
+/**
+ * Special DataBind used to bind rows in the COPY text format for bulk insert.
+ */
+public final class DataBindCopy extends DataBind {
+
+  private final CopyTextStatement copyStatement;
+
+  /**
+   * Create given the dataTimeZone in use.
+   */
+  public static DataBindCopy of(DataTimeZone dataTimeZone) {
+    return new DataBindCopy(dataTimeZone, new CopyTextStatement());
+  }
+
+  private DataBindCopy(DataTimeZone dataTimeZone, CopyTextStatement pstmt) {
+    super(dataTimeZone, pstmt, null);
+    this.copyStatement = pstmt;
+  }
+
+  /**
+   * Reset to bind the next row.
+   */
+  public void reset() {
+    pos = 0;
+    copyStatement.reset();
+  }
+
+  /**
+   * Return the bound row in COPY text format (without line terminator).
+   */
+  public CharSequence row() {
+    return copyStatement.row();
+  }
+
+  @Override
+  public void setArray(String arrayType, Object[] elements) {
+    copyStatement.setArray(++pos, elements);
+  }
+
+}
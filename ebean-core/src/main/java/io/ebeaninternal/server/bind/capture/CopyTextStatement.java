@@ -0,0 +1,314 @@
+package io.ebeaninternal.server.bind.capture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+
+/**
+ * Special PreparedStatement that writes the bind values as a row in the Postgres COPY text format.
+ * <p>
+ * Values must be bound in order of parameter index. Null values are written as {@code \N} and
+ * backslash, tab, newline and carriage return characters are escaped.
+ * </p>
+ */
+public final class CopyTextStatement extends BindCaptureStatementBase implements PreparedStatement {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Timestamps include the offset such that timestamptz columns hold the same instant regardless
+   * of the session time zone (and timestamp columns hold the local date time as per JDBC binding).
+   */
+  private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSSxxx");
+
+  private final StringBuilder row = new StringBuilder(256);
+  private int count;
+
+  /**
+   * Clear the row to bind the next row.
+   */
+  public void reset() {
+    row.setLength(0);
+    count = 0;
+  }
+
+  /**
+   * Return the bound row (without line terminator).
+   */
+  public CharSequence row() {
+    return row;
+  }
+
+  private void add(int parameterIndex, String value) {
+    if (parameterIndex != ++count) {
+      throw new IllegalStateException("Unexpected bind position " + parameterIndex + " expected " + count);
+    }
+    if (count > 1) {
+      row.append('\t');
+    }
+    if (value == null) {
+      row.append("\\N");
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      switch (ch) {
+        case '\\':
+          row.append("\\\\");
+          break;
+        case '\t':
+          row.append("\\t");
+          break;
+        case '\n':
+          row.append("\\n");
+          break;
+        case '\r':
+          row.append("\\r");
+          break;
+        default:
+          row.append(ch);
+      }
+    }
+  }
+
+  private static String hex(byte[] value) {
+    if (value == null) {
+      return null;
+    }
+    char[] chars = new char[2 + value.length * 2];
+    chars[0] = '\\';
+    chars[1] = 'x';
+    for (int i = 0; i < value.length; i++) {
+      chars[2 + i * 2] = HEX[(value[i] >> 4) & 0xF];
+      chars[3 + i * 2] = HEX[value[i] & 0xF];
+    }
+    return new String(chars);
+  }
+
+  private static String text(Object value) {
+    if (value == null) {
+      return null;
+    } else if (value instanceof byte[]) {
+      return hex((byte[]) value);
+    } else if (value instanceof Boolean) {
+      return (Boolean) value ? "t" : "f";
+    } else if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).toPlainString();
+    } else if (value instanceof Timestamp) {
+      return timestamp((Timestamp) value, ZoneId.systemDefault());
+    } else {
+      return value.toString();
+    }
+  }
+
+  private static String timestamp(Timestamp value, ZoneId zone) {
+    return value == null ? null : TIMESTAMP.format(value.toInstant().atZone(zone));
+  }
+
+  private static ZoneId zone(Calendar cal) {
+    return cal.getTimeZone().toZoneId();
+  }
+
+  /**
+   * Bind an array as a Postgres array literal.
+   */
+  public void setArray(int parameterIndex, Object[] elements) {
+    if (elements == null) {
+      add(parameterIndex, null);
+      return;
+    }
+    StringBuilder sb = new StringBuilder(elements.length * 8 + 2);
+    sb.append('{');
+    for (int i = 0; i < elements.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      Object element = elements[i];
+      if (element == null) {
+        sb.append("NULL");
+      } else {
+        String value = text(element);
+        sb.append('"');
+        for (int j = 0; j < value.length(); j++) {
+          char ch = value.charAt(j);
+          if (ch == '"' || ch == '\\') {
+            sb.append('\\');
+          }
+          sb.append(ch);
+        }
+        sb.append('"');
+      }
+    }
+    sb.append('}');
+    add(parameterIndex, sb.toString());
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType) {
+    add(parameterIndex, null);
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType, String typeName) {
+    add(parameterIndex, null);
+  }
+
+  @Override
+  public void setBoolean(int parameterIndex, boolean value) {
+    add(parameterIndex, value ? "t" : "f");
+  }
+
+  @Override
+  public void setByte(int parameterIndex, byte value) {
+    add(parameterIndex, Byte.toString(value));
+  }
+
+  @Override
+  public void setShort(int parameterIndex, short value) {
+    add(parameterIndex, Short.toString(value));
+  }
+
+  @Override
+  public void setInt(int parameterIndex, int value) {
+    add(parameterIndex, Integer.toString(value));
+  }
+
+  @Override
+  public void setLong(int parameterIndex, long value) {
+    add(parameterIndex, Long.toString(value));
+  }
+
+  @Override
+  public void setFloat(int parameterIndex, float value) {
+    add(parameterIndex, Float.toString(value));
+  }
+
+  @Override
+  public void setDouble(int parameterIndex, double value) {
+    add(parameterIndex, Double.toString(value));
+  }
+
+  @Override
+  public void setBigDecimal(int parameterIndex, BigDecimal value) {
+    add(parameterIndex, text(value));
+  }
+
+  @Override
+  public void setString(int parameterIndex, String value) {
+    add(parameterIndex, value);
+  }
+
+  @Override
+  public void setNString(int parameterIndex, String value) {
+    add(parameterIndex, value);
+  }
+
+  @Override
+  public void setBytes(int parameterIndex, byte[] value) {
+    add(parameterIndex, hex(value));
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date value) {
+    add(parameterIndex, text(value));
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date value, Calendar cal) {
+    add(parameterIndex, value == null ? null : Instant.ofEpochMilli(value.getTime()).atZone(zone(cal)).toLocalDate().toString());
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time value) {
+    add(parameterIndex, text(value));
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time value, Calendar cal) {
+    add(parameterIndex, value == null ? null : Instant.ofEpochMilli(value.getTime()).atZone(zone(cal)).toLocalTime().toString());
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp value) {
+    add(parameterIndex, timestamp(value, ZoneId.systemDefault()));
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp value, Calendar cal) {
+    add(parameterIndex, timestamp(value, zone(cal)));
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object value) {
+    add(parameterIndex, text(value));
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object value, int targetSqlType) {
+    add(parameterIndex, text(value));
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object value, int targetSqlType, int scaleOrLength) {
+    add(parameterIndex, text(value));
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream value, int length) {
+    add(parameterIndex, hex(readAll(value)));
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream value, long length) {
+    add(parameterIndex, hex(readAll(value)));
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader value, int length) {
+    add(parameterIndex, readAll(value));
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader value, long length) {
+    add(parameterIndex, readAll(value));
+  }
+
+  private static byte[] readAll(InputStream value) {
+    if (value == null) {
+      return null;
+    }
+    try (InputStream is = value) {
+      return is.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading InputStream for COPY", e);
+    }
+  }
+
+  private static String readAll(Reader value) {
+    if (value == null) {
+      return null;
+    }
+    try (Reader reader = value) {
+      StringBuilder sb = new StringBuilder();
+      char[] buffer = new char[1024];
+      int len;
+      while ((len = reader.read(buffer)) != -1) {
+        sb.append(buffer, 0, len);
+      }
+      return sb.toString();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading Reader for COPY", e);
+    }
+  }
+
+}
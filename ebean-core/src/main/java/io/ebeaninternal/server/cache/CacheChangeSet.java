@@ -11,6 +11,8 @@ public final class CacheChangeSet {
 
   private final List<CacheChange> entries = new ArrayList<>();
   private final Set<String> touchedTables = new HashSet<>();
+  private final Set<String> tableLevelTables = new HashSet<>();
+  private final Map<String, QueryCacheRowMod> rowMods = new HashMap<>();
   private final Set<BeanDescriptor<?>> queryCaches = new HashSet<>();
   private final Set<BeanDescriptor<?>> beanCaches = new HashSet<>();
   private final Map<BeanDescriptor<?>, CacheChangeBeanRemove> beanRemoveMap = new HashMap<>();
@@ -29,6 +31,18 @@ public final class CacheChangeSet {
     return touchedTables;
   }
 
+  /**
+   * Return the row level modifications for the touched tables that do not
+   * also require table level invalidation.
+   */
+  public Map<String, QueryCacheRowMod> rowMods() {
+    if (rowMods.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    rowMods.keySet().removeAll(tableLevelTables);
+    return rowMods;
+  }
+
   /**
    * Apply the changes to the L2 cache except entity/view invalidation.
    * <p>
@@ -56,7 +70,7 @@ public final class CacheChangeSet {
    * Add an entry to clear a query cache.
    */
   public void addInvalidate(BeanDescriptor<?> descriptor) {
-    touchedTables.add(descriptor.baseTable());
+    addTableLevel(descriptor.baseTable());
   }
 
   /**
@@ -64,6 +78,7 @@ public final class CacheChangeSet {
    */
   public void addInvalidate(Set<String> tables) {
     touchedTables.addAll(tables);
+    tableLevelTables.addAll(tables);
   }
 
   /**
@@ -71,7 +86,32 @@ public final class CacheChangeSet {
    */
   public void addClearQuery(BeanDescriptor<?> descriptor) {
     queryCaches.add(descriptor);
-    touchedTables.add(descriptor.baseTable());
+    addTableLevel(descriptor.baseTable());
+  }
+
+  /**
+   * Add an updated row for row level query cache invalidation.
+   */
+  public void addRowUpdate(BeanDescriptor<?> descriptor, Object id, Set<String> modifiedProperties) {
+    rowMod(descriptor).addUpdate(id, modifiedProperties);
+  }
+
+  /**
+   * Add deleted rows for row level query cache invalidation.
+   */
+  public void addRowDelete(BeanDescriptor<?> descriptor, Collection<Object> ids) {
+    rowMod(descriptor).addDelete(ids);
+  }
+
+  private QueryCacheRowMod rowMod(BeanDescriptor<?> descriptor) {
+    String baseTable = descriptor.baseTable();
+    touchedTables.add(baseTable);
+    return rowMods.computeIfAbsent(baseTable, table -> new QueryCacheRowMod());
+  }
+
+  private void addTableLevel(String baseTable) {
+    touchedTables.add(baseTable);
+    tableLevelTables.add(baseTable);
   }
 
   /**
@@ -106,7 +146,7 @@ public final class CacheChangeSet {
    * On bean insert register table for view based entity invalidation.
    */
   public void addBeanInsert(String baseTable) {
-    touchedTables.add(baseTable);
+    addTableLevel(baseTable);
   }
 
   /**
@@ -191,6 +231,13 @@ public final class CacheChangeSet {
 
     this.entries.addAll(other.entries);
     this.touchedTables.addAll(other.touchedTables);
+    this.tableLevelTables.addAll(other.tableLevelTables);
+    other.rowMods.forEach((table, rowMod) ->
+      this.rowMods.merge(table, rowMod, (a, b) -> {
+        a.merge(b);
+        return a;
+      })
+    );
     this.queryCaches.addAll(other.queryCaches);
     this.beanCaches.addAll(other.beanCaches);
 
@@ -16,17 +16,20 @@ public final class CacheManagerOptions {
   private final String serverName;
   private final boolean localL2Caching;
   private final boolean tenantPartitionedCache;
+  private final boolean queryCacheRowInvalidation;
   private CurrentTenantProvider currentTenantProvider;
   private QueryCacheEntryValidate queryCacheEntryValidate;
   private ServerCacheFactory cacheFactory = new DefaultServerCacheFactory();
   private ServerCacheOptions beanDefault = new ServerCacheOptions();
   private ServerCacheOptions queryDefault = new ServerCacheOptions();
+  private CachedBeanDataSchemas cacheDataSchemas = new CachedBeanDataSchemas();
 
   CacheManagerOptions() {
     this.localL2Caching = true;
     this.clusterManager = null;
     this.serverName = "db";
     this.tenantPartitionedCache = false;
+    this.queryCacheRowInvalidation = false;
     this.cacheFactory = new DefaultServerCacheFactory();
     this.beanDefault = new ServerCacheOptions();
     this.queryDefault = new ServerCacheOptions();
@@ -38,6 +41,7 @@ public final class CacheManagerOptions {
     this.localL2Caching = localL2Caching;
     this.currentTenantProvider = config.getCurrentTenantProvider();
     this.tenantPartitionedCache = config.isTenantPartitionedCache();
+    this.queryCacheRowInvalidation = config.isQueryCacheRowInvalidation();
   }
 
   public CacheManagerOptions with(ServerCacheOptions beanDefault, ServerCacheOptions queryDefault) {
@@ -52,6 +56,11 @@ public final class CacheManagerOptions {
     return this;
   }
 
+  public CacheManagerOptions with(CachedBeanDataSchemas cacheDataSchemas) {
+    this.cacheDataSchemas = cacheDataSchemas;
+    return this;
+  }
+
   public CacheManagerOptions with(CurrentTenantProvider currentTenantProvider) {
     this.currentTenantProvider = currentTenantProvider;
     return this;
@@ -69,6 +78,10 @@ public final class CacheManagerOptions {
     return cacheFactory;
   }
 
+  public CachedBeanDataSchemas getCacheDataSchemas() {
+    return cacheDataSchemas;
+  }
+
   public ServerCacheOptions getBeanDefault() {
     return beanDefault;
   }
@@ -92,4 +105,8 @@ public final class CacheManagerOptions {
   public boolean isTenantPartitionedCache() {
     return tenantPartitionedCache;
   }
+
+  public boolean isQueryCacheRowInvalidation() {
+    return queryCacheRowInvalidation;
+  }
 }
@@ -4,32 +4,63 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Data held in the bean cache for cached beans.
+ * <p>
+ * The property values are held in an array indexed by the slot of the schema (which for
+ * data extracted from a bean is the property index of the bean descriptor) along with a
+ * bitset of the loaded slots.
  */
 public final class CachedBeanData implements Externalizable {
 
   private long whenCreated;
   private long version;
   private String discValue;
-  private Map<String, Object> data;
+  private CachedBeanDataSchema schema;
+  private Object[] values;
+  private long[] loaded;
   /**
    * The sharable bean is effectively transient (near cache only).
    */
   private transient Object sharableBean;
 
   /**
-   * Construct from a loaded bean.
+   * Construct from a loaded bean with the values indexed by schema slot.
+   */
+  public CachedBeanData(Object sharableBean, String discValue, CachedBeanDataSchema schema, Object[] values, long[] loaded, long version) {
+    this.whenCreated = System.currentTimeMillis();
+    this.sharableBean = sharableBean;
+    this.discValue = discValue;
+    this.schema = schema;
+    this.values = values;
+    this.loaded = loaded;
+    this.version = version;
+  }
+
+  /**
+   * Construct from a map of property values.
    */
   public CachedBeanData(Object sharableBean, String discValue, Map<String, Object> data, long version) {
     this.whenCreated = System.currentTimeMillis();
     this.sharableBean = sharableBean;
     this.discValue = discValue;
-    this.data = data;
+    this.version = version;
+    initFrom(data.keySet().toArray(new String[0]), data.values().toArray());
+  }
+
+  /**
+   * Construct from binary decoding with the values indexed by schema slot.
+   */
+  CachedBeanData(String discValue, CachedBeanDataSchema schema, Object[] values, long[] loaded, long version, long whenCreated) {
+    this.whenCreated = whenCreated;
+    this.discValue = discValue;
+    this.schema = schema;
+    this.values = values;
+    this.loaded = loaded;
     this.version = version;
   }
 
@@ -39,6 +70,29 @@ public final class CachedBeanData implements Externalizable {
   public CachedBeanData() {
   }
 
+  /**
+   * Return a new bitset to hold the loaded state for the given number of slots.
+   */
+  public static long[] newLoaded(int size) {
+    return new long[(size + 63) >>> 6];
+  }
+
+  /**
+   * Set the slot as loaded in the bitset.
+   */
+  public static void setLoaded(long[] loaded, int slot) {
+    loaded[slot >>> 6] |= (1L << slot);
+  }
+
+  private void initFrom(String[] names, Object[] values) {
+    this.schema = CachedBeanDataSchema.detached(names);
+    this.values = values;
+    this.loaded = newLoaded(names.length);
+    for (int i = 0; i < names.length; i++) {
+      setLoaded(loaded, i);
+    }
+  }
+
   @Override
   public void writeExternal(ObjectOutput out) throws IOException {
     out.writeLong(version);
@@ -48,10 +102,12 @@ public final class CachedBeanData implements Externalizable {
     if (hasDisc) {
       out.writeUTF(discValue);
     }
-    out.writeInt(data.size());
-    for (Map.Entry<String, Object> entry : data.entrySet()) {
-      out.writeUTF(entry.getKey());
-      out.writeObject(entry.getValue());
+    out.writeInt(loadedCount());
+    for (int i = 0; i < values.length; i++) {
+      if (isLoaded(i)) {
+        out.writeUTF(schema.name(i));
+        out.writeObject(values[i]);
+      }
     }
   }
 
@@ -62,18 +118,19 @@ public final class CachedBeanData implements Externalizable {
     if (in.readBoolean()) {
       discValue = in.readUTF();
     }
-    data = new LinkedHashMap<>();
     int count = in.readInt();
+    String[] names = new String[count];
+    Object[] vals = new Object[count];
     for (int i = 0; i < count; i++) {
-      String key = in.readUTF();
-      Object val = in.readObject();
-      data.put(key, val);
+      names[i] = in.readUTF();
+      vals[i] = in.readObject();
     }
+    initFrom(names, vals);
   }
 
   @Override
   public String toString() {
-    return data.toString();
+    return getData().toString();
   }
 
   /**
@@ -81,11 +138,20 @@ public final class CachedBeanData implements Externalizable {
    * entry applying the given changes.
    */
   public CachedBeanData update(Map<String, Object> changes, long version) {
-
-    Map<String, Object> copy = new HashMap<>();
-    copy.putAll(data);
-    copy.putAll(changes);
-    return new CachedBeanData(null, discValue, copy, version);
+    Object[] copyValues = Arrays.copyOf(values, values.length);
+    long[] copyLoaded = loaded.clone();
+    for (Map.Entry<String, Object> entry : changes.entrySet()) {
+      int slot = schema.slot(entry.getKey());
+      if (slot == -1) {
+        // property not in the schema so fall back to merging by name
+        Map<String, Object> copy = getData();
+        copy.putAll(changes);
+        return new CachedBeanData(null, discValue, copy, version);
+      }
+      copyValues[slot] = entry.getValue();
+      setLoaded(copyLoaded, slot);
+    }
+    return new CachedBeanData(null, discValue, schema, copyValues, copyLoaded, version);
   }
 
   /**
@@ -116,24 +182,68 @@ public final class CachedBeanData implements Externalizable {
     return sharableBean;
   }
 
+  /**
+   * Return the schema that maps property names to slots.
+   */
+  public CachedBeanDataSchema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Return true if the given slot is loaded.
+   */
+  public boolean isLoaded(int slot) {
+    return slot < values.length && (loaded[slot >>> 6] & (1L << slot)) != 0;
+  }
+
+  /**
+   * Return the value for the given slot.
+   */
+  public Object getData(int slot) {
+    return values[slot];
+  }
+
   /**
    * Return true if the property is held.
    */
   public boolean isLoaded(String propertyName) {
-    return data.containsKey(propertyName);
+    int slot = schema.slot(propertyName);
+    return slot > -1 && isLoaded(slot);
   }
 
   /**
    * Return the value for a given property name.
    */
   public Object getData(String propertyName) {
-    return data.get(propertyName);
+    int slot = schema.slot(propertyName);
+    return slot == -1 ? null : values[slot];
   }
 
   /**
-   * Return all the property data.
+   * Return all the loaded property data as a new map.
    */
   public Map<String, Object> getData() {
+    Map<String, Object> data = new LinkedHashMap<>();
+    for (int i = 0; i < values.length; i++) {
+      if (isLoaded(i)) {
+        data.put(schema.name(i), values[i]);
+      }
+    }
     return data;
   }
+
+  /**
+   * Return the number of slots.
+   */
+  int slotCount() {
+    return values.length;
+  }
+
+  int loadedCount() {
+    int count = 0;
+    for (long word : loaded) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
 }
@@ -7,42 +7,46 @@ import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.deploy.BeanProperty;
 import io.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 public final class CachedBeanDataFromBean {
 
   public static CachedBeanData extract(BeanDescriptor<?> desc, EntityBean bean) {
     EntityBeanIntercept ebi = bean._ebean_getIntercept();
-    Map<String, Object> data = new LinkedHashMap<>();
+    CachedBeanDataSchema schema = desc.cacheDataSchema();
+    Object[] values = new Object[schema.size()];
+    long[] loaded = CachedBeanData.newLoaded(values.length);
 
     BeanProperty idProperty = desc.idProperty();
     if (idProperty != null) {
       int propertyIndex = idProperty.propertyIndex();
       if (ebi.isLoadedProperty(propertyIndex)) {
-        data.put(idProperty.name(), idProperty.getCacheDataValue(bean));
+        values[propertyIndex] = idProperty.getCacheDataValue(bean);
+        CachedBeanData.setLoaded(loaded, propertyIndex);
       }
     }
 
     // extract all the non-many properties
     final boolean dirty = ebi.isDirty();
     for (BeanProperty prop : desc.propertiesNonMany()) {
-      if (dirty && ebi.isDirtyProperty(prop.propertyIndex())) {
-        data.put(prop.name(), prop.getCacheDataValueOrig(ebi));
-      } else if (ebi.isLoadedProperty(prop.propertyIndex())) {
-        data.put(prop.name(), prop.getCacheDataValue(bean));
+      int propertyIndex = prop.propertyIndex();
+      if (dirty && ebi.isDirtyProperty(propertyIndex)) {
+        values[propertyIndex] = prop.getCacheDataValueOrig(ebi);
+        CachedBeanData.setLoaded(loaded, propertyIndex);
+      } else if (ebi.isLoadedProperty(propertyIndex)) {
+        values[propertyIndex] = prop.getCacheDataValue(bean);
+        CachedBeanData.setLoaded(loaded, propertyIndex);
       }
     }
 
     for (BeanPropertyAssocMany<?> prop : desc.propertiesMany()) {
       if (prop.isElementCollection()) {
-        data.put(prop.name(), prop.getCacheDataValue(bean));
+        values[prop.propertyIndex()] = prop.getCacheDataValue(bean);
+        CachedBeanData.setLoaded(loaded, prop.propertyIndex());
       }
     }
 
     long version = desc.getVersion(bean);
     EntityBean sharableBean = createSharableBean(desc, bean, ebi);
-    return new CachedBeanData(sharableBean, desc.discValue(), data, version);
+    return new CachedBeanData(sharableBean, desc.discValue(), schema, values, loaded, version);
   }
 
   private static EntityBean createSharableBean(BeanDescriptor<?> desc, EntityBean bean, EntityBeanIntercept beanEbi) {
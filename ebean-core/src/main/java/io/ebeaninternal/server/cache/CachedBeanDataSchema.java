@@ -0,0 +1,152 @@
+package io.ebeaninternal.server.cache;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The property names by slot position for CachedBeanData.
+ * <p>
+ * A schema is created per BeanDescriptor where the slot is the property index of the
+ * enhanced bean. CachedBeanData extracted from a bean shares the schema of the descriptor
+ * such that the cached data is held in an array (rather than a map per cached bean).
+ * <p>
+ * A detached schema is created when the data is read via serialisation and holds just
+ * the names of the loaded properties.
+ * <p>
+ * The 64 bit id of the schema is derived from the property names and types such that a
+ * change to the type of a property changes the id. Schemas created for bean descriptors
+ * are registered with the {@link CachedBeanDataSchemas} of the cache manager such that
+ * {@link CachedDataCodec} can write the id rather than the property names and resolve the
+ * schema when decoding.
+ */
+public final class CachedBeanDataSchema {
+
+  private static final CachedBeanDataSchema EMPTY = new CachedBeanDataSchema(new String[0], null, false);
+
+  private final String[] names;
+  private final Map<String, Integer> slots;
+  private final int hash;
+  private final long id;
+
+  private CachedBeanDataSchema(String[] names, String[] types, boolean indexed) {
+    this.names = names;
+    this.hash = Arrays.hashCode(names);
+    this.id = id(names, types);
+    if (indexed) {
+      this.slots = new HashMap<>((int) (names.length / 0.75f) + 1);
+      for (int i = 0; i < names.length; i++) {
+        if (names[i] != null) {
+          slots.put(names[i], i);
+        }
+      }
+    } else {
+      this.slots = null;
+    }
+  }
+
+  /**
+   * Create the schema given the property names by property index.
+   */
+  public static CachedBeanDataSchema of(String[] names) {
+    return of(names, null);
+  }
+
+  /**
+   * Create the schema for a bean descriptor given the property names and types by property index.
+   * <p>
+   * The types (e.g. java type and jdbc type) are included in the id of the schema.
+   */
+  public static CachedBeanDataSchema of(String[] names, String[] types) {
+    return names.length == 0 ? EMPTY : new CachedBeanDataSchema(names, types, true);
+  }
+
+  /**
+   * Return the 64 bit FNV-1a hash of the property names and types.
+   */
+  private static long id(String[] names, String[] types) {
+    long h = 0xcbf29ce484222325L;
+    for (int slot = 0; slot < names.length; slot++) {
+      h = hash(h, names[slot]);
+      if (types != null) {
+        h = hash(h, types[slot]);
+      }
+    }
+    return h;
+  }
+
+  private static long hash(long h, String value) {
+    if (value == null) {
+      h = (h ^ 0xff) * 0x100000001b3L;
+    } else {
+      for (int i = 0; i < value.length(); i++) {
+        h = (h ^ value.charAt(i)) * 0x100000001b3L;
+      }
+    }
+    // separator such that ["ab","c"] and ["a","bc"] differ
+    return (h ^ 0xfe) * 0x100000001b3L;
+  }
+
+  /**
+   * Create a detached schema (no slot index) for the given names.
+   */
+  static CachedBeanDataSchema detached(String[] names) {
+    return names.length == 0 ? EMPTY : new CachedBeanDataSchema(names, null, false);
+  }
+
+  /**
+   * Return the number of slots.
+   */
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * Return the hash of the property names.
+   */
+  public int hash() {
+    return hash;
+  }
+
+  /**
+   * Return the 64 bit id of this schema (derived from the property names and types).
+   */
+  public long id() {
+    return id;
+  }
+
+  /**
+   * Return the property name for the given slot.
+   */
+  public String name(int slot) {
+    return names[slot];
+  }
+
+  /**
+   * Return the slot for the given property name or -1 if not in this schema.
+   */
+  public int slot(String name) {
+    if (slots != null) {
+      Integer slot = slots.get(name);
+      return slot == null ? -1 : slot;
+    }
+    for (int i = 0; i < names.length; i++) {
+      if (name.equals(names[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Return true if the slots of the other schema match this schema.
+   */
+  public boolean matches(CachedBeanDataSchema other) {
+    return this == other || (other != null && hash == other.hash && Arrays.equals(names, other.names));
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(names);
+  }
+}
@@ -0,0 +1,41 @@
+package io.ebeaninternal.server.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The bean descriptor schemas of a cache manager registered by their 64 bit id.
+ * <p>
+ * {@link CachedDataCodec} writes the id of a registered schema rather than the property
+ * names and resolves the schema by id when decoding. The registry is held by the cache
+ * manager of a database such that databases in the same JVM with different models (or
+ * the same bean types with different property types) do not share schemas.
+ */
+public final class CachedBeanDataSchemas {
+
+  private final Map<Long, CachedBeanDataSchema> schemas = new ConcurrentHashMap<>();
+
+  /**
+   * Register the schema of a bean descriptor.
+   */
+  public CachedBeanDataSchema register(CachedBeanDataSchema schema) {
+    if (schema.size() > 0) {
+      schemas.putIfAbsent(schema.id(), schema);
+    }
+    return schema;
+  }
+
+  /**
+   * Return the registered schema for the given id or null if no bean descriptor has this schema.
+   */
+  CachedBeanDataSchema forId(long id) {
+    return schemas.get(id);
+  }
+
+  /**
+   * Return true if a bean descriptor schema with the same id (and names) is registered.
+   */
+  boolean isRegistered(CachedBeanDataSchema schema) {
+    return schema.matches(schemas.get(schema.id()));
+  }
+}
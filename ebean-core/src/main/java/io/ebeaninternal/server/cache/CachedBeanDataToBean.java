@@ -15,18 +15,20 @@ public final class CachedBeanDataToBean {
     if (desc.inheritInfo() != null) {
         desc = desc.inheritInfo().readType(bean.getClass()).desc();
     }
+    // when the data was extracted using the same schema read by slot (rather than by name)
+    final boolean bySlot = desc.cacheDataSchema().matches(cacheBeanData.getSchema());
     if (idProperty != null) {
       // load the id property
-      loadProperty(bean, cacheBeanData, ebi, idProperty, context);
+      loadProperty(bean, cacheBeanData, ebi, idProperty, context, bySlot);
     }
     // load the non-many properties
     for (BeanProperty prop : desc.propertiesNonMany()) {
-      loadProperty(bean, cacheBeanData, ebi, prop, context);
+      loadProperty(bean, cacheBeanData, ebi, prop, context, bySlot);
     }
     final boolean addManyReferences = ebi instanceof InterceptReadWrite;
     for (BeanPropertyAssocMany<?> prop : desc.propertiesMany()) {
       if (prop.isElementCollection()) {
-        loadProperty(bean, cacheBeanData, ebi, prop, context);
+        loadProperty(bean, cacheBeanData, ebi, prop, context, bySlot);
       } else if (addManyReferences) {
         prop.createReferenceIfNull(bean);
       }
@@ -34,8 +36,13 @@ public final class CachedBeanDataToBean {
     ebi.setLoadedLazy();
   }
 
-  private static void loadProperty(EntityBean bean, CachedBeanData cacheBeanData, EntityBeanIntercept ebi, BeanProperty prop, PersistenceContext context) {
-    if (cacheBeanData.isLoaded(prop.name())) {
+  private static void loadProperty(EntityBean bean, CachedBeanData cacheBeanData, EntityBeanIntercept ebi, BeanProperty prop, PersistenceContext context, boolean bySlot) {
+    if (bySlot) {
+      int slot = prop.propertyIndex();
+      if (cacheBeanData.isLoaded(slot) && !ebi.isLoadedProperty(slot)) {
+        prop.setCacheDataValue(bean, cacheBeanData.getData(slot), context);
+      }
+    } else if (cacheBeanData.isLoaded(prop.name())) {
       if (!ebi.isLoadedProperty(prop.propertyIndex())) {
         Object value = cacheBeanData.getData(prop.name());
         prop.setCacheDataValue(bean, value, context);
@@ -0,0 +1,484 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.DatabaseBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of CachedBeanData and CachedManyIds for remote L2 caches.
+ * <p>
+ * The encoded bytes start with a magic byte, the format version and the kind of entry.
+ * Bean data extracted via a bean descriptor is written with the 64 bit id of the descriptor
+ * schema followed by the loaded slots (as varint deltas) and their values. When decoding,
+ * the schema is resolved by id and when the id is not known (a node with a different model
+ * version) or the header does not match (entries written by an older format) decoding
+ * returns null such that the entry is treated as a cache miss.
+ * <p>
+ * A codec is created for the {@link CachedBeanDataSchemas} of a cache manager (that is,
+ * per database) and is obtained by remote cache factories via the service object of the
+ * database configuration.
+ * <p>
+ * Values are written with a type tag. The bean cache holds property values as formatted
+ * by the ScalarType (strings), binary values as byte[] and associations as id values so
+ * the tags follow those types. Strings that are the canonical form of a long (ids, counts,
+ * epoch millis) are written as varints. Types without a tag fall back to java serialisation.
+ */
+public final class CachedDataCodec {
+
+  private static final byte MAGIC = (byte) 0xEC;
+  private static final byte FORMAT = 2;
+
+  private static final byte KIND_BEAN = 1;
+  private static final byte KIND_MANY_IDS = 2;
+
+  private static final int FLAG_SCHEMA = 1;
+  private static final int FLAG_DISC = 2;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte LONG_STRING = 2;
+  private static final byte BYTES = 3;
+  private static final byte LONG = 4;
+  private static final byte INTEGER = 5;
+  private static final byte UUID_VALUE = 6;
+  private static final byte TRUE = 7;
+  private static final byte FALSE = 8;
+  private static final byte BEAN_DATA = 9;
+  private static final byte BEAN_ID = 10;
+  private static final byte SERIALIZABLE = 15;
+
+  private final CachedBeanDataSchemas schemas;
+
+  /**
+   * Create with the schemas of the cache manager.
+   */
+  public CachedDataCodec(CachedBeanDataSchemas schemas) {
+    this.schemas = schemas;
+  }
+
+  /**
+   * Create for the database configuration using the schemas registered by its cache manager.
+   */
+  public static CachedDataCodec of(DatabaseBuilder.Settings config) {
+    CachedBeanDataSchemas schemas = config.getServiceObject(CachedBeanDataSchemas.class);
+    return new CachedDataCodec(schemas == null ? new CachedBeanDataSchemas() : schemas);
+  }
+
+  /**
+   * Encode the bean data.
+   */
+  public byte[] encode(CachedBeanData data) {
+    Output out = new Output(64);
+    header(out, KIND_BEAN);
+    writeBeanData(out, data);
+    return out.toByteArray();
+  }
+
+  /**
+   * Encode the collection ids.
+   */
+  public byte[] encode(CachedManyIds data) {
+    List<Object> ids = data.getIdList();
+    Output out = new Output(8 + ids.size() * 4);
+    header(out, KIND_MANY_IDS);
+    out.writeVarInt(ids.size());
+    for (Object id : ids) {
+      writeValue(out, id);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decode the bean data returning null if the entry does not match the format or schema.
+   */
+  public CachedBeanData decodeBeanData(byte[] bytes) {
+    Input in = new Input(bytes);
+    if (!header(in, KIND_BEAN)) {
+      return null;
+    }
+    try {
+      return readBeanData(in);
+    } catch (SchemaMismatch e) {
+      return null;
+    }
+  }
+
+  /**
+   * Decode the collection ids returning null if the entry does not match the format.
+   */
+  public CachedManyIds decodeManyIds(byte[] bytes) {
+    Input in = new Input(bytes);
+    if (!header(in, KIND_MANY_IDS)) {
+      return null;
+    }
+    try {
+      int size = in.readVarInt();
+      List<Object> ids = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        ids.add(readValue(in));
+      }
+      return new CachedManyIds(ids);
+    } catch (SchemaMismatch e) {
+      return null;
+    }
+  }
+
+  private static void header(Output out, byte kind) {
+    out.write(MAGIC);
+    out.write(FORMAT);
+    out.write(kind);
+  }
+
+  private static boolean header(Input in, byte kind) {
+    return in.remaining() >= 3 && in.read() == MAGIC && in.read() == FORMAT && in.read() == kind;
+  }
+
+  private void writeBeanData(Output out, CachedBeanData data) {
+    CachedBeanDataSchema schema = data.getSchema();
+    String disc = data.getDiscValue();
+    boolean bySchema = schemas.isRegistered(schema);
+    out.write((bySchema ? FLAG_SCHEMA : 0) | (disc != null ? FLAG_DISC : 0));
+    if (bySchema) {
+      out.writeLong(schema.id());
+    }
+    out.writeVarLong(data.getVersion());
+    out.writeVarLong(data.getWhenCreated());
+    if (disc != null) {
+      out.writeString(disc);
+    }
+    out.writeVarInt(data.loadedCount());
+    int last = -1;
+    for (int slot = 0; slot < data.slotCount(); slot++) {
+      if (data.isLoaded(slot)) {
+        if (bySchema) {
+          out.writeVarInt(slot - last);
+          last = slot;
+        } else {
+          out.writeString(schema.name(slot));
+        }
+        writeValue(out, data.getData(slot));
+      }
+    }
+  }
+
+  private CachedBeanData readBeanData(Input in) {
+    int flags = in.read();
+    CachedBeanDataSchema schema = null;
+    if ((flags & FLAG_SCHEMA) != 0) {
+      schema = schemas.forId(in.readLong());
+      if (schema == null) {
+        throw new SchemaMismatch();
+      }
+    }
+    long version = in.readVarLong();
+    long whenCreated = in.readVarLong();
+    String disc = (flags & FLAG_DISC) != 0 ? in.readString() : null;
+    int count = in.readVarInt();
+    if (schema == null) {
+      String[] names = new String[count];
+      Object[] values = new Object[count];
+      long[] loaded = CachedBeanData.newLoaded(count);
+      for (int i = 0; i < count; i++) {
+        names[i] = in.readString();
+        values[i] = readValue(in);
+        CachedBeanData.setLoaded(loaded, i);
+      }
+      return new CachedBeanData(disc, CachedBeanDataSchema.detached(names), values, loaded, version, whenCreated);
+    }
+    Object[] values = new Object[schema.size()];
+    long[] loaded = CachedBeanData.newLoaded(values.length);
+    int slot = -1;
+    for (int i = 0; i < count; i++) {
+      slot += in.readVarInt();
+      if (slot >= values.length) {
+        throw new SchemaMismatch();
+      }
+      values[slot] = readValue(in);
+      CachedBeanData.setLoaded(loaded, slot);
+    }
+    return new CachedBeanData(disc, schema, values, loaded, version, whenCreated);
+  }
+
+  private void writeValue(Output out, Object value) {
+    if (value == null) {
+      out.write(NULL);
+    } else if (value instanceof String) {
+      String str = (String) value;
+      if (isCanonicalLong(str)) {
+        out.write(LONG_STRING);
+        out.writeVarLong(Long.parseLong(str));
+      } else {
+        out.write(STRING);
+        out.writeString(str);
+      }
+    } else if (value instanceof byte[]) {
+      byte[] bytes = (byte[]) value;
+      out.write(BYTES);
+      out.writeVarInt(bytes.length);
+      out.write(bytes, 0, bytes.length);
+    } else if (value instanceof Long) {
+      out.write(LONG);
+      out.writeVarLong((Long) value);
+    } else if (value instanceof Integer) {
+      out.write(INTEGER);
+      out.writeVarLong((Integer) value);
+    } else if (value instanceof UUID) {
+      UUID uuid = (UUID) value;
+      out.write(UUID_VALUE);
+      out.writeLong(uuid.getMostSignificantBits());
+      out.writeLong(uuid.getLeastSignificantBits());
+    } else if (value instanceof Boolean) {
+      out.write((Boolean) value ? TRUE : FALSE);
+    } else if (value instanceof CachedBeanData) {
+      out.write(BEAN_DATA);
+      writeBeanData(out, (CachedBeanData) value);
+    } else if (value instanceof CachedBeanId) {
+      CachedBeanId beanId = (CachedBeanId) value;
+      out.write(BEAN_ID);
+      out.writeString(beanId.getDiscValue());
+      writeValue(out, beanId.getId());
+    } else {
+      out.write(SERIALIZABLE);
+      byte[] bytes = serialise(value);
+      out.writeVarInt(bytes.length);
+      out.write(bytes, 0, bytes.length);
+    }
+  }
+
+  private Object readValue(Input in) {
+    byte tag = in.read();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return in.readString();
+      case LONG_STRING:
+        return Long.toString(in.readVarLong());
+      case BYTES:
+        return in.readBytes(in.readVarInt());
+      case LONG:
+        return in.readVarLong();
+      case INTEGER:
+        return (int) in.readVarLong();
+      case UUID_VALUE:
+        return new UUID(in.readLong(), in.readLong());
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case BEAN_DATA:
+        return readBeanData(in);
+      case BEAN_ID:
+        return new CachedBeanId(in.readString(), readValue(in));
+      case SERIALIZABLE:
+        return deserialise(in.readBytes(in.readVarInt()));
+      default:
+        throw new IllegalStateException("Unknown cache value tag " + tag);
+    }
+  }
+
+  /**
+   * Return true if the string is exactly the decimal form of a long (no leading zeros or plus sign).
+   */
+  static boolean isCanonicalLong(String str) {
+    int len = str.length();
+    if (len == 0 || len > 19) {
+      return false;
+    }
+    int start = str.charAt(0) == '-' ? 1 : 0;
+    if (start == len || (str.charAt(start) == '0' && (len > 1))) {
+      return false;
+    }
+    for (int i = start; i < len; i++) {
+      char ch = str.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return false;
+      }
+    }
+    return len < 19 || (start == 0 && str.compareTo("9223372036854775807") <= 0);
+  }
+
+  private static byte[] serialise(Object value) {
+    if (!(value instanceof Serializable)) {
+      throw new IllegalStateException("Cache value of type " + value.getClass() + " is not serializable");
+    }
+    try {
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      try (ObjectOutputStream oos = new ObjectOutputStream(os)) {
+        oos.writeObject(value);
+      }
+      return os.toByteArray();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode cache value", e);
+    }
+  }
+
+  private static Object deserialise(byte[] bytes) {
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return ois.readObject();
+    } catch (IOException | ClassNotFoundException e) {
+      throw new IllegalStateException("Failed to decode cache value", e);
+    }
+  }
+
+  /**
+   * The encoded entry does not match the local schema.
+   */
+  private static final class SchemaMismatch extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    SchemaMismatch() {
+      super(null, null, false, false);
+    }
+  }
+
+  private static final class Output {
+
+    private byte[] buf;
+    private int pos;
+
+    Output(int size) {
+      this.buf = new byte[size];
+    }
+
+    private void ensure(int extra) {
+      if (pos + extra > buf.length) {
+        buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + extra));
+      }
+    }
+
+    void write(int b) {
+      ensure(1);
+      buf[pos++] = (byte) b;
+    }
+
+    void write(byte[] bytes, int off, int len) {
+      ensure(len);
+      System.arraycopy(bytes, off, buf, pos, len);
+      pos += len;
+    }
+
+    void writeLong(long value) {
+      ensure(8);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        buf[pos++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeVarInt(int value) {
+      ensure(5);
+      while ((value & ~0x7F) != 0) {
+        buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buf[pos++] = (byte) value;
+    }
+
+    /**
+     * Write the zigzag encoded varint.
+     */
+    void writeVarLong(long value) {
+      long zigzag = (value << 1) ^ (value >> 63);
+      ensure(10);
+      while ((zigzag & ~0x7FL) != 0) {
+        buf[pos++] = (byte) ((zigzag & 0x7F) | 0x80);
+        zigzag >>>= 7;
+      }
+      buf[pos++] = (byte) zigzag;
+    }
+
+    void writeString(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(bytes.length);
+      write(bytes, 0, bytes.length);
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buf, pos);
+    }
+  }
+
+  private static final class Input {
+
+    private final byte[] buf;
+    private int pos;
+
+    Input(byte[] buf) {
+      this.buf = buf;
+    }
+
+    int remaining() {
+      return buf.length - pos;
+    }
+
+    private void require(int len) {
+      if (len < 0 || pos + len > buf.length) {
+        throw new IllegalStateException("Truncated cache entry");
+      }
+    }
+
+    byte read() {
+      require(1);
+      return buf[pos++];
+    }
+
+    byte[] readBytes(int len) {
+      require(len);
+      byte[] bytes = Arrays.copyOfRange(buf, pos, pos + len);
+      pos += len;
+      return bytes;
+    }
+
+    long readLong() {
+      require(8);
+      long value = 0;
+      for (int i = 0; i < 8; i++) {
+        value = (value << 8) | (buf[pos++] & 0xFF);
+      }
+      return value;
+    }
+
+    int readVarInt() {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        byte b = read();
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new IllegalStateException("Malformed varint in cache entry");
+    }
+
+    long readVarLong() {
+      long zigzag = 0;
+      for (int shift = 0; shift < 70; shift += 7) {
+        byte b = read();
+        zigzag |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+      }
+      throw new IllegalStateException("Malformed varint in cache entry");
+    }
+
+    String readString() {
+      int len = readVarInt();
+      require(len);
+      String value = new String(buf, pos, len, StandardCharsets.UTF_8);
+      pos += len;
+      return value;
+    }
+  }
+}
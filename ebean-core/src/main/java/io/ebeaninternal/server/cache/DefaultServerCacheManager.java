@@ -25,7 +25,9 @@ public final class DefaultServerCacheManager implements SpiCacheManager {
   private final ClusterManager clusterManager;
   private final DefaultCacheHolder cacheHolder;
   private final boolean localL2Caching;
+  private final boolean queryCacheRowInvalidation;
   private final String serverName;
+  private final CachedBeanDataSchemas cacheDataSchemas;
 
   /**
    * Create with a cache factory and default cache options.
@@ -34,7 +36,9 @@ public final class DefaultServerCacheManager implements SpiCacheManager {
     this.clusterManager = builder.getClusterManager();
     this.serverName = builder.getServerName();
     this.localL2Caching = builder.isLocalL2Caching();
+    this.queryCacheRowInvalidation = builder.isQueryCacheRowInvalidation();
     this.cacheHolder = new DefaultCacheHolder(builder);
+    this.cacheDataSchemas = builder.getCacheDataSchemas();
   }
 
   /**
@@ -44,11 +48,21 @@ public final class DefaultServerCacheManager implements SpiCacheManager {
     this(new CacheManagerOptions());
   }
 
+  @Override
+  public CachedBeanDataSchemas cacheDataSchemas() {
+    return cacheDataSchemas;
+  }
+
   @Override
   public boolean isLocalL2Caching() {
     return localL2Caching;
   }
 
+  @Override
+  public boolean isQueryCacheRowInvalidation() {
+    return queryCacheRowInvalidation;
+  }
+
   @Override
   public List<ServerCacheRegion> allRegions() {
     return new ArrayList<>(regionMap.values());
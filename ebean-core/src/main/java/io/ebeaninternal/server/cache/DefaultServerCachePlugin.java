@@ -11,10 +11,13 @@ import io.ebean.DatabaseBuilder;
 public final class DefaultServerCachePlugin implements ServerCachePlugin {
 
   /**
-   * Creates the default ServerCacheFactory.
+   * Creates the default ServerCacheFactory (or W-TinyLFU based factory when configured).
    */
   @Override
   public ServerCacheFactory create(DatabaseBuilder config, BackgroundExecutor executor) {
+    if (config.settings().isCacheTinyLfu()) {
+      return new TinyLfuServerCacheFactory(executor);
+    }
     return new DefaultServerCacheFactory(executor);
   }
 }
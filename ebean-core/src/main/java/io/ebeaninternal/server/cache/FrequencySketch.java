@@ -0,0 +1,99 @@
+package io.ebeaninternal.server.cache;
+
+/**
+ * Count-min sketch of 4 bit counters used to estimate the access frequency of cache keys.
+ * <p>
+ * Each long holds sixteen 4 bit counters and each key maps to 4 counters. When the number
+ * of increments reaches the sample size all counters are halved (aging) such that the
+ * estimated frequencies reflect recent history.
+ * <p>
+ * This is not thread safe and is expected to be guarded by the owning segment lock.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEED = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int size;
+
+  /**
+   * Create with the expected maximum number of entries in the cache (segment).
+   */
+  FrequencySketch(int maximumSize) {
+    int max = Math.max(16, Math.min(maximumSize, 1 << 30));
+    int length = Integer.highestOneBit(max - 1) << 1;
+    this.table = new long[length];
+    this.tableMask = length - 1;
+    this.sampleSize = (max > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : 10 * max;
+  }
+
+  /**
+   * Return the estimated frequency (0 to 15) for the given hash.
+   */
+  int frequency(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Increment the frequency for the given hash (capped at 15).
+   */
+  void increment(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++size >= sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = (0xfL << offset);
+    if ((table[index] & mask) != mask) {
+      table[index] += (1L << offset);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halve all the counters.
+   */
+  private void reset() {
+    int oddCount = 0;
+    for (int i = 0; i < table.length; i++) {
+      oddCount += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (oddCount >>> 2);
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEED[i]) * SEED[i];
+    h += (h >>> 32);
+    return ((int) h) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
@@ -0,0 +1,81 @@
+package io.ebeaninternal.server.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The ids and properties modified on a table by updates and deletes used for
+ * row level invalidation of query cache entries.
+ */
+public final class QueryCacheRowMod {
+
+  private final Set<Object> ids = new HashSet<>();
+  private final Set<String> properties = new HashSet<>();
+  private boolean allProperties;
+
+  /**
+   * Add an updated row with the modified properties (null when not known).
+   */
+  public void addUpdate(Object id, Set<String> modifiedProperties) {
+    ids.add(id);
+    if (modifiedProperties == null) {
+      allProperties = true;
+    } else if (!allProperties) {
+      properties.addAll(modifiedProperties);
+    }
+  }
+
+  /**
+   * Add deleted rows.
+   * <p>
+   * A deleted row can not newly match a query so only the ids are relevant.
+   */
+  public void addDelete(Collection<Object> deletedIds) {
+    ids.addAll(deletedIds);
+  }
+
+  /**
+   * Merge the other modifications into this one.
+   */
+  void merge(QueryCacheRowMod other) {
+    ids.addAll(other.ids);
+    if (other.allProperties) {
+      allProperties = true;
+    } else if (!allProperties) {
+      properties.addAll(other.properties);
+    }
+  }
+
+  /**
+   * Return true if the modifications could change the result of a query with the given
+   * result ids and predicate properties.
+   *
+   * @param resultIds           The ids of the beans in the query result
+   * @param predicateProperties The properties used by the query predicates (null when not known)
+   */
+  public boolean affects(Set<Object> resultIds, Set<String> predicateProperties) {
+    for (Object id : ids) {
+      if (resultIds.contains(id)) {
+        return true;
+      }
+    }
+    if (!allProperties && properties.isEmpty()) {
+      return false;
+    }
+    if (allProperties || predicateProperties == null) {
+      return true;
+    }
+    for (String property : properties) {
+      if (predicateProperties.contains(property)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "ids:" + ids + " properties:" + (allProperties ? "*" : properties);
+  }
+}
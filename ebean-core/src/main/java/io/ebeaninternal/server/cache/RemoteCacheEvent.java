@@ -42,6 +42,27 @@ public final class RemoteCacheEvent implements BinaryWritable {
     this.clearCaches = beanTypes;
   }
 
+  /**
+   * Return the event merging this and the other event.
+   */
+  public RemoteCacheEvent merge(RemoteCacheEvent other) {
+    if (clearAll || other.clearAll) {
+      return new RemoteCacheEvent(true);
+    }
+    List<String> merged = new ArrayList<>();
+    if (clearCaches != null) {
+      merged.addAll(clearCaches);
+    }
+    if (other.clearCaches != null) {
+      for (String cacheName : other.clearCaches) {
+        if (!merged.contains(cacheName)) {
+          merged.add(cacheName);
+        }
+      }
+    }
+    return new RemoteCacheEvent(false, merged);
+  }
+
   public boolean isClearAll() {
     return clearAll;
   }
@@ -26,6 +26,16 @@ public interface SpiCacheManager {
    */
   boolean isLocalL2Caching();
 
+  /**
+   * Return the schemas of the bean descriptors used to encode cached bean data.
+   */
+  CachedBeanDataSchemas cacheDataSchemas();
+
+  /**
+   * Return true if query cache entries are invalidated at row level for updates and deletes.
+   */
+  boolean isQueryCacheRowInvalidation();
+
   /**
    * Return all the regions.
    */
@@ -0,0 +1,563 @@
+package io.ebeaninternal.server.cache;
+
+import io.avaje.applog.AppLog;
+import io.ebean.BackgroundExecutor;
+import io.ebean.cache.ServerCache;
+import io.ebean.cache.ServerCacheStatistics;
+import io.ebean.meta.MetricVisitor;
+import io.ebean.metric.CountMetric;
+import io.ebean.metric.MetricFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.System.Logger.Level.TRACE;
+
+/**
+ * Segmented, lock striped cache using W-TinyLFU admission and eviction.
+ * <p>
+ * Entries are held in a ConcurrentHashMap such that reads do not take a lock. The
+ * eviction policy is partitioned into segments (by key hash) where each segment has
+ * its own lock, frequency sketch and window, probation and protected LRU queues.
+ * <p>
+ * New entries go into a small window LRU. Entries leaving the window compete with the
+ * probation victim for a place in the main space based on their estimated frequency.
+ * Entries hit while in probation are promoted to protected. Eviction is O(1) on put and
+ * there is no periodic sort of all entries.
+ * <p>
+ * Recording reads uses tryLock and the read is simply not recorded when the segment
+ * lock is contended (the policy is approximate).
+ */
+public final class TinyLfuServerCache implements ServerCache {
+
+  private static final System.Logger logger = AppLog.getLogger(TinyLfuServerCache.class);
+
+  private static final int MAX_SEGMENTS = 64;
+  private static final int MIN_SEGMENT_SIZE = 128;
+
+  private static final byte WINDOW = 0;
+  private static final byte PROBATION = 1;
+  private static final byte PROTECTED = 2;
+
+  private final ConcurrentHashMap<Object, Node> map = new ConcurrentHashMap<>();
+  private final Segment[] segments;
+  private final int segmentMask;
+  private final CountMetric hitCount;
+  private final CountMetric missCount;
+  private final CountMetric putCount;
+  private final CountMetric removeCount;
+  private final CountMetric clearCount;
+  private final CountMetric evictCount;
+  private final CountMetric gcCount;
+  private final CountMetric idleCount;
+  private final CountMetric ttlCount;
+  private final CountMetric lruCount;
+  private final String name;
+  private final int maxSize;
+  private final int trimFrequency;
+  private final long maxIdleNanos;
+  private final long maxTtlNanos;
+
+  public TinyLfuServerCache(DefaultServerCacheConfig config) {
+    this(config, Runtime.getRuntime().availableProcessors());
+  }
+
+  TinyLfuServerCache(DefaultServerCacheConfig config, int processors) {
+    this.name = config.getName();
+    this.maxSize = config.getMaxSize();
+    this.maxIdleNanos = TimeUnit.SECONDS.toNanos(config.getMaxIdleSecs());
+    this.maxTtlNanos = TimeUnit.SECONDS.toNanos(config.getMaxSecsToLive());
+    this.trimFrequency = config.determineTrimFrequency();
+
+    int segmentCount = segmentCount(maxSize, processors);
+    this.segments = new Segment[segmentCount];
+    this.segmentMask = segmentCount - 1;
+    int segmentMax = (maxSize <= 0) ? Integer.MAX_VALUE : Math.max(1, maxSize / segmentCount);
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment(segmentMax);
+    }
+
+    String shortName = config.getShortName();
+    MetricFactory factory = MetricFactory.get();
+    String prefix = "l2n.";
+    this.hitCount = factory.createCountMetric(prefix + shortName + ".hit");
+    this.missCount = factory.createCountMetric(prefix + shortName + ".miss");
+    this.putCount = factory.createCountMetric(prefix + shortName + ".put");
+    this.removeCount = factory.createCountMetric(prefix + shortName + ".remove");
+    this.clearCount = factory.createCountMetric(prefix + shortName + ".clear");
+    this.evictCount = factory.createCountMetric(prefix + shortName + ".evict");
+    this.gcCount = factory.createCountMetric(prefix + shortName + ".gc");
+    this.idleCount = factory.createCountMetric(prefix + shortName + ".idle");
+    this.ttlCount = factory.createCountMetric(prefix + shortName + ".ttl");
+    this.lruCount = factory.createCountMetric(prefix + shortName + ".lru");
+  }
+
+  /**
+   * Return the number of segments (power of 2) based on max size and available processors.
+   */
+  static int segmentCount(int maxSize, int processors) {
+    int target = Math.min(MAX_SEGMENTS, Math.max(1, processors * 2));
+    int count = 1;
+    while (count < target && (maxSize <= 0 || maxSize / (count * 2) >= MIN_SEGMENT_SIZE)) {
+      count <<= 1;
+    }
+    return count;
+  }
+
+  /**
+   * Schedule the periodic removal of idle and expired entries (when maxIdle or maxTTL is defined).
+   */
+  public void periodicTrim(BackgroundExecutor executor) {
+    if (maxIdleNanos > 0 || maxTtlNanos > 0) {
+      long trimFreqSecs = (trimFrequency <= 0) ? 60 : trimFrequency;
+      executor.scheduleWithFixedDelay(this::runEviction, trimFreqSecs, trimFreqSecs, TimeUnit.SECONDS);
+    }
+  }
+
+  @Override
+  public void visit(MetricVisitor visitor) {
+    hitCount.visit(visitor);
+    missCount.visit(visitor);
+    putCount.visit(visitor);
+    removeCount.visit(visitor);
+    clearCount.visit(visitor);
+    evictCount.visit(visitor);
+    gcCount.visit(visitor);
+    idleCount.visit(visitor);
+    ttlCount.visit(visitor);
+    lruCount.visit(visitor);
+  }
+
+  @Override
+  public ServerCacheStatistics statistics(boolean reset) {
+    ServerCacheStatistics cacheStats = new ServerCacheStatistics();
+    cacheStats.setCacheName(name);
+    cacheStats.setMaxSize(maxSize);
+    cacheStats.setSize(size());
+    cacheStats.setHitCount(hitCount.get(reset));
+    cacheStats.setMissCount(missCount.get(reset));
+    cacheStats.setPutCount(putCount.get(reset));
+    cacheStats.setRemoveCount(removeCount.get(reset));
+    cacheStats.setClearCount(clearCount.get(reset));
+    cacheStats.setEvictCount(evictCount.get(reset));
+    cacheStats.setGcCount(gcCount.get(reset));
+    cacheStats.setIdleCount(idleCount.get(reset));
+    cacheStats.setTtlCount(ttlCount.get(reset));
+    cacheStats.setLruCount(lruCount.get(reset));
+    return cacheStats;
+  }
+
+  @Override
+  public int hitRatio() {
+    long mc = missCount.get(false);
+    long hc = hitCount.get(false);
+    long totalCount = hc + mc;
+    if (totalCount == 0) {
+      return 0;
+    } else {
+      return (int) (hc * 100 / totalCount);
+    }
+  }
+
+  /**
+   * Return the name of the cache.
+   */
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public Object get(Object key) {
+    final int hash = key.hashCode();
+    final Segment segment = segmentFor(hash);
+    final Node node = map.get(key);
+    if (node == null) {
+      missCount.increment();
+      segment.recordMiss(hash);
+      return null;
+    }
+    if (maxIdleNanos > 0 || maxTtlNanos > 0) {
+      long now = System.nanoTime();
+      if (expired(node, now)) {
+        segment.removeExpired(node, now);
+        missCount.increment();
+        return null;
+      }
+      node.accessTime = now;
+    }
+    hitCount.increment();
+    segment.recordAccess(node);
+    return node.value;
+  }
+
+  @Override
+  public void putAll(Map<Object, Object> keyValues) {
+    keyValues.forEach(this::put);
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    final int hash = key.hashCode();
+    segmentFor(hash).put(new Node(key, value, hash, System.nanoTime()));
+    putCount.increment();
+  }
+
+  @Override
+  public void remove(Object key) {
+    if (segmentFor(key.hashCode()).remove(key)) {
+      removeCount.increment();
+    }
+  }
+
+  @Override
+  public void clear() {
+    clearCount.increment();
+    for (Segment segment : segments) {
+      segment.lock.lock();
+    }
+    try {
+      map.clear();
+      for (Segment segment : segments) {
+        segment.reset();
+      }
+    } finally {
+      for (Segment segment : segments) {
+        segment.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Remove idle and expired entries.
+   */
+  public void runEviction() {
+    if (maxIdleNanos == 0 && maxTtlNanos == 0) {
+      return;
+    }
+    long startNanos = System.nanoTime();
+    long removed = 0;
+    for (Segment segment : segments) {
+      removed += segment.removeAllExpired(startNanos);
+    }
+    if (logger.isLoggable(TRACE)) {
+      long exeMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+      logger.log(TRACE, "Executed trim of cache {0} in [{1}]micros expired[{2}]", name, exeMicros, removed);
+    }
+  }
+
+  private Segment segmentFor(int hash) {
+    return segments[(hash ^ (hash >>> 16)) & segmentMask];
+  }
+
+  private boolean expired(Node node, long now) {
+    return (maxTtlNanos > 0 && now - node.createTime > maxTtlNanos)
+      || (maxIdleNanos > 0 && now - node.accessTime > maxIdleNanos);
+  }
+
+  private void countExpired(Node node, long now) {
+    evictCount.increment();
+    if (maxTtlNanos > 0 && now - node.createTime > maxTtlNanos) {
+      ttlCount.increment();
+    } else {
+      idleCount.increment();
+    }
+  }
+
+  /**
+   * Cache entry that is also a node in one of the segment queues.
+   */
+  private static final class Node {
+
+    final Object key;
+    final Object value;
+    final int hash;
+    final long createTime;
+    volatile long accessTime;
+    byte queue;
+    boolean removed;
+    Node prev;
+    Node next;
+
+    Node(Object key, Object value, int hash, long createTime) {
+      this.key = key;
+      this.value = value;
+      this.hash = hash;
+      this.createTime = createTime;
+      this.accessTime = createTime;
+    }
+
+    /**
+     * Create a sentinel (head) for a queue.
+     */
+    static Node sentinel() {
+      Node node = new Node(null, null, 0, 0);
+      node.prev = node;
+      node.next = node;
+      return node;
+    }
+  }
+
+  /**
+   * A segment of the eviction policy guarded by its own lock.
+   */
+  private final class Segment {
+
+    final ReentrantLock lock = new ReentrantLock();
+    final FrequencySketch sketch;
+    final int maximum;
+    final int maxWindow;
+    final int maxProtected;
+    final Node window = Node.sentinel();
+    final Node probation = Node.sentinel();
+    final Node protect = Node.sentinel();
+    int windowSize;
+    int probationSize;
+    int protectedSize;
+
+    Segment(int maximum) {
+      this.maximum = maximum;
+      this.maxWindow = Math.max(1, maximum / 100);
+      this.maxProtected = (int) ((maximum - (long) maxWindow) * 80 / 100);
+      this.sketch = new FrequencySketch(maximum == Integer.MAX_VALUE ? 1024 : maximum);
+    }
+
+    void reset() {
+      for (Node head : new Node[]{window, probation, protect}) {
+        for (Node node = head.next; node != head; node = node.next) {
+          node.removed = true;
+        }
+        head.next = head;
+        head.prev = head;
+      }
+      windowSize = 0;
+      probationSize = 0;
+      protectedSize = 0;
+    }
+
+    void recordMiss(int hash) {
+      if (lock.tryLock()) {
+        try {
+          sketch.increment(hash);
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+
+    void recordAccess(Node node) {
+      if (lock.tryLock()) {
+        try {
+          if (!node.removed) {
+            onAccess(node);
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+
+    void put(Node node) {
+      lock.lock();
+      try {
+        Node prior = map.put(node.key, node);
+        if (prior != null) {
+          // replacing the value retains the prior position in the policy
+          unlinkRemoved(prior);
+          node.queue = prior.queue;
+          linkLast(headFor(prior.queue), node);
+          incrementSize(node.queue);
+          sketch.increment(node.hash);
+        } else {
+          onAdd(node);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    boolean remove(Object key) {
+      lock.lock();
+      try {
+        Node node = map.remove(key);
+        if (node == null) {
+          return false;
+        }
+        unlinkRemoved(node);
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void removeExpired(Node node, long now) {
+      lock.lock();
+      try {
+        if (map.remove(node.key, node)) {
+          unlinkRemoved(node);
+          countExpired(node, now);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int removeAllExpired(long now) {
+      int count = 0;
+      lock.lock();
+      try {
+        for (Node head : new Node[]{window, probation, protect}) {
+          Node node = head.next;
+          while (node != head) {
+            Node next = node.next;
+            if (expired(node, now) && map.remove(node.key, node)) {
+              unlinkRemoved(node);
+              countExpired(node, now);
+              count++;
+            }
+            node = next;
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+      return count;
+    }
+
+    private void onAdd(Node node) {
+      sketch.increment(node.hash);
+      node.queue = WINDOW;
+      linkLast(window, node);
+      windowSize++;
+      if (windowSize > maxWindow) {
+        // move the window LRU into probation where it competes for a place in main
+        Node candidate = window.next;
+        unlink(candidate);
+        windowSize--;
+        candidate.queue = PROBATION;
+        linkLast(probation, candidate);
+        probationSize++;
+        if (windowSize + probationSize + protectedSize > maximum) {
+          evict(candidate);
+        }
+      }
+    }
+
+    /**
+     * Evict either the candidate or the probation victim based on estimated frequency.
+     */
+    private void evict(Node candidate) {
+      Node victim = probation.next;
+      if (victim == candidate) {
+        victim = (protectedSize > 0) ? protect.next : candidate;
+      }
+      if (victim != candidate && sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+        evictNode(victim);
+      } else {
+        evictNode(candidate);
+      }
+    }
+
+    private void evictNode(Node node) {
+      map.remove(node.key, node);
+      unlinkRemoved(node);
+      evictCount.increment();
+      lruCount.increment();
+    }
+
+    private void onAccess(Node node) {
+      sketch.increment(node.hash);
+      switch (node.queue) {
+        case WINDOW:
+          moveToLast(window, node);
+          break;
+        case PROBATION:
+          unlink(node);
+          probationSize--;
+          node.queue = PROTECTED;
+          linkLast(protect, node);
+          protectedSize++;
+          if (protectedSize > maxProtected) {
+            // demote the protected LRU back to probation
+            Node demote = protect.next;
+            unlink(demote);
+            protectedSize--;
+            demote.queue = PROBATION;
+            linkLast(probation, demote);
+            probationSize++;
+          }
+          break;
+        default:
+          moveToLast(protect, node);
+      }
+    }
+
+    private Node headFor(byte queue) {
+      switch (queue) {
+        case WINDOW:
+          return window;
+        case PROBATION:
+          return probation;
+        default:
+          return protect;
+      }
+    }
+
+    private void incrementSize(byte queue) {
+      switch (queue) {
+        case WINDOW:
+          windowSize++;
+          break;
+        case PROBATION:
+          probationSize++;
+          break;
+        default:
+          protectedSize++;
+      }
+    }
+
+    private void unlinkRemoved(Node node) {
+      if (node.removed) {
+        return;
+      }
+      node.removed = true;
+      unlink(node);
+      switch (node.queue) {
+        case WINDOW:
+          windowSize--;
+          break;
+        case PROBATION:
+          probationSize--;
+          break;
+        default:
+          protectedSize--;
+      }
+    }
+
+    private void moveToLast(Node head, Node node) {
+      unlink(node);
+      linkLast(head, node);
+    }
+
+    private void linkLast(Node head, Node node) {
+      Node last = head.prev;
+      node.prev = last;
+      node.next = head;
+      last.next = node;
+      head.prev = node;
+    }
+
+    private void unlink(Node node) {
+      node.prev.next = node.next;
+      node.next.prev = node.prev;
+      node.prev = null;
+      node.next = null;
+    }
+  }
+}
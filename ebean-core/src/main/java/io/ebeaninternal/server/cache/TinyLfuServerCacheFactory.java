@@ -0,0 +1,43 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.BackgroundExecutor;
+import io.ebean.cache.*;
+
+/**
+ * ServerCacheFactory that uses the segmented W-TinyLFU cache for bean, natural key
+ * and collection ids caches.
+ * <p>
+ * Query caches continue to use DefaultServerQueryCache as entries there additionally
+ * require validation against dependent table modifications.
+ */
+final class TinyLfuServerCacheFactory implements ServerCacheFactory {
+
+  private final BackgroundExecutor executor;
+
+  TinyLfuServerCacheFactory(BackgroundExecutor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public ServerCache createCache(ServerCacheConfig config) {
+    if (config.isQueryCache()) {
+      DefaultServerCache cache = new DefaultServerQueryCache(new DefaultServerCacheConfig(config));
+      if (executor != null) {
+        cache.periodicTrim(executor);
+      }
+      return config.tenantAware(cache);
+    }
+    TinyLfuServerCache cache = new TinyLfuServerCache(new DefaultServerCacheConfig(config));
+    if (executor != null) {
+      cache.periodicTrim(executor);
+    }
+    return config.tenantAware(cache);
+  }
+
+  @Override
+  public ServerCacheNotify createCacheNotify(ServerCacheNotify listener) {
+    return notification -> {
+      // do nothing
+    };
+  }
+}
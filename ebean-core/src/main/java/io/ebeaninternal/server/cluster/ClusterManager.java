@@ -27,12 +27,22 @@ public class ClusterManager implements ServerLookup {
   public ClusterManager(ContainerConfig config) {
     if (config.isActive()) {
       ClusterBroadcastFactory factory = createFactory();
-      broadcast = factory != null ? factory.create(this, config) : null;
+      broadcast = factory != null ? coalesce(factory.create(this, config), config) : null;
     } else {
       broadcast = null;
     }
   }
 
+  /**
+   * Wrap the broadcast to coalesce transaction events when a coalesce window is configured.
+   */
+  private static ClusterBroadcast coalesce(ClusterBroadcast broadcast, ContainerConfig config) {
+    if (broadcast == null || config.getCoalesceMillis() <= 0) {
+      return broadcast;
+    }
+    return new CoalescingClusterBroadcast(broadcast, config.getCoalesceMillis(), config.getCoalesceMaxEvents());
+  }
+
   private ClusterBroadcastFactory createFactory() {
     return ServiceLoader.load(ClusterBroadcastFactory.class).findFirst().orElse(null);
   }
@@ -91,6 +101,13 @@ public class ClusterManager implements ServerLookup {
     return broadcast != null;
   }
 
+  /**
+   * Return true if transaction events are coalesced before being broadcast.
+   */
+  public boolean isCoalescing() {
+    return broadcast instanceof CoalescingClusterBroadcast;
+  }
+
   /**
    * Send the message headers and payload to every server in the cluster.
    */
@@ -0,0 +1,121 @@
+package io.ebeaninternal.server.cluster;
+
+import io.avaje.applog.AppLog;
+import io.ebeaninternal.server.executor.DaemonThreadFactory;
+import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * ClusterBroadcast that coalesces transaction events prior to sending them to the cluster.
+ * <p>
+ * Events are merged into a single event per database over a window of time or until a
+ * maximum number of events is reached. The merged event combines the table modifications
+ * and the ids per bean type such that the cluster members receive and apply one event
+ * rather than one event per transaction.
+ */
+public final class CoalescingClusterBroadcast implements ClusterBroadcast {
+
+  private static final System.Logger log = AppLog.getLogger("io.ebean.Cluster");
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ClusterBroadcast delegate;
+  private final long windowMillis;
+  private final int maxEvents;
+  private final ScheduledExecutorService executor;
+  private Map<String, RemoteTransactionEvent> pending = new LinkedHashMap<>();
+  private int pendingCount;
+  private boolean flushScheduled;
+
+  /**
+   * Create with the underlying broadcast and the window and maximum events to coalesce.
+   */
+  public CoalescingClusterBroadcast(ClusterBroadcast delegate, long windowMillis, int maxEvents) {
+    this.delegate = delegate;
+    this.windowMillis = windowMillis;
+    this.maxEvents = Math.max(1, maxEvents);
+    this.executor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("ebean-cluster-coalesce"));
+  }
+
+  @Override
+  public void startup() {
+    delegate.startup();
+  }
+
+  @Override
+  public void shutdown() {
+    executor.shutdown();
+    flush();
+    delegate.shutdown();
+  }
+
+  @Override
+  public void broadcast(RemoteTransactionEvent event) {
+    Collection<RemoteTransactionEvent> toSend = null;
+    lock.lock();
+    try {
+      pending.computeIfAbsent(event.getServerName(), RemoteTransactionEvent::coalesced).merge(event);
+      if (++pendingCount >= maxEvents) {
+        toSend = drain();
+      } else if (!flushScheduled && !executor.isShutdown()) {
+        flushScheduled = true;
+        executor.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (toSend != null) {
+      send(toSend);
+    }
+  }
+
+  /**
+   * Send the pending coalesced events.
+   */
+  void flush() {
+    Collection<RemoteTransactionEvent> toSend;
+    lock.lock();
+    try {
+      flushScheduled = false;
+      toSend = drain();
+    } finally {
+      lock.unlock();
+    }
+    send(toSend);
+  }
+
+  private Collection<RemoteTransactionEvent> drain() {
+    if (pending.isEmpty()) {
+      return null;
+    }
+    if (log.isLoggable(DEBUG)) {
+      log.log(DEBUG, "coalesced {0} events into {1}", pendingCount, pending.size());
+    }
+    Collection<RemoteTransactionEvent> events = new ArrayList<>(pending.values());
+    pending = new LinkedHashMap<>();
+    pendingCount = 0;
+    return events;
+  }
+
+  private void send(Collection<RemoteTransactionEvent> events) {
+    if (events != null) {
+      for (RemoteTransactionEvent event : events) {
+        try {
+          delegate.broadcast(event);
+        } catch (RuntimeException e) {
+          log.log(ERROR, "Error broadcasting coalesced event " + event, e);
+        }
+      }
+    }
+  }
+}
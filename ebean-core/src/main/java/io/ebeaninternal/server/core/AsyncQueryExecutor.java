@@ -0,0 +1,96 @@
+package io.ebeaninternal.server.core;
+
+import io.ebean.CancelableQuery;
+import io.ebean.config.BackgroundExecutorWrapper;
+import io.ebean.metric.TimedMetric;
+import io.ebeaninternal.server.executor.VirtualThreads;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Executes queries asynchronously returning CompletionStage.
+ * <p>
+ * By default this uses a virtual thread per task executor (when running on Java 21 or later)
+ * such that many concurrent queries do not pin platform threads. The time a query waits
+ * to start executing is recorded separately from the query execution time.
+ */
+final class AsyncQueryExecutor {
+
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private final BackgroundExecutorWrapper wrapper;
+  private final TimedMetric queueTime;
+  private final TimedMetric executeTime;
+
+  AsyncQueryExecutor(Executor configured, Executor fallback, BackgroundExecutorWrapper wrapper, TimedMetric queueTime, TimedMetric executeTime) {
+    this.wrapper = wrapper;
+    this.queueTime = queueTime;
+    this.executeTime = executeTime;
+    if (configured != null) {
+      this.executor = configured;
+      this.ownedExecutor = null;
+    } else {
+      this.ownedExecutor = VirtualThreads.perTaskExecutor("ebean-async-");
+      this.executor = ownedExecutor != null ? ownedExecutor : fallback;
+    }
+  }
+
+  /**
+   * Execute the query asynchronously. Cancelling the returned stage cancels the query.
+   */
+  <R> CompletionStage<R> submit(CancelableQuery query, Supplier<R> supplier) {
+    final long queuedNanos = System.nanoTime();
+    final AsyncQueryFuture<R> future = new AsyncQueryFuture<>(query);
+    Runnable task = () -> {
+      if (future.isDone()) {
+        // cancelled before it started executing
+        return;
+      }
+      final long startNanos = System.nanoTime();
+      queueTime.addSinceNanos(queuedNanos);
+      try {
+        future.complete(supplier.get());
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      } finally {
+        executeTime.addSinceNanos(startNanos);
+      }
+    };
+    executor.execute(wrapper == null ? task : wrapper.wrap(task));
+    return future;
+  }
+
+  /**
+   * Shutdown the executor if it was created by this (rather than supplied via configuration).
+   */
+  void shutdown() {
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  /**
+   * CompletableFuture that on cancel also cancels the executing query (JDBC statement).
+   */
+  static final class AsyncQueryFuture<R> extends CompletableFuture<R> {
+
+    private final CancelableQuery query;
+
+    AsyncQueryFuture(CancelableQuery query) {
+      this.query = query;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        query.cancel();
+      }
+      return cancelled;
+    }
+  }
+}
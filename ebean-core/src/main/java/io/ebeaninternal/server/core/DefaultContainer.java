@@ -75,7 +75,7 @@ public final class DefaultContainer implements SpiContainer {
     int schedulePoolSize = config.getBackgroundExecutorSchedulePoolSize();
     int shutdownSecs = config.getBackgroundExecutorShutdownSecs();
     BackgroundExecutorWrapper wrapper = config.getBackgroundExecutorWrapper();
-    return new DefaultBackgroundExecutor(schedulePoolSize, shutdownSecs, namePrefix, wrapper);
+    return new DefaultBackgroundExecutor(schedulePoolSize, shutdownSecs, namePrefix, wrapper, config.isBackgroundExecutorVirtualThreads());
   }
 
   /**
@@ -28,6 +28,11 @@ final class DefaultMetaInfoManager implements MetaInfoManager {
     return server.queryPlanCollectNow(request);
   }
 
+  @Override
+  public List<MetaQueryPlan> queryPlanSlowCaptures() {
+    return server.queryPlanSlowCaptures();
+  }
+
   @Override
   public void visitMetrics(MetricVisitor visitor) {
     server.visitMetrics(visitor);
@@ -21,8 +21,11 @@ import io.ebean.plugin.Plugin;
 import io.ebean.plugin.Property;
 import io.ebean.plugin.SpiServer;
 import io.ebean.text.json.JsonContext;
+import io.ebean.text.json.JsonIOException;
+import io.ebean.text.json.JsonWriteOptions;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.api.SpiQuery.Type;
+import io.ebeaninternal.api.json.SpiJsonWriter;
 import io.ebeaninternal.server.autotune.AutoTuneService;
 import io.ebeaninternal.server.cache.RemoteCacheEvent;
 import io.ebeaninternal.server.core.timezone.DataTimeZone;
@@ -34,10 +37,12 @@ import io.ebeaninternal.server.dto.DtoBeanDescriptor;
 import io.ebeaninternal.server.dto.DtoBeanManager;
 import io.ebeaninternal.server.el.ElFilter;
 import io.ebeaninternal.server.grammer.EqlParser;
+import io.ebeaninternal.server.loadcontext.LazyLoadBatchAdvisor;
 import io.ebeaninternal.server.query.*;
 import io.ebeaninternal.server.querydefn.*;
 import io.ebeaninternal.server.rawsql.SpiRawSql;
 import io.ebeaninternal.server.transaction.DefaultPersistenceContext;
+import io.ebeaninternal.server.transaction.LockFreePersistenceContext;
 import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
 import io.ebeaninternal.server.transaction.TransactionManager;
 import io.ebeaninternal.util.ParamTypeHelper;
@@ -49,17 +54,25 @@ import jakarta.persistence.NonUniqueResultException;
 import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Clock;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.lang.System.Logger.Level.*;
@@ -101,6 +114,7 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
   private final ScriptRunner scriptRunner;
   private final ExpressionFactory expressionFactory;
   private final SpiBackgroundExecutor backgroundExecutor;
+  private final AsyncQueryExecutor asyncQueryExecutor;
   private final DefaultBeanLoader beanLoader;
   private final EncryptKeyManager encryptKeyManager;
   private final SpiJsonContext jsonContext;
@@ -109,7 +123,9 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
   private final CurrentTenantProvider currentTenantProvider;
   private final SpiLogManager logManager;
   private final PersistenceContextScope defaultPersistenceContextScope;
+  private final boolean lockFreePersistenceContext;
   private final int lazyLoadBatchSize;
+  private final LazyLoadBatchAdvisor lazyLoadBatchAdvisor;
   private final boolean updateAllPropertiesInBatch;
   private final long slowQueryMicros;
   private final SlowQueryListener slowQueryListener;
@@ -129,14 +145,19 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     this.serverCacheManager = cache;
     this.databasePlatform = config.getDatabasePlatform();
     this.backgroundExecutor = config.getBackgroundExecutor();
+    this.asyncQueryExecutor = new AsyncQueryExecutor(this.config.getAsyncQueryExecutor(), backgroundExecutor::execute,
+      this.config.getBackgroundExecutorWrapper(), config.getExtraMetrics().asyncQueue(), config.getExtraMetrics().asyncExecute());
     this.extraMetrics = config.getExtraMetrics();
     this.serverName = this.config.getName();
     this.formulaContext = config.getConfig().aggregateFormulaContext();
     this.lazyLoadBatchSize = this.config.getLazyLoadBatchSize();
+    this.lazyLoadBatchAdvisor = !this.config.isLazyLoadBatchSizeAdaptive() ? null
+      : new LazyLoadBatchAdvisor(lazyLoadBatchSize, extraMetrics.lazyLoadGrow(), extraMetrics.lazyLoadShrink());
     this.cqueryEngine = config.getCQueryEngine();
     this.expressionFactory = config.getExpressionFactory();
     this.encryptKeyManager = this.config.getEncryptKeyManager();
     this.defaultPersistenceContextScope = this.config.getPersistenceContextScope();
+    this.lockFreePersistenceContext = this.config.isLockFreePersistenceContext();
     this.currentTenantProvider = this.config.getCurrentTenantProvider();
     this.slowQueryMicros = config.getSlowQueryMicros();
     this.slowQueryListener = config.getSlowQueryListener();
@@ -230,6 +251,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return lazyLoadBatchSize;
   }
 
+  @Override
+  public LazyLoadBatchAdvisor lazyLoadBatchAdvisor() {
+    return lazyLoadBatchAdvisor;
+  }
+
   @Nullable
   @Override
   public Object currentTenantId() {
@@ -341,6 +367,19 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       migrationRunner.run(config.getDataSource());
     }
     startQueryPlanCapture();
+    startQueryPlanSnapshot();
+  }
+
+  private void startQueryPlanSnapshot() {
+    String file = config.getQueryPlanSnapshotFile();
+    if (file != null) {
+      QueryPlanSnapshot snapshot = new QueryPlanSnapshot(this, file);
+      if (config.isQueryPlanSnapshotBackground()) {
+        backgroundExecutor.execute(snapshot::warmup);
+      } else {
+        snapshot.warmup();
+      }
+    }
   }
 
   private void startQueryPlanCapture() {
@@ -384,7 +423,9 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       }
       shutdownPlugins();
       autoTuneService.shutdown();
+      writeQueryPlanSnapshot();
       // shutdown background threads
+      asyncQueryExecutor.shutdown();
       backgroundExecutor.shutdown();
       // shutdown DataSource (if its an Ebean one)
       transactionManager.shutdown(shutdownDataSource, deregisterDriver);
@@ -398,6 +439,13 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }
   }
 
+  private void writeQueryPlanSnapshot() {
+    String file = config.getQueryPlanSnapshotFile();
+    if (file != null) {
+      new QueryPlanSnapshot(this, file).write();
+    }
+  }
+
   private void dumpMetrics() {
     if (config.isDumpMetricsOnShutdown()) {
       new DumpMetrics(this, config.getDumpMetricsOptions()).dump();
@@ -451,6 +499,21 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return cqueryEngine.buildQuery(orm);
   }
 
+  /**
+   * Build the query plan for a query replayed from the query plan snapshot.
+   * <p>
+   * Returns false without building the query plan when the plan key differs from the
+   * plan key that was captured (the replayed query would not build the same query plan).
+   */
+  <T> boolean compileQueryPlan(Type type, SpiQuery<T> query, String planKey) {
+    OrmQueryRequest<T> request = (OrmQueryRequest<T>) createQueryRequest(type, query);
+    if (!request.queryPlanKey().partialKey().equals(planKey)) {
+      return false;
+    }
+    cqueryEngine.buildQuery(request);
+    return true;
+  }
+
   @Override
   public ServerCacheManager cacheManager() {
     return serverCacheManager;
@@ -1037,6 +1100,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return (scope != null) ? scope : defaultPersistenceContextScope;
   }
 
+  @Override
+  public SpiPersistenceContext createPersistenceContext() {
+    return lockFreePersistenceContext ? new LockFreePersistenceContext() : new DefaultPersistenceContext();
+  }
+
   @Nullable
   @SuppressWarnings("unchecked")
   private <T> T findId(SpiQuery<T> query) {
@@ -1180,7 +1248,12 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
 
   @Override
   public <T> int findCountWithCopy(SpiQuery<T> query) {
-    SpiOrmQueryRequest<T> request = createQueryRequest(Type.COUNT, query);
+    SpiOrmQueryRequest<T> request = buildQueryRequest(Type.COUNT, query);
+    int inMemoryCount = request.inMemoryCount();
+    if (inMemoryCount > -1) {
+      return inMemoryCount;
+    }
+    request.prepareQuery();
     Integer result = request.getFromQueryCache();
     if (result != null) {
       return result;
@@ -1311,7 +1384,7 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
   public <T> FutureList<T> findFutureList(SpiQuery<T> query) {
     SpiQuery<T> spiQuery = configureForFuture(query.copy());
     // FutureList query always run in its own persistence content
-    spiQuery.setPersistenceContext(new DefaultPersistenceContext());
+    spiQuery.setPersistenceContext(createPersistenceContext());
     if (!spiQuery.isDisableReadAudit()) {
       BeanDescriptor<T> desc = descriptorManager.descriptor(spiQuery.getBeanType());
       desc.readAuditFutureList(spiQuery);
@@ -1321,11 +1394,36 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return queryFuture;
   }
 
+  @Override
+  public <T> CompletionStage<List<T>> findListAsync(SpiQuery<T> query) {
+    SpiQuery<T> copy = configureForFuture(query.copy());
+    copy.setPersistenceContext(createPersistenceContext());
+    return asyncQueryExecutor.submit(copy, () -> findList(copy));
+  }
+
+  @Override
+  public <T> CompletionStage<T> findOneAsync(SpiQuery<T> query) {
+    SpiQuery<T> copy = configureForFuture(query.copy());
+    copy.setPersistenceContext(createPersistenceContext());
+    return asyncQueryExecutor.submit(copy, () -> findOne(copy));
+  }
+
+  @Override
+  public <T> CompletionStage<Integer> findCountAsync(SpiQuery<T> query) {
+    SpiQuery<T> copy = configureForFuture(query.copy());
+    return asyncQueryExecutor.submit(copy, () -> findCount(copy));
+  }
+
+  @Override
+  public <R> CompletionStage<R> executeAsync(CancelableQuery query, Supplier<R> supplier) {
+    return asyncQueryExecutor.submit(query, supplier);
+  }
+
   @Override
   public <K, T> FutureMap<K, T> findFutureMap(SpiQuery<T> query) {
     SpiQuery<T> spiQuery = configureForFuture(query.copy());
     // FutureMap query always run in it's own persistence content
-    spiQuery.setPersistenceContext(new DefaultPersistenceContext());
+    spiQuery.setPersistenceContext(createPersistenceContext());
     if (!spiQuery.isDisableReadAudit()) {
       BeanDescriptor<T> desc = descriptorManager.descriptor(spiQuery.getBeanType());
       desc.readAuditFutureList(spiQuery);
@@ -1404,6 +1502,45 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     // no try finally - findEachWhile guarantee's cleanup of the transaction if required
   }
 
+  @Override
+  public <T> void writeJson(SpiQuery<T> query, io.avaje.json.JsonWriter writer, @Nullable JsonWriteOptions options) {
+    final SpiJsonWriter jsonWriter = jsonContextRequired().createJsonWriter(writer, options);
+    final BeanDescriptor<T> descriptor = query.descriptor();
+    // beans are built via findIterate and written one at a time (not a row level ResultSet to JSON path)
+    // only write the properties loaded by the query (without modifying the callers query)
+    final SpiQuery<T> copy = query.copy();
+    copy.setDisableLazyLoading(true);
+    try (QueryIterator<T> it = findIterate(copy)) {
+      writer.beginArray();
+      while (it.hasNext()) {
+        EntityBean bean = (EntityBean) it.next();
+        descriptor.descriptor(bean.getClass()).jsonWrite(jsonWriter, bean, null);
+      }
+      writer.endArray();
+      jsonWriter.flush();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  @Override
+  public <T> void writeJson(SpiQuery<T> query, OutputStream outputStream, @Nullable JsonWriteOptions options) {
+    final Writer out = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    writeJson(query, jsonContextRequired().createGenerator(out), options);
+    try {
+      out.flush();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  private SpiJsonContext jsonContextRequired() {
+    if (jsonContext == null) {
+      throw new IllegalStateException("JSON support is not available");
+    }
+    return jsonContext;
+  }
+
   @Override
   public <T> List<Version<T>> findVersions(SpiQuery<T> query) {
     SpiOrmQueryRequest<T> request = createQueryRequest(Type.LIST, query);
@@ -1548,6 +1685,28 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }
   }
 
+  @Override
+  public <T> void findDtoEach(SpiDtoQuery<T> query, int batch, int parallelism, Executor executor, Consumer<List<T>> consumer) {
+    DtoQueryRequest<T> request = new DtoQueryRequest<>(this, dtoQueryEngine, query);
+    try {
+      request.initTransIfRequired();
+      request.findEach(batch, parallelism, executor, consumer);
+    } finally {
+      request.endTransIfRequired();
+    }
+  }
+
+  @Override
+  public <T> void findDtoEachRow(SpiDtoQuery<T> query, Consumer<RowView> consumer) {
+    DtoQueryRequest<T> request = new DtoQueryRequest<>(this, dtoQueryEngine, query);
+    try {
+      request.initTransIfRequired();
+      request.findEachRow(consumer);
+    } finally {
+      request.endTransIfRequired();
+    }
+  }
+
   @Override
   public <T> void findDtoEachWhile(SpiDtoQuery<T> query, Predicate<T> consumer) {
     DtoQueryRequest<T> request = new DtoQueryRequest<>(this, dtoQueryEngine, query);
@@ -1705,6 +1864,21 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }, transaction);
   }
 
+  @Override
+  public <T> long insertAll(Class<T> beanType, Iterator<T> beans) {
+    return insertAll(beanType, beans, null);
+  }
+
+  @Override
+  public <T> long insertAll(Class<T> beanType, Stream<T> beans) {
+    return insertAll(beanType, beans.iterator(), null);
+  }
+
+  @Override
+  public <T> long insertAll(Class<T> beanType, Iterator<T> beans, @Nullable Transaction transaction) {
+    return executeInTrans((txn) -> persister.insertAll(beanType, beans, txn), transaction);
+  }
+
   @Override
   public <T> List<T> publish(Query<T> query, @Nullable Transaction transaction) {
     return executeInTrans((txn) -> persister.publish(query, txn), transaction);
@@ -2299,6 +2473,9 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       dtoBeanManager.visitMetrics(visitor);
       relationalQueryEngine.visitMetrics(visitor);
       persister.visitMetrics(visitor);
+      if (lazyLoadBatchAdvisor != null) {
+        lazyLoadBatchAdvisor.visitMetrics(visitor);
+      }
     }
     extraMetrics.visitMetrics(visitor);
     visitor.visitEnd();
@@ -2322,4 +2499,8 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
   List<MetaQueryPlan> queryPlanCollectNow(QueryPlanRequest request) {
     return queryPlanManager.collect(request);
   }
+
+  List<MetaQueryPlan> queryPlanSlowCaptures() {
+    return queryPlanManager.slowCaptures();
+  }
 }
@@ -1,6 +1,7 @@
 package io.ebeaninternal.server.core;
 
 import io.ebean.QueryIterator;
+import io.ebean.RowView;
 import io.ebean.core.type.DataReader;
 import io.ebeaninternal.api.CoreLog;
 import io.ebeaninternal.api.SpiDtoQuery;
@@ -10,6 +11,7 @@ import io.ebeaninternal.server.bind.DataBindCapture;
 import io.ebeaninternal.server.dto.DtoColumn;
 import io.ebeaninternal.server.dto.DtoMappingRequest;
 import io.ebeaninternal.server.dto.DtoQueryPlan;
+import io.ebeaninternal.server.dto.DtoRowBuffer;
 import io.ebeaninternal.server.persist.Binder;
 import io.ebeaninternal.server.query.DtoQueryEngine;
 import io.ebeaninternal.server.type.RsetDataReader;
@@ -18,6 +20,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -35,6 +38,7 @@ public final class DtoQueryRequest<T> extends AbstractSqlQueryRequest {
   private final DtoQueryEngine queryEngine;
   private DtoQueryPlan plan;
   private DataReader dataReader;
+  private boolean rowView;
 
   DtoQueryRequest(SpiEbeanServer server, DtoQueryEngine engine, SpiDtoQuery<T> query) {
     super(server, query);
@@ -72,7 +76,23 @@ public final class DtoQueryRequest<T> extends AbstractSqlQueryRequest {
   protected void setResultSet(ResultSet resultSet, Object queryPlanKey) throws SQLException {
     this.resultSet = resultSet;
     this.dataReader = new RsetDataReader(false, server.dataTimeZone(), resultSet);
-    obtainPlan(queryPlanKey);
+    if (!rowView) {
+      obtainPlan(queryPlanKey);
+    }
+  }
+
+  /**
+   * Set to read rows into a reused RowView (rather than mapping to DTO beans).
+   */
+  public void setRowView() {
+    this.rowView = true;
+  }
+
+  /**
+   * Return a new row buffer for reading the rows of the resultSet.
+   */
+  public DtoRowBuffer rowBuffer() throws SQLException {
+    return new DtoRowBuffer(resultSet);
   }
 
   private void obtainPlan(Object planKey) throws SQLException {
@@ -125,6 +145,16 @@ public final class DtoQueryRequest<T> extends AbstractSqlQueryRequest {
     queryEngine.findEach(this, batch, consumer);
   }
 
+  public void findEach(int batch, int parallelism, Executor executor, Consumer<List<T>> consumer) {
+    flushJdbcBatchOnQuery();
+    queryEngine.findEach(this, batch, parallelism, executor, consumer);
+  }
+
+  public void findEachRow(Consumer<RowView> consumer) {
+    flushJdbcBatchOnQuery();
+    queryEngine.findEachRow(this, consumer);
+  }
+
   public void findEachWhile(Predicate<T> consumer) {
     flushJdbcBatchOnQuery();
     queryEngine.findEachWhile(this, consumer);
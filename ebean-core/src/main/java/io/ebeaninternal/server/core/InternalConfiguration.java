@@ -14,6 +14,7 @@ import io.ebean.event.changelog.ChangeLogPrepare;
 import io.ebean.event.changelog.ChangeLogRegister;
 import io.ebean.event.readaudit.ReadAuditLogger;
 import io.ebean.event.readaudit.ReadAuditPrepare;
+import io.ebean.metric.CountMetric;
 import io.ebean.plugin.Plugin;
 import io.ebean.plugin.SpiServer;
 import io.ebeaninternal.api.*;
@@ -31,6 +32,7 @@ import io.ebeaninternal.server.deploy.BeanDescriptorManager;
 import io.ebeaninternal.server.deploy.generatedproperty.GeneratedPropertyFactory;
 import io.ebeaninternal.server.deploy.parse.DeployCreateProperties;
 import io.ebeaninternal.server.deploy.parse.DeployInherit;
+import io.ebeaninternal.server.deploy.parse.DeployMeta;
 import io.ebeaninternal.server.deploy.parse.DeployUtil;
 import io.ebeaninternal.server.dto.DtoBeanManager;
 import io.ebeaninternal.server.expression.DefaultExpressionFactory;
@@ -40,6 +42,7 @@ import io.ebeaninternal.server.logger.DLogManager;
 import io.ebeaninternal.server.logger.DLoggerFactory;
 import io.ebeaninternal.server.persist.Binder;
 import io.ebeaninternal.server.persist.DefaultPersister;
+import io.ebeaninternal.server.persist.platform.H2MultiValueBind;
 import io.ebeaninternal.server.persist.platform.MultiValueBind;
 import io.ebeaninternal.server.persist.platform.PostgresMultiValueBind;
 import io.ebeaninternal.server.query.*;
@@ -108,7 +111,7 @@ public final class InternalConfiguration {
     this.config = config;
     this.jacksonCorePresent = config.getClassLoadConfig().isJacksonCorePresent();
     this.clock = config.settings().getClock();
-    this.tableModState = new TableModState();
+    this.tableModState = new TableModState(config.isQueryCacheRowInvalidation(), extraMetrics.queryCacheRowValid());
     this.logManager = initLogManager();
     this.docStoreFactory = initDocStoreFactory(service(DocStoreFactory.class));
     this.jsonStream = config.getJsonStream();
@@ -118,9 +121,9 @@ public final class InternalConfiguration {
     this.databasePlatform = config.getDatabasePlatform();
     this.expressionFactory = initExpressionFactory(config);
     this.typeManager = new DefaultTypeManager(config, bootupClasses);
-    this.multiValueBind = createMultiValueBind(databasePlatform.platform());
+    this.multiValueBind = createMultiValueBind(databasePlatform.platform(), config.isBindInArray());
     this.deployInherit = new DeployInherit(bootupClasses);
-    this.deployCreateProperties = new DeployCreateProperties(typeManager);
+    this.deployCreateProperties = new DeployCreateProperties(typeManager, initDeployMeta());
     this.deployUtil = new DeployUtil(typeManager, config);
     this.serverCachePlugin = initServerCachePlugin();
     this.cacheManager = initCacheManager();
@@ -147,6 +150,13 @@ public final class InternalConfiguration {
     return new InternalConfigXmlMap(xmEbeans, config.getClassLoadConfig().getClassLoader());
   }
 
+  /**
+   * Use the deployment metadata generated by the query bean generator along with the module info.
+   */
+  private DeployMeta initDeployMeta() {
+    return config.isLoadModuleInfo() ? DeployMeta.load(config.getClassLoadConfig().getClassLoader()) : DeployMeta.none();
+  }
+
   private <S> S service(Class<S> cls) {
     S service = config.getServiceObject(cls);
     if (service != null) {
@@ -299,12 +309,16 @@ public final class InternalConfiguration {
     return DbExpressionHandlerFactory.from(databasePlatform);
   }
 
-  private MultiValueBind createMultiValueBind(Platform platform) {
-    // only Postgres at this stage
+  private MultiValueBind createMultiValueBind(Platform platform, boolean bindInArray) {
+    final CountMetric arrayBind = extraMetrics.bindInArray();
+    final CountMetric expandedBind = extraMetrics.bindInExpanded();
     if (platform.base() == Platform.POSTGRES || platform.base() == Platform.YUGABYTE || platform.base() == Platform.COCKROACH) {
-      return new PostgresMultiValueBind();
+      return new PostgresMultiValueBind(arrayBind, expandedBind);
+    }
+    if (bindInArray && platform.base() == Platform.H2) {
+      return new H2MultiValueBind(arrayBind, expandedBind);
     }
-    return new MultiValueBind();
+    return new MultiValueBind(arrayBind, expandedBind);
   }
 
   SpiJsonContext createJsonContext(SpiEbeanServer server) {
@@ -574,6 +588,9 @@ public final class InternalConfiguration {
       return new DefaultServerCacheManager();
     }
 
+    // schemas of this database used by remote caches to encode cached bean data
+    CachedBeanDataSchemas cacheDataSchemas = new CachedBeanDataSchemas();
+    config.putServiceObject(CachedBeanDataSchemas.class, cacheDataSchemas);
     ServerCacheFactory factory = serverCachePlugin.create(config, backgroundExecutor);
     ServerCacheNotifyPlugin notifyPlugin = service(ServerCacheNotifyPlugin.class);
     if (notifyPlugin != null) {
@@ -597,18 +614,22 @@ public final class InternalConfiguration {
 
     CacheManagerOptions builder = new CacheManagerOptions(clusterManager, config, localL2Caching)
       .with(beanOptions, queryOptions)
-      .with(factory, tableModState);
+      .with(factory, tableModState)
+      .with(cacheDataSchemas);
 
     return new DefaultServerCacheManager(builder);
   }
 
   public QueryPlanManager initQueryPlanManager(TransactionManager transactionManager) {
-    if (!config.isQueryPlanEnable()) {
+    final boolean slowCapture = config.isQueryPlanSlowCapture();
+    if (!config.isQueryPlanEnable() && !slowCapture) {
       return QueryPlanManager.NOOP;
     }
     long threshold = config.getQueryPlanThresholdMicros();
+    int slowCaptureSize = slowCapture ? config.getQueryPlanSlowCaptureSize() : 0;
     return new CQueryPlanManager(transactionManager, config.getCurrentTenantProvider(),
-      threshold, queryPlanLogger(databasePlatform.platform(), config), extraMetrics);
+      threshold, queryPlanLogger(databasePlatform.platform(), config), extraMetrics,
+      backgroundExecutor, slowCaptureSize, config.getQueryPlanSlowCaptureMinMicros());
   }
 
   /**
@@ -14,9 +14,9 @@ import io.ebeaninternal.api.*;
 import io.ebeaninternal.api.SpiQuery.Type;
 import io.ebeaninternal.server.deploy.*;
 import io.ebeaninternal.server.el.ElPropertyValue;
+import io.ebeaninternal.server.el.ElQuery;
 import io.ebeaninternal.server.loadcontext.DLoadContext;
 import io.ebeaninternal.server.query.CQueryPlan;
-import io.ebeaninternal.server.transaction.DefaultPersistenceContext;
 
 import jakarta.persistence.PersistenceException;
 import java.sql.SQLException;
@@ -39,8 +39,10 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
   private PersistenceContext persistenceContext;
   private HashQuery cacheKey;
   private CQueryPlanKey queryPlanKey;
+  private long planStartNanos;
   private SpiQuerySecondary secondaryQueries;
   private List<T> cacheBeans;
+  private boolean inMemory;
   private boolean inlineCountDistinct;
   private SpiQueryManyJoin manyJoin;
 
@@ -59,7 +61,33 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
 
   @Override
   public boolean isGetAllFromBeanCache() {
-    return (transaction == null || !transaction.isSkipCache()) && getFromBeanCache();
+    return (transaction == null || !transaction.isSkipCache()) && (getFromInMemory() || getFromBeanCache());
+  }
+
+  /**
+   * Try to evaluate the query in memory for bean types configured for in memory queries.
+   */
+  private boolean getFromInMemory() {
+    ElQuery<T> inMemoryQuery = inMemoryQuery();
+    if (inMemoryQuery == null) {
+      return false;
+    }
+    this.cacheBeans = beanDescriptor.inMemoryFindList(inMemoryQuery, query.isUnmodifiable(), persistenceContext);
+    this.inMemory = true;
+    return true;
+  }
+
+  @Override
+  public int inMemoryCount() {
+    if (transaction != null && transaction.isSkipCache()) {
+      return -1;
+    }
+    ElQuery<T> inMemoryQuery = inMemoryQuery();
+    return inMemoryQuery == null ? -1 : beanDescriptor.inMemoryFindCount(inMemoryQuery);
+  }
+
+  private ElQuery<T> inMemoryQuery() {
+    return server.isDisableL2Cache() ? null : query.inMemoryQuery();
   }
 
   @Override
@@ -292,7 +320,7 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
     // determine the scope (from the query and then server)
     PersistenceContextScope scope = server.persistenceContextScope(query);
     if (scope == PersistenceContextScope.QUERY || t == null) {
-      return new DefaultPersistenceContext();
+      return server.createPersistenceContext();
     }
     return t.persistenceContext();
   }
@@ -487,6 +515,18 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
     return beanDescriptor.queryPlan(queryPlanKey);
   }
 
+  /**
+   * Lookup the queryPlan to build the query recording the plan cache hit or miss.
+   * Returns null if no query plan for this query exists (and it needs to be built).
+   */
+  public CQueryPlan lookupQueryPlan() {
+    CQueryPlan queryPlan = beanDescriptor.lookupQueryPlan(queryPlanKey);
+    if (queryPlan == null) {
+      planStartNanos = System.nanoTime();
+    }
+    return queryPlan;
+  }
+
   /**
    * Return the queryPlanHash.
    * <p>
@@ -502,7 +542,7 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
    * Put the QueryPlan into the cache.
    */
   public void putQueryPlan(CQueryPlan queryPlan) {
-    beanDescriptor.queryPlan(queryPlanKey, queryPlan);
+    beanDescriptor.queryPlan(queryPlanKey, queryPlan, planStartNanos);
   }
 
   @Override
@@ -556,7 +596,7 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
   @Override
   public List<T> beanCacheHits() {
     OrderBy<T> orderBy = query.getOrderBy();
-    if (orderBy != null && !orderBy.isEmpty()) {
+    if (!inMemory && orderBy != null && !orderBy.isEmpty()) {
       beanDescriptor.sort(cacheBeans, orderBy.toStringFormat());
     }
     return query.isUnmodifiable() ? Collections.unmodifiableList(cacheBeans) : cacheBeans;
@@ -565,7 +605,7 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
   @Override
   public <K> Map<K, T> beanCacheHitsAsMap() {
     OrderBy<T> orderBy = query.getOrderBy();
-    if (orderBy != null && !orderBy.isEmpty()) {
+    if (!inMemory && orderBy != null && !orderBy.isEmpty()) {
       beanDescriptor.sort(cacheBeans, orderBy.toStringFormat());
     }
     return cacheBeansToMap();
@@ -593,7 +633,7 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
   @Override
   public Set<T> beanCacheHitsAsSet() {
     OrderBy<T> orderBy = query.getOrderBy();
-    if (orderBy != null && !orderBy.isEmpty()) {
+    if (!inMemory && orderBy != null && !orderBy.isEmpty()) {
       beanDescriptor.sort(cacheBeans, orderBy.toStringFormat());
     }
     var set = new LinkedHashSet<>(cacheBeans);
@@ -681,8 +721,54 @@ public final class OrmQueryRequest<T> extends BeanRequest implements SpiOrmQuery
     CQueryPlan plan = queryPlan();
     if (plan != null) {
       // only cache when we have the plan's dependent tables
-      beanDescriptor.queryCachePut(cacheKey, new QueryCacheEntry(result, plan.dependentTables(), transaction.startTime()));
+      beanDescriptor.queryCachePut(cacheKey, queryCacheEntry(result, plan));
+    }
+  }
+
+  private QueryCacheEntry queryCacheEntry(Object result, CQueryPlan plan) {
+    if (!beanDescriptor.isQueryCacheRowInvalidation() || query.isJoinToBaseTable()) {
+      // table level invalidation
+      return new QueryCacheEntry(result, plan.dependentTables(), transaction.startTime());
+    }
+    Set<Object> ids = resultIds(result);
+    Set<String> predicateProperties = (ids == null) ? null : query.predicateProperties();
+    return new QueryCacheEntry(result, plan.dependentTables(), transaction.startTime(), beanDescriptor.baseTable(), ids, predicateProperties);
+  }
+
+  /**
+   * Return the ids of the beans in the result or null when the result is not beans or ids.
+   */
+  private Set<Object> resultIds(Object result) {
+    switch (query.type()) {
+      case ID_LIST:
+        return result instanceof Collection ? new HashSet<>((Collection<?>) result) : null;
+      case BEAN:
+      case LIST:
+      case SET:
+      case MAP:
+        return beanIds(result);
+      default:
+        return null;
+    }
+  }
+
+  private Set<Object> beanIds(Object result) {
+    if (result == null) {
+      return Collections.emptySet();
+    }
+    Collection<?> beans;
+    if (result instanceof Map) {
+      beans = ((Map<?, ?>) result).values();
+    } else if (result instanceof Collection) {
+      beans = (Collection<?>) result;
+    } else {
+      beans = Collections.singletonList(result);
+    }
+    Set<Object> ids = new HashSet<>();
+    for (Object bean : beans) {
+      ids.add(beanDescriptor.id(bean));
     }
+    return ids;
   }
 
   /**
@@ -11,6 +11,7 @@ import io.ebean.event.BeanPersistListener;
 import io.ebean.event.BeanPersistRequest;
 import io.ebean.event.changelog.BeanChange;
 import io.ebeaninternal.api.*;
+import io.ebeaninternal.server.bind.DataBindCopy;
 import io.ebeaninternal.server.cache.CacheChangeSet;
 import io.ebeaninternal.server.deploy.*;
 import io.ebeaninternal.server.deploy.generatedproperty.GeneratedProperty;
@@ -25,6 +26,7 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import java.io.IOException;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
 
@@ -1261,6 +1263,25 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
     }
   }
 
+  /**
+   * Bind the insert as a COPY row returning the COPY statement (or null if vetoed by the persist controller).
+   * <p>
+   * The bean is not added to the persistence context and persist listeners and cache notification
+   * are not invoked for the row.
+   */
+  public String executeCopy(DataBindCopy dataBind) throws SQLException {
+    setGeneratedId();
+    setTenantId();
+    if (controller != null && !controller.preInsert(this)) {
+      return null;
+    }
+    String copySql = beanManager.getBeanPersister().copy(this, dataBind);
+    // if bean persisted again then should result in an update
+    intercept.setLoaded();
+    beanDescriptor.setAllLoaded(entityBean);
+    return copySql;
+  }
+
   private void executeUpdate() {
     setTenantId();
     if (controller == null || controller.preUpdate(this)) {
@@ -9,6 +9,7 @@ import io.ebeaninternal.api.SpiTransaction;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -31,6 +32,11 @@ public interface Persister {
    */
   void insert(EntityBean entityBean, @Nullable InsertOptions insertOptions, @Nullable Transaction t);
 
+  /**
+   * Bulk insert the beans returning the number of beans inserted.
+   */
+  <T> long insertAll(Class<T> beanType, Iterator<T> beans, SpiTransaction transaction);
+
   /**
    * Insert or update the bean depending on its state.
    */
@@ -0,0 +1,170 @@
+package io.ebeaninternal.server.core;
+
+import io.ebeaninternal.api.CoreLog;
+import io.ebeaninternal.api.QueryPlanShape;
+import io.ebeaninternal.api.SpiQuery;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.System.Logger.Level.*;
+
+/**
+ * Snapshot of the cached ORM query plans written on shutdown and replayed on start.
+ * <p>
+ * The shape of each query plan (select, fetch, where with placeholder values, order by
+ * and limit) is written grouped by bean type along with the deployment checksum of the
+ * bean descriptor and the key of the query plan. On start the shapes are replayed to build
+ * the query plans prior to the first requests. Shapes for bean types that no longer exist
+ * or where the checksum no longer matches are ignored, as are replayed shapes that do not
+ * produce the captured plan key (such that only the captured query plans are built).
+ */
+final class QueryPlanSnapshot {
+
+  private static final System.Logger log = CoreLog.internal;
+
+  private static final int VERSION = 3;
+
+  private final DefaultServer server;
+  private final File file;
+
+  QueryPlanSnapshot(DefaultServer server, String file) {
+    this.server = server;
+    this.file = new File(file);
+  }
+
+  /**
+   * Write the shapes of the cached query plans returning the number of shapes written.
+   */
+  int write() {
+    int count = 0;
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeInt(VERSION);
+      for (BeanDescriptor<?> desc : server.descriptors()) {
+        List<QueryPlanShape> shapes = desc.queryPlanShapes();
+        if (!shapes.isEmpty()) {
+          out.writeBoolean(true);
+          QueryPlanShape.writeString(out, desc.type().getName());
+          out.writeLong(desc.deployChecksum());
+          out.writeInt(shapes.size());
+          for (QueryPlanShape shape : shapes) {
+            shape.write(out);
+          }
+          count += shapes.size();
+        }
+      }
+      out.writeBoolean(false);
+    } catch (IOException e) {
+      log.log(WARNING, "Error writing query plan snapshot to " + file, e);
+      return 0;
+    }
+    log.log(DEBUG, "wrote {0} query plans to snapshot {1}", count, file);
+    return count;
+  }
+
+  /**
+   * Replay the snapshot building the query plans returning the number of query plans built.
+   */
+  int warmup() {
+    if (!file.exists()) {
+      return 0;
+    }
+    long startNanos = System.nanoTime();
+    int count = 0;
+    int skipped = 0;
+    for (Map.Entry<BeanDescriptor<?>, List<QueryPlanShape>> entry : read().entrySet()) {
+      for (QueryPlanShape shape : entry.getValue()) {
+        try {
+          if (replay(entry.getKey(), shape)) {
+            count++;
+          } else {
+            skipped++;
+            log.log(DEBUG, "Skip query plan snapshot entry with different plan key {0}", shape);
+          }
+        } catch (RuntimeException e) {
+          skipped++;
+          log.log(WARNING, "Skip query plan snapshot entry " + shape, e);
+        }
+      }
+    }
+    long millis = (System.nanoTime() - startNanos) / 1_000_000;
+    log.log(INFO, "query plan snapshot built {0} query plans in {1}ms, skipped {2}", count, millis, skipped);
+    return count;
+  }
+
+  /**
+   * Read the shapes by bean descriptor (excluding bean types that have changed).
+   */
+  Map<BeanDescriptor<?>, List<QueryPlanShape>> read() {
+    Map<BeanDescriptor<?>, List<QueryPlanShape>> map = new LinkedHashMap<>();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != VERSION) {
+        log.log(INFO, "Ignore query plan snapshot {0} with different version", file);
+        return map;
+      }
+      while (in.readBoolean()) {
+        String className = QueryPlanShape.readString(in);
+        long checksum = in.readLong();
+        int size = in.readInt();
+        List<QueryPlanShape> shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          shapes.add(QueryPlanShape.read(in));
+        }
+        BeanDescriptor<?> desc = server.descriptorById(className);
+        if (desc != null && desc.deployChecksum() == checksum) {
+          map.put(desc, shapes);
+        }
+      }
+    } catch (IOException e) {
+      log.log(WARNING, "Error reading query plan snapshot from " + file, e);
+    }
+    return map;
+  }
+
+  /**
+   * Replay the shape returning true if the captured query plan was built.
+   */
+  private <T> boolean replay(BeanDescriptor<T> desc, QueryPlanShape shape) {
+    if (shape.planKey() == null) {
+      return false;
+    }
+    SpiQuery<T> query = (SpiQuery<T>) server.createQuery(desc.type());
+    if (shape.label() != null) {
+      query.setLabel(shape.label());
+    }
+    if (shape.select() != null) {
+      query.select(shape.select());
+    }
+    for (Map.Entry<String, String> fetch : shape.fetch().entrySet()) {
+      if (fetch.getValue() == null) {
+        query.fetch(fetch.getKey());
+      } else {
+        query.fetch(fetch.getKey(), fetch.getValue());
+      }
+    }
+    for (String eql : shape.where()) {
+      query.where().where(eql);
+    }
+    if (shape.orderBy() != null) {
+      query.orderBy(shape.orderBy());
+    }
+    if (shape.firstRow() > 0) {
+      query.setFirstRow(shape.firstRow());
+    }
+    if (shape.maxRows() > 0) {
+      query.setMaxRows(shape.maxRows());
+    }
+    return server.compileQueryPlan(shape.type(), query, shape.planKey());
+  }
+}
@@ -140,6 +140,11 @@ public interface SpiOrmQueryRequest<T> extends BeanQueryRequest<T>, DocQueryRequ
    */
   <A> A getFromQueryCache();
 
+  /**
+   * Return the row count evaluated in memory or -1 when the query can not be evaluated in memory.
+   */
+  int inMemoryCount();
+
   /**
    * Maybe hit the bean cache returning true if everything was obtained from the
    * cache (that there were no misses).
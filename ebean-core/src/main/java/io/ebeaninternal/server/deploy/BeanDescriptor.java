@@ -34,7 +34,9 @@ import io.ebeaninternal.api.json.SpiJsonWriter;
 import io.ebeaninternal.server.bind.DataBind;
 import io.ebeaninternal.server.cache.CacheChangeSet;
 import io.ebeaninternal.server.cache.CachedBeanData;
+import io.ebeaninternal.server.cache.CachedBeanDataSchema;
 import io.ebeaninternal.server.cache.CachedManyIds;
+import io.ebeaninternal.server.cache.SpiCacheManager;
 import io.ebeaninternal.server.core.*;
 import io.ebeaninternal.server.deploy.id.IdBinder;
 import io.ebeaninternal.server.deploy.id.IdBinderSimple;
@@ -63,12 +65,14 @@ import jakarta.persistence.PersistenceException;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 import static io.ebeaninternal.server.persist.DmlUtil.isNullOrZero;
 import static java.lang.System.Logger.Level.ERROR;
@@ -86,13 +90,13 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
   }
 
   private final ConcurrentHashMap<String, SpiUpdatePlan> updatePlanCache = new ConcurrentHashMap<>();
-  private final ConcurrentHashMap<CQueryPlanKey, CQueryPlan> queryPlanCache = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, ElPropertyValue> elCache = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, ElPropertyDeploy> elDeployCache = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, ElComparator<T>> comparatorCache = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, STreeProperty> dynamicProperty = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, Map<String, String>> pathMaps = new ConcurrentHashMap<>();
 
+  private final CQueryPlanCache queryPlanCache;
   private final Map<String, SpiRawSql> namedRawSql;
   private final Map<String, String> namedQuery;
   private final boolean multiValueSupported;
@@ -203,6 +207,7 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
    */
   private final BeanProperty[] propertiesNonTransient;
   final BeanProperty[] propertiesIndex;
+  private final CachedBeanDataSchema cacheDataSchema;
   private final BeanProperty[] propertiesGenInsert;
   private final BeanProperty[] propertiesGenUpdate;
   private final List<BeanProperty[]> propertiesUnique = new ArrayList<>();
@@ -234,12 +239,12 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
   private DocStoreBeanAdapter<T> docStoreAdapter;
   private DocumentMapping docMapping;
   private boolean docStoreEmbeddedInvalidation;
+  private BeanDescriptorInMemory<T> inMemory;
   private final String defaultSelectClause;
   private SpiEbeanServer ebeanServer;
 
   public BeanDescriptor(BeanDescriptorMap owner, DeployBeanDescriptor<T> deploy) {
     this.owner = owner;
-    this.multiValueSupported = owner.isMultiValueSupported();
     this.entityType = deploy.getEntityType();
     this.properties = deploy.propertyNames();
     this.name = InternString.intern(deploy.getName());
@@ -249,6 +254,7 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
     this.rootBeanType = PersistenceContextUtil.root(beanType);
     this.prototypeEntityBean = createPrototypeEntityBean(beanType);
     this.iudMetrics = new BeanIudMetrics(name);
+    this.queryPlanCache = owner.createQueryPlanCache();
     this.namedQuery = deploy.getNamedQuery();
     this.namedRawSql = deploy.getNamedRawSql();
     this.inheritInfo = deploy.getInheritInfo();
@@ -291,6 +297,7 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
     // this is required to support markAsDelete on beans that may have no FK constraint.
     this.softDelete = (softDeleteProperty != null && !softDeleteProperty.isFormula());
     this.idProperty = listHelper.getId();
+    this.multiValueSupported = idProperty != null && !idProperty.isEmbedded() && owner.isMultiValueSupported(idProperty.scalarType());
     this.versionProperty = listHelper.getVersionProperty();
     this.unmappedJson = listHelper.getUnmappedJson();
     this.tenant = listHelper.getTenant();
@@ -348,18 +355,30 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
       this.versionPropertyIndex = -1;
       this.unloadProperties = new int[0];
       this.propertiesIndex = new BeanProperty[0];
+      this.cacheDataSchema = CachedBeanDataSchema.of(new String[0]);
     } else {
       EntityBeanIntercept ebi = prototypeEntityBean._ebean_getIntercept();
       this.idPropertyIndex = (idProperty == null) ? -1 : ebi.findProperty(idProperty.name());
       this.versionPropertyIndex = (versionProperty == null) ? -1 : ebi.findProperty(versionProperty.name());
       this.unloadProperties = derivePropertiesToUnload(prototypeEntityBean);
       this.propertiesIndex = new BeanProperty[ebi.propertyLength()];
+      String[] cacheDataNames = new String[propertiesIndex.length];
+      String[] cacheDataTypes = new String[propertiesIndex.length];
       for (int i = 0; i < propertiesIndex.length; i++) {
-        propertiesIndex[i] = propMap.get(ebi.property(i));
+        BeanProperty property = propMap.get(ebi.property(i));
+        propertiesIndex[i] = property;
+        cacheDataNames[i] = ebi.property(i);
+        cacheDataTypes[i] = property == null ? null : property.type().getName() + ':' + property.jdbcType();
       }
+      this.cacheDataSchema = registerCacheDataSchema(CachedBeanDataSchema.of(cacheDataNames, cacheDataTypes));
     }
   }
 
+  private CachedBeanDataSchema registerCacheDataSchema(CachedBeanDataSchema schema) {
+    SpiCacheManager cacheManager = owner.cacheManager();
+    return cacheManager == null ? schema : cacheManager.cacheDataSchemas().register(schema);
+  }
+
   public String idSelect() {
     if (idBinder == null) throw new UnsupportedOperationException();
     return idBinder.idSelect();
@@ -1254,6 +1273,67 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
     cacheHelp.queryCachePut(id, entry);
   }
 
+  /**
+   * Initialise in memory query evaluation with the properties to index.
+   * <p>
+   * The collation determines if String expressions and order by are evaluated in memory.
+   * Returns the reason when in memory evaluation is not supported for this type (or null).
+   */
+  public String initInMemoryQuery(List<String> indexProperties, ElStringCollation collation) {
+    if (!isQueryCaching()) {
+      return "requires @Cache(enableQueryCache=true)";
+    }
+    if (inheritInfo != null || isMultiTenant() || draftable || isReadAuditing() || idProperty == null || idProperty.isEmbedded()) {
+      return "not supported with inheritance, multi-tenancy, drafts, read auditing or embedded id";
+    }
+    ElMatchCompiler<T> compiler = new ElMatchCompiler<>(this, collation);
+    Map<String, ElPropertyValue> indexes = new LinkedHashMap<>();
+    for (String indexProperty : indexProperties) {
+      ElPropertyValue property = compiler.indexProperty(indexProperty);
+      if (property == null) {
+        return "index property " + indexProperty + " is not supported";
+      }
+      indexes.put(indexProperty, property);
+    }
+    inMemory = new BeanDescriptorInMemory<>(this, indexes, collation);
+    return null;
+  }
+
+  /**
+   * Return a compiler for evaluating queries of this type in memory.
+   */
+  public ElMatchCompiler<T> inMemoryCompiler() {
+    return new ElMatchCompiler<>(this, inMemory.collation());
+  }
+
+  /**
+   * Return true if queries for this type can be evaluated in memory.
+   */
+  public boolean isInMemoryQuery() {
+    return inMemory != null && isQueryCaching();
+  }
+
+  /**
+   * Return the beans matching the query evaluated in memory.
+   */
+  public List<T> inMemoryFindList(ElQuery<T> query, boolean unmodifiable, PersistenceContext context) {
+    return inMemory.findList(query, unmodifiable, context);
+  }
+
+  /**
+   * Return the count of beans matching the query evaluated in memory.
+   */
+  public int inMemoryFindCount(ElQuery<T> query) {
+    return inMemory.findCount(query);
+  }
+
+  /**
+   * Return true if query cache entries hold result ids for row level invalidation.
+   */
+  public boolean isQueryCacheRowInvalidation() {
+    return cacheHelp.isQueryCacheRowInvalidation();
+  }
+
   /**
    * Try to load the beanCollection from cache return true if successful.
    */
@@ -1290,6 +1370,13 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
     return cacheHelp.beanExtractData(this, bean);
   }
 
+  /**
+   * Return the schema of cached bean data (property names by property index).
+   */
+  public CachedBeanDataSchema cacheDataSchema() {
+    return cacheDataSchema;
+  }
+
   /**
    * Load the embedded bean (taking into account inheritance).
    */
@@ -1520,12 +1607,12 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
   }
 
   void queryPlanInit(QueryPlanInit request, List<MetaQueryPlan> list) {
-    for (CQueryPlan queryPlan : queryPlanCache.values()) {
+    queryPlanCache.forEach(queryPlan -> {
       if (request.includeHash(queryPlan.hash())) {
         queryPlan.queryPlanInit(request.thresholdMicros(queryPlan.hash()));
         list.add(queryPlan.createMeta(null, null));
       }
-    }
+    });
   }
 
   /**
@@ -1533,27 +1620,32 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
    */
   public void visitMetrics(MetricVisitor visitor) {
     iudMetrics.visit(visitor);
-    for (CQueryPlan queryPlan : queryPlanCache.values()) {
+    queryPlanCache.forEach(queryPlan -> {
       if (!queryPlan.isEmptyStats()) {
         visitor.visitQuery(queryPlan.visit(visitor));
       }
-    }
+    });
   }
 
   /**
    * Reset the statistics on all the query plans.
    */
   public void clearQueryStatistics() {
-    for (CQueryPlan queryPlan : queryPlanCache.values()) {
-      queryPlan.resetStatistics();
-    }
+    queryPlanCache.forEach(CQueryPlan::resetStatistics);
+  }
+
+  /**
+   * Clear all the query plans such that subsequent queries build new plans.
+   */
+  public void clearQueryPlans() {
+    queryPlanCache.clear();
   }
 
   /**
    * Trim query plans not used since the passed in epoch time.
    */
   void trimQueryPlans(long unusedSince) {
-    queryPlanCache.values().removeIf(queryPlan -> queryPlan.lastQueryTime() < unusedSince);
+    queryPlanCache.trim(unusedSince);
   }
 
   /**
@@ -1566,12 +1658,61 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
     }
   }
 
+  /**
+   * Return the query plan for the given key (without recording a cache hit or miss).
+   */
   public CQueryPlan queryPlan(CQueryPlanKey key) {
     return queryPlanCache.get(key);
   }
 
-  public void queryPlan(CQueryPlanKey key, CQueryPlan plan) {
-    queryPlanCache.put(key, plan);
+  /**
+   * Lookup the query plan to build a query recording the cache hit or miss.
+   */
+  public CQueryPlan lookupQueryPlan(CQueryPlanKey key) {
+    return queryPlanCache.lookup(key);
+  }
+
+  /**
+   * Put a newly built query plan with the nanos at which building the plan started.
+   */
+  public void queryPlan(CQueryPlanKey key, CQueryPlan plan, long startNanos) {
+    queryPlanCache.put(key, plan, startNanos);
+  }
+
+  /**
+   * Return the replayable shapes of the cached query plans (for the query plan snapshot).
+   */
+  public List<QueryPlanShape> queryPlanShapes() {
+    List<QueryPlanShape> shapes = new ArrayList<>();
+    queryPlanCache.forEach(queryPlan -> {
+      QueryPlanShape shape = queryPlan.shape();
+      if (shape != null) {
+        shapes.add(shape);
+      }
+    });
+    return shapes;
+  }
+
+  /**
+   * Return a checksum of the deployment (table, columns and types) used to detect
+   * if query plans captured by a prior run still apply.
+   */
+  public long deployChecksum() {
+    StringBuilder sb = new StringBuilder(200);
+    sb.append(fullName).append(':').append(baseTable).append(':').append(discValue());
+    for (BeanProperty prop : propertiesAll()) {
+      sb.append(',').append(prop.name()).append('=').append(prop.dbColumn()).append(':').append(prop.type().getName());
+    }
+    CRC32 crc = new CRC32();
+    crc.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+    return crc.getValue();
+  }
+
+  /**
+   * Return the number of query plans held for this bean type.
+   */
+  public int queryPlanCount() {
+    return queryPlanCache.size();
   }
 
   /**
@@ -1705,7 +1846,7 @@ public class BeanDescriptor<T> implements BeanType<T>, STreeType, SpiBeanType {
   }
 
   /**
-   * Return true if this type has a simple Id and the platform supports mutli-value binding.
+   * Return true if this type has a simple Id and the platform supports mutli-value binding of the id type.
    */
   public boolean isMultiValueIdSupported() {
     return multiValueSupported && isSimpleId();
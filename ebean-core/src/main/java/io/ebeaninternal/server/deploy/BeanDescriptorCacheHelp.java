@@ -44,6 +44,10 @@ abstract class BeanDescriptorCacheHelp<T> {
    */
   private final boolean cacheSharableBeans;
   private final boolean invalidateQueryCache;
+  /**
+   * Set to true when updates and deletes invalidate the query cache at row level.
+   */
+  private final boolean queryCacheRowInvalidation;
   final Class<?> beanType;
   private final String cacheName;
   private final BeanPropertyAssocOne<?>[] propertiesOneImported;
@@ -84,6 +88,7 @@ abstract class BeanDescriptorCacheHelp<T> {
     this.cacheManager = cacheManager;
     this.cacheOptions = cacheOptions;
     this.invalidateQueryCache = cacheOptions.isInvalidateQueryCache();
+    this.queryCacheRowInvalidation = cacheManager.isQueryCacheRowInvalidation();
     this.cacheSharableBeans = cacheSharableBeans;
     this.propertiesOneImported = propertiesOneImported;
     this.naturalKey = cacheOptions.getNaturalKey();
@@ -169,6 +174,13 @@ abstract class BeanDescriptorCacheHelp<T> {
     return cacheControl.isQueryCaching();
   }
 
+  /**
+   * Return true if updates and deletes invalidate the query cache at row level.
+   */
+  boolean isQueryCacheRowInvalidation() {
+    return queryCacheRowInvalidation;
+  }
+
   /**
    * Return true if there is currently bean caching for this type of bean.
    */
@@ -222,6 +234,49 @@ abstract class BeanDescriptorCacheHelp<T> {
     }
   }
 
+  /**
+   * Add query cache row level invalidation for deleted rows (or clear) to the changeSet.
+   */
+  private void queryCacheRowDelete(Collection<Object> ids, CacheChangeSet changeSet) {
+    if (!queryCacheRowInvalidation) {
+      queryCacheClear(changeSet);
+    } else if (hasQueryCache()) {
+      List<Object> idValues = new ArrayList<>(ids.size());
+      for (Object id : ids) {
+        idValues.add(desc.convertId(id));
+      }
+      changeSet.addRowDelete(desc, idValues);
+    }
+  }
+
+  /**
+   * Add query cache row level invalidation for an updated row (or clear) to the changeSet.
+   */
+  private void queryCacheRowUpdate(Object id, PersistRequestBean<T> updateRequest, CacheChangeSet changeSet) {
+    if (!queryCacheRowInvalidation) {
+      queryCacheClear(changeSet);
+    } else if (hasQueryCache()) {
+      changeSet.addRowUpdate(desc, id, modifiedProperties(updateRequest));
+    }
+  }
+
+  /**
+   * Return the names of the modified properties or null when not known.
+   */
+  private Set<String> modifiedProperties(PersistRequestBean<T> updateRequest) {
+    boolean[] dirty = updateRequest.dirtyProperties();
+    if (dirty == null) {
+      return null;
+    }
+    Set<String> names = new HashSet<>();
+    for (int i = 0; i < dirty.length; i++) {
+      if (dirty[i]) {
+        names.add(desc.propertyByIndex(i).name());
+      }
+    }
+    return names.isEmpty() ? null : names;
+  }
+
   /**
    * Get a query result from the query cache.
    */
@@ -787,7 +842,7 @@ abstract class BeanDescriptorCacheHelp<T> {
     if (invalidateQueryCache) {
       changeSet.addInvalidate(desc);
     } else {
-      queryCacheClear(changeSet);
+      queryCacheRowDelete(ids, changeSet);
       if (hasBeanCache()) {
         changeSet.addBeanRemoveMany(desc, ids);
       }
@@ -806,7 +861,7 @@ abstract class BeanDescriptorCacheHelp<T> {
     if (invalidateQueryCache) {
       changeSet.addInvalidate(desc);
     } else {
-      queryCacheClear(changeSet);
+      queryCacheRowDelete(Collections.singletonList(id), changeSet);
       if (hasBeanCache()) {
         changeSet.addBeanRemove(desc, id);
       }
@@ -882,7 +937,7 @@ abstract class BeanDescriptorCacheHelp<T> {
       changeSet.addInvalidate(desc);
 
     } else {
-      queryCacheClear(changeSet);
+      queryCacheRowUpdate(id, updateRequest, changeSet);
       cacheUpdateImportedFKs(updateRequest, changeSet);
       if (!hasBeanCache()) {
         // query caching only
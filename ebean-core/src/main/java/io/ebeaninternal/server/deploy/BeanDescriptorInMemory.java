@@ -0,0 +1,151 @@
+package io.ebeaninternal.server.deploy;
+
+import io.ebean.Transaction;
+import io.ebean.bean.EntityBean;
+import io.ebean.bean.PersistenceContext;
+import io.ebean.cache.QueryCacheEntry;
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.server.cache.CachedBeanData;
+import io.ebeaninternal.server.cache.CachedBeanDataFromBean;
+import io.ebeaninternal.server.el.ElPropertyValue;
+import io.ebeaninternal.server.el.ElQuery;
+import io.ebeaninternal.server.el.ElStringCollation;
+import io.ebeaninternal.server.el.ElTable;
+import io.ebeaninternal.server.transaction.DefaultPersistenceContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Helper for BeanDescriptor that evaluates queries in memory against a snapshot of all the beans.
+ * <p>
+ * The snapshot is held in the query cache of the bean type such that it is invalidated
+ * in the same way as query cache entries (modifications to the base table including
+ * remote modifications). The beans in the snapshot are unmodifiable and shared by
+ * unmodifiable queries with other queries returning copies.
+ * </p>
+ *
+ * @param <T> The entity bean type
+ */
+final class BeanDescriptorInMemory<T> {
+
+  /**
+   * The query cache key of the snapshot.
+   */
+  private static final String CACHE_KEY = "_$inMemory";
+
+  private final BeanDescriptor<T> desc;
+  private final Map<String, ElPropertyValue> indexProperties;
+  private final ElStringCollation collation;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  BeanDescriptorInMemory(BeanDescriptor<T> desc, Map<String, ElPropertyValue> indexProperties, ElStringCollation collation) {
+    this.desc = desc;
+    this.indexProperties = indexProperties;
+    this.collation = collation;
+  }
+
+  /**
+   * Return the String collation of the database.
+   */
+  ElStringCollation collation() {
+    return collation;
+  }
+
+  /**
+   * Return the beans matching the query.
+   */
+  List<T> findList(ElQuery<T> query, boolean unmodifiable, PersistenceContext context) {
+    Snapshot<T> snapshot = snapshot();
+    List<T> rows = query.findList(snapshot.table);
+    if (unmodifiable) {
+      return rows;
+    }
+    if (context == null) {
+      context = new DefaultPersistenceContext();
+    }
+    List<T> copies = new ArrayList<>(rows.size());
+    for (T row : rows) {
+      copies.add(snapshot.copy(row, context));
+    }
+    return copies;
+  }
+
+  /**
+   * Return the count of beans matching the query.
+   */
+  int findCount(ElQuery<T> query) {
+    return query.findCount(snapshot().table);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Snapshot<T> snapshot() {
+    Object cached = desc.queryCacheGet(CACHE_KEY);
+    if (cached != null) {
+      return (Snapshot<T>) cached;
+    }
+    lock.lock();
+    try {
+      // another thread may have loaded the snapshot
+      cached = desc.queryCacheGet(CACHE_KEY);
+      if (cached != null) {
+        return (Snapshot<T>) cached;
+      }
+      // timestamp prior to loading such that concurrent modifications invalidate the snapshot
+      Instant timestamp = Instant.now();
+      Snapshot<T> snapshot = load();
+      desc.queryCachePut(CACHE_KEY, new QueryCacheEntry(snapshot, Set.of(desc.baseTable()), timestamp));
+      return snapshot;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Load all the beans using a separate transaction (not seeing uncommitted changes).
+   */
+  private Snapshot<T> load() {
+    SpiEbeanServer server = desc.ebeanServer();
+    List<T> rows;
+    try (Transaction transaction = server.createTransaction()) {
+      rows = server.createQuery(desc.type())
+        .setUseCache(false)
+        .setUnmodifiable(true)
+        .orderById(true)
+        .usingTransaction(transaction)
+        .findList();
+    }
+    Map<Object, CachedBeanData> data = new IdentityHashMap<>(rows.size() * 2);
+    for (T row : rows) {
+      data.put(row, CachedBeanDataFromBean.extract(desc, (EntityBean) row));
+    }
+    return new Snapshot<>(desc, new ElTable<>(new ArrayList<>(rows), indexProperties), data);
+  }
+
+  /**
+   * The table of unmodifiable beans with the cache data used to create copies.
+   */
+  private static final class Snapshot<T> {
+
+    private final BeanDescriptor<T> desc;
+    private final ElTable<T> table;
+    private final Map<Object, CachedBeanData> data;
+
+    Snapshot(BeanDescriptor<T> desc, ElTable<T> table, Map<Object, CachedBeanData> data) {
+      this.desc = desc;
+      this.table = table;
+      this.data = data;
+    }
+
+    @SuppressWarnings("unchecked")
+    T copy(T row, PersistenceContext context) {
+      EntityBean bean = (EntityBean) row;
+      return (T) desc.cacheBeanLoadDirect(desc.getId(bean), false, data.get(row), context);
+    }
+  }
+}
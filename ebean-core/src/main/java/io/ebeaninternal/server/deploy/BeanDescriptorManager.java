@@ -17,6 +17,7 @@ import io.ebean.event.changelog.ChangeLogRegister;
 import io.ebean.meta.MetaQueryPlan;
 import io.ebean.meta.MetricVisitor;
 import io.ebean.meta.QueryPlanInit;
+import io.ebean.metric.TimedMetric;
 import io.ebean.plugin.BeanType;
 import io.ebean.util.AnnotationUtil;
 import io.ebeaninternal.api.*;
@@ -31,7 +32,9 @@ import io.ebeaninternal.server.deploy.id.IdBinderEmbedded;
 import io.ebeaninternal.server.deploy.id.IdBinderFactory;
 import io.ebeaninternal.server.deploy.meta.*;
 import io.ebeaninternal.server.deploy.parse.*;
+import io.ebeaninternal.server.el.ElStringCollation;
 import io.ebeaninternal.server.persist.platform.MultiValueBind;
+import io.ebeaninternal.server.query.CQueryPlanCache;
 import io.ebeaninternal.server.properties.BeanPropertiesReader;
 import io.ebeaninternal.server.properties.BeanPropertyAccess;
 import io.ebeaninternal.server.properties.EnhanceBeanPropertyAccess;
@@ -43,6 +46,7 @@ import io.ebeaninternal.xmapping.api.XmapRawSql;
 import io.ebeanservice.docstore.api.DocStoreBeanAdapter;
 import io.ebeanservice.docstore.api.DocStoreFactory;
 
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.Transient;
@@ -108,6 +112,8 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
   private final String asOfViewSuffix;
   private final boolean jacksonCorePresent;
   private final int queryPlanTTLSeconds;
+  private final int queryPlanCacheMaxSize;
+  private final ExtraMetrics extraMetrics;
   private final BindMaxLength bindMaxLength;
   private int entityBeanCount;
   private List<BeanDescriptor<?>> immutableDescriptorList;
@@ -140,6 +146,8 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
     this.multiValueBind = config.getMultiValueBind();
     this.idBinderFactory = new IdBinderFactory(databasePlatform.idInExpandedForm(), multiValueBind);
     this.queryPlanTTLSeconds = this.config.getQueryPlanTTLSeconds();
+    this.queryPlanCacheMaxSize = this.config.getQueryPlanCacheMaxSize();
+    this.extraMetrics = config.getExtraMetrics();
     this.asOfViewSuffix = asOfViewSuffix(databasePlatform, this.config);
     String versionsBetweenSuffix = versionsBetweenSuffix(databasePlatform, this.config);
     this.readAnnotations = new ReadAnnotations(config.getGeneratedPropertyFactory(), asOfViewSuffix, versionsBetweenSuffix, this.config);
@@ -150,7 +158,7 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
     this.deplyInherit = config.getDeployInherit();
     this.deployUtil = config.getDeployUtil();
     this.typeManager = deployUtil.typeManager();
-    this.beanManagerFactory = new BeanManagerFactory(config.getDatabasePlatform());
+    this.beanManagerFactory = new BeanManagerFactory(config.getDatabasePlatform(), this.config.isPersistBatchMultiRow());
     this.beanLifecycleAdapterFactory = new BeanLifecycleAdapterFactory(this.config);
     this.persistControllerManager = new PersistControllerManager(bootupClasses);
     this.postLoadManager = new PostLoadManager(bootupClasses);
@@ -183,6 +191,11 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
     return jacksonCorePresent;
   }
 
+  @Override
+  public CQueryPlanCache createQueryPlanCache() {
+    return new CQueryPlanCache(queryPlanCacheMaxSize, extraMetrics);
+  }
+
   /**
    * Run periodic trim of query plans.
    */
@@ -232,6 +245,11 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
     return multiValueBind.isSupported();
   }
 
+  @Override
+  public boolean isMultiValueSupported(ScalarType<?> scalarType) {
+    return scalarType != null && multiValueBind.isTypeSupported(scalarType.jdbcType());
+  }
+
   @Override
   public DatabaseBuilder.Settings config() {
     return config;
@@ -302,21 +320,29 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
    * Deploy returning the asOfTableMap (which is required by the SQL builders).
    */
   public Map<String, String> deploy(List<XmapEbean> mappings) {
-    try {
+    final int beanCount = bootupClasses.getEntities().size() + bootupClasses.getEmbeddables().size();
+    try (DeployExecutor executor = DeployExecutor.of(config.getDeployParallelism(), beanCount)) {
+      long start = System.nanoTime();
       createListeners();
-      readEntityDeploymentInitial();
+      readEntityDeploymentInitial(executor);
       readXmlMapping(mappings);
+      start = deployPhase(extraMetrics.deployRead(), start);
       readEntityBeanTable();
-      readEntityDeploymentAssociations();
+      start = deployPhase(extraMetrics.deployTables(), start);
+      readEntityDeploymentAssociations(executor);
+      start = deployPhase(extraMetrics.deployAssociations(), start);
       readInheritedIdGenerators();
       // creates the BeanDescriptors
       readEntityRelationships();
+      start = deployPhase(extraMetrics.deployRelationships(), start);
       List<BeanDescriptor<?>> list = new ArrayList<>(descMap.values());
       list.sort(beanDescComparator);
       immutableDescriptorList = Collections.unmodifiableList(list);
       initialiseAll();
       readForeignKeys();
       readTableToDescriptor();
+      initInMemoryQueries();
+      deployPhase(extraMetrics.deployInitialise(), start);
       logStatus();
 
       // clear collections we no longer need
@@ -332,6 +358,14 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
     }
   }
 
+  /**
+   * Add the time of the deployment phase returning the start of the next phase.
+   */
+  private static long deployPhase(TimedMetric metric, long startNanos) {
+    metric.addSinceNanos(startNanos);
+    return System.nanoTime();
+  }
+
   private void readXmlMapping(List<XmapEbean> mappings) {
     if (mappings != null) {
       ClassLoader classLoader = config.getClassLoadConfig().getClassLoader();
@@ -471,6 +505,29 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
     }
   }
 
+  /**
+   * Initialise the bean types with queries evaluated in memory.
+   */
+  private void initInMemoryQueries() {
+    ElStringCollation collation = ElStringCollation.of(databasePlatform.platform());
+    for (String entry : config.getInMemoryQueryTypes()) {
+      String[] names = entry.split(":");
+      BeanDescriptor<?> desc = descMap.get(names[0].trim());
+      if (desc == null) {
+        log.log(WARNING, "In memory query type {0} is not an entity bean - ignored", names[0]);
+        continue;
+      }
+      List<String> indexProperties = new ArrayList<>(names.length - 1);
+      for (int i = 1; i < names.length; i++) {
+        indexProperties.add(names[i].trim());
+      }
+      String reason = desc.initInMemoryQuery(indexProperties, collation);
+      if (reason != null) {
+        log.log(WARNING, "In memory query on {0} {1} - ignored", desc.fullName(), reason);
+      }
+    }
+  }
+
   private void readForeignKeys() {
     for (BeanDescriptor<?> d : descMap.values()) {
       d.initialiseFkeys();
@@ -661,17 +718,23 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
    * This stops short of reading relationship meta data until after the
    * BeanTables have all been created.
    */
-  private void readEntityDeploymentInitial() {
-    for (Class<?> entityClass : bootupClasses.getEntities()) {
-      DeployBeanInfo<?> info = createDeployBeanInfo(entityClass);
-      deployInfoMap.put(entityClass, info);
+  private void readEntityDeploymentInitial(DeployExecutor executor) {
+    // reading the annotations per bean type is independent so can be done in parallel
+    final List<Class<?>> entities = bootupClasses.getEntities();
+    final List<Class<?>> embeddables = bootupClasses.getEmbeddables();
+    final List<DeployBeanInfo<?>> entityInfos = executor.map(entities, this::createDeployBeanInfo);
+    final List<DeployBeanInfo<?>> embeddableInfos = executor.map(embeddables, this::createDeployBeanInfo);
+    for (int i = 0; i < entities.size(); i++) {
+      DeployBeanInfo<?> info = entityInfos.get(i);
+      deployInfoMap.put(entities.get(i), info);
       Class<?> embeddedIdType = info.getEmbeddedIdType();
       if (embeddedIdType != null) {
         embeddedIdTypes.add(embeddedIdType);
       }
     }
-    for (Class<?> entityClass : bootupClasses.getEmbeddables()) {
-      DeployBeanInfo<?> info = createDeployBeanInfo(entityClass);
+    for (int i = 0; i < embeddables.size(); i++) {
+      Class<?> entityClass = embeddables.get(i);
+      DeployBeanInfo<?> info = embeddableInfos.get(i);
       deployInfoMap.put(entityClass, info);
       if (embeddedIdTypes.contains(entityClass)) {
         // register embeddedId types early - scalar properties only
@@ -711,10 +774,68 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
    * <p>
    * This is determined prior to resolving relationship information.
    */
-  private void readEntityDeploymentAssociations() {
+  private void readEntityDeploymentAssociations(DeployExecutor executor) {
+    if (!executor.isParallel()) {
+      for (DeployBeanInfo<?> info : deployInfoMap.values()) {
+        readDeployAssociations(info);
+      }
+    } else {
+      executor.forEachGroup(associationGroups(), this::readDeployAssociations);
+    }
+  }
+
+  /**
+   * Return the bean types grouped for reading the associations in parallel.
+   * <p>
+   * An inheritance hierarchy is read by a single thread (root first) as the types share
+   * the inheritance information. Embedded beans and hierarchies with element collections
+   * (that create element descriptors and their caches) are read serially as one group.
+   */
+  private Collection<List<DeployBeanInfo<?>>> associationGroups() {
+    final Map<Class<?>, List<DeployBeanInfo<?>>> hierarchies = new LinkedHashMap<>();
     for (DeployBeanInfo<?> info : deployInfoMap.values()) {
-      readDeployAssociations(info);
+      InheritInfo inheritInfo = info.getDescriptor().getInheritInfo();
+      Class<?> key = inheritInfo == null ? info.getDescriptor().getBeanType() : inheritInfo.getRoot().getType();
+      hierarchies.computeIfAbsent(key, k -> new ArrayList<>()).add(info);
+    }
+    final List<List<DeployBeanInfo<?>>> groups = new ArrayList<>(hierarchies.size());
+    final List<DeployBeanInfo<?>> serial = new ArrayList<>();
+    for (List<DeployBeanInfo<?>> hierarchy : hierarchies.values()) {
+      hierarchy.sort(Comparator.comparingInt(info -> inheritDepth(info.getDescriptor().getInheritInfo())));
+      if (readSerially(hierarchy)) {
+        serial.addAll(hierarchy);
+      } else {
+        groups.add(hierarchy);
+      }
+    }
+    if (!serial.isEmpty()) {
+      groups.add(serial);
+    }
+    return groups;
+  }
+
+  private static int inheritDepth(InheritInfo inheritInfo) {
+    int depth = 0;
+    while (inheritInfo != null && !inheritInfo.isRoot()) {
+      depth++;
+      inheritInfo = inheritInfo.getParent();
     }
+    return depth;
+  }
+
+  private static boolean readSerially(List<DeployBeanInfo<?>> hierarchy) {
+    for (DeployBeanInfo<?> info : hierarchy) {
+      if (info.isEmbedded()) {
+        return true;
+      }
+      for (DeployBeanPropertyAssocMany<?> many : info.getDescriptor().propertiesAssocMany()) {
+        Field field = many.getField();
+        if (field != null && AnnotationUtil.has(field, ElementCollection.class)) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   private void readInheritedIdGenerators() {
@@ -740,6 +861,15 @@ public final class BeanDescriptorManager implements BeanDescriptorMap, SpiBeanTy
     return new BeanTable(beanTable, this);
   }
 
+  /**
+   * Resolve the relationships between the bean types and create the BeanDescriptors.
+   * <p>
+   * Unlike reading the annotations and associations this is performed serially. Resolving
+   * mappedBy and unidirectional relationships modifies the deployment of the target bean
+   * type (adding unidirectional properties and intersection table joins) such that bean
+   * types can not be processed independently, and this phase is a small part of the
+   * deployment time relative to the reading of the annotations.
+   */
   private void readEntityRelationships() {
     // We only perform 'circular' checks etc after we have
     // all the DeployBeanDescriptors created and in the map.
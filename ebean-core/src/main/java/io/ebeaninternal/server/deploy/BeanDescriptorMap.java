@@ -7,6 +7,7 @@ import io.ebean.core.type.ScalarType;
 import io.ebeaninternal.server.cache.SpiCacheManager;
 import io.ebeaninternal.server.deploy.id.IdBinder;
 import io.ebeaninternal.server.deploy.meta.DeployBeanDescriptor;
+import io.ebeaninternal.server.query.CQueryPlanCache;
 import io.ebeanservice.docstore.api.DocStoreBeanAdapter;
 
 /**
@@ -42,6 +43,11 @@ public interface BeanDescriptorMap {
    */
   boolean isMultiValueSupported();
 
+  /**
+   * Return true if multiple values of the given type can be bound as a single Array.
+   */
+  boolean isMultiValueSupported(ScalarType<?> scalarType);
+
   /**
    * Return the BeanDescriptor for a given class.
    */
@@ -77,6 +83,11 @@ public interface BeanDescriptorMap {
    */
   boolean isJacksonCorePresent();
 
+  /**
+   * Create the query plan cache for a bean type.
+   */
+  CQueryPlanCache createQueryPlanCache();
+
   /**
    * Returns true, if the given table (or view) is managed by ebean
    * (= an entity exists)
@@ -11,8 +11,8 @@ final class BeanManagerFactory {
 
   private final BeanPersisterFactory persisterFactory;
 
-  BeanManagerFactory(DatabasePlatform dbPlatform) {
-    persisterFactory = new DmlBeanPersisterFactory(dbPlatform);
+  BeanManagerFactory(DatabasePlatform dbPlatform, boolean multiRowInsert) {
+    persisterFactory = new DmlBeanPersisterFactory(dbPlatform, multiRowInsert);
   }
 
   public <T> BeanManager<T> create(BeanDescriptor<T> desc) {
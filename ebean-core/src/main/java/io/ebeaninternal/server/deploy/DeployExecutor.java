@@ -0,0 +1,123 @@
+package io.ebeaninternal.server.deploy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Executes the per bean type deployment work either serially or using a thread pool.
+ * <p>
+ * The pool is only used during deployment and is shutdown on close. Worker threads use
+ * the context class loader of the deploying thread.
+ */
+final class DeployExecutor implements AutoCloseable {
+
+  private final ExecutorService pool;
+
+  private DeployExecutor(ExecutorService pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Create given the configured deploy parallelism (0 for the number of processors).
+   */
+  static DeployExecutor of(int parallelism, int beanCount) {
+    if (parallelism == 0) {
+      parallelism = Runtime.getRuntime().availableProcessors();
+    }
+    parallelism = Math.min(parallelism, beanCount);
+    if (parallelism <= 1) {
+      return new DeployExecutor(null);
+    }
+    final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+    final AtomicInteger threadCount = new AtomicInteger();
+    return new DeployExecutor(Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "ebean-deploy-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setContextClassLoader(contextLoader);
+      return thread;
+    }));
+  }
+
+  /**
+   * Return true if deployment is performed in parallel.
+   */
+  boolean isParallel() {
+    return pool != null;
+  }
+
+  /**
+   * Apply the function to each item returning the results in the same order as the items.
+   */
+  <T, R> List<R> map(Collection<T> items, Function<T, R> function) {
+    final List<R> results = new ArrayList<>(items.size());
+    if (pool == null) {
+      for (T item : items) {
+        results.add(function.apply(item));
+      }
+      return results;
+    }
+    final List<Callable<R>> tasks = new ArrayList<>(items.size());
+    for (T item : items) {
+      tasks.add(() -> function.apply(item));
+    }
+    for (Future<R> future : invokeAll(tasks)) {
+      results.add(join(future));
+    }
+    return results;
+  }
+
+  /**
+   * Process the groups in parallel with the items of each group processed serially in order.
+   */
+  <T> void forEachGroup(Collection<List<T>> groups, Consumer<T> consumer) {
+    map(groups, group -> {
+      for (T item : group) {
+        consumer.accept(item);
+      }
+      return group;
+    });
+  }
+
+  private <R> List<Future<R>> invokeAll(List<Callable<R>> tasks) {
+    try {
+      return pool.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during deployment", e);
+    }
+  }
+
+  private static <R> R join(Future<R> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during deployment", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+}
@@ -29,9 +29,11 @@ public final class DeployCreateProperties {
 
   private final DetermineManyType determineManyType;
   private final TypeManager typeManager;
+  private final DeployMeta deployMeta;
 
-  public DeployCreateProperties(TypeManager typeManager) {
+  public DeployCreateProperties(TypeManager typeManager, DeployMeta deployMeta) {
     this.typeManager = typeManager;
+    this.deployMeta = deployMeta;
     this.determineManyType = new DetermineManyType();
   }
 
@@ -39,21 +41,40 @@ public final class DeployCreateProperties {
    * Create the appropriate properties for a bean.
    */
   public void createProperties(DeployBeanDescriptor<?> desc) {
-    // Build the full type-variable map once for the entire hierarchy. TypeReflectHelper
-    // (via TypeResolver) walks superclasses and interfaces, composing mappings so that
-    // multi-level generic hierarchies (A extends B<T>, B<T> extends C<T>) resolve correctly.
-    Map<TypeVariable<?>, Type> typeMap = TypeReflectHelper.typeVariableMap(desc.getBeanType());
-    createProperties(desc, desc.getBeanType(), 0, typeMap);
+    createProperties(desc, desc.getBeanType(), 0, new TypeVariables(desc.getBeanType()));
     desc.sortProperties();
   }
 
+  /**
+   * The full type-variable map for the entire hierarchy built on first use (not required
+   * for properties created using the generated deployment metadata). TypeReflectHelper
+   * (via TypeResolver) walks superclasses and interfaces, composing mappings so that
+   * multi-level generic hierarchies (A extends B<T>, B<T> extends C<T>) resolve correctly.
+   */
+  private static final class TypeVariables {
+
+    private final Class<?> beanType;
+    private Map<TypeVariable<?>, Type> typeMap;
+
+    TypeVariables(Class<?> beanType) {
+      this.beanType = beanType;
+    }
+
+    Map<TypeVariable<?>, Type> typeMap() {
+      if (typeMap == null) {
+        typeMap = TypeReflectHelper.typeVariableMap(beanType);
+      }
+      return typeMap;
+    }
+  }
+
   /**
    * Return true if we should ignore this field.
    * <p>
    * We want to ignore ebean internal fields and some others as well.
    * </p>
    */
-  private boolean ignoreFieldByName(String fieldName) {
+  private static boolean ignoreFieldByName(String fieldName) {
     if (fieldName.startsWith("_ebean_")) {
       // ignore Ebean internal fields
       return true;
@@ -62,7 +83,7 @@ public final class DeployCreateProperties {
     return fieldName.startsWith("ajc$instance$");
   }
 
-  private boolean ignoreField(Field field) {
+  static boolean ignoreField(Field field) {
     return Modifier.isStatic(field.getModifiers())
       || Modifier.isTransient(field.getModifiers())
       || ignoreFieldByName(field.getName());
@@ -71,17 +92,18 @@ public final class DeployCreateProperties {
   /**
    * Create the bean properties from Class. Some of these properties may not map to database columns.
    */
-  private void createProperties(DeployBeanDescriptor<?> desc, Class<?> beanType, int level, Map<TypeVariable<?>, Type> typeMap) {
+  private void createProperties(DeployBeanDescriptor<?> desc, Class<?> beanType, int level, TypeVariables typeVariables) {
     if (beanType.equals(Model.class)) {
       // ignore all fields on model (_$dbName)
       return;
     }
     try {
       Field[] fields = beanType.getDeclaredFields();
+      DeployMeta.ClassMeta classMeta = deployMeta.classMeta(beanType, fields, DeployCreateProperties::ignoreField);
       for (int i = 0; i < fields.length; i++) {
         Field field = fields[i];
         if (!ignoreField(field)) {
-          DeployBeanProperty prop = createProp(desc, field, beanType, typeMap);
+          DeployBeanProperty prop = createProp(desc, field, beanType, classMeta, typeVariables);
           if (prop != null) {
             // set a order that gives priority to inherited properties
             // push Id/EmbeddedId up and CreatedTimestamp/UpdatedTimestamp down
@@ -102,7 +124,7 @@ public final class DeployCreateProperties {
       if (!superClass.equals(Object.class)) {
         // recursively add any properties in the inheritance hierarchy
         // up to the Object.class level - the same typeMap covers the full hierarchy
-        createProperties(desc, superClass, level + 1, typeMap);
+        createProperties(desc, superClass, level + 1, typeVariables);
       }
 
     } catch (PersistenceException ex) {
@@ -193,8 +215,34 @@ public final class DeployCreateProperties {
     return AnnotationUtil.has(field, Transient.class);
   }
 
-  private DeployBeanProperty createProp(DeployBeanDescriptor<?> desc, Field field, Class<?> beanType, Map<TypeVariable<?>, Type> typeMap) {
-    DeployBeanProperty prop = createProp(desc, field, typeMap);
+  /**
+   * Create the property using the kind determined at build time returning null when
+   * it needs to be determined via reflection.
+   */
+  private DeployBeanProperty createProp(DeployBeanDescriptor<?> desc, Field field, DeployMeta.Kind kind) {
+    final Class<?> propertyType = field.getType();
+    switch (kind) {
+      case ONE:
+        return new DeployBeanPropertyAssocOne<>(desc, propertyType);
+      case MANY:
+        ManyType manyType = determineManyType.manyType(propertyType);
+        Class<?> targetType = determineTargetType(field.getGenericType());
+        return manyType == null || targetType == null ? null : new DeployBeanPropertyAssocMany<>(desc, targetType, manyType);
+      default:
+        if (propertyType.isEnum() || propertyType.isPrimitive()) {
+          return new DeployBeanProperty(desc, propertyType, null, null);
+        }
+        ScalarType<?> scalarType = typeManager.type(propertyType);
+        return scalarType == null ? null : new DeployBeanProperty(desc, propertyType, scalarType, null);
+    }
+  }
+
+  private DeployBeanProperty createProp(DeployBeanDescriptor<?> desc, Field field, Class<?> beanType, DeployMeta.ClassMeta classMeta, TypeVariables typeVariables) {
+    DeployMeta.Kind kind = classMeta == null ? null : classMeta.kind(field.getName());
+    DeployBeanProperty prop = kind == null ? null : createProp(desc, field, kind);
+    if (prop == null) {
+      prop = createProp(desc, field, typeVariables.typeMap());
+    }
     if (prop == null) {
       // transient annotation on unsupported type
       return null;
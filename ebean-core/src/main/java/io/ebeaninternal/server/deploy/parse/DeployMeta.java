@@ -0,0 +1,176 @@
+package io.ebeaninternal.server.deploy.parse;
+
+import io.ebeaninternal.api.CoreLog;
+import io.ebeaninternal.util.UrlHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Deployment metadata generated at build time by the query bean generator.
+ * <p>
+ * Holds per class the checksum of the persistent fields and the kind of each field
+ * (scalar, associated one or associated many) such that the properties can be created
+ * without resolving generic types and checking annotations via reflection. Classes
+ * with a checksum that does not match the runtime fields are deployed via reflection.
+ */
+public final class DeployMeta {
+
+  static final String RESOURCE = "META-INF/ebean-generated-deploy.txt";
+
+  private static final System.Logger log = CoreLog.internal;
+  private static final DeployMeta NONE = new DeployMeta(Map.of());
+
+  /**
+   * The kind of property determined at build time.
+   */
+  enum Kind {
+    SCALAR, ONE, MANY
+  }
+
+  private final Map<String, ClassMeta> classes;
+
+  private DeployMeta(Map<String, ClassMeta> classes) {
+    this.classes = classes;
+  }
+
+  /**
+   * Return deployment metadata that is empty (all classes deployed via reflection).
+   */
+  public static DeployMeta none() {
+    return NONE;
+  }
+
+  /**
+   * Load the generated deployment metadata resources using the given class loader.
+   */
+  public static DeployMeta load(ClassLoader classLoader) {
+    final Map<String, ClassMeta> classes = new HashMap<>();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+      while (resources.hasMoreElements()) {
+        try (InputStream is = UrlHelper.openNoCache(resources.nextElement())) {
+          read(new InputStreamReader(is, StandardCharsets.UTF_8), classes);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      log.log(WARNING, "Error reading " + RESOURCE + " resources, deploying via reflection", e);
+      return NONE;
+    }
+    if (classes.isEmpty()) {
+      return NONE;
+    }
+    log.log(DEBUG, "loaded deployment metadata for {0} classes", classes.size());
+    return new DeployMeta(classes);
+  }
+
+  static DeployMeta read(Reader reader) throws IOException {
+    final Map<String, ClassMeta> classes = new HashMap<>();
+    read(reader, classes);
+    return new DeployMeta(classes);
+  }
+
+  private static void read(Reader reader, Map<String, ClassMeta> classes) throws IOException {
+    final BufferedReader lineReader = new BufferedReader(reader);
+    ClassMeta current = null;
+    String line;
+    while ((line = lineReader.readLine()) != null) {
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+      final String[] tokens = line.trim().split(" ");
+      if (line.startsWith("class ")) {
+        current = new ClassMeta(Long.parseLong(tokens[2], 16));
+        classes.put(tokens[1], current);
+      } else if (current != null && tokens.length == 2) {
+        current.kinds.put(tokens[0], kind(tokens[1]));
+      }
+    }
+  }
+
+  private static Kind kind(String code) {
+    switch (code) {
+      case "o":
+        return Kind.ONE;
+      case "m":
+        return Kind.MANY;
+      default:
+        return Kind.SCALAR;
+    }
+  }
+
+  /**
+   * Return true if there is metadata for the class that matches its fields (not stale).
+   */
+  public boolean isCurrent(Class<?> type) {
+    return classMeta(type, type.getDeclaredFields(), DeployCreateProperties::ignoreField) != null;
+  }
+
+  /**
+   * Return the metadata for the class or null when there is none or the fields have
+   * changed since it was generated.
+   */
+  ClassMeta classMeta(Class<?> type, Field[] fields, Predicate<Field> ignore) {
+    final ClassMeta meta = classes.get(type.getName());
+    if (meta == null) {
+      return null;
+    }
+    if (meta.checksum != checksum(fields, ignore)) {
+      log.log(DEBUG, "deployment metadata for {0} is stale, deploying via reflection", type.getName());
+      return null;
+    }
+    return meta;
+  }
+
+  /**
+   * Checksum of the field names and types sorted by name (matching the generated checksum).
+   */
+  static long checksum(Field[] fields, Predicate<Field> ignore) {
+    final Map<String, String> types = new TreeMap<>();
+    for (Field field : fields) {
+      if (!ignore.test(field)) {
+        types.put(field.getName(), field.getType().getTypeName());
+      }
+    }
+    final CRC32 crc = new CRC32();
+    for (Map.Entry<String, String> entry : types.entrySet()) {
+      crc.update((entry.getKey() + ' ' + entry.getValue() + '\n').getBytes(StandardCharsets.UTF_8));
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * The metadata for a class (the fields declared on the class).
+   */
+  static final class ClassMeta {
+
+    private final long checksum;
+    private final Map<String, Kind> kinds = new HashMap<>();
+
+    ClassMeta(long checksum) {
+      this.checksum = checksum;
+    }
+
+    /**
+     * Return the kind of the field or null when it is determined via reflection.
+     */
+    Kind kind(String fieldName) {
+      return kinds.get(fieldName);
+    }
+  }
+}
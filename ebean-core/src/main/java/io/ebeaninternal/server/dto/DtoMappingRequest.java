@@ -110,7 +110,7 @@ public final class DtoMappingRequest {
   }
 
   public QueryPlanMetric createMetric() {
-    return MetricFactory.get().createQueryPlanMetric(type, name, label, profileLocation, sql, hash);
+    return MetricFactory.get().createQueryPlanMetric(type, name, label, profileLocation, sql, hash, server.config().isMetricsHistogram());
   }
 
   /**
@@ -0,0 +1,226 @@
+package io.ebeaninternal.server.dto;
+
+import io.ebean.RowView;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reused buffer holding the values of the current row with long, int and double columns unboxed.
+ * <p>
+ * The column types are determined once from the ResultSetMetaData and each row is read into
+ * the primitive arrays (or the object array for other column types) without per row allocation
+ * (other than objects created by the JDBC driver).
+ */
+public final class DtoRowBuffer implements RowView {
+
+  private static final byte OBJECT = 0;
+  private static final byte LONG = 1;
+  private static final byte INT = 2;
+  private static final byte DOUBLE = 3;
+
+  private final ResultSet resultSet;
+  private final String[] names;
+  private final byte[] types;
+  private final long[] longs;
+  private final int[] ints;
+  private final double[] doubles;
+  private final Object[] objects;
+  private final boolean[] nulls;
+  private Map<String, Integer> indexes;
+  private long rowNumber = -1;
+
+  public DtoRowBuffer(ResultSet resultSet) throws SQLException {
+    this.resultSet = resultSet;
+    final ResultSetMetaData metaData = resultSet.getMetaData();
+    final int count = metaData.getColumnCount();
+    this.names = new String[count];
+    this.types = new byte[count];
+    for (int i = 0; i < count; i++) {
+      String label = metaData.getColumnLabel(i + 1);
+      names[i] = label != null ? label : metaData.getColumnName(i + 1);
+      types[i] = type(metaData.getColumnType(i + 1));
+    }
+    this.longs = new long[count];
+    this.ints = new int[count];
+    this.doubles = new double[count];
+    this.objects = new Object[count];
+    this.nulls = new boolean[count];
+  }
+
+  private static byte type(int jdbcType) {
+    switch (jdbcType) {
+      case Types.BIGINT:
+        return LONG;
+      case Types.INTEGER:
+      case Types.SMALLINT:
+      case Types.TINYINT:
+        return INT;
+      case Types.DOUBLE:
+      case Types.FLOAT:
+      case Types.REAL:
+        return DOUBLE;
+      default:
+        return OBJECT;
+    }
+  }
+
+  /**
+   * Read the current row of the ResultSet into the buffer.
+   */
+  public void read() throws SQLException {
+    rowNumber++;
+    for (int i = 0; i < types.length; i++) {
+      final int pos = i + 1;
+      switch (types[i]) {
+        case LONG:
+          longs[i] = resultSet.getLong(pos);
+          break;
+        case INT:
+          ints[i] = resultSet.getInt(pos);
+          break;
+        case DOUBLE:
+          doubles[i] = resultSet.getDouble(pos);
+          break;
+        default:
+          objects[i] = resultSet.getObject(pos);
+      }
+      nulls[i] = resultSet.wasNull();
+    }
+  }
+
+  @Override
+  public long rowNumber() {
+    return rowNumber;
+  }
+
+  @Override
+  public int columnCount() {
+    return names.length;
+  }
+
+  @Override
+  public String columnName(int index) {
+    return names[index];
+  }
+
+  @Override
+  public int columnIndex(String columnName) {
+    if (indexes == null) {
+      final Map<String, Integer> map = new HashMap<>();
+      for (int i = 0; i < names.length; i++) {
+        map.putIfAbsent(names[i].toLowerCase(Locale.ROOT), i);
+      }
+      indexes = map;
+    }
+    final Integer index = indexes.get(columnName.toLowerCase(Locale.ROOT));
+    return index == null ? -1 : index;
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return nulls[index];
+  }
+
+  @Override
+  public long getLong(int index) {
+    switch (types[index]) {
+      case LONG:
+        return longs[index];
+      case INT:
+        return ints[index];
+      case DOUBLE:
+        return (long) doubles[index];
+      default:
+        return nulls[index] ? 0 : number(index).longValue();
+    }
+  }
+
+  @Override
+  public int getInt(int index) {
+    switch (types[index]) {
+      case LONG:
+        return (int) longs[index];
+      case INT:
+        return ints[index];
+      case DOUBLE:
+        return (int) doubles[index];
+      default:
+        return nulls[index] ? 0 : number(index).intValue();
+    }
+  }
+
+  @Override
+  public double getDouble(int index) {
+    switch (types[index]) {
+      case LONG:
+        return longs[index];
+      case INT:
+        return ints[index];
+      case DOUBLE:
+        return doubles[index];
+      default:
+        return nulls[index] ? 0 : number(index).doubleValue();
+    }
+  }
+
+  @Override
+  public boolean getBoolean(int index) {
+    if (types[index] == OBJECT) {
+      final Object value = objects[index];
+      if (value == null) {
+        return false;
+      }
+      if (value instanceof Boolean) {
+        return (Boolean) value;
+      }
+      if (value instanceof String) {
+        // as per the String to Boolean conversion of ScalarTypeBoolean (also supporting "1")
+        final String text = ((String) value).trim();
+        return "true".equalsIgnoreCase(text) || "1".equals(text);
+      }
+      return number(index).intValue() != 0;
+    }
+    return getLong(index) != 0;
+  }
+
+  @Override
+  public String getString(int index) {
+    final Object value = get(index);
+    return value == null ? null : value.toString();
+  }
+
+  @Override
+  public Object get(int index) {
+    if (nulls[index]) {
+      return null;
+    }
+    switch (types[index]) {
+      case LONG:
+        return longs[index];
+      case INT:
+        return ints[index];
+      case DOUBLE:
+        return doubles[index];
+      default:
+        return objects[index];
+    }
+  }
+
+  private Number number(int index) {
+    final Object value = objects[index];
+    if (value instanceof Number) {
+      return (Number) value;
+    }
+    if (value instanceof Boolean) {
+      return (Boolean) value ? 1 : 0;
+    }
+    return new BigDecimal(value.toString());
+  }
+}
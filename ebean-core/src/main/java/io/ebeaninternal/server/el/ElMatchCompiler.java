@@ -0,0 +1,460 @@
+package io.ebeaninternal.server.el;
+
+import io.ebean.LikeType;
+import io.ebean.OrderBy;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.deploy.BeanProperty;
+import io.ebeaninternal.server.deploy.BeanPropertyAssoc;
+import io.ebeaninternal.server.deploy.BeanPropertyAssocMany;
+import io.ebeaninternal.server.deploy.BeanPropertyAssocOne;
+import jakarta.persistence.PersistenceException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles query expressions into predicates and comparators evaluated in memory.
+ * <p>
+ * Each method returns null when the expression can not be evaluated in memory with the same
+ * result as the database. For example, the property is not loaded by default (lazy fetch,
+ * formula, transient), the path navigates beyond the id of an associated bean or the value
+ * type does not have a well defined equality or ordering.
+ * </p>
+ * <p>
+ * String (and char) expressions and order by are only evaluated in memory when the
+ * {@link ElStringCollation} of the database matches Java String equality or ordering.
+ * </p>
+ */
+public final class ElMatchCompiler<T> {
+
+  private final BeanDescriptor<T> descriptor;
+  private final ElStringCollation collation;
+
+  public ElMatchCompiler(BeanDescriptor<T> descriptor, ElStringCollation collation) {
+    this.descriptor = descriptor;
+    this.collation = collation;
+  }
+
+  /**
+   * Return the property for use with an index or null if it is not supported.
+   */
+  public ElPropertyValue indexProperty(String name) {
+    ElPropertyValue property = scalar(name);
+    return property == null || !isEqualType(property) ? null : property;
+  }
+
+  public ElPredicate<T> constant(boolean result) {
+    return new ElPredicateBuilder.Const<>(result);
+  }
+
+  public ElPredicate<T> eq(String name, Object value) {
+    ElPropertyValue property = scalar(name);
+    if (property == null || !isEqualType(property)) {
+      return null;
+    }
+    Object bindValue = convert(property, value);
+    return bindValue == null ? null : new ElPredicateBuilder.Eq<>(property, name, bindValue);
+  }
+
+  public ElPredicate<T> ne(String name, Object value) {
+    ElPropertyValue property = scalar(name);
+    if (property == null || !isEqualType(property)) {
+      return null;
+    }
+    Object bindValue = convert(property, value);
+    return bindValue == null ? null : new ElPredicateBuilder.Ne<>(property, bindValue);
+  }
+
+  public ElPredicate<T> lt(String name, Object value) {
+    return compare(name, ElPredicateBuilder.Cmp.LT, value);
+  }
+
+  public ElPredicate<T> le(String name, Object value) {
+    return compare(name, ElPredicateBuilder.Cmp.LE, value);
+  }
+
+  public ElPredicate<T> gt(String name, Object value) {
+    return compare(name, ElPredicateBuilder.Cmp.GT, value);
+  }
+
+  public ElPredicate<T> ge(String name, Object value) {
+    return compare(name, ElPredicateBuilder.Cmp.GE, value);
+  }
+
+  private ElPredicate<T> compare(String name, ElPredicateBuilder.Cmp cmp, Object value) {
+    ElPropertyValue property = scalar(name);
+    if (property == null || !isOrderedType(property)) {
+      return null;
+    }
+    Object bindValue = convert(property, value);
+    return bindValue == null ? null : new ElPredicateBuilder.Compare<>(property, cmp, bindValue);
+  }
+
+  public ElPredicate<T> between(String name, Object low, Object high) {
+    ElPropertyValue property = scalar(name);
+    if (property == null || !isOrderedType(property)) {
+      return null;
+    }
+    Object lowValue = convert(property, low);
+    Object highValue = convert(property, high);
+    if (lowValue == null || highValue == null) {
+      return null;
+    }
+    return new ElPredicateBuilder.Between<>(property, lowValue, highValue);
+  }
+
+  public ElPredicate<T> in(String name, Collection<?> values, boolean not) {
+    ElPropertyValue property = scalar(name);
+    if (property == null || !isEqualType(property)) {
+      return null;
+    }
+    List<Object> bindValues = new ArrayList<>(values.size());
+    for (Object value : values) {
+      Object bindValue = convert(property, value);
+      if (bindValue == null) {
+        return null;
+      }
+      bindValues.add(bindValue);
+    }
+    return new ElPredicateBuilder.In<>(property, name, bindValues, not);
+  }
+
+  /**
+   * Return the id equal to predicate.
+   */
+  public ElPredicate<T> idEq(Object id) {
+    BeanProperty idProperty = descriptor.idProperty();
+    return idProperty == null ? null : eq(idProperty.name(), id);
+  }
+
+  /**
+   * Return the id in predicate.
+   */
+  public ElPredicate<T> idIn(Collection<?> ids) {
+    BeanProperty idProperty = descriptor.idProperty();
+    return idProperty == null ? null : in(idProperty.name(), ids, false);
+  }
+
+  /**
+   * Is null or is not null on a scalar or associated bean (but not an embedded bean).
+   */
+  public ElPredicate<T> isNull(String name, boolean notNull) {
+    ElPropertyValue property = property(name);
+    if (property == null || property.beanProperty().isEmbedded()) {
+      return null;
+    }
+    return new ElPredicateBuilder.IsNull<>(property, notNull);
+  }
+
+  /**
+   * Case insensitive equal to (with the value already in lower case).
+   */
+  public ElPredicate<T> ieq(String name, String value, boolean not) {
+    ElPropertyValue property = stringProperty(name);
+    if (property == null || value == null) {
+      return null;
+    }
+    ElPredicate<T> eq = new ElPredicateBuilder.StringMatch<>(property, value, true, ElPredicateBuilder.StringMatch.EQUAL_TO);
+    return not ? new ElPredicateBuilder.Not<>(eq) : eq;
+  }
+
+  public ElPredicate<T> like(String name, String value, LikeType type, boolean caseInsensitive) {
+    ElPropertyValue property = stringProperty(name);
+    if (property == null || value == null) {
+      return null;
+    }
+    switch (type) {
+      case STARTS_WITH:
+        return new ElPredicateBuilder.StringMatch<>(property, value, caseInsensitive, ElPredicateBuilder.StringMatch.STARTS_WITH);
+      case ENDS_WITH:
+        return new ElPredicateBuilder.StringMatch<>(property, value, caseInsensitive, ElPredicateBuilder.StringMatch.ENDS_WITH);
+      case CONTAINS:
+        return new ElPredicateBuilder.StringMatch<>(property, value, caseInsensitive, ElPredicateBuilder.StringMatch.CONTAINS);
+      case EQUAL_TO:
+        return new ElPredicateBuilder.StringMatch<>(property, value, caseInsensitive, ElPredicateBuilder.StringMatch.EQUAL_TO);
+      default:
+        Pattern pattern = likePattern(caseInsensitive ? ElPredicateBuilder.lower(value) : value);
+        return pattern == null ? null : new ElPredicateBuilder.Like<>(property, pattern, caseInsensitive);
+    }
+  }
+
+  /**
+   * Return the regular expression for the raw like pattern.
+   * <p>
+   * Returns null when the pattern contains an escape character as the default escape
+   * character differs by database platform.
+   */
+  static Pattern likePattern(String value) {
+    StringBuilder regex = new StringBuilder(value.length() + 16);
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch == '\\') {
+        return null;
+      }
+      if (ch == '%' || ch == '_') {
+        if (literal.length() > 0) {
+          regex.append(Pattern.quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(ch == '%' ? ".*" : ".");
+      } else {
+        literal.append(ch);
+      }
+    }
+    if (literal.length() > 0) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  /**
+   * Return the conjunction of the predicates or null if any of them are not supported.
+   */
+  @SuppressWarnings("unchecked")
+  public ElPredicate<T> and(List<ElPredicate<T>> predicates) {
+    if (!isSupported(predicates)) {
+      return null;
+    }
+    if (predicates.size() == 1) {
+      return predicates.get(0);
+    }
+    return new ElPredicateBuilder.And<>(predicates.toArray(new ElPredicate[0]));
+  }
+
+  /**
+   * Return the disjunction of the predicates or null if any of them are not supported.
+   */
+  @SuppressWarnings("unchecked")
+  public ElPredicate<T> or(List<ElPredicate<T>> predicates) {
+    if (!isSupported(predicates)) {
+      return null;
+    }
+    if (predicates.size() == 1) {
+      return predicates.get(0);
+    }
+    return new ElPredicateBuilder.Or<>(predicates.toArray(new ElPredicate[0]));
+  }
+
+  public ElPredicate<T> and(ElPredicate<T> one, ElPredicate<T> two) {
+    return one == null || two == null ? null : and(List.of(one, two));
+  }
+
+  public ElPredicate<T> or(ElPredicate<T> one, ElPredicate<T> two) {
+    return one == null || two == null ? null : or(List.of(one, two));
+  }
+
+  private boolean isSupported(List<ElPredicate<T>> predicates) {
+    for (ElPredicate<T> predicate : predicates) {
+      if (predicate == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public ElPredicate<T> not(ElPredicate<T> predicate) {
+    return predicate == null ? null : new ElPredicateBuilder.Not<>(predicate);
+  }
+
+  /**
+   * Return the comparator for the order by or null if it is not supported.
+   * <p>
+   * Strings are only supported when the database uses a binary collation (as Java String
+   * ordering differs from locale specific collations). Nullable properties are only supported
+   * with explicit nulls first or nulls last as the default ordering of nulls differs by
+   * database platform.
+   */
+  @SuppressWarnings("unchecked")
+  public ElComparator<T> orderBy(OrderBy<T> orderBy) {
+    List<OrderBy.Property> properties = orderBy.getProperties();
+    ElComparator<T>[] array = new ElComparator[properties.size()];
+    for (int i = 0; i < array.length; i++) {
+      OrderBy.Property orderProperty = properties.get(i);
+      if (orderProperty.getCollation() != null) {
+        return null;
+      }
+      ElPropertyValue property = scalar(orderProperty.getProperty());
+      if (property == null || !isOrderedType(property)) {
+        return null;
+      }
+      if (orderProperty.getNulls() == null && isNullable(property)) {
+        // the default ordering of nulls differs by database platform
+        return null;
+      }
+      boolean ascending = orderProperty.isAscending();
+      array[i] = new ElComparatorProperty<>(property, ascending, nullsHigh(orderProperty, ascending));
+    }
+    return array.length == 1 ? array[0] : new ElComparatorCompound<>(array);
+  }
+
+  private static boolean isNullable(ElPropertyValue property) {
+    BeanProperty beanProperty = property.beanProperty();
+    return beanProperty.isNullable() && !beanProperty.isId() && !beanProperty.type().isPrimitive();
+  }
+
+  private static boolean nullsHigh(OrderBy.Property orderProperty, boolean ascending) {
+    if (orderProperty.getNulls() == null) {
+      return true;
+    }
+    boolean nullsFirst = "first".equalsIgnoreCase(orderProperty.getHighLow());
+    return nullsFirst != ascending;
+  }
+
+  /**
+   * Return the property for a scalar value (not an associated bean) or null if not supported.
+   */
+  private ElPropertyValue scalar(String name) {
+    ElPropertyValue property = property(name);
+    if (property == null || property.beanProperty() instanceof BeanPropertyAssoc) {
+      return null;
+    }
+    return property;
+  }
+
+  private ElPropertyValue stringProperty(String name) {
+    if (!collation.isEquality()) {
+      return null;
+    }
+    ElPropertyValue property = scalar(name);
+    return property == null || property.beanProperty().type() != String.class ? null : property;
+  }
+
+  /**
+   * Return the property if it is loaded by default without lazy loading or null if not supported.
+   * <p>
+   * Paths are supported for properties of embedded beans and the id of associated beans
+   * (which are loaded as reference beans).
+   */
+  private ElPropertyValue property(String name) {
+    if (name == null) {
+      return null;
+    }
+    int pos = name.indexOf('.');
+    BeanProperty base = descriptor.findProperty(pos == -1 ? name : name.substring(0, pos));
+    if (base == null || !isLoaded(base)) {
+      return null;
+    }
+    if (pos > -1) {
+      String nested = name.substring(pos + 1);
+      if (!(base instanceof BeanPropertyAssocOne) || nested.indexOf('.') > -1) {
+        return null;
+      }
+      if (!base.isEmbedded()) {
+        BeanProperty targetId = ((BeanPropertyAssocOne<?>) base).targetDescriptor().idProperty();
+        if (targetId == null || targetId.isEmbedded() || !targetId.name().equals(nested)) {
+          return null;
+        }
+      }
+    }
+    ElPropertyValue property;
+    try {
+      property = descriptor.elGetValue(name);
+    } catch (PersistenceException e) {
+      return null;
+    }
+    if (property == null || property.containsMany() || property.isLocalEncrypted() || property.isDbEncrypted()) {
+      return null;
+    }
+    BeanProperty beanProperty = property.beanProperty();
+    return beanProperty == null || !isLoaded(beanProperty) ? null : property;
+  }
+
+  private static boolean isLoaded(BeanProperty property) {
+    return !property.isTransient()
+      && !property.isFormula()
+      && property.isFetchEager()
+      && !(property instanceof BeanPropertyAssocMany);
+  }
+
+  /**
+   * Return the bind value converted to the property type or null if that is not possible.
+   */
+  private static Object convert(ElPropertyValue property, Object value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      Object converted = property.convert(value);
+      return boxed(property.beanProperty().type()).isInstance(converted) ? converted : null;
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Return true if the type has equality matching the database.
+   */
+  private boolean isEqualType(ElPropertyValue property) {
+    Class<?> type = property.beanProperty().type();
+    if (isStringType(type)) {
+      return collation.isEquality();
+    }
+    return isOrderedType(type) || type.isEnum() || type == UUID.class;
+  }
+
+  /**
+   * Return true if the type has ordering matching the database.
+   */
+  private boolean isOrderedType(ElPropertyValue property) {
+    Class<?> type = property.beanProperty().type();
+    if (isStringType(type)) {
+      return collation.isOrdering();
+    }
+    return isOrderedType(type);
+  }
+
+  /**
+   * Return true if the type is compared using the database String collation.
+   */
+  private static boolean isStringType(Class<?> type) {
+    return type == String.class || type == Character.class || type == char.class;
+  }
+
+  private static boolean isOrderedType(Class<?> type) {
+    if (type.isPrimitive()) {
+      return true;
+    }
+    return Comparable.class.isAssignableFrom(type)
+      && (Number.class.isAssignableFrom(type)
+      || type == String.class
+      || type == Boolean.class
+      || type == Character.class
+      || Date.class.isAssignableFrom(type)
+      || type == LocalDate.class
+      || type == LocalDateTime.class
+      || type == LocalTime.class
+      || type == Instant.class);
+  }
+
+  private static Class<?> boxed(Class<?> type) {
+    if (!type.isPrimitive()) {
+      return type;
+    }
+    if (type == int.class) {
+      return Integer.class;
+    } else if (type == long.class) {
+      return Long.class;
+    } else if (type == boolean.class) {
+      return Boolean.class;
+    } else if (type == double.class) {
+      return Double.class;
+    } else if (type == float.class) {
+      return Float.class;
+    } else if (type == short.class) {
+      return Short.class;
+    } else if (type == byte.class) {
+      return Byte.class;
+    } else {
+      return Character.class;
+    }
+  }
+}
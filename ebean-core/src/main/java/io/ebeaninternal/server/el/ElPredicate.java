@@ -0,0 +1,41 @@
+package io.ebeaninternal.server.el;
+
+import java.util.Collection;
+
+/**
+ * A compiled predicate evaluated against beans in memory.
+ * <p>
+ * Evaluation follows SQL three valued logic such that a comparison with a null property
+ * value is UNKNOWN (and not a match) matching the results the database would return.
+ * </p>
+ */
+public abstract class ElPredicate<T> implements ElMatcher<T> {
+
+  static final int FALSE = 0;
+  static final int TRUE = 1;
+  static final int UNKNOWN = 2;
+
+  /**
+   * Evaluate the predicate returning TRUE, FALSE or UNKNOWN.
+   */
+  abstract int eval(T bean);
+
+  @Override
+  public final boolean isMatch(T bean) {
+    return eval(bean) == TRUE;
+  }
+
+  /**
+   * Return the property an index can be used for (equal to or in) or null.
+   */
+  String indexProperty() {
+    return null;
+  }
+
+  /**
+   * Return the values to lookup in the index of {@link #indexProperty()}.
+   */
+  Collection<?> indexKeys() {
+    return null;
+  }
+}
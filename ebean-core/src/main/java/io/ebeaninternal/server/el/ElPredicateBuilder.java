@@ -0,0 +1,371 @@
+package io.ebeaninternal.server.el;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Contains the various ElPredicate implementations.
+ */
+final class ElPredicateBuilder {
+
+  /**
+   * Return the value used for hashing and equality (BigDecimal scale ignored).
+   */
+  static Object key(Object value) {
+    if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).stripTrailingZeros();
+    }
+    return value;
+  }
+
+  /**
+   * Return the value in lower case for case insensitive comparison.
+   */
+  static String lower(Object value) {
+    return value.toString().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * A constant TRUE or FALSE.
+   */
+  static final class Const<T> extends ElPredicate<T> {
+
+    final int result;
+
+    Const(boolean result) {
+      this.result = result ? TRUE : FALSE;
+    }
+
+    @Override
+    int eval(T bean) {
+      return result;
+    }
+  }
+
+  /**
+   * All the predicates are TRUE.
+   */
+  static final class And<T> extends ElPredicate<T> {
+
+    final ElPredicate<T>[] predicates;
+
+    And(ElPredicate<T>[] predicates) {
+      this.predicates = predicates;
+    }
+
+    @Override
+    int eval(T bean) {
+      int result = TRUE;
+      for (ElPredicate<T> predicate : predicates) {
+        int value = predicate.eval(bean);
+        if (value == FALSE) {
+          return FALSE;
+        }
+        if (value == UNKNOWN) {
+          result = UNKNOWN;
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Any of the predicates are TRUE.
+   */
+  static final class Or<T> extends ElPredicate<T> {
+
+    final ElPredicate<T>[] predicates;
+
+    Or(ElPredicate<T>[] predicates) {
+      this.predicates = predicates;
+    }
+
+    @Override
+    int eval(T bean) {
+      int result = FALSE;
+      for (ElPredicate<T> predicate : predicates) {
+        int value = predicate.eval(bean);
+        if (value == TRUE) {
+          return TRUE;
+        }
+        if (value == UNKNOWN) {
+          result = UNKNOWN;
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Negation (where not UNKNOWN remains UNKNOWN).
+   */
+  static final class Not<T> extends ElPredicate<T> {
+
+    final ElPredicate<T> predicate;
+
+    Not(ElPredicate<T> predicate) {
+      this.predicate = predicate;
+    }
+
+    @Override
+    int eval(T bean) {
+      int value = predicate.eval(bean);
+      return value == UNKNOWN ? UNKNOWN : TRUE - value;
+    }
+  }
+
+  /**
+   * Base predicate on a property value.
+   */
+  abstract static class Base<T> extends ElPredicate<T> {
+
+    final ElPropertyValue property;
+
+    Base(ElPropertyValue property) {
+      this.property = property;
+    }
+
+    @Override
+    final int eval(T bean) {
+      Object value = property.pathGet(bean);
+      return value == null ? UNKNOWN : evalValue(value);
+    }
+
+    /**
+     * Evaluate the non-null property value.
+     */
+    abstract int evalValue(Object value);
+
+    static int result(boolean match) {
+      return match ? TRUE : FALSE;
+    }
+  }
+
+  /**
+   * Equal to.
+   */
+  static final class Eq<T> extends Base<T> {
+
+    final String name;
+    final Object value;
+
+    Eq(ElPropertyValue property, String name, Object value) {
+      super(property);
+      this.name = name;
+      this.value = key(value);
+    }
+
+    @Override
+    int evalValue(Object propertyValue) {
+      return result(value.equals(key(propertyValue)));
+    }
+
+    @Override
+    String indexProperty() {
+      return name;
+    }
+
+    @Override
+    Collection<?> indexKeys() {
+      return List.of(value);
+    }
+  }
+
+  /**
+   * Not equal to.
+   */
+  static final class Ne<T> extends Base<T> {
+
+    final Object value;
+
+    Ne(ElPropertyValue property, Object value) {
+      super(property);
+      this.value = key(value);
+    }
+
+    @Override
+    int evalValue(Object propertyValue) {
+      return result(!value.equals(key(propertyValue)));
+    }
+  }
+
+  /**
+   * Comparison operators for ordered values.
+   */
+  enum Cmp {
+    LT, LE, GT, GE;
+
+    boolean match(int compare) {
+      switch (this) {
+        case LT:
+          return compare < 0;
+        case LE:
+          return compare <= 0;
+        case GT:
+          return compare > 0;
+        default:
+          return compare >= 0;
+      }
+    }
+  }
+
+  /**
+   * Less than, greater than etc.
+   */
+  static final class Compare<T> extends Base<T> {
+
+    final Cmp cmp;
+    final Comparable<Object> value;
+
+    @SuppressWarnings("unchecked")
+    Compare(ElPropertyValue property, Cmp cmp, Object value) {
+      super(property);
+      this.cmp = cmp;
+      this.value = (Comparable<Object>) value;
+    }
+
+    @Override
+    int evalValue(Object propertyValue) {
+      // compare the property value to the bind value
+      return result(cmp.match(-Integer.signum(value.compareTo(propertyValue))));
+    }
+  }
+
+  /**
+   * Between low and high (inclusive).
+   */
+  static final class Between<T> extends Base<T> {
+
+    final Comparable<Object> low;
+    final Comparable<Object> high;
+
+    @SuppressWarnings("unchecked")
+    Between(ElPropertyValue property, Object low, Object high) {
+      super(property);
+      this.low = (Comparable<Object>) low;
+      this.high = (Comparable<Object>) high;
+    }
+
+    @Override
+    int evalValue(Object propertyValue) {
+      return result(low.compareTo(propertyValue) <= 0 && high.compareTo(propertyValue) >= 0);
+    }
+  }
+
+  /**
+   * In a set of values (or not in).
+   */
+  static final class In<T> extends Base<T> {
+
+    final String name;
+    final Set<Object> values;
+    final boolean not;
+
+    In(ElPropertyValue property, String name, Collection<?> values, boolean not) {
+      super(property);
+      this.name = name;
+      this.values = new HashSet<>(values.size() * 2);
+      for (Object value : values) {
+        this.values.add(key(value));
+      }
+      this.not = not;
+    }
+
+    @Override
+    int evalValue(Object propertyValue) {
+      return result(not != values.contains(key(propertyValue)));
+    }
+
+    @Override
+    String indexProperty() {
+      return not ? null : name;
+    }
+
+    @Override
+    Collection<?> indexKeys() {
+      return values;
+    }
+  }
+
+  /**
+   * Like using a regular expression for the raw pattern.
+   */
+  static final class Like<T> extends Base<T> {
+
+    final Pattern pattern;
+    final boolean caseInsensitive;
+
+    Like(ElPropertyValue property, Pattern pattern, boolean caseInsensitive) {
+      super(property);
+      this.pattern = pattern;
+      this.caseInsensitive = caseInsensitive;
+    }
+
+    @Override
+    int evalValue(Object propertyValue) {
+      String value = caseInsensitive ? lower(propertyValue) : propertyValue.toString();
+      return result(pattern.matcher(value).matches());
+    }
+  }
+
+  /**
+   * Starts with, ends with, contains and equal to for like expressions.
+   */
+  static final class StringMatch<T> extends Base<T> {
+
+    static final int STARTS_WITH = 0;
+    static final int ENDS_WITH = 1;
+    static final int CONTAINS = 2;
+    static final int EQUAL_TO = 3;
+
+    final String value;
+    final boolean caseInsensitive;
+    final int type;
+
+    StringMatch(ElPropertyValue property, String value, boolean caseInsensitive, int type) {
+      super(property);
+      this.caseInsensitive = caseInsensitive;
+      this.value = caseInsensitive ? lower(value) : value;
+      this.type = type;
+    }
+
+    @Override
+    int evalValue(Object propertyValue) {
+      String str = caseInsensitive ? lower(propertyValue) : propertyValue.toString();
+      switch (type) {
+        case STARTS_WITH:
+          return result(str.startsWith(value));
+        case ENDS_WITH:
+          return result(str.endsWith(value));
+        case CONTAINS:
+          return result(str.contains(value));
+        default:
+          return result(str.equals(value));
+      }
+    }
+  }
+
+  /**
+   * Is null or is not null.
+   */
+  static final class IsNull<T> extends ElPredicate<T> {
+
+    final ElPropertyValue property;
+    final boolean notNull;
+
+    IsNull(ElPropertyValue property, boolean notNull) {
+      this.property = property;
+      this.notNull = notNull;
+    }
+
+    @Override
+    int eval(T bean) {
+      return (property.pathGet(bean) == null) != notNull ? TRUE : FALSE;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package io.ebeaninternal.server.el;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A query compiled to evaluate in memory against an ElTable.
+ * <p>
+ * The predicates are the top level (and) expressions of the where clause. When one of them
+ * is an equal to or in predicate on an indexed property the index provides the candidate rows,
+ * otherwise all the rows of the table are evaluated.
+ * </p>
+ */
+public final class ElQuery<T> {
+
+  private final List<ElPredicate<T>> predicates;
+  private final ElComparator<T> comparator;
+  private final int firstRow;
+  private final int maxRows;
+
+  /**
+   * Create with the predicates, comparator (null for no ordering), firstRow and maxRows (0 for no limit).
+   */
+  public ElQuery(List<ElPredicate<T>> predicates, ElComparator<T> comparator, int firstRow, int maxRows) {
+    this.predicates = predicates;
+    this.comparator = comparator;
+    this.firstRow = firstRow;
+    this.maxRows = maxRows;
+  }
+
+  /**
+   * Return the matching rows taking into account the ordering, firstRow and maxRows.
+   */
+  public List<T> findList(ElTable<T> table) {
+    List<T> candidates = candidates(table);
+    if (comparator == null) {
+      return filter(candidates, firstRow, maxRows);
+    }
+    List<T> result = filter(candidates, 0, 0);
+    result.sort(comparator);
+    if (firstRow == 0 && (maxRows == 0 || maxRows >= result.size())) {
+      return result;
+    }
+    if (firstRow >= result.size()) {
+      return new ArrayList<>();
+    }
+    int end = maxRows == 0 ? result.size() : (int) Math.min(result.size(), (long) firstRow + maxRows);
+    return new ArrayList<>(result.subList(firstRow, end));
+  }
+
+  /**
+   * Return the count of matching rows (ignoring firstRow and maxRows).
+   */
+  public int findCount(ElTable<T> table) {
+    int count = 0;
+    for (T bean : candidates(table)) {
+      if (isMatch(bean)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private List<T> filter(List<T> candidates, int skip, int limit) {
+    List<T> result = new ArrayList<>();
+    for (T bean : candidates) {
+      if (isMatch(bean)) {
+        if (skip > 0) {
+          skip--;
+        } else {
+          result.add(bean);
+          if (result.size() == limit) {
+            break;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private boolean isMatch(T bean) {
+    for (ElPredicate<T> predicate : predicates) {
+      if (!predicate.isMatch(bean)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the candidate rows using an index when possible.
+   */
+  private List<T> candidates(ElTable<T> table) {
+    for (ElPredicate<T> predicate : predicates) {
+      String property = predicate.indexProperty();
+      if (property != null) {
+        List<T> rows = table.lookup(property, predicate.indexKeys());
+        if (rows != null) {
+          return rows;
+        }
+      }
+    }
+    return table.rows();
+  }
+}
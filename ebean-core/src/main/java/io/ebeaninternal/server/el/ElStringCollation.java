@@ -0,0 +1,58 @@
+package io.ebeaninternal.server.el;
+
+import io.ebean.annotation.Platform;
+
+/**
+ * How String equality and ordering in the database relate to Java String equality and ordering.
+ * <p>
+ * String expressions and order by are only evaluated in memory when the database compares
+ * Strings in the same way as Java. Otherwise (for example with the case and accent insensitive
+ * default collations of MySQL and SQL Server) they execute against the database.
+ * </p>
+ */
+public enum ElStringCollation {
+
+  /**
+   * Equality, like and ordering match Java (binary collation).
+   */
+  BINARY,
+
+  /**
+   * Equality and like match Java (deterministic collation) but ordering uses the database
+   * collation (which is locale specific).
+   */
+  BINARY_EQUALITY,
+
+  /**
+   * Equality and ordering use the database collation.
+   */
+  DATABASE;
+
+  /**
+   * Return the String collation known for the default configuration of the platform.
+   */
+  public static ElStringCollation of(Platform platform) {
+    switch (platform.base()) {
+      case H2:
+        return BINARY;
+      case POSTGRES:
+        return BINARY_EQUALITY;
+      default:
+        return DATABASE;
+    }
+  }
+
+  /**
+   * Return true if String equality and like can be evaluated in memory.
+   */
+  boolean isEquality() {
+    return this != DATABASE;
+  }
+
+  /**
+   * Return true if String ordering can be evaluated in memory.
+   */
+  boolean isOrdering() {
+    return this == BINARY;
+  }
+}
@@ -0,0 +1,117 @@
+package io.ebeaninternal.server.el;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable table of beans with optional hash indexes used to evaluate queries in memory.
+ * <p>
+ * The indexes map property values to the positions of the rows with that value such that
+ * equal to and in predicates on indexed properties only evaluate the matching rows.
+ * </p>
+ */
+public final class ElTable<T> {
+
+  private final List<T> rows;
+  private final Map<String, Map<Object, int[]>> indexes;
+
+  /**
+   * Create with the rows and the properties to index (keyed by property name).
+   */
+  public ElTable(List<T> rows, Map<String, ElPropertyValue> indexProperties) {
+    this.rows = Collections.unmodifiableList(rows);
+    this.indexes = new HashMap<>();
+    for (Map.Entry<String, ElPropertyValue> entry : indexProperties.entrySet()) {
+      indexes.put(entry.getKey(), index(entry.getValue()));
+    }
+  }
+
+  private Map<Object, int[]> index(ElPropertyValue property) {
+    Map<Object, List<Integer>> positions = new HashMap<>();
+    for (int i = 0; i < rows.size(); i++) {
+      Object value = property.pathGet(rows.get(i));
+      if (value != null) {
+        positions.computeIfAbsent(ElPredicateBuilder.key(value), k -> new ArrayList<>(2)).add(i);
+      }
+    }
+    Map<Object, int[]> index = new HashMap<>(positions.size() * 2);
+    for (Map.Entry<Object, List<Integer>> entry : positions.entrySet()) {
+      index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+    }
+    return index;
+  }
+
+  /**
+   * Return all the rows.
+   */
+  public List<T> rows() {
+    return rows;
+  }
+
+  /**
+   * Return the number of rows.
+   */
+  public int size() {
+    return rows.size();
+  }
+
+  /**
+   * Return true if the property is indexed.
+   */
+  public boolean isIndexed(String property) {
+    return indexes.containsKey(property);
+  }
+
+  /**
+   * Return the rows with the given values for the indexed property (in table order).
+   * <p>
+   * Returns null if the property is not indexed.
+   */
+  List<T> lookup(String property, Collection<?> keys) {
+    Map<Object, int[]> index = indexes.get(property);
+    if (index == null) {
+      return null;
+    }
+    int[] positions;
+    if (keys.size() == 1) {
+      positions = index.get(keys.iterator().next());
+    } else {
+      positions = positions(index, keys);
+    }
+    if (positions == null) {
+      return Collections.emptyList();
+    }
+    List<T> result = new ArrayList<>(positions.length);
+    for (int position : positions) {
+      result.add(rows.get(position));
+    }
+    return result;
+  }
+
+  private static int[] positions(Map<Object, int[]> index, Collection<?> keys) {
+    int[] positions = new int[0];
+    int count = 0;
+    for (Object key : keys) {
+      int[] match = index.get(key);
+      if (match != null) {
+        if (count + match.length > positions.length) {
+          positions = Arrays.copyOf(positions, Math.max(count + match.length, positions.length * 2));
+        }
+        System.arraycopy(match, 0, positions, count, match.length);
+        count += match.length;
+      }
+    }
+    if (count == 0) {
+      return null;
+    }
+    // each row has a single value such that the positions are distinct
+    positions = Arrays.copyOf(positions, count);
+    Arrays.sort(positions);
+    return positions;
+  }
+}
@@ -22,7 +22,14 @@ final class DaemonExecutorService {
   private final ExecutorService service;
 
   DaemonExecutorService(int shutdownWaitSeconds, String namePrefix) {
-    this.service = Executors.newCachedThreadPool(new DaemonThreadFactory(namePrefix));
+    this(shutdownWaitSeconds, namePrefix, Executors.newCachedThreadPool(new DaemonThreadFactory(namePrefix)));
+  }
+
+  /**
+   * Create using the given executor service (e.g. a virtual thread per task executor).
+   */
+  DaemonExecutorService(int shutdownWaitSeconds, String namePrefix, ExecutorService service) {
+    this.service = service;
     this.shutdownWaitSeconds = shutdownWaitSeconds;
     this.namePrefix = namePrefix;
   }
@@ -25,11 +25,34 @@ public final class DefaultBackgroundExecutor implements SpiBackgroundExecutor {
    * Construct the default implementation of BackgroundExecutor.
    */
   public DefaultBackgroundExecutor(int schedulePoolSize, int shutdownWaitSeconds, String namePrefix, BackgroundExecutorWrapper wrapper) {
+    this(schedulePoolSize, shutdownWaitSeconds, namePrefix, wrapper, false);
+  }
+
+  /**
+   * Construct optionally using virtual threads for submitted tasks.
+   * <p>
+   * With virtual threads each submitted task (async queries, post commit processing etc)
+   * runs on its own virtual thread. The scheduled tasks continue to use the (small) pool
+   * of platform threads. When virtual threads are not available (prior to Java 21) the
+   * cached pool of daemon platform threads is used.
+   */
+  public DefaultBackgroundExecutor(int schedulePoolSize, int shutdownWaitSeconds, String namePrefix, BackgroundExecutorWrapper wrapper, boolean virtualThreads) {
     this.schedulePool = new DaemonScheduleThreadPool(schedulePoolSize, shutdownWaitSeconds, namePrefix + "-periodic-");
-    this.pool = new DaemonExecutorService(shutdownWaitSeconds, namePrefix);
+    this.pool = createPool(shutdownWaitSeconds, namePrefix, virtualThreads);
     this.wrapper = wrapper;
   }
 
+  private static DaemonExecutorService createPool(int shutdownWaitSeconds, String namePrefix, boolean virtualThreads) {
+    if (virtualThreads) {
+      ExecutorService service = VirtualThreads.perTaskExecutor(namePrefix + "-virtual-");
+      if (service != null) {
+        return new DaemonExecutorService(shutdownWaitSeconds, namePrefix, service);
+      }
+      log.log(WARNING, "Virtual threads not available, using platform threads for background executor {0}", namePrefix);
+    }
+    return new DaemonExecutorService(shutdownWaitSeconds, namePrefix);
+  }
+
   /**
    * Wrap the task with MDC context if defined.
    */
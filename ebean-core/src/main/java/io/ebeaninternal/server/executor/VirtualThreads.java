@@ -0,0 +1,66 @@
+package io.ebeaninternal.server.executor;
+
+import io.ebeaninternal.api.CoreLog;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+/**
+ * Support for virtual threads when running on Java 21 or later.
+ * <p>
+ * Ebean is compiled for Java 11 so the virtual thread API is obtained reflectively.
+ */
+public final class VirtualThreads {
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * Return a virtual thread factory with the given thread name prefix or null when
+   * virtual threads are not available.
+   */
+  public static ThreadFactory factory(String namePrefix) {
+    try {
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+      return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      CoreLog.log.log(DEBUG, "Virtual threads not available");
+      return null;
+    }
+  }
+
+  /**
+   * Return an executor that starts a new virtual thread per task or null when virtual
+   * threads are not available.
+   */
+  public static ExecutorService perTaskExecutor(String namePrefix) {
+    ThreadFactory factory = factory(namePrefix);
+    if (factory == null) {
+      return null;
+    }
+    try {
+      Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) method.invoke(null, factory);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      CoreLog.log.log(DEBUG, "Virtual thread per task executor not available");
+      return null;
+    }
+  }
+
+  /**
+   * Return true if the given thread is a virtual thread.
+   */
+  public static boolean isVirtual(Thread thread) {
+    try {
+      return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return false;
+    }
+  }
+}
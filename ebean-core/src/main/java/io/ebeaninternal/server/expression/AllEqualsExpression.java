@@ -2,10 +2,14 @@ package io.ebeaninternal.server.expression;
 
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyDeploy;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -21,6 +25,20 @@ final class AllEqualsExpression extends NonPrepareExpression {
     return propName;
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    if (propMap.isEmpty()) {
+      return null;
+    }
+    List<ElPredicate<T>> predicates = new ArrayList<>(propMap.size());
+    for (Map.Entry<String, Object> entry : propMap.entrySet()) {
+      Object value = entry.getValue();
+      String propName = name(entry.getKey());
+      predicates.add(value == null ? compiler.isNull(propName, false) : compiler.eq(propName, value));
+    }
+    return compiler.and(predicates);
+  }
+
   @Override
   public void writeDocQuery(DocQueryContext context) throws IOException {
     context.writeAllEquals(propMap);
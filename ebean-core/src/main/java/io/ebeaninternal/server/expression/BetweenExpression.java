@@ -4,6 +4,8 @@ import io.ebeaninternal.api.BindValuesKey;
 import io.ebeaninternal.api.SpiExpression;
 import io.ebeaninternal.api.SpiExpressionBind;
 import io.ebeaninternal.api.SpiExpressionRequest;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyValue;
 
 import java.io.IOException;
@@ -29,6 +31,11 @@ final class BetweenExpression extends AbstractExpression {
     return NamedParamHelp.value(valueHigh);
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return compiler.between(propName, low(), high());
+  }
+
   @Override
   public void writeDocQuery(DocQueryContext context) throws IOException {
     context.writeRange(propName, Op.GT_EQ, low(), Op.LT_EQ, high());
@@ -61,6 +68,13 @@ final class BetweenExpression extends AbstractExpression {
     builder.append("Between[").append(propName).append(']');
   }
 
+  @Override
+  public boolean writeEql(StringBuilder eql) {
+    eql.append(propName).append(" between ").append(NamedParamHelp.eqlPlaceholder(valueLow))
+      .append(" and ").append(NamedParamHelp.eqlPlaceholder(valueHigh));
+    return true;
+  }
+
   @Override
   public void queryBindKey(BindValuesKey key) {
     key.add(low()).add(high());
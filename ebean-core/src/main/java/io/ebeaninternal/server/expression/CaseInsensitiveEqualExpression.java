@@ -4,6 +4,8 @@ import io.ebeaninternal.api.BindValuesKey;
 import io.ebeaninternal.api.SpiExpression;
 import io.ebeaninternal.api.SpiExpressionBind;
 import io.ebeaninternal.api.SpiExpressionRequest;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyValue;
 
 import java.io.IOException;
@@ -24,6 +26,11 @@ final class CaseInsensitiveEqualExpression extends AbstractValueExpression {
     return strValue().toLowerCase();
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return compiler.ieq(propName, val(), not);
+  }
+
   @Override
   public void writeDocQuery(DocQueryContext context) throws IOException {
     if (not) {
@@ -68,6 +75,12 @@ final class CaseInsensitiveEqualExpression extends AbstractValueExpression {
     }
   }
 
+  @Override
+  public boolean writeEql(StringBuilder eql) {
+    eql.append(propName).append(not ? " ine " : " ieq ").append(NamedParamHelp.eqlPlaceholder(bindValue));
+    return true;
+  }
+
   @Override
   public void queryBindKey(BindValuesKey key) {
     key.add(val());
@@ -7,6 +7,8 @@ import io.ebean.event.BeanQueryRequest;
 import io.ebean.search.*;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 
 import java.io.IOException;
 import java.sql.Connection;
@@ -106,6 +108,32 @@ public class DefaultExpressionList<T> implements SpiExpressionList<T> {
     return false;
   }
 
+  @Nullable
+  @Override
+  public <B> ElPredicate<B> inMemoryPredicate(ElMatchCompiler<B> compiler) {
+    if (list.isEmpty()) {
+      return null;
+    }
+    List<ElPredicate<B>> predicates = inMemoryPredicates(compiler);
+    return predicates == null ? null : compiler.and(predicates);
+  }
+
+  /**
+   * Return the predicates to evaluate the expressions in memory or null if any are not supported.
+   */
+  @Nullable
+  public <B> List<ElPredicate<B>> inMemoryPredicates(ElMatchCompiler<B> compiler) {
+    List<ElPredicate<B>> predicates = new ArrayList<>(list.size());
+    for (SpiExpression expression : list) {
+      ElPredicate<B> predicate = expression.inMemoryPredicate(compiler);
+      if (predicate == null) {
+        return null;
+      }
+      predicates.add(predicate);
+    }
+    return predicates;
+  }
+
   @Override
   public void simplify() {
     simplifyEntries();
@@ -2,6 +2,8 @@ package io.ebeaninternal.server.expression;
 
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 
 import java.io.IOException;
 
@@ -16,6 +18,11 @@ final class IdExpression extends NonPrepareExpression implements SpiExpression {
     this.value = value;
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return compiler.idEq(value);
+  }
+
   @Override
   public void prefixProperty(String path) {
     throw new IllegalStateException("Not allowed?");
@@ -5,6 +5,8 @@ import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.core.BindPadding;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.deploy.id.IdBinder;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 
 import java.io.IOException;
 import java.util.*;
@@ -32,6 +34,11 @@ public final class IdInExpression extends NonPrepareExpression implements IdInCo
     return idCollection.size();
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return idCollection.isEmpty() ? compiler.constant(false) : compiler.idIn(idCollection);
+  }
+
   @Override
   public void prepareExpression(BeanQueryRequest<?> request) {
     multiValueIdSupported = request.isMultiValueIdSupported();
@@ -3,6 +3,8 @@ package io.ebeaninternal.server.expression;
 import io.ebean.bean.EntityBean;
 import io.ebean.event.BeanQueryRequest;
 import io.ebeaninternal.api.*;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyValue;
 import io.ebeaninternal.server.persist.MultiValueWrapper;
 
@@ -84,6 +86,18 @@ public final class InExpression extends AbstractExpression implements IdInCommon
     return data.matchIn(propName, initBindValues());
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    if (empty) {
+      return compiler.constant(true);
+    }
+    List<Object> values = values();
+    if (values.isEmpty()) {
+      return compiler.constant(not);
+    }
+    return compiler.in(propName, values, not);
+  }
+
   @Override
   public void prepareExpression(BeanQueryRequest<?> request) {
     initBindValues();
@@ -193,6 +207,26 @@ public final class InExpression extends AbstractExpression implements IdInCommon
     builder.append(']');
   }
 
+  /**
+   * Written with a placeholder per bind value such that the IN clause has the same size.
+   */
+  @Override
+  public boolean writeEql(StringBuilder eql) {
+    if (not || empty || bindValues == null || bindValues.isEmpty()) {
+      return false;
+    }
+    String placeholder = NamedParamHelp.eqlPlaceholder(bindValues.get(0));
+    eql.append(propName).append(" in (");
+    for (int i = 0; i < bindValues.size(); i++) {
+      if (i > 0) {
+        eql.append(", ");
+      }
+      eql.append(placeholder);
+    }
+    eql.append(')');
+    return true;
+  }
+
   @Override
   public void queryBindKey(BindValuesKey key) {
     key.add(bindValues.size());
@@ -7,6 +7,8 @@ import io.ebean.event.BeanQueryRequest;
 import io.ebean.search.*;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 
 import java.io.IOException;
 import java.sql.Connection;
@@ -48,6 +50,29 @@ final class JunctionExpression<T> implements SpiJunction<T>, SpiExpression, Expr
     return false;
   }
 
+  @Nullable
+  @Override
+  public <B> ElPredicate<B> inMemoryPredicate(ElMatchCompiler<B> compiler) {
+    if (exprList.isEmpty()) {
+      return null;
+    }
+    List<ElPredicate<B>> predicates = exprList.inMemoryPredicates(compiler);
+    if (predicates == null) {
+      return null;
+    }
+    switch (type) {
+      case AND:
+        return compiler.and(predicates);
+      case OR:
+        return compiler.or(predicates);
+      case NOT:
+        return compiler.not(compiler.and(predicates));
+      default:
+        // text search junctions
+        return null;
+    }
+  }
+
   /**
    * Simplify nested expressions where possible.
    * <p>
@@ -184,6 +209,35 @@ final class JunctionExpression<T> implements SpiJunction<T>, SpiExpression, Expr
     builder.append(']');
   }
 
+  @Override
+  public boolean writeEql(StringBuilder eql) {
+    List<SpiExpression> list = exprList.internalList();
+    switch (type) {
+      case NOT:
+        return list.size() == 1 && writeEql(eql, "not (", list, ")");
+      case AND:
+      case OR:
+        return list.size() > 1 && writeEql(eql, "(", list, ")");
+      default:
+        return false;
+    }
+  }
+
+  private boolean writeEql(StringBuilder eql, String prefix, List<SpiExpression> list, String suffix) {
+    eql.append(prefix);
+    String separator = type == Type.OR ? " or " : " and ";
+    for (int i = 0; i < list.size(); i++) {
+      if (i > 0) {
+        eql.append(separator);
+      }
+      if (!list.get(i).writeEql(eql)) {
+        return false;
+      }
+    }
+    eql.append(suffix);
+    return true;
+  }
+
   @Override
   public void queryBindKey(BindValuesKey key) {
     for (SpiExpression expr : exprList.internalList()) {
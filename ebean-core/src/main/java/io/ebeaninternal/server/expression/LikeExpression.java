@@ -5,6 +5,8 @@ import io.ebeaninternal.api.BindValuesKey;
 import io.ebeaninternal.api.SpiExpression;
 import io.ebeaninternal.api.SpiExpressionBind;
 import io.ebeaninternal.api.SpiExpressionRequest;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyValue;
 
 import java.io.IOException;
@@ -20,6 +22,11 @@ final class LikeExpression extends AbstractValueExpression {
     this.type = type;
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return compiler.like(propName, strValue(), type, caseInsensitive);
+  }
+
   @Override
   public void writeDocQuery(DocQueryContext context) throws IOException {
     context.writeLike(propName, strValue(), type, caseInsensitive);
@@ -68,6 +75,29 @@ final class LikeExpression extends AbstractValueExpression {
     builder.append("Like[").append(type).append(' ').append(propName).append(']');
   }
 
+  @Override
+  public boolean writeEql(StringBuilder eql) {
+    eql.append(propName).append(' ');
+    if (caseInsensitive) {
+      eql.append('i');
+    }
+    switch (type) {
+      case STARTS_WITH:
+        eql.append("startsWith");
+        break;
+      case ENDS_WITH:
+        eql.append("endsWith");
+        break;
+      case CONTAINS:
+        eql.append("contains");
+        break;
+      default:
+        eql.append("like");
+    }
+    eql.append(' ').append(NamedParamHelp.eqlPlaceholder(bindValue));
+    return true;
+  }
+
   @Override
   public void queryBindKey(BindValuesKey key) {
     key.add(strValue());
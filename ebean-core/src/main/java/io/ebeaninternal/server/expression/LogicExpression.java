@@ -5,6 +5,8 @@ import io.ebean.Junction;
 import io.ebean.event.BeanQueryRequest;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 
 import java.io.IOException;
 
@@ -63,6 +65,13 @@ abstract class LogicExpression implements SpiExpression {
     return false;
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    ElPredicate<T> one = expOne.inMemoryPredicate(compiler);
+    ElPredicate<T> two = expTwo.inMemoryPredicate(compiler);
+    return conjunction ? compiler.and(one, two) : compiler.or(one, two);
+  }
+
   @Override
   public void simplify() {
     // do nothing
@@ -28,6 +28,20 @@ final class NamedParamHelp {
     return (value == null) ? null : value.toString();
   }
 
+  /**
+   * Return an EQL literal of the same type as the value (but not the value itself).
+   */
+  static String eqlPlaceholder(Object val) {
+    Object value = value(val);
+    if (value instanceof Number) {
+      return "0";
+    }
+    if (value instanceof Boolean) {
+      return "true";
+    }
+    return "''";
+  }
+
   /**
    * Add the potentially named parameter(s) to the values.
    */
@@ -3,6 +3,8 @@ package io.ebeaninternal.server.expression;
 import io.ebean.event.BeanQueryRequest;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 
 /**
  * Effectively an expression that has no effect.
@@ -22,6 +24,11 @@ final class NoopExpression implements SpiExpression {
     return false;
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return compiler.constant(true);
+  }
+
   @Override
   public void simplify() {
     // do nothing
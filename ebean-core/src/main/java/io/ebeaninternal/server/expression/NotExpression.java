@@ -4,6 +4,8 @@ import io.ebean.Expression;
 import io.ebean.event.BeanQueryRequest;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 
 import java.io.IOException;
 
@@ -29,6 +31,11 @@ final class NotExpression implements SpiExpression {
     return false;
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return compiler.not(exp.inMemoryPredicate(compiler));
+  }
+
   @Override
   public void simplify() {
     // do nothing
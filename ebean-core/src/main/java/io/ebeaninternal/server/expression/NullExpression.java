@@ -3,6 +3,8 @@ package io.ebeaninternal.server.expression;
 import io.ebean.util.SplitName;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyValue;
 
 import java.io.IOException;
@@ -26,6 +28,11 @@ final class NullExpression extends AbstractExpression {
     this.notNull = notNull;
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    return compiler.isNull(propName, notNull);
+  }
+
   @Override
   public void containsMany(BeanDescriptor<?> desc, ManyWhereJoins manyWhereJoin) {
     elProperty = desc.elGetValue(propName);
@@ -86,6 +93,12 @@ final class NullExpression extends AbstractExpression {
     builder.append(propName).append(']');
   }
 
+  @Override
+  public boolean writeEql(StringBuilder eql) {
+    eql.append(propName).append(notNull ? " is not null" : " is null");
+    return true;
+  }
+
   @Override
   public void queryBindKey(BindValuesKey key) {
     key.add(notNull);
@@ -3,6 +3,8 @@ package io.ebeaninternal.server.expression;
 import io.ebean.bean.EntityBean;
 import io.ebean.plugin.ExpressionPath;
 import io.ebeaninternal.api.*;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyValue;
 
 import java.io.IOException;
@@ -34,6 +36,26 @@ public final class SimpleExpression extends AbstractValueExpression {
     return data.matchEq(propName, bindValue);
   }
 
+  @Override
+  public <T> ElPredicate<T> inMemoryPredicate(ElMatchCompiler<T> compiler) {
+    switch (type) {
+      case EQ:
+        return compiler.eq(propName, value());
+      case NOT_EQ:
+        return compiler.ne(propName, value());
+      case LT:
+        return compiler.lt(propName, value());
+      case LT_EQ:
+        return compiler.le(propName, value());
+      case GT:
+        return compiler.gt(propName, value());
+      case GT_EQ:
+        return compiler.ge(propName, value());
+      default:
+        return null;
+    }
+  }
+
   @Override
   public void writeDocQuery(DocQueryContext context) throws IOException {
     if (type == Op.BETWEEN) {
@@ -116,6 +138,31 @@ public final class SimpleExpression extends AbstractValueExpression {
     builder.append(type.name()).append('[').append(propName).append(']');
   }
 
+  @Override
+  public boolean writeEql(StringBuilder eql) {
+    switch (type) {
+      case EQ:
+        return writeEql(eql, " = ");
+      case NOT_EQ:
+        return writeEql(eql, " <> ");
+      case LT:
+        return writeEql(eql, " < ");
+      case LT_EQ:
+        return writeEql(eql, " <= ");
+      case GT:
+        return writeEql(eql, " > ");
+      case GT_EQ:
+        return writeEql(eql, " >= ");
+      default:
+        return false;
+    }
+  }
+
+  private boolean writeEql(StringBuilder eql, String op) {
+    eql.append(propName).append(op).append(NamedParamHelp.eqlPlaceholder(bindValue));
+    return true;
+  }
+
   @Override
   public void queryBindKey(BindValuesKey key) {
     key.add(value());
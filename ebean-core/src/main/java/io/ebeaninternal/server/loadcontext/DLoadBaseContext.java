@@ -31,6 +31,8 @@ abstract class DLoadBaseContext {
 
   final int batchSize;
 
+  private final LazyLoadBatchAdvisor batchAdvisor;
+
   final ObjectGraphNode objectGraphNode;
 
   final boolean queryFetch;
@@ -45,7 +47,27 @@ abstract class DLoadBaseContext {
     this.hitCache = parent.isBeanCacheGet() && desc.isBeanCaching();
     this.objectGraphNode = parent.objectGraphNode(path);
     this.queryFetch = queryProps != null && queryProps.isQueryFetch();
-    this.batchSize = parent.batchSize(queryProps);
+    this.batchAdvisor = parent.batchAdvisor(queryProps, objectGraphNode);
+    int defaultSize = parent.batchSize(queryProps);
+    this.batchSize = batchAdvisor == null ? defaultSize : batchAdvisor.batchSize(objectGraphNode, defaultSize);
+  }
+
+  /**
+   * A load buffer is full and another buffer is required.
+   */
+  void registerOverflow() {
+    if (batchAdvisor != null) {
+      batchAdvisor.overflow(objectGraphNode, batchSize);
+    }
+  }
+
+  /**
+   * A lazy load of the given number of beans or collections is occurring.
+   */
+  void registerLoad(int loadCount) {
+    if (batchAdvisor != null) {
+      batchAdvisor.load(objectGraphNode, batchSize, loadCount);
+    }
   }
 
   /**
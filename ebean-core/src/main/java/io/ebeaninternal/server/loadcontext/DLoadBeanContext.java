@@ -70,6 +70,7 @@ final class DLoadBeanContext extends DLoadBaseContext implements LoadBeanContext
 
   void register(EntityBeanIntercept ebi) {
     if (currentBuffer.isFull()) {
+      registerOverflow();
       currentBuffer = createBuffer(batchSize);
     }
     if (currentBuffer.addWhenLoading()) {
@@ -257,6 +258,7 @@ final class DLoadBeanContext extends DLoadBaseContext implements LoadBeanContext
       // ensure, that every bean in the batch is in the persistence context.
       // this may happen, when bean was previously deleted, but the result is not yet committed.
       List<Object> reincarnatedIds = ensureBatchInContext(ebi);
+      context.registerLoad(batch.size());
       try {
         context.desc.ebeanServer().loadBean(new LoadBeanRequest(this, ebi, context.hitCache));
         batch.clear();
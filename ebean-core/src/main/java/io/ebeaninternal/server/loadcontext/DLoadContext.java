@@ -44,6 +44,7 @@ public final class DLoadContext implements LoadContext {
   private final boolean unmodifiable;
   private final CacheMode useBeanCache;
   private final int defaultBatchSize;
+  private final LazyLoadBatchAdvisor batchAdvisor;
   private final boolean disableLazyLoading;
   private final boolean disableReadAudit;
   private final boolean includeSoftDeletes;
@@ -74,6 +75,7 @@ public final class DLoadContext implements LoadContext {
     this.persistenceContext = persistenceContext;
     this.origin = initOrigin();
     this.defaultBatchSize = 100;
+    this.batchAdvisor = null;
     this.useBeanCache = CacheMode.OFF;
     this.asDraft = false;
     this.asOf = null;
@@ -116,6 +118,8 @@ public final class DLoadContext implements LoadContext {
     this.profileLocation = query.profileLocation();
     this.immutableCaches = query.immutableBeanCaches();
     this.secondaryProperties = query.isUnmodifiable() ? new HashSet<>() : null;
+    // adapt the batch size unless explicitly set on the query
+    this.batchAdvisor = query.lazyLoadBatchSize() > 0 ? null : ebeanServer.lazyLoadBatchAdvisor();
 
     ObjectGraphNode parentNode = query.parentNode();
     if (parentNode != null) {
@@ -348,6 +352,21 @@ public final class DLoadContext implements LoadContext {
     return null;
   }
 
+  /**
+   * Return the advisor used to adapt the batch size for lazy loading the given node.
+   * <p>
+   * Returns null when the batch size is explicitly set or the path is loaded by query join.
+   */
+  LazyLoadBatchAdvisor batchAdvisor(OrmQueryProperties props, ObjectGraphNode node) {
+    if (batchAdvisor == null || node.origin() == null) {
+      return null;
+    }
+    if (props != null && (props.getBatchSize() > 0 || props.isQueryFetch())) {
+      return null;
+    }
+    return batchAdvisor;
+  }
+
   int batchSize(OrmQueryProperties props) {
     if (props == null) {
       return defaultBatchSize;
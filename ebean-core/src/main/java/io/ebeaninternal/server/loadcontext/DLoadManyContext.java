@@ -78,6 +78,7 @@ final class DLoadManyContext extends DLoadBaseContext implements LoadManyContext
 
   public void register(BeanCollection<?> bc) {
     if (currentBuffer.isFull()) {
+      registerOverflow();
       currentBuffer = createBuffer(batchSize);
     }
     currentBuffer.add(bc);
@@ -208,6 +209,7 @@ final class DLoadManyContext extends DLoadBaseContext implements LoadManyContext
           }
         }
 
+        context.registerLoad(size());
         context.parent.server().loadMany(new LoadManyRequest(this, onlyIds, useCache, bc));
         // clear the buffer as all entries have been loaded
         clear();
@@ -0,0 +1,208 @@
+package io.ebeaninternal.server.loadcontext;
+
+import io.ebean.bean.ObjectGraphNode;
+import io.ebean.meta.MetricVisitor;
+import io.ebean.metric.CountMetric;
+import io.ebean.metric.CountMetricStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adapts the lazy loading batch size per origin and path based on the observed loading.
+ * <p>
+ * For each object graph node (query origin plus path) this observes the number of beans
+ * or collections loaded per lazy load and whether the load buffers overflowed (more beans
+ * were registered than fit into a single buffer). After a sample of loads the batch size
+ * is increased when the buffers overflow (resulting in extra lazy loading queries) and
+ * reduced when the loads use only a small part of the buffer.
+ * <p>
+ * The batch sizes are the same as the IN clause bind padding sizes such that the lazy
+ * loading queries share a small number of distinct statements and query plans.
+ */
+public final class LazyLoadBatchAdvisor {
+
+  /**
+   * The batch sizes used (matching the IN clause bind padding for the smaller sizes).
+   */
+  private static final int[] BUCKETS = {5, 10, 20, 40, 50, 100, 200, 500};
+
+  /**
+   * The number of loads observed before the batch size is re-evaluated.
+   */
+  static final int SAMPLE_LOADS = 10;
+
+  /**
+   * Maximum number of nodes tracked.
+   */
+  private static final int MAX_NODES = 10_000;
+
+  private final Map<ObjectGraphNode, NodeStats> nodes = new ConcurrentHashMap<>();
+  private final int maxBatchSize;
+  private final CountMetric grow;
+  private final CountMetric shrink;
+
+  /**
+   * Create with the default lazy load batch size and metrics counting the adjustments.
+   */
+  public LazyLoadBatchAdvisor(int defaultBatchSize, CountMetric grow, CountMetric shrink) {
+    this.maxBatchSize = Math.max(BUCKETS[BUCKETS.length - 1], defaultBatchSize);
+    this.grow = grow;
+    this.shrink = shrink;
+  }
+
+  /**
+   * Return the batch size to use for the given node.
+   */
+  public int batchSize(ObjectGraphNode node, int defaultBatchSize) {
+    NodeStats stats = nodes.get(node);
+    return stats == null ? defaultBatchSize : stats.batchSize;
+  }
+
+  /**
+   * Register that a load buffer was full and another buffer was required.
+   */
+  void overflow(ObjectGraphNode node, int batchSize) {
+    NodeStats stats = stats(node, batchSize);
+    if (stats != null) {
+      stats.overflow();
+    }
+  }
+
+  /**
+   * Register a lazy load of the given number of beans or collections.
+   */
+  void load(ObjectGraphNode node, int batchSize, int loadCount) {
+    NodeStats stats = stats(node, batchSize);
+    if (stats != null) {
+      stats.load(loadCount);
+    }
+  }
+
+  private NodeStats stats(ObjectGraphNode node, int batchSize) {
+    NodeStats stats = nodes.get(node);
+    if (stats == null && nodes.size() < MAX_NODES) {
+      stats = nodes.computeIfAbsent(node, n -> new NodeStats(batchSize));
+    }
+    return stats;
+  }
+
+  /**
+   * Report the adapted batch sizes as metrics.
+   */
+  public void visitMetrics(MetricVisitor visitor) {
+    if (nodes.isEmpty()) {
+      return;
+    }
+    String prefix = visitor.namingConvention().apply("ebean.lazyload.batchsize");
+    for (Map.Entry<ObjectGraphNode, NodeStats> entry : nodes.entrySet()) {
+      ObjectGraphNode node = entry.getKey();
+      String path = node.path();
+      String name = prefix + "." + node.origin().key() + (path == null ? "" : "." + path);
+      visitor.visitCount(new BatchSizeStats(name, entry.getValue().batchSize));
+    }
+  }
+
+  /**
+   * Return the smallest bucket that holds the given count.
+   */
+  static int bucket(int count) {
+    for (int bucket : BUCKETS) {
+      if (count <= bucket) {
+        return bucket;
+      }
+    }
+    return BUCKETS[BUCKETS.length - 1];
+  }
+
+  /**
+   * Return the next bucket larger than the batch size.
+   */
+  static int nextBucket(int batchSize) {
+    for (int bucket : BUCKETS) {
+      if (bucket > batchSize) {
+        return bucket;
+      }
+    }
+    return batchSize;
+  }
+
+  /**
+   * Loading statistics for a node.
+   */
+  private final class NodeStats {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int batchSize;
+    private int loads;
+    private int overflows;
+    private int maxLoad;
+
+    NodeStats(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    void overflow() {
+      lock.lock();
+      try {
+        overflows++;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void load(int loadCount) {
+      lock.lock();
+      try {
+        maxLoad = Math.max(maxLoad, loadCount);
+        if (++loads >= SAMPLE_LOADS) {
+          adapt();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void adapt() {
+      if (overflows * 2 >= loads) {
+        // most lazy loads have a following buffer so increase the batch size
+        int next = Math.min(nextBucket(batchSize), maxBatchSize);
+        if (next > batchSize) {
+          batchSize = next;
+          grow.increment();
+        }
+      } else {
+        int target = bucket(maxLoad);
+        if (target < batchSize) {
+          batchSize = target;
+          shrink.increment();
+        }
+      }
+      loads = 0;
+      overflows = 0;
+      maxLoad = 0;
+    }
+  }
+
+  private static final class BatchSizeStats implements CountMetricStats {
+
+    private final String name;
+    private final long count;
+
+    private BatchSizeStats(String name, long count) {
+      this.name = name;
+      this.count = count;
+    }
+
+    @Override
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public long count() {
+      return count;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package io.ebeaninternal.server.persist;
+
+import java.sql.SQLException;
+
+/**
+ * Rows of a batch that are executed as multi-row statements rather than via
+ * JDBC addBatch() / executeBatch().
+ * <p>
+ * The bind values of the rows are captured as they are added and bound when the batch is executed.
+ * </p>
+ */
+public interface BatchedMultiRow {
+
+  /**
+   * Bind and execute the rows returning the row count for each row.
+   */
+  int[] execute(boolean getGeneratedKeys) throws SQLException;
+
+  /**
+   * Close the underlying statements.
+   */
+  void close();
+}
@@ -26,6 +26,7 @@ public final class BatchedPstmt implements SpiProfileTransactionEvent {
   private static final DB2GetKeys DB2_HACK = new DB2GetKeys();
 
   private PreparedStatement pstmt;
+  private BatchedMultiRow multiRow;
   private final boolean isGenKeys;
   /**
    * The list of BatchPostExecute used to perform post-processing.
@@ -49,6 +50,23 @@ public final class BatchedPstmt implements SpiProfileTransactionEvent {
     this.transaction = transaction;
   }
 
+  /**
+   * Create for rows executed as multi-row statements.
+   */
+  public BatchedPstmt(BatchedMultiRow multiRow, String sql, SpiTransaction transaction) {
+    this.multiRow = multiRow;
+    this.isGenKeys = false;
+    this.sql = sql;
+    this.transaction = transaction;
+  }
+
+  /**
+   * Return the multi-row statement (null when using JDBC batch).
+   */
+  public BatchedMultiRow multiRow() {
+    return multiRow;
+  }
+
   /**
    * Return the number of batched statements.
    */
@@ -111,7 +129,7 @@ public final class BatchedPstmt implements SpiProfileTransactionEvent {
     }
     timedStart = System.nanoTime();
     profileStart = transaction.profileOffset();
-    executeAndCheckRowCounts();
+    executeAndCheckRowCounts(getGeneratedKeys);
     if (isGenKeys && getGeneratedKeys) {
       getGeneratedKeys();
     }
@@ -139,6 +157,10 @@ public final class BatchedPstmt implements SpiProfileTransactionEvent {
    * Close the underlying statement.
    */
   public void close() {
+    if (multiRow != null) {
+      multiRow.close();
+      multiRow = null;
+    }
     if (pstmt != null) {
       try {
         pstmt.close();
@@ -156,9 +178,9 @@ public final class BatchedPstmt implements SpiProfileTransactionEvent {
     }
   }
 
-  private void executeAndCheckRowCounts() throws SQLException {
+  private void executeAndCheckRowCounts(boolean getGeneratedKeys) throws SQLException {
     try {
-      results = pstmt.executeBatch();
+      results = multiRow != null ? multiRow.execute(getGeneratedKeys) : pstmt.executeBatch();
       if (transaction.isLogSql()) {
         transaction.logSql(" -- executeBatch() size:{0} sql:{1}", results.length, sql);
       }
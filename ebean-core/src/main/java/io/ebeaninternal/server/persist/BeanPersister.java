@@ -1,8 +1,10 @@
 package io.ebeaninternal.server.persist;
 
+import io.ebeaninternal.server.bind.DataBindCopy;
 import io.ebeaninternal.server.core.PersistRequestBean;
 
 import jakarta.persistence.PersistenceException;
+import java.sql.SQLException;
 
 /**
  * Defines bean insert update and delete implementation.
@@ -24,4 +26,14 @@ public interface BeanPersister {
    */
   int delete(PersistRequestBean<?> request) throws PersistenceException;
 
+  /**
+   * Return true if bulk insert using COPY is supported for this bean type.
+   */
+  boolean supportsCopy();
+
+  /**
+   * Bind the insert bean request as a COPY row returning the COPY statement for the row.
+   */
+  String copy(PersistRequestBean<?> request, DataBindCopy dataBind) throws SQLException;
+
 }
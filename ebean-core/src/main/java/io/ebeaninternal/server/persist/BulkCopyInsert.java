@@ -0,0 +1,153 @@
+package io.ebeaninternal.server.persist;
+
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.api.SpiTransaction;
+import io.ebeaninternal.server.bind.DataBindCopy;
+import io.ebeaninternal.server.core.PersistRequest;
+import io.ebeaninternal.server.core.PersistRequestBean;
+import io.ebeaninternal.server.deploy.BeanManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Bulk insert of beans using COPY FROM STDIN.
+ * <p>
+ * The beans are pulled from the iterator and bound as rows as the database consumes them such
+ * that only a single row is held in memory. A bean that requires a different COPY statement
+ * (for example, it has an id value where the prior beans did not) ends the current COPY and
+ * starts a new one.
+ * </p>
+ * <p>
+ * The beans are not added to the persistence context, there is no cascade and persist listeners,
+ * change log and L2 cache notification are not invoked for the rows. The base table is registered
+ * as modified with the transaction such that query caches are invalidated on commit. Generated
+ * identity values are not returned.
+ * </p>
+ */
+final class BulkCopyInsert<T> {
+
+  private final SpiEbeanServer server;
+  private final PersistExecute persistExecute;
+  private final BeanManager<T> mgr;
+  private final SpiTransaction transaction;
+  private final Iterator<T> beans;
+  private final DataBindCopy dataBind;
+  private final StringBuilder row = new StringBuilder(256);
+  private String rowSql;
+  private int rowPos;
+  private boolean hasRow;
+
+  BulkCopyInsert(SpiEbeanServer server, PersistExecute persistExecute, BeanManager<T> mgr, SpiTransaction transaction, Iterator<T> beans) {
+    this.server = server;
+    this.persistExecute = persistExecute;
+    this.mgr = mgr;
+    this.transaction = transaction;
+    this.beans = beans;
+    this.dataBind = DataBindCopy.of(server.dataTimeZone());
+  }
+
+  /**
+   * Execute the COPY returning the number of rows inserted.
+   */
+  long execute() {
+    transaction.flush();
+    long total = 0;
+    try {
+      nextRow();
+      while (hasRow) {
+        String sql = rowSql;
+        long rows = copyIn(sql);
+        if (transaction.isLogSql()) {
+          transaction.logSql(" -- copy rows:{0} sql:{1}", rows, sql);
+        }
+        total += rows;
+      }
+    } catch (SQLException e) {
+      throw transaction.translate(e.getMessage(), e);
+    }
+    if (total > 0) {
+      transaction.event().add(mgr.getBeanDescriptor().baseTable(), true, false, false);
+    }
+    return total;
+  }
+
+  private long copyIn(String sql) throws SQLException {
+    try {
+      return PostgresCopyIn.copyIn(transaction.internalConnection(), sql, new RowReader(sql));
+    } catch (IOException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      }
+      throw new SQLException("Error executing " + sql, e);
+    }
+  }
+
+  /**
+   * Bind the next bean as the current row.
+   */
+  private void nextRow() throws SQLException {
+    while (beans.hasNext()) {
+      T bean = beans.next();
+      PersistRequestBean<T> request = new PersistRequestBean<>(server, bean, null, mgr, transaction, persistExecute, PersistRequest.Type.INSERT, Flags.ZERO);
+      String sql = request.executeCopy(dataBind);
+      if (sql != null) {
+        row.setLength(0);
+        row.append(dataBind.row()).append('\n');
+        rowSql = sql;
+        rowPos = 0;
+        hasRow = true;
+        return;
+      }
+    }
+    hasRow = false;
+  }
+
+  /**
+   * Reader of the COPY rows for a given COPY statement.
+   */
+  private final class RowReader extends Reader {
+
+    private final String sql;
+    private boolean ended;
+
+    RowReader(String sql) {
+      this.sql = sql;
+    }
+
+    @Override
+    public int read(char[] buffer, int off, int len) throws IOException {
+      int count = 0;
+      while (count < len && !ended) {
+        if (rowPos == row.length()) {
+          nextRowForCopy();
+        } else {
+          int size = Math.min(len - count, row.length() - rowPos);
+          row.getChars(rowPos, rowPos + size, buffer, off + count);
+          rowPos += size;
+          count += size;
+        }
+      }
+      return count == 0 && ended ? -1 : count;
+    }
+
+    /**
+     * Move to the next row ending this COPY if there are no more rows or the row requires another COPY statement.
+     */
+    private void nextRowForCopy() throws IOException {
+      try {
+        nextRow();
+      } catch (SQLException e) {
+        throw new IOException(e);
+      }
+      ended = !hasRow || !sql.equals(rowSql);
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+  }
+}
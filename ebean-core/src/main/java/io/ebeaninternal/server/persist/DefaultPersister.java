@@ -442,6 +442,61 @@ public final class DefaultPersister implements Persister {
     }
   }
 
+  /**
+   * Bulk insert the beans using COPY when supported and otherwise batched inserts.
+   * <p>
+   * With batched inserts the batch is flushed every batch size beans after which the beans
+   * are removed from the persistence context.
+   */
+  @Override
+  public <T> long insertAll(Class<T> beanType, Iterator<T> beans, SpiTransaction transaction) {
+    BeanManager<T> mgr = beanManager(beanType);
+    if (server.databasePlatform().supportsCopyIn() && mgr.getBeanPersister().supportsCopy()) {
+      return new BulkCopyInsert<>(server, persistExecute, mgr, transaction, beans).execute();
+    }
+    boolean persistCascade = transaction.isPersistCascade();
+    transaction.setPersistCascade(false);
+    try {
+      transaction.checkBatchEscalationOnCollection();
+      BeanDescriptor<T> desc = mgr.getBeanDescriptor();
+      int flushSize = transaction.getBatchSize() > 1 ? transaction.getBatchSize() : server.config().getPersistBatchSize();
+      List<EntityBean> flushBeans = new ArrayList<>(flushSize);
+      long count = 0;
+      while (beans.hasNext()) {
+        EntityBean bean = (EntityBean) beans.next();
+        insert(bean, null, transaction);
+        flushBeans.add(bean);
+        if (flushBeans.size() >= flushSize) {
+          insertAllFlush(desc, flushBeans, transaction);
+        }
+        count++;
+      }
+      insertAllFlush(desc, flushBeans, transaction);
+      transaction.flushBatchOnCollection();
+      return count;
+    } finally {
+      transaction.setPersistCascade(persistCascade);
+    }
+  }
+
+  /**
+   * Flush the batch and detach the inserted beans from the persistence context
+   * such that the beans are not retained by the transaction.
+   */
+  private void insertAllFlush(BeanDescriptor<?> desc, List<EntityBean> flushBeans, SpiTransaction transaction) {
+    if (!flushBeans.isEmpty()) {
+      transaction.flush();
+      PersistenceContext pc = transaction.persistenceContext();
+      for (EntityBean bean : flushBeans) {
+        Object id = desc.getId(bean);
+        if (id != null) {
+          desc.contextClear(pc, id);
+        }
+      }
+      flushBeans.clear();
+    }
+  }
+
   void saveRecurse(EntityBean bean, Transaction t, Object parentBean, int flags) {
     // determine insert or update taking into account stateless updates
     saveRecurse(createRequestRecurse(bean, t, parentBean, flags));
@@ -0,0 +1,25 @@
+package io.ebeaninternal.server.persist;
+
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Executes COPY FROM STDIN using the Postgres JDBC driver CopyManager.
+ * <p>
+ * Only loaded when the database platform supports COPY such that the Postgres
+ * JDBC driver is otherwise optional.
+ * </p>
+ */
+final class PostgresCopyIn {
+
+  /**
+   * Execute the COPY statement reading the rows from the reader returning the number of rows copied.
+   */
+  static long copyIn(Connection connection, String sql, Reader reader) throws SQLException, IOException {
+    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, reader);
+  }
+}
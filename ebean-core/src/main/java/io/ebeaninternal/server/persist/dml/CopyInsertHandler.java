@@ -0,0 +1,68 @@
+package io.ebeaninternal.server.persist.dml;
+
+import io.ebean.bean.EntityBean;
+import io.ebeaninternal.server.bind.DataBindCopy;
+import io.ebeaninternal.server.core.PersistRequestBean;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+
+import jakarta.persistence.PersistenceException;
+import java.sql.SQLException;
+
+import static io.ebeaninternal.server.persist.DmlUtil.isNullOrZero;
+
+/**
+ * Insert bean handler that binds the bean as a row for COPY FROM STDIN.
+ */
+final class CopyInsertHandler extends DmlHandler {
+
+  private final InsertMeta meta;
+  private final DataBindCopy copyBind;
+
+  CopyInsertHandler(PersistRequestBean<?> persist, InsertMeta meta, DataBindCopy copyBind) {
+    super(persist);
+    this.meta = meta;
+    this.copyBind = copyBind;
+  }
+
+  @Override
+  public boolean isUpdate() {
+    return false;
+  }
+
+  /**
+   * Return the COPY statement for the bound row.
+   */
+  String copySql() {
+    return sql;
+  }
+
+  /**
+   * Bind the bean as a COPY row.
+   */
+  @Override
+  public void bind() throws SQLException {
+    BeanDescriptor<?> desc = persistRequest.descriptor();
+    EntityBean bean = persistRequest.entityBean();
+    boolean withId = !isNullOrZero(desc.getId(bean));
+    if (!withId && meta.isConcatenatedKey()) {
+      withId = meta.deriveConcatenatedId(persistRequest);
+    }
+    boolean publish = persistRequest.isPublish();
+    sql = meta.copySql(withId, publish);
+    if (sql == null) {
+      throw new PersistenceException("COPY not supported for bean " + desc.fullName());
+    }
+    copyBind.reset();
+    dataBind = copyBind;
+    meta.bind(this, bean, withId, publish);
+  }
+
+  /**
+   * Not used, rows are written via COPY.
+   */
+  @Override
+  public int execute() {
+    throw new IllegalStateException("Not supported for COPY");
+  }
+
+}
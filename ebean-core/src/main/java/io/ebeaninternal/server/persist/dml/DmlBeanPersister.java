@@ -2,6 +2,7 @@ package io.ebeaninternal.server.persist.dml;
 
 import io.ebean.config.dbplatform.DatabasePlatform;
 import io.ebean.util.StringHelper;
+import io.ebeaninternal.server.bind.DataBindCopy;
 import io.ebeaninternal.server.core.PersistRequestBean;
 import io.ebeaninternal.server.persist.BeanPersister;
 
@@ -54,6 +55,18 @@ final class DmlBeanPersister implements BeanPersister {
     execute(request, new UpdateHandler(request, updateMeta));
   }
 
+  @Override
+  public boolean supportsCopy() {
+    return insertMeta.supportsCopy();
+  }
+
+  @Override
+  public String copy(PersistRequestBean<?> request, DataBindCopy dataBind) throws SQLException {
+    CopyInsertHandler handler = new CopyInsertHandler(request, insertMeta, dataBind);
+    handler.bind();
+    return handler.copySql();
+  }
+
   /**
    * execute request taking batching into account.
    */
@@ -13,9 +13,9 @@ public final class DmlBeanPersisterFactory implements BeanPersisterFactory {
   private final DatabasePlatform dbPlatform;
   private final MetaFactory metaFactory;
 
-  public DmlBeanPersisterFactory(DatabasePlatform dbPlatform) {
+  public DmlBeanPersisterFactory(DatabasePlatform dbPlatform, boolean multiRowInsert) {
     this.dbPlatform = dbPlatform;
-    this.metaFactory = new MetaFactory(dbPlatform);
+    this.metaFactory = new MetaFactory(dbPlatform, multiRowInsert && dbPlatform.supportsMultiRowInsert());
   }
 
   /**
@@ -1,9 +1,11 @@
 package io.ebeaninternal.server.persist.dml;
 
+import io.ebean.core.type.DataBinder;
 import io.ebeaninternal.api.CoreLog;
 import io.ebeaninternal.api.SpiTransaction;
 import io.ebeaninternal.server.core.PersistRequestBean;
 import io.ebeaninternal.server.deploy.BeanProperty;
+import io.ebeaninternal.server.persist.BatchedMultiRow;
 import io.ebeaninternal.server.persist.BatchedPstmt;
 import io.ebeaninternal.server.persist.BatchedPstmtHolder;
 import io.ebeaninternal.server.persist.dmlbind.BindableRequest;
@@ -13,6 +15,7 @@ import jakarta.persistence.OptimisticLockException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.function.Supplier;
 
 import static java.lang.System.Logger.Level.ERROR;
 
@@ -30,7 +33,7 @@ public abstract class DmlHandler implements PersistHandler, BindableRequest {
   final SpiTransaction transaction;
   private final boolean logLevelSql;
   private final long now;
-  DataBind dataBind;
+  DataBinder dataBind;
   BatchedPstmt batchedPstmt;
   String sql;
   private short batchedStatus;
@@ -264,4 +267,21 @@ public abstract class DmlHandler implements PersistHandler, BindableRequest {
     return stmt;
   }
 
+  /**
+   * Return the multi-row statement adding the request to the batch.
+   */
+  BatchedMultiRow multiRowBatch(SpiTransaction t, String sql, PersistRequestBean<?> request, Supplier<BatchedMultiRow> create) {
+    BatchedPstmtHolder batch = t.batchControl().pstmtHolder();
+    batchedPstmt = batch.batchedPstmt(sql);
+    if (batchedPstmt != null) {
+      batchedStatus = batchedPstmt.isEmpty() ? BATCHED_FIRST : BATCHED;
+      batchedPstmt.add(request);
+    } else {
+      batchedStatus = BATCHED_FIRST;
+      batchedPstmt = new BatchedPstmt(create.get(), sql, t);
+      batch.addStmt(batchedPstmt, request);
+    }
+    return batchedPstmt.multiRow();
+  }
+
 }
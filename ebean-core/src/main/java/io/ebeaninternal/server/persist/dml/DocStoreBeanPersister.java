@@ -1,5 +1,6 @@
 package io.ebeaninternal.server.persist.dml;
 
+import io.ebeaninternal.server.bind.DataBindCopy;
 import io.ebeaninternal.server.core.PersistRequestBean;
 import io.ebeaninternal.server.persist.BeanPersister;
 
@@ -34,4 +35,14 @@ final class DocStoreBeanPersister implements BeanPersister {
     request.docStorePersist();
     return 0;
   }
+
+  @Override
+  public boolean supportsCopy() {
+    return false;
+  }
+
+  @Override
+  public String copy(PersistRequestBean<?> request, DataBindCopy dataBind) {
+    throw new PersistenceException("COPY not supported for document store only bean " + request.descriptor().fullName());
+  }
 }
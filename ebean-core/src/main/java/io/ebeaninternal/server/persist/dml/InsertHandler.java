@@ -3,6 +3,7 @@ package io.ebeaninternal.server.persist.dml;
 import io.ebean.bean.EntityBean;
 import io.ebean.util.JdbcClose;
 import io.ebeaninternal.api.SpiTransaction;
+import io.ebeaninternal.server.bind.DataBind;
 import io.ebeaninternal.server.core.PersistRequestBean;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 
@@ -27,6 +28,11 @@ public final class InsertHandler extends DmlHandler {
    * SQL Select used to fetch back the Id where generatedKeys is not supported.
    */
   private boolean useSelectLastInsertedId;
+  private boolean withId;
+  /**
+   * The captured bind values when batched as a row of a multi-row insert.
+   */
+  private InsertMultiRowValues multiRowValues;
 
   /**
    * Create to handle the insert execution.
@@ -50,7 +56,7 @@ public final class InsertHandler extends DmlHandler {
     BeanDescriptor<?> desc = persistRequest.descriptor();
     EntityBean bean = persistRequest.entityBean();
     Object idValue = desc.getId(bean);
-    boolean withId = !isNullOrZero(idValue);
+    withId = !isNullOrZero(idValue);
 
     // check to see if we are going to use generated keys
     if (!withId) {
@@ -70,6 +76,21 @@ public final class InsertHandler extends DmlHandler {
     SpiTransaction t = persistRequest.transaction();
     // get the appropriate sql
     sql = meta.sql(withId, persistRequest.isPublish(), persistRequest.insertOptions());
+    if (persistRequest.isBatched() && !useSelectLastInsertedId) {
+      InsertMultiRowSql multiRowSql = meta.multiRowSql(withId, persistRequest.isPublish(), persistRequest.insertOptions());
+      if (multiRowSql != null) {
+        // capture the bind values now, bound to the multi-row statement when the batch is executed
+        boolean genKeys = useGeneratedKeys;
+        InsertMultiRowBatch batch = (InsertMultiRowBatch) multiRowBatch(t, sql, persistRequest, () -> new InsertMultiRowBatch(multiRowSql, genKeys));
+        multiRowValues = new InsertMultiRowValues();
+        dataBind = multiRowValues;
+        meta.bind(this, bean, withId, persistRequest.isPublish());
+        batchedPstmt.registerInputStreams(dataBind.getInputStreams());
+        batch.add(this);
+        logSql(sql);
+        return;
+      }
+    }
     PreparedStatement pstmt;
     if (persistRequest.isBatched()) {
       pstmt = pstmtBatch(t, sql, persistRequest, useGeneratedKeys);
@@ -84,6 +105,23 @@ public final class InsertHandler extends DmlHandler {
     logSql(sql);
   }
 
+  /**
+   * Bind the captured values of this row to the DataBind of the multi-row statement.
+   */
+  void bindRow(DataBind multiRowBind) throws SQLException {
+    multiRowValues.bind(multiRowBind);
+  }
+
+  /**
+   * Add for batch execution (multi-row inserts are added when the batch executes).
+   */
+  @Override
+  public void addBatch() throws SQLException {
+    if (multiRowValues == null) {
+      super.addBatch();
+    }
+  }
+
   /**
    * Check with useGeneratedKeys to get appropriate PreparedStatement.
    */
@@ -13,6 +13,7 @@ import io.ebeaninternal.server.persist.dmlbind.BindableId;
 import io.ebeaninternal.server.persist.dmlbind.BindableList;
 
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Metadata for insert handler. The metadata is for a particular bean type. It
@@ -24,6 +25,14 @@ final class InsertMeta {
   private final String sqlWithId;
   private final String sqlDraftNullId;
   private final String sqlDraftWithId;
+  private final InsertMultiRowSql multiRowNullId;
+  private final InsertMultiRowSql multiRowWithId;
+  private final InsertMultiRowSql multiRowDraftNullId;
+  private final InsertMultiRowSql multiRowDraftWithId;
+  private final String copyNullId;
+  private final String copyWithId;
+  private final String copyDraftNullId;
+  private final String copyDraftWithId;
   private final BindableId id;
   private final Bindable discriminator;
   private final BindableList all;
@@ -39,7 +48,7 @@ final class InsertMeta {
   private final Platform platform;
   private final InsertMetaOptions options;
 
-  InsertMeta(DatabasePlatform dbPlatform, BeanDescriptor<?> desc, Bindable shadowFKey, BindableId id, BindableList all) {
+  InsertMeta(DatabasePlatform dbPlatform, BeanDescriptor<?> desc, Bindable shadowFKey, BindableId id, BindableList all, boolean multiRow) {
     this.platform = dbPlatform.platform();
     this.options = InsertMetaPlatform.create(platform, desc, this);
     this.discriminator = discriminator(desc);
@@ -52,6 +61,12 @@ final class InsertMeta {
     String draftTableName = desc.draftTable();
     this.sqlWithId = sql(false, tableName, false);
     this.sqlDraftWithId = desc.isDraftable() ? sql(false, draftTableName, true) : sqlWithId;
+    int maxBind = dbPlatform.maxBindParameters();
+    this.multiRowWithId = multiRow ? multiRow(false, tableName, false, maxBind) : null;
+    this.multiRowDraftWithId = multiRow && desc.isDraftable() ? multiRow(false, draftTableName, true, maxBind) : multiRowWithId;
+    boolean copyIn = dbPlatform.supportsCopyIn();
+    this.copyWithId = copyIn ? copySql(false, tableName, false) : null;
+    this.copyDraftWithId = copyIn && desc.isDraftable() ? copySql(false, draftTableName, true) : copyWithId;
 
     // only available for single Id property
     if (id.isConcatenated()) {
@@ -60,6 +75,10 @@ final class InsertMeta {
       this.identityDbColumns = null;
       this.sqlNullId = null;
       this.sqlDraftNullId = null;
+      this.multiRowNullId = null;
+      this.multiRowDraftNullId = null;
+      this.copyNullId = null;
+      this.copyDraftNullId = null;
       this.supportsGetGeneratedKeys = false;
       this.supportsSelectLastInsertedId = false;
 
@@ -77,6 +96,10 @@ final class InsertMeta {
       }
       this.sqlNullId = sql(true, tableName, false);
       this.sqlDraftNullId = desc.isDraftable() ? sql(true, draftTableName, true) : sqlNullId;
+      this.multiRowNullId = multiRow ? multiRow(true, tableName, false, maxBind) : null;
+      this.multiRowDraftNullId = multiRow && desc.isDraftable() ? multiRow(true, draftTableName, true, maxBind) : multiRowNullId;
+      this.copyNullId = copyIn ? copySql(true, tableName, false) : null;
+      this.copyDraftNullId = copyIn && desc.isDraftable() ? copySql(true, draftTableName, true) : copyNullId;
     }
   }
 
@@ -149,6 +172,38 @@ final class InsertMeta {
     return options.sql(withId, insertOptions);
   }
 
+  /**
+   * Return the multi-row insert sql or null if multi-row insert is not used.
+   */
+  InsertMultiRowSql multiRowSql(boolean withId, boolean publish, InsertOptions insertOptions) {
+    if (insertOptions != null) {
+      return null;
+    }
+    if (withId) {
+      return publish ? multiRowWithId : multiRowDraftWithId;
+    } else {
+      return publish ? multiRowNullId : multiRowDraftNullId;
+    }
+  }
+
+  /**
+   * Return true if bulk insert using COPY is supported.
+   */
+  boolean supportsCopy() {
+    return copyWithId != null;
+  }
+
+  /**
+   * Return the COPY FROM STDIN statement or null if COPY is not supported for the bean type.
+   */
+  String copySql(boolean withId, boolean publish) {
+    if (withId) {
+      return publish ? copyWithId : copyDraftWithId;
+    } else {
+      return publish ? copyNullId : copyDraftNullId;
+    }
+  }
+
   String sqlFor(boolean withId) {
     return withId ? sqlWithId : sqlNullId;
   }
@@ -167,6 +222,30 @@ final class InsertMeta {
     return request.toString();
   }
 
+  private InsertMultiRowSql multiRow(boolean nullId, String table, boolean draftTable, int maxBindParameters) {
+    if (nullId && noColumnsForInsert(draftTable)) {
+      // insert using default values
+      return null;
+    }
+    GenerateDmlRequest request = new GenerateDmlRequest();
+    sql(request, nullId, table, draftTable);
+    return new InsertMultiRowSql(request.toString(), request.insertBindBuffer(), maxBindParameters);
+  }
+
+  private String copySql(boolean nullId, String table, boolean draftTable) {
+    if (nullId && noColumnsForInsert(draftTable)) {
+      return null;
+    }
+    GenerateDmlRequest request = new GenerateDmlRequest();
+    sql(request, nullId, table, draftTable);
+    List<String> columns = request.columns();
+    if (request.insertBindBuffer().length() != columns.size() * 2 - 1) {
+      // a column bound using a function (e.g. encryption) which COPY does not support
+      return null;
+    }
+    return "copy " + table + " (" + String.join(", ", columns) + ") from stdin";
+  }
+
   void sql(GenerateDmlRequest request, boolean nullId, String table, boolean draftTable) {
     request.setInsertSetMode();
     request.append("insert into ").append(table);
@@ -0,0 +1,110 @@
+package io.ebeaninternal.server.persist.dml;
+
+import io.ebeaninternal.api.CoreLog;
+import io.ebeaninternal.server.bind.DataBind;
+import io.ebeaninternal.server.persist.BatchedMultiRow;
+import jakarta.persistence.PersistenceException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Batched inserts executed as multi-row insert statements.
+ * <p>
+ * The InsertHandlers are queued with their captured bind values which are bound to the
+ * multi-row statement when the batch is executed. The prepared
+ * statements are held per bucket and reused for subsequent batches in the transaction.
+ * </p>
+ */
+final class InsertMultiRowBatch implements BatchedMultiRow {
+
+  private final InsertMultiRowSql multiRowSql;
+  private final boolean genKeys;
+  private final List<InsertHandler> rows = new ArrayList<>();
+  private final PreparedStatement[] statements = new PreparedStatement[InsertMultiRowSql.buckets()];
+
+  InsertMultiRowBatch(InsertMultiRowSql multiRowSql, boolean genKeys) {
+    this.multiRowSql = multiRowSql;
+    this.genKeys = genKeys;
+  }
+
+  /**
+   * Add the row to the batch.
+   */
+  void add(InsertHandler row) {
+    rows.add(row);
+  }
+
+  @Override
+  public int[] execute(boolean getGeneratedKeys) throws SQLException {
+    final int size = rows.size();
+    final int[] results = new int[size];
+    try {
+      int start = 0;
+      while (start < size) {
+        int bucket = multiRowSql.bucket(size - start);
+        int count = multiRowSql.rows(bucket);
+        execute(bucket, start, count, getGeneratedKeys && genKeys);
+        Arrays.fill(results, start, start + count, 1);
+        start += count;
+      }
+      return results;
+    } finally {
+      rows.clear();
+    }
+  }
+
+  private void execute(int bucket, int start, int count, boolean getGeneratedKeys) throws SQLException {
+    InsertHandler first = rows.get(start);
+    PreparedStatement stmt = statement(first, bucket);
+    DataBind dataBind = first.bind(stmt);
+    for (int i = start; i < start + count; i++) {
+      rows.get(i).bindRow(dataBind);
+    }
+    int rowCount = stmt.executeUpdate();
+    if (rowCount != count) {
+      throw new SQLException("Invalid state on multi-row insert, rows:" + rowCount + " != " + count);
+    }
+    if (getGeneratedKeys) {
+      int index = start;
+      try (ResultSet rset = stmt.getGeneratedKeys()) {
+        while (index < start + count && rset.next()) {
+          rows.get(index++).persistRequest.setGeneratedKey(rset.getObject(1));
+        }
+      }
+      if (index != start + count) {
+        throw new PersistenceException("Multi-row insert returned " + (index - start) + " generated keys for " + count + " rows");
+      }
+    }
+  }
+
+  private PreparedStatement statement(InsertHandler first, int bucket) throws SQLException {
+    PreparedStatement stmt = statements[bucket];
+    if (stmt == null) {
+      stmt = first.pstmt(first.transaction, multiRowSql.sql(bucket), genKeys);
+      statements[bucket] = stmt;
+    }
+    return stmt;
+  }
+
+  @Override
+  public void close() {
+    for (int i = 0; i < statements.length; i++) {
+      if (statements[i] != null) {
+        try {
+          statements[i].close();
+        } catch (SQLException e) {
+          CoreLog.log.log(WARNING, "Error closing multi-row insert statement", e);
+        } finally {
+          statements[i] = null;
+        }
+      }
+    }
+  }
+}
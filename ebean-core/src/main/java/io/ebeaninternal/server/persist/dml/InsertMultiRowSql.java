@@ -0,0 +1,91 @@
+package io.ebeaninternal.server.persist.dml;
+
+/**
+ * The multi-row insert statements for a given insert sql.
+ * <p>
+ * Rows are executed in buckets of 128, 32, 8 and 1 rows such that there are only
+ * a few distinct statements per insert sql. The number of rows is additionally
+ * limited by the maximum number of bind parameters supported by the database.
+ * </p>
+ */
+final class InsertMultiRowSql {
+
+  private static final int[] BUCKETS = {128, 32, 8, 1};
+
+  private final String sql;
+  private final String values;
+  private final int maxRows;
+  private final String[] bucketSql = new String[BUCKETS.length];
+
+  /**
+   * Create given the single row sql and the bind placeholders for a row.
+   */
+  InsertMultiRowSql(String sql, String bindBuffer, int maxBindParameters) {
+    this.sql = sql;
+    this.values = ",(" + bindBuffer + ")";
+    this.maxRows = Math.max(1, maxBindParameters / Math.max(1, bindCount(bindBuffer)));
+    this.bucketSql[BUCKETS.length - 1] = sql;
+  }
+
+  private static int bindCount(String bindBuffer) {
+    int count = 0;
+    for (int i = 0; i < bindBuffer.length(); i++) {
+      if (bindBuffer.charAt(i) == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Return the number of bucket slots.
+   */
+  static int buckets() {
+    return BUCKETS.length;
+  }
+
+  /**
+   * Return the single row insert sql.
+   */
+  String sql() {
+    return sql;
+  }
+
+  /**
+   * Return the bucket to use given the number of rows remaining to execute.
+   */
+  int bucket(int remaining) {
+    int max = Math.min(remaining, maxRows);
+    for (int i = 0; i < BUCKETS.length; i++) {
+      if (BUCKETS[i] <= max) {
+        return i;
+      }
+    }
+    return BUCKETS.length - 1;
+  }
+
+  /**
+   * Return the number of rows for the given bucket.
+   */
+  int rows(int bucket) {
+    return BUCKETS[bucket];
+  }
+
+  /**
+   * Return the multi-row insert sql for the given bucket.
+   */
+  String sql(int bucket) {
+    String bucketSql = this.bucketSql[bucket];
+    if (bucketSql == null) {
+      int rows = BUCKETS[bucket];
+      StringBuilder sb = new StringBuilder(sql.length() + values.length() * rows);
+      sb.append(sql);
+      for (int i = 1; i < rows; i++) {
+        sb.append(values);
+      }
+      bucketSql = sb.toString();
+      this.bucketSql[bucket] = bucketSql;
+    }
+    return bucketSql;
+  }
+}
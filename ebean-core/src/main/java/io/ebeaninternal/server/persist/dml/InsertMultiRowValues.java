@@ -0,0 +1,352 @@
+package io.ebeaninternal.server.persist.dml;
+
+import io.ebean.core.type.DataBinder;
+import io.ebean.core.type.InputStreamInfo;
+import io.ebeaninternal.server.bind.DataBind;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The bind values of a row of a multi-row insert captured when the row is added to the batch.
+ * <p>
+ * The row is bound to this recorder such that, as with JDBC addBatch(), the values are
+ * converted and captured at that point and changes to the bean after it was saved do not change
+ * what is inserted. The value, bind method and sqlType are held per position and bound to the
+ * DataBind of the multi-row statement (that continues from the position of the prior row) when
+ * the batch is executed.
+ * </p>
+ */
+final class InsertMultiRowValues implements DataBinder {
+
+  private enum Kind {
+    OBJECT, OBJECT_TYPE, NULL, STRING, INT, LONG, SHORT, FLOAT, DOUBLE, BIG_DECIMAL, DATE, TIMESTAMP,
+    TIME, BOOLEAN, BYTES, BYTE, CHAR, BINARY_STREAM, BLOB, CLOB, ARRAY
+  }
+
+  /**
+   * The arrayType and elements bound via setArray().
+   */
+  private static final class ArrayValue {
+
+    private final String arrayType;
+    private final Object[] elements;
+
+    ArrayValue(String arrayType, Object[] elements) {
+      this.arrayType = arrayType;
+      this.elements = elements;
+    }
+  }
+
+  private final StringBuilder bindLog = new StringBuilder();
+  private Kind[] kinds = new Kind[16];
+  private Object[] values = new Object[16];
+  private int[] sqlTypes = new int[16];
+  private int pos;
+  private int size;
+  private List<InputStream> inputStreams;
+  private String json;
+  private Object lastObject;
+
+  private void add(Kind kind, Object value, int sqlType) {
+    if (pos == kinds.length) {
+      int length = kinds.length * 2;
+      kinds = Arrays.copyOf(kinds, length);
+      values = Arrays.copyOf(values, length);
+      sqlTypes = Arrays.copyOf(sqlTypes, length);
+    }
+    kinds[pos] = kind;
+    values[pos] = value;
+    sqlTypes[pos] = sqlType;
+    size = Math.max(size, ++pos);
+  }
+
+  private void add(Kind kind, Object value) {
+    add(kind, value, 0);
+  }
+
+  /**
+   * Bind the captured values to the DataBind of the multi-row statement.
+   */
+  void bind(DataBind dataBind) throws SQLException {
+    for (int i = 0; i < size; i++) {
+      Object value = values[i];
+      switch (kinds[i]) {
+        case OBJECT:
+          dataBind.setObject(value);
+          break;
+        case OBJECT_TYPE:
+          dataBind.setObject(value, sqlTypes[i]);
+          break;
+        case NULL:
+          dataBind.setNull(sqlTypes[i]);
+          break;
+        case STRING:
+          dataBind.setString((String) value);
+          break;
+        case INT:
+          dataBind.setInt((Integer) value);
+          break;
+        case LONG:
+          dataBind.setLong((Long) value);
+          break;
+        case SHORT:
+          dataBind.setShort((Short) value);
+          break;
+        case FLOAT:
+          dataBind.setFloat((Float) value);
+          break;
+        case DOUBLE:
+          dataBind.setDouble((Double) value);
+          break;
+        case BIG_DECIMAL:
+          dataBind.setBigDecimal((BigDecimal) value);
+          break;
+        case DATE:
+          dataBind.setDate((Date) value);
+          break;
+        case TIMESTAMP:
+          dataBind.setTimestamp((Timestamp) value);
+          break;
+        case TIME:
+          dataBind.setTime((Time) value);
+          break;
+        case BOOLEAN:
+          dataBind.setBoolean((Boolean) value);
+          break;
+        case BYTES:
+          dataBind.setBytes((byte[]) value);
+          break;
+        case BYTE:
+          dataBind.setByte((Byte) value);
+          break;
+        case CHAR:
+          dataBind.setChar((Character) value);
+          break;
+        case BINARY_STREAM:
+          InputStreamInfo info = (InputStreamInfo) value;
+          dataBind.setBinaryStream(info.stream(), info.length());
+          break;
+        case BLOB:
+          dataBind.setBlob((byte[]) value);
+          break;
+        case CLOB:
+          dataBind.setClob((String) value);
+          break;
+        case ARRAY:
+          ArrayValue array = (ArrayValue) value;
+          dataBind.setArray(array.arrayType, array.elements);
+          break;
+        default:
+          throw new IllegalStateException("Unexpected bind kind " + kinds[i]);
+      }
+    }
+  }
+
+  @Override
+  public void pushJson(String json) {
+    assert this.json == null; // we can only push one value
+    this.json = json;
+  }
+
+  @Override
+  public String popJson() {
+    String ret = json;
+    json = null;
+    return ret;
+  }
+
+  @Override
+  public StringBuilder append(Object entry) {
+    return bindLog.append(entry);
+  }
+
+  @Override
+  public StringBuilder log() {
+    return bindLog;
+  }
+
+  @Override
+  public void close() {
+    // no statement, the multi-row statement is closed by the batch
+  }
+
+  @Override
+  public int currentPos() {
+    return pos;
+  }
+
+  @Override
+  public int nextPos() {
+    return ++pos;
+  }
+
+  @Override
+  public void decrementPos() {
+    --pos;
+  }
+
+  @Override
+  public int executeUpdate() {
+    throw new IllegalStateException("The multi-row insert is executed by the batch");
+  }
+
+  /**
+   * Return null as the values are bound to the multi-row statement when the batch is executed.
+   */
+  @Override
+  public PreparedStatement getPstmt() {
+    return null;
+  }
+
+  @Override
+  public List<InputStream> getInputStreams() {
+    return inputStreams;
+  }
+
+  @Override
+  public void setObject(Object value) {
+    add(Kind.OBJECT, value);
+    lastObject = value;
+  }
+
+  @Override
+  public void setObject(Object value, int sqlType) {
+    add(Kind.OBJECT_TYPE, value, sqlType);
+    lastObject = value;
+  }
+
+  @Override
+  public void setNull(int jdbcType) {
+    add(Kind.NULL, null, jdbcType);
+    lastObject = null;
+  }
+
+  @Override
+  public void setString(String value) {
+    add(Kind.STRING, value);
+    lastObject = value;
+  }
+
+  @Override
+  public void setInt(int value) {
+    add(Kind.INT, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setLong(long value) {
+    add(Kind.LONG, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setShort(short value) {
+    add(Kind.SHORT, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setFloat(float value) {
+    add(Kind.FLOAT, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setDouble(double value) {
+    add(Kind.DOUBLE, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setBigDecimal(BigDecimal value) {
+    add(Kind.BIG_DECIMAL, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setDate(Date value) {
+    add(Kind.DATE, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setTimestamp(Timestamp value) {
+    add(Kind.TIMESTAMP, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setTime(Time value) {
+    add(Kind.TIME, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setBoolean(boolean value) {
+    add(Kind.BOOLEAN, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setBytes(byte[] value) {
+    add(Kind.BYTES, value);
+    lastObject = value;
+  }
+
+  @Override
+  public void setByte(byte value) {
+    add(Kind.BYTE, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setChar(char value) {
+    add(Kind.CHAR, value);
+    lastObject = null;
+  }
+
+  @Override
+  public void setBinaryStream(InputStream inputStream, long length) {
+    if (inputStreams == null) {
+      inputStreams = new ArrayList<>();
+    }
+    inputStreams.add(inputStream);
+    InputStreamInfo info = new InputStreamInfo(inputStream, length);
+    add(Kind.BINARY_STREAM, info);
+    lastObject = info;
+  }
+
+  @Override
+  public void setBlob(byte[] bytes) {
+    add(Kind.BLOB, bytes);
+    lastObject = bytes;
+  }
+
+  @Override
+  public void setClob(String content) {
+    add(Kind.CLOB, content);
+    lastObject = content;
+  }
+
+  @Override
+  public void setArray(String arrayType, Object[] elements) {
+    add(Kind.ARRAY, new ArrayValue(arrayType, elements));
+    lastObject = null;
+  }
+
+  @Override
+  public Object popLastObject() {
+    Object ret = lastObject;
+    lastObject = null;
+    return ret;
+  }
+}
@@ -36,9 +36,11 @@ final class MetaFactory {
   private final FactoryAssocOnes assocOneFact = new FactoryAssocOnes();
   private final FactoryId idFact = new FactoryId();
   private final DatabasePlatform dbPlatform;
+  private final boolean multiRowInsert;
 
-  MetaFactory(DatabasePlatform dbPlatform) {
+  MetaFactory(DatabasePlatform dbPlatform, boolean multiRowInsert) {
     this.dbPlatform = dbPlatform;
+    this.multiRowInsert = multiRowInsert;
     // to bind encryption data before or after the encryption key
     DbEncrypt dbEncrypt = dbPlatform.dbEncrypt();
     boolean bindEncryptDataFirst = dbEncrypt == null || dbEncrypt.isBindEncryptDataFirst();
@@ -97,6 +99,6 @@ final class MetaFactory {
       shadowFkey = new BindableUnidirectional(desc, unidirectional);
     }
 
-    return new InsertMeta(dbPlatform, desc, shadowFkey, id, allBindable);
+    return new InsertMeta(dbPlatform, desc, shadowFkey, id, allBindable, multiRowInsert);
   }
 }
@@ -2,6 +2,7 @@ package io.ebeaninternal.server.persist.platform;
 
 import io.ebean.config.dbplatform.ExtraDbTypes;
 import io.ebean.core.type.ScalarType;
+import io.ebean.metric.CountMetric;
 import io.ebeaninternal.server.bind.DataBind;
 
 import java.sql.SQLException;
@@ -14,6 +15,10 @@ import static java.sql.Types.*;
  */
 abstract class AbstractMultiValueBind extends MultiValueBind {
 
+  AbstractMultiValueBind(CountMetric arrayBind, CountMetric expandedBind) {
+    super(arrayBind, expandedBind);
+  }
+
   @Override
   public boolean isSupported() {
     return true;
@@ -30,6 +35,7 @@ abstract class AbstractMultiValueBind extends MultiValueBind {
     if (arrayType == null) {
       super.bindMultiValues(dataBind, values, type, bindOne);
     } else {
+      arrayBind.increment();
       dataBind.setArray(arrayType, toArray(values, type));
     }
   }
@@ -0,0 +1,42 @@
+package io.ebeaninternal.server.persist.platform;
+
+import io.ebean.config.dbplatform.ExtraDbTypes;
+import io.ebean.core.type.ScalarType;
+import io.ebean.metric.CountMetric;
+
+import static java.sql.Types.VARBINARY;
+
+/**
+ * Multi value binder that uses H2 Array with {@code = any(?)}.
+ * <p>
+ * UUID, INET and binary values are not compared to array elements and continue
+ * to use a bind parameter per element.
+ */
+public final class H2MultiValueBind extends AbstractMultiValueBind {
+
+  public H2MultiValueBind(CountMetric arrayBind, CountMetric expandedBind) {
+    super(arrayBind, expandedBind);
+  }
+
+  @Override
+  String getArrayType(int dbType) {
+    switch (dbType) {
+      case ExtraDbTypes.UUID:
+      case ExtraDbTypes.INET:
+      case VARBINARY:
+        return null;
+      default:
+        return super.getArrayType(dbType);
+    }
+  }
+
+  @Override
+  public String getInExpression(boolean not, ScalarType<?> type, int size) {
+    if (getArrayType(type.jdbcType()) == null) {
+      return super.getInExpression(not, type, size);
+    } else {
+      return (not) ? " != all(?)" : " = any(?)";
+    }
+  }
+
+}
@@ -1,6 +1,7 @@
 package io.ebeaninternal.server.persist.platform;
 
 import io.ebean.core.type.ScalarType;
+import io.ebean.metric.CountMetric;
 import io.ebeaninternal.server.bind.DataBind;
 
 import java.sql.SQLException;
@@ -16,6 +17,18 @@ public class MultiValueBind {
     void bind(Object value) throws SQLException;
   }
 
+  final CountMetric arrayBind;
+  private final CountMetric expandedBind;
+
+  /**
+   * Create with metrics counting the multi values bound as a single array and
+   * the multi values bound as a parameter per element.
+   */
+  public MultiValueBind(CountMetric arrayBind, CountMetric expandedBind) {
+    this.arrayBind = arrayBind;
+    this.expandedBind = expandedBind;
+  }
+
   Object[] toArray(Collection<?> values, ScalarType<?> type) {
     Object[] array = type.binary() ? new byte[values.size()][] : new Object[values.size()];
     int i = 0;
@@ -43,6 +56,7 @@ public class MultiValueBind {
    * Default for multi values. They are appended one by one.
    */
   public void bindMultiValues(DataBind dataBind, Collection<?> values, ScalarType<?> type, BindOne bindOne) throws SQLException {
+    expandedBind.increment();
     for (Object value : values) {
       if (!type.jdbcNative()) {
         value = type.toJdbcType(value);
@@ -2,12 +2,17 @@ package io.ebeaninternal.server.persist.platform;
 
 import io.ebean.config.dbplatform.ExtraDbTypes;
 import io.ebean.core.type.ScalarType;
+import io.ebean.metric.CountMetric;
 
 /**
  * Multi value binder that uses Postgres Array.
  */
 public final class PostgresMultiValueBind extends AbstractMultiValueBind {
 
+  public PostgresMultiValueBind(CountMetric arrayBind, CountMetric expandedBind) {
+    super(arrayBind, expandedBind);
+  }
+
   @Override
   public String getInExpression(boolean not, ScalarType<?> type, int size) {
     int dbType = type.jdbcType();
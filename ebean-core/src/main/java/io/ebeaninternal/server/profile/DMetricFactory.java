@@ -22,6 +22,11 @@ public final class DMetricFactory implements MetricFactory {
     return new DTimedMetric(name);
   }
 
+  @Override
+  public TimedMetric createTimedMetric(String name, boolean histogram) {
+    return new DTimedMetric(name, histogram);
+  }
+
   @Override
   public CountMetric createCountMetric(String name) {
     return new DCountMetric(name);
@@ -32,4 +37,9 @@ public final class DMetricFactory implements MetricFactory {
     return new DQueryPlanMetric(new DQueryPlanMeta(type, name, label, profileLocation, sql, hash), new DTimedMetric(label));
   }
 
+  @Override
+  public QueryPlanMetric createQueryPlanMetric(Class<?> type, String name, String label, ProfileLocation profileLocation, String sql, String hash, boolean histogram) {
+    return new DQueryPlanMetric(new DQueryPlanMeta(type, name, label, profileLocation, sql, hash), new DTimedMetric(label, histogram));
+  }
+
 }
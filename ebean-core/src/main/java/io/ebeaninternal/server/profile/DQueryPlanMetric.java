@@ -112,5 +112,15 @@ final class DQueryPlanMetric implements QueryPlanMetric {
     public long mean() {
       return stats.mean();
     }
+
+    @Override
+    public boolean hasPercentiles() {
+      return stats.hasPercentiles();
+    }
+
+    @Override
+    public long percentile(double percentile) {
+      return stats.percentile(percentile);
+    }
   }
 }
@@ -11,15 +11,21 @@ final class DTimeMetricStats implements TimedMetricStats {
   private final long count;
   private final long total;
   private final long max;
+  private final LatencyHistogram.Snapshot histogram;
   private String name;
   private String location;
 
   DTimeMetricStats(String name, boolean collected, long count, long total, long max) {
+    this(name, collected, count, total, max, null);
+  }
+
+  DTimeMetricStats(String name, boolean collected, long count, long total, long max, LatencyHistogram.Snapshot histogram) {
     this.name = name;
     this.collected = collected;
     this.count = count;
     this.total = total;
     this.max = max;
+    this.histogram = histogram;
   }
 
   @Override
@@ -31,6 +37,11 @@ final class DTimeMetricStats implements TimedMetricStats {
     sb.append("count:").append(count)
       .append(" total:").append(total)
       .append(" max:").append(max);
+    if (histogram != null) {
+      sb.append(" p50:").append(percentile(50))
+        .append(" p95:").append(percentile(95))
+        .append(" p99:").append(percentile(99));
+    }
     if (location != null) {
       sb.append(" loc:").append(location);
     }
@@ -86,6 +97,16 @@ final class DTimeMetricStats implements TimedMetricStats {
     return max;
   }
 
+  @Override
+  public boolean hasPercentiles() {
+    return histogram != null;
+  }
+
+  @Override
+  public long percentile(double percentile) {
+    return histogram == null ? 0 : histogram.percentile(percentile);
+  }
+
   /**
    * Return the mean value rounded up.
    */
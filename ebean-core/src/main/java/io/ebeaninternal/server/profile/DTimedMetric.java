@@ -10,6 +10,10 @@ import java.util.concurrent.atomic.LongAccumulator;
  * <p>
  * It is intended for high concurrent updates to the statistics and relatively infrequent reads.
  * </p>
+ * <p>
+ * When histogram backed the values are additionally recorded into a {@link LatencyHistogram}
+ * such that the collected statistics include percentiles.
+ * </p>
  */
 final class DTimedMetric implements TimedMetric {
 
@@ -17,11 +21,17 @@ final class DTimedMetric implements TimedMetric {
   private final ValueAdder count = new ValueAdder();
   private final ValueAdder total = new ValueAdder();
   private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+  private final LatencyHistogram histogram;
   private boolean collected;
   private String reportName;
 
   DTimedMetric(String name) {
+    this(name, false);
+  }
+
+  DTimedMetric(String name, boolean histogram) {
     this.name = name;
+    this.histogram = histogram ? new LatencyHistogram() : null;
   }
 
   @Override
@@ -32,6 +42,9 @@ final class DTimedMetric implements TimedMetric {
       count.add(batch);
       total.add(totalMicros);
       max.accumulate(mean);
+      if (histogram != null) {
+        histogram.record(mean, batch);
+      }
     }
   }
 
@@ -45,6 +58,9 @@ final class DTimedMetric implements TimedMetric {
     count.add(1);
     total.add(value);
     max.accumulate(value);
+    if (histogram != null) {
+      histogram.record(value);
+    }
   }
 
   @Override
@@ -57,6 +73,9 @@ final class DTimedMetric implements TimedMetric {
     max.reset();
     count.reset();
     total.reset();
+    if (histogram != null) {
+      histogram.reset();
+    }
   }
 
   @Override
@@ -116,9 +135,14 @@ final class DTimedMetric implements TimedMetric {
         default:
           throw new IllegalStateException("Unknown metric collection mode");
       }
-      return new DTimeMetricStats(name, collected, countSum, totalSum, max.getThenReset());
+      final LatencyHistogram.Snapshot snapshot = histogram == null ? null : histogram.snapshot(mode);
+      // a cumulative collection (e.g. OpenTelemetry) does not reset for the other reporters
+      final long maxValue = mode == MetricVisitor.Mode.CUMULATIVE ? max.get() : max.getThenReset();
+      return new DTimeMetricStats(name, collected, countSum, totalSum, maxValue, snapshot);
     } finally {
-      collected = true;
+      if (mode != MetricVisitor.Mode.CUMULATIVE) {
+        collected = true;
+      }
     }
   }
 
@@ -0,0 +1,224 @@
+package io.ebeaninternal.server.profile;
+
+import io.ebean.meta.MetricVisitor;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Histogram of latency values (micros) with log-linear buckets.
+ * <p>
+ * Values below 16 have their own bucket. Above that each power of 2 range is split into
+ * 16 linear sub-buckets such that the relative error of a reported percentile is at most
+ * 1/16 (6.25%). Values above 2^32 micros (~71 minutes) are recorded in the last bucket.
+ * <p>
+ * Recording is lock free. It starts with a single counter array (464 longs, ~3.7KB) and, like
+ * LongAdder, adds stripes (selected by thread id) only when recording threads contend, up to
+ * a maximum of 4 stripes such that an uncontended metric does not pay for the striping.
+ * Collection sums the stripes into a {@link Snapshot} using the RESET, CUMULATIVE or DELTA
+ * mode of the MetricVisitor.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BITS = 4;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  private static final int MAX_BITS = 32;
+  static final int BUCKETS = SUB_COUNT + (MAX_BITS - SUB_BITS) * SUB_COUNT;
+  private static final int MAX_STRIPES = 4;
+
+  private final int maxStripes;
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile AtomicLongArray[] stripes = {new AtomicLongArray(BUCKETS)};
+  private long[] previous;
+
+  LatencyHistogram() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  LatencyHistogram(int processors) {
+    this.maxStripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, processors)));
+  }
+
+  /**
+   * Return the number of stripes currently allocated.
+   */
+  int stripeCount() {
+    return stripes.length;
+  }
+
+  /**
+   * Return the bucket index for the value.
+   */
+  static int index(long value) {
+    if (value < SUB_COUNT) {
+      return value < 0 ? 0 : (int) value;
+    }
+    int msb = 63 - Long.numberOfLeadingZeros(value);
+    if (msb >= MAX_BITS) {
+      return BUCKETS - 1;
+    }
+    int shift = msb - SUB_BITS;
+    int sub = (int) (value >>> shift) - SUB_COUNT;
+    return SUB_COUNT + shift * SUB_COUNT + sub;
+  }
+
+  /**
+   * Return the highest value that is recorded into the given bucket.
+   */
+  static long highestValue(int index) {
+    if (index < SUB_COUNT) {
+      return index;
+    }
+    int shift = (index - SUB_COUNT) / SUB_COUNT;
+    int sub = (index - SUB_COUNT) % SUB_COUNT;
+    long lowest = (long) (SUB_COUNT + sub) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * Record a value.
+   */
+  void record(long value) {
+    record(value, 1);
+  }
+
+  /**
+   * Record a value the given number of times.
+   */
+  @SuppressWarnings("deprecation")
+  void record(long value, int count) {
+    final int index = index(value);
+    final AtomicLongArray[] current = stripes;
+    final AtomicLongArray stripe = current[(int) Thread.currentThread().getId() & (current.length - 1)];
+    final long existing = stripe.get(index);
+    if (!stripe.compareAndSet(index, existing, existing + count)) {
+      // contended so add the value and add stripes
+      stripe.addAndGet(index, count);
+      grow(current);
+    }
+  }
+
+  /**
+   * Double the number of stripes (up to the maximum) keeping the existing stripes.
+   */
+  private void grow(AtomicLongArray[] current) {
+    if (current.length < maxStripes && lock.tryLock()) {
+      try {
+        if (stripes == current) {
+          AtomicLongArray[] grown = Arrays.copyOf(current, current.length * 2);
+          for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new AtomicLongArray(BUCKETS);
+          }
+          stripes = grown;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Clear all the recorded values.
+   */
+  void reset() {
+    lock.lock();
+    try {
+      for (AtomicLongArray stripe : stripes) {
+        for (int i = 0; i < BUCKETS; i++) {
+          stripe.set(i, 0);
+        }
+      }
+      previous = null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Return a snapshot of the histogram using the given collection mode.
+   */
+  Snapshot snapshot(MetricVisitor.Mode mode) {
+    lock.lock();
+    try {
+      final long[] counts = new long[BUCKETS];
+      for (AtomicLongArray stripe : stripes) {
+        for (int i = 0; i < BUCKETS; i++) {
+          counts[i] += (mode == MetricVisitor.Mode.RESET) ? stripe.getAndSet(i, 0) : stripe.get(i);
+        }
+      }
+      switch (mode) {
+        case RESET:
+          previous = null;
+          return new Snapshot(counts);
+        case DELTA:
+          long[] delta = counts.clone();
+          if (previous != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+              delta[i] = Math.max(0, delta[i] - previous[i]);
+            }
+          }
+          previous = counts;
+          return new Snapshot(delta);
+        default:
+          return new Snapshot(counts);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Immutable bucket counts of a histogram that can be merged with other snapshots.
+   */
+  static final class Snapshot {
+
+    private final long[] counts;
+    private final long total;
+
+    Snapshot(long[] counts) {
+      this.counts = counts;
+      long sum = 0;
+      for (long count : counts) {
+        sum += count;
+      }
+      this.total = sum;
+    }
+
+    /**
+     * Return the number of recorded values.
+     */
+    long count() {
+      return total;
+    }
+
+    /**
+     * Return a new snapshot combining this and the other snapshot.
+     */
+    Snapshot merge(Snapshot other) {
+      long[] merged = counts.clone();
+      for (int i = 0; i < BUCKETS; i++) {
+        merged[i] += other.counts[i];
+      }
+      return new Snapshot(merged);
+    }
+
+    /**
+     * Return the value at the given percentile (0 to 100).
+     */
+    long percentile(double percentile) {
+      if (total == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(Math.min(100d, Math.max(0d, percentile)) / 100d * total);
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += counts[i];
+        if (seen >= Math.max(1, rank)) {
+          return highestValue(i);
+        }
+      }
+      return highestValue(BUCKETS - 1);
+    }
+  }
+}
@@ -4,7 +4,6 @@ import io.ebean.config.CurrentTenantProvider;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.bind.capture.BindCapture;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
@@ -20,6 +19,7 @@ final class CQueryBindCapture implements SpiQueryBindCapture {
   private final CQueryPlanManager manager;
   private final SpiQueryPlan queryPlan;
   private final CurrentTenantProvider tenantProvider;
+  private final SlowPlanCapture slowCapture;
 
   private BindCapture bindCapture;
   private long queryTimeMicros;
@@ -28,20 +28,36 @@ final class CQueryBindCapture implements SpiQueryBindCapture {
   private Object tenantId;
   private long lastBindCapture;
 
-  CQueryBindCapture(CQueryPlanManager manager, SpiQueryPlan queryPlan, long thresholdMicros, CurrentTenantProvider tenantProvider) {
+  CQueryBindCapture(CQueryPlanManager manager, SpiQueryPlan queryPlan, long thresholdMicros, CurrentTenantProvider tenantProvider, SlowPlanCapture slowCapture) {
     this.manager = manager;
     this.queryPlan = queryPlan;
     this.thresholdMicros = thresholdMicros;
     this.tenantProvider = tenantProvider;
+    this.slowCapture = slowCapture;
   }
 
   @Override
   public boolean collectFor(long timeMicros) {
+    final boolean slow = slowCapture != null && slowCapture.sample(timeMicros);
+    return slow || collectForThreshold(timeMicros);
+  }
+
+  private boolean collectForThreshold(long timeMicros) {
     return timeMicros > thresholdMicros && captureCount < 10;
   }
 
   @Override
   public void setBind(BindCapture bindCapture, long queryTimeMicros, long startNanos) {
+    if (slowCapture != null && slowCapture.start()) {
+      final Object tenant = tenantProvider == null ? null : tenantProvider.currentId();
+      manager.slowCapture(slowCapture, queryPlan, bindCapture, queryTimeMicros, tenant);
+    }
+    if (collectForThreshold(queryTimeMicros)) {
+      setThresholdBind(bindCapture, queryTimeMicros, startNanos);
+    }
+  }
+
+  private void setThresholdBind(BindCapture bindCapture, long queryTimeMicros, long startNanos) {
     lock.lock();
     try {
       this.thresholdMicros = Math.round(queryTimeMicros * multiplier);
@@ -68,6 +84,11 @@ final class CQueryBindCapture implements SpiQueryBindCapture {
     }
   }
 
+  @Override
+  public void release() {
+    manager.release(this, slowCapture);
+  }
+
   /**
    * Collect the query plan using already captured bind values.
    */
@@ -83,14 +104,8 @@ final class CQueryBindCapture implements SpiQueryBindCapture {
     final long startNanos = System.nanoTime();
 
     SpiDbQueryPlan queryPlan;
-    try (Connection connection = transactionManager.queryPlanConnection(tenantId)) {
-      try {
-        queryPlan = manager.collectPlan(connection, this.queryPlan, last);
-      } finally {
-        if (!connection.getAutoCommit()) {
-          connection.rollback();
-        }
-      }
+    try {
+      queryPlan = manager.collectPlan(transactionManager, tenantId, this.queryPlan, last);
     } catch (SQLException e) {
       CoreLog.log.log(ERROR, "Error during query plan collection", e);
       return false;
@@ -49,12 +49,14 @@ final class CQueryBuilder {
   private final DatabasePlatform dbPlatform;
   private final boolean selectCountWithColumnAlias;
   private final boolean includeLabelInSql;
+  private final boolean compiledRowReader;
 
   /**
    * Create the SqlGenSelect.
    */
   CQueryBuilder(DatabaseBuilder.Settings config, DatabasePlatform dbPlatform, Binder binder, CQueryHistorySupport historySupport, CQueryDraftSupport draftSupport) {
     this.includeLabelInSql = config.isIncludeLabelInSql();
+    this.compiledRowReader = config.isCompiledRowReader();
     this.dbPlatform = dbPlatform;
     this.binder = binder;
     this.draftSupport = draftSupport;
@@ -92,7 +94,7 @@ final class CQueryBuilder {
     query.setupForDeleteOrUpdate();
 
     CQueryPredicates predicates = new CQueryPredicates(binder, request);
-    CQueryPlan queryPlan = request.queryPlan();
+    CQueryPlan queryPlan = request.lookupQueryPlan();
     if (queryPlan != null) {
       // skip building the SqlTree and Sql string
       predicates.prepare(false);
@@ -184,7 +186,7 @@ final class CQueryBuilder {
       }
     }
     CQueryPredicates predicates = new CQueryPredicates(binder, request);
-    CQueryPlan queryPlan = request.queryPlan();
+    CQueryPlan queryPlan = request.lookupQueryPlan();
     if (queryPlan != null) {
       predicates.prepare(false);
       return new CQueryFetchSingleAttribute(request, predicates, queryPlan, query.isCountDistinct());
@@ -250,7 +252,7 @@ final class CQueryBuilder {
     }
 
     CQueryPredicates predicates = new CQueryPredicates(binder, request);
-    CQueryPlan queryPlan = request.queryPlan();
+    CQueryPlan queryPlan = request.lookupQueryPlan();
     if (queryPlan != null) {
       // skip building the SqlTree and Sql string
       predicates.prepare(false);
@@ -400,7 +402,7 @@ final class CQueryBuilder {
     }
 
     CQueryPredicates predicates = new CQueryPredicates(binder, request);
-    CQueryPlan queryPlan = request.queryPlan();
+    CQueryPlan queryPlan = request.lookupQueryPlan();
     if (queryPlan != null) {
       predicates.prepare(false);
       return new CQueryExists(queryPlan, request, predicates);
@@ -426,7 +428,7 @@ final class CQueryBuilder {
    */
   <T> CQuery<T> buildQuery(OrmQueryRequest<T> request) {
     CQueryPredicates predicates = new CQueryPredicates(binder, request);
-    CQueryPlan queryPlan = request.queryPlan();
+    CQueryPlan queryPlan = request.lookupQueryPlan();
     if (queryPlan != null) {
       // Reuse the query plan so skip generating SqlTree and SQL.
       // We do prepare and bind the new parameters
@@ -884,6 +886,13 @@ final class CQueryBuilder {
     }
   }
 
+  /**
+   * Return true if query plans compile a row reader for loading beans.
+   */
+  boolean isCompiledRowReader() {
+    return compiledRowReader;
+  }
+
   boolean isPlatformDistinctOn() {
     return dbPlatform.isPlatform(Platform.POSTGRES) || dbPlatform.isPlatform(Platform.YUGABYTE) || dbPlatform.isPlatform(Platform.COCKROACH);
   }
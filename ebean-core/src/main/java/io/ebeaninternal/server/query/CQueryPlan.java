@@ -81,6 +81,11 @@ public class CQueryPlan implements SpiQueryPlan {
   private final Set<String> dependentTables;
   private final SpiQueryBindCapture bindCapture;
 
+  /**
+   * The replayable query shape when the query plan snapshot is enabled.
+   */
+  private final QueryPlanShape shape;
+
   /**
    * Create a query plan based on a OrmQueryRequest.
    */
@@ -104,6 +109,7 @@ public class CQueryPlan implements SpiQueryPlan {
     this.dependentTables = buildDependentTables(request.descriptor(), request.secondaryQueries(), sqlTree.dependentTables());
     this.bindCapture = initBindCapture(query);
     this.hash = Md5.hash(sql, name, location);
+    this.shape = initShape(query);
   }
 
   /**
@@ -129,6 +135,7 @@ public class CQueryPlan implements SpiQueryPlan {
     this.dependentTables = buildDependentTables(request.descriptor(), request.secondaryQueries(), sqlTree.dependentTables());
     this.bindCapture = initBindCaptureRaw(sql, query);
     this.hash = Md5.hash(sql, name, location);
+    this.shape = null;
   }
 
   private String deriveName(String label, SpiQuery<?> query, String simpleName) {
@@ -217,6 +224,17 @@ public class CQueryPlan implements SpiQueryPlan {
     return query.type().isUpdate() ? SpiQueryBindCapture.NOOP : server.createQueryBindCapture(this);
   }
 
+  private QueryPlanShape initShape(SpiQuery<?> query) {
+    if (server.config().getQueryPlanSnapshotFile() == null) {
+      return null;
+    }
+    QueryPlanShape planShape = query.planShape();
+    if (planShape != null) {
+      planShape.planKey(planKey.partialKey());
+    }
+    return planShape;
+  }
+
   private SpiQueryBindCapture initBindCaptureRaw(String sql, SpiQuery<?> query) {
     return sql.equals(RESULT_SET_BASED_RAW_SQL) || query.type().isUpdate() ? SpiQueryBindCapture.NOOP : server.createQueryBindCapture(this);
   }
@@ -267,6 +285,13 @@ public class CQueryPlan implements SpiQueryPlan {
     return location;
   }
 
+  /**
+   * Return the replayable query shape (null when not captured or not replayable).
+   */
+  public final QueryPlanShape shape() {
+    return shape;
+  }
+
   @Override
   public final void queryPlanInit(long thresholdMicros) {
     bindCapture.queryPlanInit(thresholdMicros);
@@ -336,6 +361,15 @@ public class CQueryPlan implements SpiQueryPlan {
     return logWhereSql;
   }
 
+  /**
+   * The plan was removed from the plan cache so release the bind capture.
+   */
+  void release() {
+    if (bindCapture != null) {
+      bindCapture.release();
+    }
+  }
+
   /**
    * Reset the query statistics.
    */
@@ -377,7 +411,7 @@ public class CQueryPlan implements SpiQueryPlan {
   }
 
   final TimedMetric createTimedMetric() {
-    return MetricFactory.get().createTimedMetric(label);
+    return MetricFactory.get().createTimedMetric(label, server.config().isMetricsHistogram());
   }
 
   final void captureBindForQueryPlan(CQueryPredicates predicates, long executionTimeMicros) {
@@ -0,0 +1,210 @@
+package io.ebeaninternal.server.query;
+
+import io.ebean.metric.CountMetric;
+import io.ebean.metric.TimedMetric;
+import io.ebeaninternal.api.CQueryPlanKey;
+import io.ebeaninternal.api.ExtraMetrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded cache of the ORM query plans for a bean type.
+ * <p>
+ * Each entry holds an approximate access frequency and last access time. When the maximum
+ * size is exceeded the cache is trimmed back to 90% of the maximum size evicting the least
+ * frequently used plans first (and least recently used for the same frequency) such that
+ * a burst of one off query shapes does not evict the commonly used plans. The frequencies
+ * are halved each time the evicted count reaches the maximum size such that they reflect
+ * recent use.
+ * <p>
+ * Plans are additionally trimmed by queryPlanTTLSeconds via {@link #trim(long)}. Plans that
+ * are evicted, trimmed or cleared are released such that the query plan manager does not
+ * hold their bind and slow plan captures.
+ */
+public final class CQueryPlanCache {
+
+  private static final int MAX_FREQUENCY = 255;
+
+  private static final Comparator<Candidate> EVICTION_ORDER =
+    Comparator.comparingInt((Candidate c) -> c.frequency).thenComparingLong(c -> c.lastAccess);
+
+  private final ConcurrentHashMap<CQueryPlanKey, Entry> map = new ConcurrentHashMap<>();
+  private final ReentrantLock evictLock = new ReentrantLock();
+  private final int maxSize;
+  private final int trimSize;
+  private final TimedMetric compileMetric;
+  private final CountMetric hitCount;
+  private final CountMetric missCount;
+  private final CountMetric evictCount;
+  private int evictedSinceAging;
+
+  /**
+   * Create with the maximum size (0 for no limit) and the metrics to collect.
+   */
+  public CQueryPlanCache(int maxSize, ExtraMetrics metrics) {
+    this.maxSize = Math.max(0, maxSize);
+    this.trimSize = this.maxSize - Math.max(1, this.maxSize / 10);
+    this.compileMetric = metrics.planCompile();
+    this.hitCount = metrics.planHit();
+    this.missCount = metrics.planMiss();
+    this.evictCount = metrics.planEvict();
+  }
+
+  /**
+   * Return the query plan without recording an access.
+   */
+  public CQueryPlan get(CQueryPlanKey key) {
+    Entry entry = map.get(key);
+    return entry == null ? null : entry.plan;
+  }
+
+  /**
+   * Return the query plan recording the cache hit or miss.
+   */
+  public CQueryPlan lookup(CQueryPlanKey key) {
+    Entry entry = map.get(key);
+    if (entry == null) {
+      missCount.increment();
+      return null;
+    }
+    hitCount.increment();
+    entry.access();
+    return entry.plan;
+  }
+
+  /**
+   * Put a newly built query plan.
+   *
+   * @param startNanos The nanos at which building the plan started (0 when not timed)
+   */
+  public void put(CQueryPlanKey key, CQueryPlan plan, long startNanos) {
+    if (startNanos > 0) {
+      compileMetric.addSinceNanos(startNanos);
+    }
+    map.put(key, new Entry(plan));
+    if (maxSize > 0 && map.size() > maxSize) {
+      evict();
+    }
+  }
+
+  /**
+   * Return the number of query plans.
+   */
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Apply the consumer to all the query plans.
+   */
+  public void forEach(Consumer<CQueryPlan> consumer) {
+    for (Entry entry : map.values()) {
+      consumer.accept(entry.plan);
+    }
+  }
+
+  /**
+   * Remove all the query plans.
+   */
+  public void clear() {
+    map.values().removeIf(CQueryPlanCache::release);
+  }
+
+  /**
+   * Remove query plans not used since the given epoch millis.
+   */
+  public void trim(long unusedSince) {
+    map.values().removeIf(entry -> entry.plan.lastQueryTime() < unusedSince && release(entry));
+  }
+
+  private static boolean release(Entry entry) {
+    entry.plan.release();
+    return true;
+  }
+
+  private void evict() {
+    if (!evictLock.tryLock()) {
+      // another thread is already evicting
+      return;
+    }
+    try {
+      int excess = map.size() - trimSize;
+      if (excess <= 0) {
+        return;
+      }
+      // snapshot frequency and access time as these continue to change during the sort
+      List<Candidate> candidates = new ArrayList<>(map.size());
+      for (Map.Entry<CQueryPlanKey, Entry> mapEntry : map.entrySet()) {
+        candidates.add(new Candidate(mapEntry.getKey(), mapEntry.getValue()));
+      }
+      candidates.sort(EVICTION_ORDER);
+      int count = Math.min(excess, candidates.size());
+      for (int i = 0; i < count; i++) {
+        Candidate candidate = candidates.get(i);
+        if (map.remove(candidate.key, candidate.entry)) {
+          candidate.entry.plan.release();
+          evictCount.increment();
+          evictedSinceAging++;
+        }
+      }
+      if (evictedSinceAging >= maxSize) {
+        evictedSinceAging = 0;
+        for (Entry entry : map.values()) {
+          entry.age();
+        }
+      }
+    } finally {
+      evictLock.unlock();
+    }
+  }
+
+  /**
+   * Query plan with approximate access frequency and last access time.
+   * <p>
+   * The counters are updated without synchronisation and lost updates are acceptable.
+   */
+  private static final class Entry {
+
+    private final CQueryPlan plan;
+    private int frequency;
+    private long lastAccess;
+
+    Entry(CQueryPlan plan) {
+      this.plan = plan;
+      this.frequency = 1;
+      this.lastAccess = System.nanoTime();
+    }
+
+    void access() {
+      lastAccess = System.nanoTime();
+      if (frequency < MAX_FREQUENCY) {
+        frequency++;
+      }
+    }
+
+    void age() {
+      frequency >>= 1;
+    }
+  }
+
+  private static final class Candidate {
+
+    private final CQueryPlanKey key;
+    private final Entry entry;
+    private final int frequency;
+    private final long lastAccess;
+
+    Candidate(CQueryPlanKey key, Entry entry) {
+      this.key = key;
+      this.entry = entry;
+      this.frequency = entry.frequency;
+      this.lastAccess = entry.lastAccess;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package io.ebeaninternal.server.query;
 
+import io.ebean.BackgroundExecutor;
 import io.ebean.config.CurrentTenantProvider;
 import io.ebean.meta.MetaQueryPlan;
 import io.ebean.meta.QueryPlanRequest;
@@ -9,9 +10,15 @@ import io.ebeaninternal.server.transaction.TransactionManager;
 import io.ebeaninternal.server.bind.capture.BindCapture;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import static java.lang.System.Logger.Level.ERROR;
 import static java.util.Collections.emptyList;
 
 public final class CQueryPlanManager implements QueryPlanManager {
@@ -19,22 +26,39 @@ public final class CQueryPlanManager implements QueryPlanManager {
   private static final Object dummy = new Object();
 
   private final ConcurrentHashMap<CQueryBindCapture, Object> plans = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<SlowPlanCapture, Object> slowPlans = new ConcurrentHashMap<>();
   private final TransactionManager transactionManager;
   private final CurrentTenantProvider tenantProvider;
   private final QueryPlanLogger planLogger;
   private final TimedMetric timeCollection;
   private final TimedMetric timeBindCapture;
+  private final BackgroundExecutor backgroundExecutor;
+  private final int slowCaptureSize;
+  private final long slowCaptureMinMicros;
   private long defaultThreshold;
 
   public CQueryPlanManager(TransactionManager transactionManager,
                            CurrentTenantProvider tenantProvider,
                            long defaultThreshold, QueryPlanLogger planLogger, ExtraMetrics extraMetrics) {
+    this(transactionManager, tenantProvider, defaultThreshold, planLogger, extraMetrics, null, 0, 0);
+  }
+
+  /**
+   * Create with slow capture enabled when slowCaptureSize is greater than 0.
+   */
+  public CQueryPlanManager(TransactionManager transactionManager,
+                           CurrentTenantProvider tenantProvider,
+                           long defaultThreshold, QueryPlanLogger planLogger, ExtraMetrics extraMetrics,
+                           BackgroundExecutor backgroundExecutor, int slowCaptureSize, long slowCaptureMinMicros) {
     this.transactionManager = transactionManager;
     this.tenantProvider = tenantProvider;
     this.defaultThreshold = defaultThreshold;
     this.planLogger = planLogger;
     this.timeCollection = extraMetrics.planCollect();
     this.timeBindCapture = extraMetrics.bindCapture();
+    this.backgroundExecutor = backgroundExecutor;
+    this.slowCaptureSize = backgroundExecutor == null ? 0 : slowCaptureSize;
+    this.slowCaptureMinMicros = slowCaptureMinMicros;
   }
 
   @Override
@@ -44,7 +68,8 @@ public final class CQueryPlanManager implements QueryPlanManager {
 
   @Override
   public SpiQueryBindCapture createBindCapture(SpiQueryPlan queryPlan) {
-    return new CQueryBindCapture(this, queryPlan, defaultThreshold, tenantProvider);
+    final SlowPlanCapture slowCapture = slowCaptureSize > 0 ? new SlowPlanCapture(slowCaptureSize, slowCaptureMinMicros) : null;
+    return new CQueryBindCapture(this, queryPlan, defaultThreshold, tenantProvider, slowCapture);
   }
 
   public void notifyBindCapture(CQueryBindCapture planBind, long startNanos) {
@@ -52,6 +77,17 @@ public final class CQueryPlanManager implements QueryPlanManager {
     timeBindCapture.addSinceNanos(startNanos);
   }
 
+  /**
+   * The query plan was evicted from the plan cache so remove its bind capture and slow captures.
+   */
+  void release(CQueryBindCapture planBind, SlowPlanCapture slowCapture) {
+    plans.remove(planBind);
+    if (slowCapture != null) {
+      slowCapture.release();
+      slowPlans.remove(slowCapture);
+    }
+  }
+
   @Override
   public List<MetaQueryPlan> collect(QueryPlanRequest request) {
     if (plans.isEmpty()) {
@@ -68,6 +104,67 @@ public final class CQueryPlanManager implements QueryPlanManager {
     return req.plans();
   }
 
+  @Override
+  public List<MetaQueryPlan> slowCaptures() {
+    if (slowPlans.isEmpty()) {
+      return emptyList();
+    }
+    final List<MetaQueryPlan> list = new ArrayList<>();
+    for (SlowPlanCapture slowCapture : slowPlans.keySet()) {
+      list.addAll(slowCapture.captures());
+    }
+    list.sort(Comparator.comparing(MetaQueryPlan::whenCaptured).reversed());
+    return list;
+  }
+
+  /**
+   * Collect the query plan of a slow execution asynchronously using the background executor.
+   */
+  void slowCapture(SlowPlanCapture slowCapture, SpiQueryPlan queryPlan, BindCapture bind, long queryTimeMicros, Object tenantId) {
+    final Instant whenCaptured = Instant.now();
+    try {
+      backgroundExecutor.execute(() -> collectSlowPlan(slowCapture, queryPlan, bind, queryTimeMicros, tenantId, whenCaptured));
+    } catch (RuntimeException e) {
+      // executor rejected (shutting down)
+      slowCapture.complete();
+    }
+  }
+
+  private void collectSlowPlan(SlowPlanCapture slowCapture, SpiQueryPlan queryPlan, BindCapture bind, long queryTimeMicros, Object tenantId, Instant whenCaptured) {
+    final long startNanos = System.nanoTime();
+    try {
+      SpiDbQueryPlan dbQueryPlan = collectPlan(transactionManager, tenantId, queryPlan, bind);
+      if (dbQueryPlan != null) {
+        final long captureMicros = TimeUnit.MICROSECONDS.convert(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        slowCapture.add(dbQueryPlan.with(queryTimeMicros, slowCapture.nextCount(), captureMicros, whenCaptured, tenantId));
+        slowPlans.put(slowCapture, dummy);
+        if (slowCapture.isReleased()) {
+          // the plan was evicted while collecting
+          slowPlans.remove(slowCapture);
+        }
+      }
+    } catch (SQLException e) {
+      CoreLog.log.log(ERROR, "Error during slow query plan collection", e);
+    } finally {
+      slowCapture.complete();
+    }
+  }
+
+  /**
+   * Collect the query plan using a query plan connection for the given tenant.
+   */
+  SpiDbQueryPlan collectPlan(SpiTransactionManager transactionManager, Object tenantId, SpiQueryPlan queryPlan, BindCapture bind) throws SQLException {
+    try (Connection connection = transactionManager.queryPlanConnection(tenantId)) {
+      try {
+        return collectPlan(connection, queryPlan, bind);
+      } finally {
+        if (!connection.getAutoCommit()) {
+          connection.rollback();
+        }
+      }
+    }
+  }
+
   public SpiDbQueryPlan collectPlan(Connection connection, SpiQueryPlan queryPlan, BindCapture last) {
     long startNanos = System.nanoTime();
     try {
@@ -60,10 +60,14 @@ public final class CQueryPlanStats {
    * Return a Snapshot of the query execution statistics potentially resetting the internal counters.
    */
   Snapshot visit(MetricVisitor visitor) {
-    TimedMetricStats collect = timedMetric.collect(visitor.reset());
+    MetricVisitor.Mode mode = visitor.mode();
+    TimedMetricStats collect = timedMetric.collect(mode);
     String name = reportName != null ? reportName : reportName(visitor);
     Snapshot snapshot = new Snapshot(name, collected, queryPlan, collect);
-    collected = true;
+    if (mode != MetricVisitor.Mode.CUMULATIVE) {
+      // a cumulative collection (e.g. OpenTelemetry) does not affect the other reporters
+      collected = true;
+    }
     return snapshot;
   }
 
@@ -135,6 +139,16 @@ public final class CQueryPlanStats {
       return metrics.mean();
     }
 
+    @Override
+    public boolean hasPercentiles() {
+      return metrics.hasPercentiles();
+    }
+
+    @Override
+    public long percentile(double percentile) {
+      return metrics.percentile(percentile);
+    }
+
     @Override
     public String hash() {
       return queryPlan.hash();
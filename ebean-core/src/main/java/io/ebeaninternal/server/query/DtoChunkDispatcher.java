@@ -0,0 +1,86 @@
+package io.ebeaninternal.server.query;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Dispatch chunks of beans to a consumer using an executor with a bound on the chunks in flight.
+ * <p>
+ * Submitting a chunk blocks while the maximum number of chunks are being processed which
+ * provides backpressure to the thread reading the rows.
+ */
+final class DtoChunkDispatcher<T> {
+
+  private final int parallelism;
+  private final Executor executor;
+  private final Consumer<List<T>> consumer;
+  private final Semaphore permits;
+  private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+  DtoChunkDispatcher(int parallelism, Executor executor, Consumer<List<T>> consumer) {
+    this.parallelism = parallelism;
+    this.executor = executor;
+    this.consumer = consumer;
+    this.permits = new Semaphore(this.parallelism);
+  }
+
+  /**
+   * Return true if processing a chunk has failed (and no more chunks should be submitted).
+   */
+  boolean failed() {
+    return error.get() != null;
+  }
+
+  /**
+   * Submit the chunk for processing blocking while the maximum chunks are in flight.
+   */
+  void submit(List<T> chunk) {
+    permits.acquireUninterruptibly();
+    try {
+      executor.execute(() -> process(chunk));
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private void process(List<T> chunk) {
+    try {
+      if (!failed()) {
+        consumer.accept(chunk);
+      }
+    } catch (Throwable e) {
+      error.compareAndSet(null, e);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Wait for the chunks in flight to complete.
+   */
+  void await() {
+    permits.acquireUninterruptibly(parallelism);
+    permits.release(parallelism);
+  }
+
+  /**
+   * Wait for the chunks in flight to complete and rethrow an error from processing a chunk.
+   */
+  void complete() {
+    await();
+    final Throwable e = error.get();
+    if (e instanceof RuntimeException) {
+      throw (RuntimeException) e;
+    }
+    if (e instanceof Error) {
+      throw (Error) e;
+    }
+    if (e != null) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
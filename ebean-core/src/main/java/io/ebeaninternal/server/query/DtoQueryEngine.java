@@ -1,14 +1,17 @@
 package io.ebeaninternal.server.query;
 
 import io.ebean.QueryIterator;
+import io.ebean.RowView;
 import io.ebeaninternal.api.SpiQuery;
 import io.ebeaninternal.server.core.DtoQueryRequest;
+import io.ebeaninternal.server.dto.DtoRowBuffer;
 import io.ebeaninternal.server.persist.Binder;
 import jakarta.persistence.PersistenceException;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -99,6 +102,54 @@ public final class DtoQueryEngine {
     }
   }
 
+  public <T> void findEach(DtoQueryRequest<T> request, int batchSize, int parallelism, Executor executor, Consumer<List<T>> consumer) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be greater than 0 but was " + batchSize);
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be greater than 0 but was " + parallelism);
+    }
+    final DtoChunkDispatcher<T> dispatcher = new DtoChunkDispatcher<>(parallelism, executor, consumer);
+    try {
+      prepareForIterate(request);
+      List<T> buffer = new ArrayList<>(batchSize);
+      while (!dispatcher.failed() && request.next()) {
+        buffer.add(request.readNextBean());
+        if (buffer.size() >= batchSize) {
+          dispatcher.submit(buffer);
+          buffer = new ArrayList<>(batchSize);
+        }
+      }
+      if (!buffer.isEmpty() && !dispatcher.failed()) {
+        // consume the remainder
+        dispatcher.submit(buffer);
+      }
+    } catch (SQLException e) {
+      throw new PersistenceException(errMsg(e.getMessage(), request.getSql()), e);
+    } finally {
+      // chunks do not use the resultSet but wait such that the query completes with the chunks
+      dispatcher.await();
+      request.close();
+    }
+    dispatcher.complete();
+  }
+
+  public <T> void findEachRow(DtoQueryRequest<T> request, Consumer<RowView> consumer) {
+    try {
+      request.setRowView();
+      prepareForIterate(request);
+      DtoRowBuffer row = request.rowBuffer();
+      while (request.next()) {
+        row.read();
+        consumer.accept(row);
+      }
+    } catch (SQLException e) {
+      throw new PersistenceException(errMsg(e.getMessage(), request.getSql()), e);
+    } finally {
+      request.close();
+    }
+  }
+
   public <T> void findEachWhile(DtoQueryRequest<T> request, Predicate<T> consumer) {
     try {
       prepareForIterate(request);
@@ -0,0 +1,173 @@
+package io.ebeaninternal.server.query;
+
+import io.ebean.meta.MetaQueryPlan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Continuous slow execution capture for a query plan.
+ * <p>
+ * Maintains a running estimate of the p99 execution time using a streaming quantile
+ * estimator (a step up when above the estimate, a step of 1/99 of that down otherwise).
+ * Executions above the estimate are candidates for capture with at most one capture in
+ * flight and a minimum interval between captures per query plan.
+ * <p>
+ * The captured database query plans are held in a bounded ring buffer.
+ */
+final class SlowPlanCapture {
+
+  private static final int IDLE = 0;
+  private static final int PENDING = 1;
+  private static final int RUNNING = 2;
+
+  /**
+   * Number of executions before the estimate is used to trigger capture.
+   */
+  static final int WARMUP = 100;
+
+  /**
+   * Minimum interval between captures for a query plan.
+   */
+  static final long INTERVAL_MILLIS = 10_000;
+
+  /**
+   * Pending capture that did not start (bind capture failed) is abandoned after this.
+   */
+  private static final long PENDING_TIMEOUT_MILLIS = 60_000;
+
+  private static final double QUANTILE = 0.99;
+  private static final double RATE = 0.02;
+
+  private final AtomicInteger state = new AtomicInteger(IDLE);
+  private final ReentrantLock lock = new ReentrantLock();
+  private final MetaQueryPlan[] ring;
+  private final long minMicros;
+  private volatile double threshold;
+  private volatile long samples;
+  private volatile long lastCapture;
+  private volatile boolean released;
+  private long captureCount;
+
+  SlowPlanCapture(int size, long minMicros) {
+    this.ring = new MetaQueryPlan[Math.max(1, size)];
+    this.minMicros = minMicros;
+  }
+
+  /**
+   * Register the execution time returning true if it should be captured.
+   * <p>
+   * Updates to the estimate are not atomic (lost updates under contention are fine).
+   */
+  boolean sample(long timeMicros) {
+    final double current = threshold;
+    final long count = samples + 1;
+    samples = count;
+    if (count == 1) {
+      threshold = timeMicros;
+      return false;
+    }
+    final double step = Math.max(1d, current * RATE);
+    if (timeMicros <= current) {
+      threshold = Math.max(0d, current - step * (1 - QUANTILE) / QUANTILE);
+      return false;
+    }
+    threshold = current + step;
+    return count > WARMUP && timeMicros >= minMicros && trigger();
+  }
+
+  private boolean trigger() {
+    final long now = System.currentTimeMillis();
+    if (now - lastCapture < INTERVAL_MILLIS) {
+      return false;
+    }
+    if (state.compareAndSet(IDLE, PENDING)) {
+      lastCapture = now;
+      return true;
+    }
+    if (state.get() == PENDING && now - lastCapture > PENDING_TIMEOUT_MILLIS) {
+      // bind capture failed leaving the capture pending
+      state.compareAndSet(PENDING, IDLE);
+    }
+    return false;
+  }
+
+  /**
+   * Return true if a capture was triggered and should start (using the current bind values).
+   */
+  boolean start() {
+    return state.compareAndSet(PENDING, RUNNING);
+  }
+
+  /**
+   * The asynchronous capture has completed.
+   */
+  void complete() {
+    state.set(IDLE);
+  }
+
+  /**
+   * The query plan was evicted from the plan cache.
+   */
+  void release() {
+    released = true;
+  }
+
+  /**
+   * Return true if the query plan was evicted from the plan cache.
+   */
+  boolean isReleased() {
+    return released;
+  }
+
+  /**
+   * Return the current p99 estimate in micros.
+   */
+  long threshold() {
+    return Math.round(threshold);
+  }
+
+  /**
+   * Add the captured query plan returning the capture count.
+   */
+  long add(MetaQueryPlan plan) {
+    lock.lock();
+    try {
+      ring[(int) (captureCount % ring.length)] = plan;
+      return ++captureCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Return the next capture count.
+   */
+  long nextCount() {
+    lock.lock();
+    try {
+      return captureCount + 1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Return the captured query plans, most recent first.
+   */
+  List<MetaQueryPlan> captures() {
+    lock.lock();
+    try {
+      final int size = (int) Math.min(captureCount, ring.length);
+      final List<MetaQueryPlan> list = new ArrayList<>(size);
+      for (int i = 1; i <= size; i++) {
+        list.add(ring[(int) ((captureCount - i) % ring.length)]);
+      }
+      return list;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -73,7 +73,7 @@ public final class SqlTreeBuilder {
     this.manyWhereJoins = null;
     this.alias = null;
     this.ctx = null;
-    this.common = new SqlTreeCommon(temporalMode, disableLazyLoad, unmodifiable, null);
+    this.common = new SqlTreeCommon(temporalMode, disableLazyLoad, unmodifiable, null, false);
     this.rootNode = buildRootNode(desc);
   }
 
@@ -102,7 +102,7 @@ public final class SqlTreeBuilder {
     this.alias = new SqlTreeAlias(request.baseTableAlias(), temporalMode);
     this.distinctOnPlatform = builder.isPlatformDistinctOn();
     this.platformDistinctNoLobs = builder.isPlatformDistinctNoLobs();
-    this.common = new SqlTreeCommon(temporalMode, disableLazyLoad, unmodifiable, includeJoin);
+    this.common = new SqlTreeCommon(temporalMode, disableLazyLoad, unmodifiable, includeJoin, builder.isCompiledRowReader());
     this.rootNode = buildRootNode(desc);
     String fromForUpdate = builder.fromForUpdate(query);
     CQueryHistorySupport historySupport = builder.historySupport(query);
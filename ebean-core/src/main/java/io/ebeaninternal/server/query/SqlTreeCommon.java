@@ -9,12 +9,14 @@ final class SqlTreeCommon {
   private final boolean disableLazyLoad;
   private final boolean unmodifiable;
   private final TableJoin includeJoin;
+  private final boolean compiledRowReader;
 
-  SqlTreeCommon(SpiQuery.TemporalMode temporalMode, boolean disableLazyLoad, boolean unmodifiable, TableJoin includeJoin) {
+  SqlTreeCommon(SpiQuery.TemporalMode temporalMode, boolean disableLazyLoad, boolean unmodifiable, TableJoin includeJoin, boolean compiledRowReader) {
     this.temporalMode = temporalMode;
     this.disableLazyLoad = disableLazyLoad;
     this.unmodifiable = unmodifiable;
     this.includeJoin = includeJoin;
+    this.compiledRowReader = compiledRowReader;
   }
 
   SpiQuery.TemporalMode temporalMode() {
@@ -33,4 +35,8 @@ final class SqlTreeCommon {
     return includeJoin;
   }
 
+  boolean compiledRowReader() {
+    return compiledRowReader;
+  }
+
 }
@@ -40,6 +40,7 @@ class SqlTreeLoadBean implements SqlTreeLoad {
   private final boolean temporalVersions;
   final IdBinder lazyLoadParentIdBinder;
   private final STreePropertyAssocMany loadingChildProperty;
+  private final SqlTreeRowReader rowReader;
 
   SqlTreeLoadBean(SqlTreeNodeBean node) {
     this.lazyLoadParent = node.lazyLoadParent;
@@ -60,6 +61,7 @@ class SqlTreeLoadBean implements SqlTreeLoad {
     this.pathMap = node.pathMap;
     this.children =  node.createLoadChildren();
     this.loadingChildProperty = loadingChildProperty();
+    this.rowReader = (node.compiledRowReader && inheritInfo == null) ? SqlTreeRowReader.of(properties) : null;
   }
 
   private STreePropertyAssocMany loadingChildProperty() {
@@ -222,12 +224,22 @@ class SqlTreeLoadBean implements SqlTreeLoad {
       }
     }
 
+    private boolean useRowReader() {
+      return rowReader != null && localBean != null && queryMode != Mode.LAZYLOAD_BEAN;
+    }
+
     private void initSqlLoadBean() {
       ctx.setCurrentPrefix(prefix, pathMap);
-      sqlBeanLoad = new SqlBeanLoad(ctx, localType, localBean, queryMode);
+      if (!useRowReader() || !rowReader.allScalar()) {
+        sqlBeanLoad = new SqlBeanLoad(ctx, localType, localBean, queryMode);
+      }
     }
 
     void loadProperties() {
+      if (useRowReader()) {
+        rowReader.load(ctx, localBean, sqlBeanLoad);
+        return;
+      }
       for (STreeProperty property : properties) {
         property.load(sqlBeanLoad);
       }
@@ -53,6 +53,7 @@ class SqlTreeNodeBean implements SqlTreeNode {
    */
   boolean intersectionAsOfTableAlias;
   final boolean aggregation;
+  final boolean compiledRowReader;
 
   /**
    * Construct for leaf node.
@@ -93,6 +94,7 @@ class SqlTreeNodeBean implements SqlTreeNode {
     this.readIdNormal = readId && !temporalVersions;
     this.disableLazyLoad = common.disableLazyLoad() || !readIdNormal || desc.isRawSqlBased();
     this.unmodifiable = common.unmodifiable();
+    this.compiledRowReader = common.compiledRowReader();
     this.partialObject = props.isPartialObject();
     this.properties = props.props();
     this.children = myChildren == null ? Collections.emptyList() : myChildren;
@@ -0,0 +1,86 @@
+package io.ebeaninternal.server.query;
+
+import io.ebean.bean.EntityBean;
+import io.ebean.core.type.DataReader;
+import io.ebeaninternal.server.deploy.BeanProperty;
+import io.ebeaninternal.server.deploy.DbReadContext;
+
+/**
+ * Row reader compiled once per query plan for the properties of a bean node.
+ * <p>
+ * Scalar properties are read by position straight into the bean without the per row
+ * SqlBeanLoad and the per property draft, lazy loading and inheritance checks. Other
+ * properties (associations, draftOnly, transient) are loaded via SqlBeanLoad as normal.
+ * <p>
+ * Only used for a new bean that is not lazy loading and not using inheritance.
+ */
+final class SqlTreeRowReader {
+
+  private final STreeProperty[] properties;
+
+  /**
+   * The scalar properties by position with null for properties loaded via SqlBeanLoad.
+   */
+  private final BeanProperty[] scalars;
+
+  private final boolean allScalar;
+
+  private SqlTreeRowReader(STreeProperty[] properties, BeanProperty[] scalars, boolean allScalar) {
+    this.properties = properties;
+    this.scalars = scalars;
+    this.allScalar = allScalar;
+  }
+
+  /**
+   * Return the reader for the given properties or null if there are no scalar properties.
+   */
+  static SqlTreeRowReader of(STreeProperty[] properties) {
+    if (properties == null || properties.length == 0) {
+      return null;
+    }
+    BeanProperty[] scalars = new BeanProperty[properties.length];
+    int scalarCount = 0;
+    for (int i = 0; i < properties.length; i++) {
+      if (isScalar(properties[i])) {
+        scalars[i] = (BeanProperty) properties[i];
+        scalarCount++;
+      }
+    }
+    return scalarCount == 0 ? null : new SqlTreeRowReader(properties, scalars, scalarCount == properties.length);
+  }
+
+  private static boolean isScalar(STreeProperty property) {
+    return property instanceof BeanProperty
+      && !(property instanceof STreePropertyAssoc)
+      && ((BeanProperty) property).isLoadProperty(false);
+  }
+
+  /**
+   * Return true if all the properties are read directly such that no SqlBeanLoad is required.
+   */
+  boolean allScalar() {
+    return allScalar;
+  }
+
+  /**
+   * Load the properties into the bean.
+   *
+   * @param sqlBeanLoad Used for the non-scalar properties (null when allScalar)
+   */
+  void load(DbReadContext ctx, EntityBean bean, SqlBeanLoad sqlBeanLoad) {
+    final DataReader reader = ctx.dataReader();
+    for (int i = 0; i < scalars.length; i++) {
+      final BeanProperty scalar = scalars[i];
+      if (scalar == null) {
+        properties[i].load(sqlBeanLoad);
+      } else {
+        try {
+          scalar.readSet(reader, bean);
+        } catch (Exception e) {
+          bean._ebean_getIntercept().setLoadError(scalar.propertyIndex(), e);
+          ctx.handleLoadError(scalar.fullName(), e);
+        }
+      }
+    }
+  }
+}
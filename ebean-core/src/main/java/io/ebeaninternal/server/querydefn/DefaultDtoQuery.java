@@ -5,6 +5,7 @@ import io.ebean.DtoQuery;
 import io.ebean.PagedList;
 import io.ebean.ProfileLocation;
 import io.ebean.QueryIterator;
+import io.ebean.RowView;
 import io.ebean.Transaction;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.dto.DtoBeanDescriptor;
@@ -18,6 +19,8 @@ import java.sql.Connection;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -39,7 +42,7 @@ public final class DefaultDtoQuery<T> extends AbstractQuery implements SpiDtoQue
   private boolean relaxedMode;
   private String label;
   private ProfileLocation profileLocation;
-  private final BindParams bindParams = new BindParams();
+  private final BindParams bindParams;
   private SpiTransaction transaction;
 
   /**
@@ -49,6 +52,7 @@ public final class DefaultDtoQuery<T> extends AbstractQuery implements SpiDtoQue
     this.server = server;
     this.descriptor = descriptor;
     this.ormQuery = ormQuery;
+    this.bindParams = new BindParams();
     this.useMaster = ormQuery.isUseMaster();
     this.label = ormQuery.label();
     this.profileLocation = ormQuery.profileLocation();
@@ -63,9 +67,30 @@ public final class DefaultDtoQuery<T> extends AbstractQuery implements SpiDtoQue
     this.server = server;
     this.descriptor = descriptor;
     this.ormQuery = null;
+    this.bindParams = new BindParams();
     this.sql = sql;
   }
 
+  /**
+   * Create a copy such that asynchronous execution is independent of further use of the source query.
+   */
+  private DefaultDtoQuery(DefaultDtoQuery<T> source) {
+    this.server = source.server;
+    this.descriptor = source.descriptor;
+    this.ormQuery = source.ormQuery == null ? null : source.ormQuery.copy();
+    this.bindParams = source.bindParams.copy();
+    this.sql = source.sql;
+    this.firstRow = source.firstRow;
+    this.maxRows = source.maxRows;
+    this.timeout = source.timeout;
+    this.bufferFetchSizeHint = source.bufferFetchSizeHint;
+    this.relaxedMode = source.relaxedMode;
+    this.label = source.label;
+    this.profileLocation = source.profileLocation;
+    this.transaction = source.transaction;
+    this.useMaster = source.useMaster;
+  }
+
   @Override
   public String planKey() {
     return sql + ":first" + firstRow + ":max" + maxRows;
@@ -119,6 +144,16 @@ public final class DefaultDtoQuery<T> extends AbstractQuery implements SpiDtoQue
     server.findDtoEach(this, batch, consumer);
   }
 
+  @Override
+  public void findEach(int batchSize, int parallelism, Executor executor, Consumer<List<T>> consumer) {
+    server.findDtoEach(this, batchSize, parallelism, executor, consumer);
+  }
+
+  @Override
+  public void findEachRow(Consumer<RowView> consumer) {
+    server.findDtoEachRow(this, consumer);
+  }
+
   @Override
   public void findEachWhile(Predicate<T> consumer) {
     server.findDtoEachWhile(this, consumer);
@@ -163,6 +198,18 @@ public final class DefaultDtoQuery<T> extends AbstractQuery implements SpiDtoQue
     return server.findDtoOne(this);
   }
 
+  @Override
+  public CompletionStage<List<T>> findListAsync() {
+    DefaultDtoQuery<T> copy = new DefaultDtoQuery<>(this);
+    return server.executeAsync(copy, copy::findList);
+  }
+
+  @Override
+  public CompletionStage<T> findOneAsync() {
+    DefaultDtoQuery<T> copy = new DefaultDtoQuery<>(this);
+    return server.executeAsync(copy, copy::findOne);
+  }
+
   @Override
   public Optional<T> findOneOrEmpty() {
     return Optional.ofNullable(findOne());
@@ -10,11 +10,16 @@ import io.ebean.bean.PersistenceContext;
 import io.ebean.event.BeanQueryRequest;
 import io.ebean.event.readaudit.ReadEvent;
 import io.ebean.plugin.BeanType;
+import io.ebean.text.json.JsonWriteOptions;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.server.autotune.ProfilingListener;
 import io.ebeaninternal.server.core.SpiOrmQueryRequest;
 import io.ebeaninternal.server.deploy.*;
+import io.ebeaninternal.server.el.ElComparator;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElPredicate;
 import io.ebeaninternal.server.el.ElPropertyDeploy;
+import io.ebeaninternal.server.el.ElQuery;
 import io.ebeaninternal.server.expression.DefaultExpressionList;
 import io.ebeaninternal.server.expression.IdInExpression;
 import io.ebeaninternal.server.expression.InExpression;
@@ -25,9 +30,11 @@ import io.ebeaninternal.server.transaction.ExternalJdbcTransaction;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceException;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -265,6 +272,124 @@ public class DefaultOrmQuery<T> extends AbstractQuery implements SpiQuery<T> {
     return null;
   }
 
+  @Override
+  public final QueryPlanShape planShape() {
+    if (!isPlanShapeCandidate()) {
+      return null;
+    }
+    QueryPlanShape shape = new QueryPlanShape(type, planLabel());
+    if (!detail.planShape(shape)) {
+      return null;
+    }
+    if (whereExpressions != null) {
+      StringBuilder eql = new StringBuilder(50);
+      for (SpiExpression expr : whereExpressions.internalList()) {
+        eql.setLength(0);
+        if (!expr.writeEql(eql)) {
+          return null;
+        }
+        shape.where(eql.toString());
+      }
+    }
+    if (orderBy != null) {
+      shape.orderBy(orderBy.toStringFormat());
+    }
+    shape.limit(firstRow, maxRows);
+    return shape;
+  }
+
+  @Override
+  public final Set<String> predicateProperties() {
+    if (nativeSql != null || rawSql != null || havingExpressions != null || beanDescriptor.queryAdapter() != null) {
+      return null;
+    }
+    SpiExpressionValidation validation = new SpiExpressionValidation(beanDescriptor);
+    if (whereExpressions != null) {
+      StringBuilder eql = new StringBuilder(50);
+      for (SpiExpression expr : whereExpressions.internalList()) {
+        // only simple property expressions (with an EQL form) report all the properties they use
+        eql.setLength(0);
+        if (!expr.writeEql(eql)) {
+          return null;
+        }
+      }
+      whereExpressions.validate(validation);
+    }
+    if (orderBy != null) {
+      for (OrderBy.Property property : orderBy.getProperties()) {
+        validation.validate(property.getProperty());
+      }
+    }
+    Set<String> properties = new HashSet<>();
+    for (String path : validation.allProperties()) {
+      int pos = path.indexOf('.');
+      properties.add(pos == -1 ? path : path.substring(0, pos));
+    }
+    return properties;
+  }
+
+  @Override
+  public final boolean isJoinToBaseTable() {
+    String baseTable = beanDescriptor.baseTable();
+    for (String path : detail.getFetchPaths()) {
+      if (isJoinToTable(path, baseTable)) {
+        return true;
+      }
+    }
+    SpiExpressionValidation validation = new SpiExpressionValidation(beanDescriptor);
+    if (whereExpressions != null) {
+      whereExpressions.validate(validation);
+    }
+    if (havingExpressions != null) {
+      havingExpressions.validate(validation);
+    }
+    if (orderBy != null) {
+      for (OrderBy.Property property : orderBy.getProperties()) {
+        validation.validate(property.getProperty());
+      }
+    }
+    for (String path : validation.allProperties()) {
+      if (isJoinToTable(path, baseTable)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return true if an association on the path targets the given table.
+   */
+  private boolean isJoinToTable(String path, String table) {
+    BeanDescriptor<?> desc = beanDescriptor;
+    for (String name : path.split("\\.")) {
+      BeanProperty property = desc.findProperty(name);
+      if (!(property instanceof BeanPropertyAssoc<?>)) {
+        return false;
+      }
+      desc = ((BeanPropertyAssoc<?>) property).targetDescriptor();
+      if (table.equals(desc.baseTable())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return true if the query only uses features that can be replayed via select, fetch,
+   * where, order by and limit (and the descriptor does not add to the query).
+   */
+  private boolean isPlanShapeCandidate() {
+    if (type != Type.BEAN && type != Type.LIST && type != Type.SET && type != Type.ITERATE) {
+      return false;
+    }
+    return nativeSql == null && rawSql == null && !useDocStore && temporalMode == TemporalMode.CURRENT
+      && forUpdate == null && id == null && !manualId && hint == null && !distinct && !allowLoadErrors
+      && !unmodifiable && !disableLazyLoading && baseTable == null && rootTableAlias == null
+      && m2mIncludeJoin == null && mapKey == null && countDistinctOrder == null && bindParams == null
+      && havingExpressions == null && updateProperties == null
+      && !beanDescriptor.isMultiTenant() && beanDescriptor.queryAdapter() == null;
+  }
+
   @Override
   public final void setProfilePath(String parentName, String relativePath, @Nullable ProfileLocation profileLocation) {
     this.profileLocation = profileLocation;
@@ -734,6 +859,56 @@ public class DefaultOrmQuery<T> extends AbstractQuery implements SpiQuery<T> {
     return data;
   }
 
+  @Nullable
+  @Override
+  public final ElQuery<T> inMemoryQuery() {
+    if (!beanDescriptor.isInMemoryQuery() || !isInMemoryQueryMode() || !isInMemoryQueryShape()) {
+      return null;
+    }
+    ElMatchCompiler<T> compiler = beanDescriptor.inMemoryCompiler();
+    List<ElPredicate<T>> predicates = (whereExpressions == null) ? new ArrayList<>() : whereExpressions.inMemoryPredicates(compiler);
+    if (predicates == null) {
+      return null;
+    }
+    ElComparator<T> comparator = null;
+    if (orderBy != null && !orderBy.isEmpty()) {
+      comparator = compiler.orderBy(orderBy);
+      if (comparator == null) {
+        return null;
+      }
+    }
+    return new ElQuery<>(predicates, comparator, firstRow, maxRows);
+  }
+
+  /**
+   * Return true if the cache modes and temporal mode allow in memory evaluation.
+   */
+  private boolean isInMemoryQueryMode() {
+    return mode == Mode.NORMAL
+      && temporalMode == TemporalMode.CURRENT
+      && !isForceHitDatabase()
+      && useQueryCache != CacheMode.PUT
+      && (useBeanCache != CacheMode.OFF || useQueryCache != CacheMode.OFF);
+  }
+
+  /**
+   * Return true if the query has no features that require the database (fetch joins, raw sql etc).
+   */
+  private boolean isInMemoryQueryShape() {
+    return id == null
+      && rawSql == null
+      && nativeSql == null
+      && !useDocStore
+      && !distinct
+      && distinctOn == null
+      && countDistinctOrder == null
+      && !singleAttribute
+      && m2mIncludeJoin == null
+      && (textExpressions == null || textExpressions.isEmpty())
+      && (havingExpressions == null || havingExpressions.isEmpty())
+      && detail.isJoinsEmpty();
+  }
+
   @Override
   public final NaturalKeyBindParam naturalKeyBindParam() {
     NaturalKeyBindParam namedBind = null;
@@ -1584,6 +1759,16 @@ public class DefaultOrmQuery<T> extends AbstractQuery implements SpiQuery<T> {
     server.findEach(this, batch, consumer);
   }
 
+  @Override
+  public final void writeJson(io.avaje.json.JsonWriter writer, @Nullable JsonWriteOptions options) {
+    server.writeJson(this, writer, options);
+  }
+
+  @Override
+  public final void writeJson(OutputStream outputStream, @Nullable JsonWriteOptions options) {
+    server.writeJson(this, outputStream, options);
+  }
+
   @Override
   public final QueryIterator<T> findIterate() {
     return server.findIterate(this);
@@ -1696,6 +1881,21 @@ public class DefaultOrmQuery<T> extends AbstractQuery implements SpiQuery<T> {
     return server.findFutureMap(this);
   }
 
+  @Override
+  public final CompletionStage<List<T>> findListAsync() {
+    return server.findListAsync(this);
+  }
+
+  @Override
+  public final CompletionStage<T> findOneAsync() {
+    return server.findOneAsync(this);
+  }
+
+  @Override
+  public final CompletionStage<Integer> findCountAsync() {
+    return server.findCountAsync(this);
+  }
+
   @Override
   public final FutureRowCount<T> findFutureCount() {
     return server.findFutureCount(this);
@@ -13,6 +13,7 @@ import java.sql.Connection;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -31,7 +32,7 @@ public final class DefaultRelationalQuery extends AbstractQuery implements SpiSq
   private int maxRows;
   private int timeout;
   private int bufferFetchSizeHint;
-  private final BindParams bindParams = new BindParams();
+  private final BindParams bindParams;
   private SpiTransaction transaction;
 
   /**
@@ -40,6 +41,23 @@ public final class DefaultRelationalQuery extends AbstractQuery implements SpiSq
   public DefaultRelationalQuery(SpiEbeanServer server, String query) {
     this.server = server;
     this.query = query;
+    this.bindParams = new BindParams();
+  }
+
+  /**
+   * Create a copy such that asynchronous execution is independent of further use of the source query.
+   */
+  private DefaultRelationalQuery(DefaultRelationalQuery source) {
+    this.server = source.server;
+    this.query = source.query;
+    this.bindParams = source.bindParams.copy();
+    this.label = source.label;
+    this.firstRow = source.firstRow;
+    this.maxRows = source.maxRows;
+    this.timeout = source.timeout;
+    this.bufferFetchSizeHint = source.bufferFetchSizeHint;
+    this.transaction = source.transaction;
+    this.useMaster = source.useMaster;
   }
 
   @Override
@@ -99,6 +117,18 @@ public final class DefaultRelationalQuery extends AbstractQuery implements SpiSq
     return server.findOne(this);
   }
 
+  @Override
+  public CompletionStage<List<SqlRow>> findListAsync() {
+    DefaultRelationalQuery copy = new DefaultRelationalQuery(this);
+    return server.executeAsync(copy, copy::findList);
+  }
+
+  @Override
+  public CompletionStage<SqlRow> findOneAsync() {
+    DefaultRelationalQuery copy = new DefaultRelationalQuery(this);
+    return server.executeAsync(copy, copy::findOne);
+  }
+
   @Override
   public Optional<SqlRow> findOneOrEmpty() {
     return Optional.ofNullable(findOne());
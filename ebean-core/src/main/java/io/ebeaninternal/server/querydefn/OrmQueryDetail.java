@@ -3,6 +3,7 @@ package io.ebeaninternal.server.querydefn;
 import io.ebean.FetchConfig;
 import io.ebean.event.BeanQueryRequest;
 import io.ebean.util.SplitName;
+import io.ebeaninternal.api.QueryPlanShape;
 import io.ebeaninternal.api.SpiExpressionList;
 import io.ebeaninternal.api.SpiQueryManyJoin;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
@@ -103,6 +104,26 @@ public final class OrmQueryDetail implements Serializable {
     }
   }
 
+  /**
+   * Add the select and fetch paths to the shape returning false if they can not be
+   * replayed via select() and fetch() (secondary query joins, filterMany etc).
+   */
+  public boolean planShape(QueryPlanShape shape) {
+    if (!baseProps.isPlanShape()) {
+      return false;
+    }
+    shape.select(baseProps.planShapeProperties());
+    if (fetchPaths != null) {
+      for (OrmQueryProperties p : fetchPaths.values()) {
+        if (!p.isPlanShape()) {
+          return false;
+        }
+        shape.fetch(p.getPath(), p.planShapeProperties());
+      }
+    }
+    return true;
+  }
+
   /**
    * Return true if equal in terms of autoTune (select and fetch without property ordering).
    */
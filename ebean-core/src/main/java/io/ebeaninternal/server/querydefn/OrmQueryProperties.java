@@ -524,6 +524,20 @@ public final class OrmQueryProperties implements Serializable {
     return included.equals(p2.included);
   }
 
+  /**
+   * Return true if these properties can be replayed via select() or fetch() for the query plan snapshot.
+   */
+  boolean isPlanShape() {
+    return secondaryQueryJoins == null && filterMany == null && DEFAULT_FETCH.equals(fetchConfig);
+  }
+
+  /**
+   * Return the included properties for the query plan snapshot (null for all properties).
+   */
+  String planShapeProperties() {
+    return allProperties || included == null ? null : String.join(",", included);
+  }
+
   /**
    * Calculate the query plan hash.
    */
@@ -13,6 +13,7 @@ import java.io.DataInput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -53,6 +54,105 @@ public final class BeanPersistIds implements BinaryWritable {
     return bp;
   }
 
+  /**
+   * Compact form with no ids.
+   */
+  private static final int COMPACT_NONE = 0;
+  /**
+   * Compact form with Long ids sorted and delta encoded.
+   */
+  private static final int COMPACT_LONG = 1;
+  /**
+   * Compact form with Integer ids sorted and delta encoded.
+   */
+  private static final int COMPACT_INT = 2;
+  /**
+   * Compact form with other ids written via the IdBinder.
+   */
+  private static final int COMPACT_OTHER = 3;
+
+  /**
+   * Read the compact form written by {@link #writeBinaryCompact(BinaryWriteContext)}.
+   */
+  public static BeanPersistIds readCompactMessage(SpiEbeanServer server, BinaryReadContext input) throws IOException {
+    BeanDescriptor<?> desc = server.descriptorById(input.readUTF());
+    BeanPersistIds bp = new BeanPersistIds(desc);
+    bp.readCompact(input);
+    return bp;
+  }
+
+  private void readCompact(BinaryReadContext input) throws IOException {
+    int kind = input.in().readUnsignedByte();
+    if (kind == COMPACT_NONE) {
+      return;
+    }
+    int count = (int) input.readVarLong();
+    ids = new ArrayList<>(count);
+    if (kind == COMPACT_OTHER) {
+      IdBinder idBinder = beanDescriptor.idBinder();
+      for (int i = 0; i < count; i++) {
+        ids.add(idBinder.readData(input.in()));
+      }
+    } else {
+      long value = input.readZigZagLong();
+      for (int i = 0; i < count; i++) {
+        if (i > 0) {
+          value += input.readVarLong();
+        }
+        ids.add(kind == COMPACT_INT ? (Object) (int) value : (Object) value);
+      }
+    }
+  }
+
+  /**
+   * Write in compact form with Integer and Long ids sorted, de-duplicated and written
+   * as variable length deltas.
+   */
+  public void writeBinaryCompact(BinaryWriteContext out) throws IOException {
+    DataOutputStream os = out.start(TYPE_BEANIDS_COMPACT);
+    os.writeUTF(descriptorId);
+    if (ids == null || ids.isEmpty()) {
+      os.writeByte(COMPACT_NONE);
+      return;
+    }
+    int kind = compactKind();
+    os.writeByte(kind);
+    if (kind == COMPACT_OTHER) {
+      out.writeVarLong(ids.size());
+      IdBinder idBinder = beanDescriptor.idBinder();
+      for (Object idValue : ids) {
+        idBinder.writeData(os, idValue);
+      }
+      return;
+    }
+    long[] values = new long[ids.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((Number) ids.get(i)).longValue();
+    }
+    Arrays.sort(values);
+    int count = 1;
+    for (int i = 1; i < values.length; i++) {
+      if (values[i] != values[count - 1]) {
+        values[count++] = values[i];
+      }
+    }
+    out.writeVarLong(count);
+    out.writeZigZagLong(values[0]);
+    for (int i = 1; i < count; i++) {
+      out.writeVarLong(values[i] - values[i - 1]);
+    }
+  }
+
+  private int compactKind() {
+    boolean allLong = true;
+    boolean allInt = true;
+    for (Object id : ids) {
+      allLong &= id instanceof Long;
+      allInt &= id instanceof Integer;
+    }
+    return allLong ? COMPACT_LONG : allInt ? COMPACT_INT : COMPACT_OTHER;
+  }
+
   private void read(BinaryReadContext dataInput) throws IOException {
 
     dataInput.readInt(); // legacy read type
@@ -114,6 +214,26 @@ public final class BeanPersistIds implements BinaryWritable {
     }
   }
 
+  /**
+   * Merge the ids of the other (same bean type) into this one.
+   */
+  void merge(BeanPersistIds other) {
+    if (other.ids != null) {
+      if (ids == null) {
+        ids = new ArrayList<>(other.ids);
+      } else {
+        ids.addAll(other.ids);
+      }
+    }
+  }
+
+  /**
+   * Return the descriptor id of the bean type.
+   */
+  String descriptorId() {
+    return descriptorId;
+  }
+
   public BeanDescriptor<?> getBeanDescriptor() {
     return beanDescriptor;
   }
@@ -6,6 +6,9 @@ import jakarta.persistence.PersistenceException;
 
 /**
  * Manages the transaction scoping using a Ebean thread local.
+ * <p>
+ * With virtual threads the thread local value is held by the virtual thread (and not
+ * the carrier thread) such that each virtual thread has its own transaction scope.
  */
 public class DefaultTransactionScopeManager extends TransactionScopeManager {
 
@@ -74,7 +74,7 @@ final class ImplicitReadOnlyTransaction implements SpiTransaction, TxnProfileEve
     this.logSummary = logger.isLogSummary();
     this.active = true;
     this.connection = connection;
-    this.persistenceContext = new DefaultPersistenceContext();
+    this.persistenceContext = manager.createPersistenceContext();
     this.startNanos = System.nanoTime();
     try {
       this.useCommit = useCommit && !connection.getAutoCommit();
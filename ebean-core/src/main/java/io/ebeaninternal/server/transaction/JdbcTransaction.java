@@ -107,7 +107,7 @@ class JdbcTransaction implements SpiTransaction, TxnProfileEventCodes {
       this.explicit = explicit;
       this.manager = manager;
       this.connection = connection;
-      this.persistenceContext = new DefaultPersistenceContext();
+      this.persistenceContext = (manager == null) ? new DefaultPersistenceContext() : manager.createPersistenceContext();
       this.startNanos = System.nanoTime();
       if (manager == null) {
         this.logger = null;
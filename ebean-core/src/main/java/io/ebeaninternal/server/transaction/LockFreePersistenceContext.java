@@ -0,0 +1,569 @@
+package io.ebeaninternal.server.transaction;
+
+import io.ebean.bean.EntityBean;
+import io.ebeaninternal.api.SpiBeanType;
+import io.ebeaninternal.api.SpiBeanTypeManager;
+import io.ebeaninternal.api.SpiPersistenceContext;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * PersistenceContext implementation optimised for loading large query results.
+ * <p>
+ * The first thread to use the persistence context becomes the owner and while only
+ * the owner uses it no lock is taken. When any other thread uses the persistence context
+ * it switches (permanently) to taking a lock for every operation. The switch waits for
+ * any operation the owner started without the lock to complete such that the owner and
+ * other threads never mutate the underlying tables concurrently.
+ * <p>
+ * The context for each root type in use is held in a small array searched by type (rather
+ * than a HashMap lookup by class) and beans with Long or Integer ids are held in open
+ * addressing tables keyed by primitive long. Other id types are held in a HashMap as per
+ * DefaultPersistenceContext.
+ */
+public final class LockFreePersistenceContext implements SpiPersistenceContext {
+
+  private static final ClassContext[] EMPTY = new ClassContext[0];
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+  private final AtomicReference<Thread> owner = new AtomicReference<>();
+  private ClassContext[] contexts = EMPTY;
+  private ClassContext last;
+  private int iterateDepth;
+  /**
+   * True while the owner performs an operation without the lock.
+   */
+  private volatile boolean ownerActive;
+  private volatile boolean shared;
+
+  /**
+   * Create a new PersistenceContext.
+   */
+  public LockFreePersistenceContext() {
+  }
+
+  /**
+   * Start an operation returning true if the lock was taken.
+   * <p>
+   * The owner publishes ownerActive before checking shared and other threads publish
+   * shared before checking ownerActive (all volatile) such that either the owner sees
+   * the switch to shared and takes the lock, or the other thread sees the owner active
+   * and waits for it to finish.
+   */
+  private boolean lock() {
+    if (!shared && isOwner()) {
+      ownerActive = true;
+      if (!shared) {
+        return false;
+      }
+      // switched to shared mode by another thread
+      ownerActive = false;
+    }
+    if (!shared) {
+      shared = true;
+    }
+    lock.lock();
+    while (ownerActive) {
+      // wait for an operation the owner started prior to the switch to shared
+      Thread.onSpinWait();
+    }
+    return true;
+  }
+
+  private boolean isOwner() {
+    Thread current = Thread.currentThread();
+    Thread currentOwner = owner.get();
+    return currentOwner == current || (currentOwner == null && owner.compareAndSet(null, current));
+  }
+
+  private void unlock(boolean locked) {
+    if (locked) {
+      lock.unlock();
+    } else {
+      ownerActive = false;
+    }
+  }
+
+  @Override
+  public void beginIterate() {
+    boolean locked = lock();
+    try {
+      iterateDepth++;
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public void endIterate() {
+    boolean locked = lock();
+    try {
+      iterateDepth--;
+      expungeStaleEntries();
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public void put(Class<?> rootType, Object id, Object bean) {
+    boolean locked = lock();
+    try {
+      expungeStaleEntries();
+      classContext(rootType).put(id, bean, iterateDepth > 0);
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public Object putIfAbsent(Class<?> rootType, Object id, Object bean) {
+    boolean locked = lock();
+    try {
+      expungeStaleEntries();
+      ClassContext classContext = classContext(rootType);
+      Object existing = classContext.get(id);
+      if (existing != null) {
+        return existing;
+      }
+      classContext.put(id, bean, iterateDepth > 0);
+      return null;
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public Object get(Class<?> rootType, Object id) {
+    boolean locked = lock();
+    try {
+      expungeStaleEntries();
+      ClassContext classContext = existing(rootType);
+      return classContext == null ? null : classContext.get(id);
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public WithOption getWithOption(Class<?> rootType, Object id) {
+    boolean locked = lock();
+    try {
+      expungeStaleEntries();
+      ClassContext classContext = existing(rootType);
+      return classContext == null ? null : classContext.getWithOption(id);
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public int size(Class<?> rootType) {
+    boolean locked = lock();
+    try {
+      expungeStaleEntries();
+      ClassContext classContext = existing(rootType);
+      return classContext == null ? 0 : classContext.size();
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public void clear() {
+    boolean locked = lock();
+    try {
+      contexts = EMPTY;
+      last = null;
+      expungeStaleEntries();
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public void clear(Class<?> rootType) {
+    boolean locked = lock();
+    try {
+      ClassContext classContext = existing(rootType);
+      if (classContext != null) {
+        classContext.clear();
+      }
+      expungeStaleEntries();
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public void deleted(Class<?> rootType, Object id) {
+    boolean locked = lock();
+    try {
+      ClassContext classContext = existing(rootType);
+      if (classContext != null && id != null) {
+        classContext.deleted(id);
+      }
+      expungeStaleEntries();
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public void clear(Class<?> rootType, Object id) {
+    boolean locked = lock();
+    try {
+      ClassContext classContext = existing(rootType);
+      if (classContext != null && id != null) {
+        classContext.remove(id);
+      }
+      expungeStaleEntries();
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  @Override
+  public List<Object> dirtyBeans(SpiBeanTypeManager manager) {
+    boolean locked = lock();
+    try {
+      expungeStaleEntries();
+      List<Object> list = new ArrayList<>();
+      for (ClassContext classContext : contexts) {
+        classContext.dirtyBeans(manager, list);
+      }
+      return list;
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  private void expungeStaleEntries() {
+    Reference<?> ref;
+    while ((ref = queue.poll()) != null) {
+      ((BeanRef) ref).expunge();
+    }
+  }
+
+  @Override
+  public String toString() {
+    boolean locked = lock();
+    try {
+      expungeStaleEntries();
+      StringJoiner joiner = new StringJoiner(", ", "{", "}");
+      for (ClassContext classContext : contexts) {
+        joiner.add(classContext.rootType.getName() + "=" + classContext);
+      }
+      return joiner.toString();
+    } finally {
+      unlock(locked);
+    }
+  }
+
+  private ClassContext existing(Class<?> rootType) {
+    ClassContext classContext = last;
+    if (classContext != null && classContext.rootType == rootType) {
+      return classContext;
+    }
+    for (ClassContext context : contexts) {
+      if (context.rootType == rootType) {
+        last = context;
+        return context;
+      }
+    }
+    return null;
+  }
+
+  private ClassContext classContext(Class<?> rootType) {
+    ClassContext classContext = existing(rootType);
+    if (classContext == null) {
+      classContext = new ClassContext(rootType, queue);
+      contexts = Arrays.copyOf(contexts, contexts.length + 1);
+      contexts[contexts.length - 1] = classContext;
+      last = classContext;
+    }
+    return classContext;
+  }
+
+  private static final class ClassContext {
+
+    private final Class<?> rootType;
+    private final ReferenceQueue<Object> queue;
+    private final LongTable longIds = new LongTable();
+    private final LongTable intIds = new LongTable();
+    private Map<Object, Object> otherIds;
+    private Set<Object> deleteSet;
+    private int weakCount;
+
+    private ClassContext(Class<?> rootType, ReferenceQueue<Object> queue) {
+      this.rootType = rootType;
+      this.queue = queue;
+    }
+
+    @Override
+    public String toString() {
+      return "size:" + size() + " (" + weakCount + " weak)";
+    }
+
+    private Object get(Object id) {
+      Object ret;
+      if (id instanceof Long) {
+        ret = longIds.get((Long) id);
+      } else if (id instanceof Integer) {
+        ret = intIds.get((Integer) id);
+      } else {
+        ret = otherIds == null ? null : otherIds.get(id);
+      }
+      if (ret instanceof BeanRef) {
+        return ((BeanRef) ret).get();
+      }
+      return ret;
+    }
+
+    private WithOption getWithOption(Object id) {
+      if (deleteSet != null && deleteSet.contains(id)) {
+        return WithOption.DELETED;
+      }
+      Object bean = get(id);
+      return (bean == null) ? null : new WithOption(bean);
+    }
+
+    private void put(Object id, Object bean, boolean useReferences) {
+      Object value = bean;
+      if (useReferences) {
+        weakCount++;
+        value = new BeanRef(this, id, bean, queue);
+      }
+      Object existing;
+      if (id instanceof Long) {
+        existing = longIds.put((Long) id, value);
+      } else if (id instanceof Integer) {
+        existing = intIds.put((Integer) id, value);
+      } else {
+        if (otherIds == null) {
+          otherIds = new HashMap<>();
+        }
+        existing = otherIds.put(id, value);
+      }
+      if (existing instanceof BeanRef) {
+        // when a BeanRef is replaced, its expunge() must NOT remove an entry
+        ((BeanRef) existing).setReplaced();
+        weakCount--;
+      }
+    }
+
+    private int size() {
+      return longIds.size() + intIds.size() + (otherIds == null ? 0 : otherIds.size());
+    }
+
+    private void clear() {
+      longIds.clear();
+      intIds.clear();
+      otherIds = null;
+      weakCount = 0;
+    }
+
+    private void remove(Object id) {
+      Object ret;
+      if (id instanceof Long) {
+        ret = longIds.remove((Long) id);
+      } else if (id instanceof Integer) {
+        ret = intIds.remove((Integer) id);
+      } else {
+        ret = otherIds == null ? null : otherIds.remove(id);
+      }
+      if (ret instanceof BeanRef) {
+        weakCount--;
+      }
+    }
+
+    private void deleted(Object id) {
+      if (deleteSet == null) {
+        deleteSet = new HashSet<>();
+      }
+      deleteSet.add(id);
+      remove(id);
+    }
+
+    /**
+     * Add the dirty beans to the list.
+     */
+    void dirtyBeans(SpiBeanTypeManager manager, List<Object> list) {
+      final SpiBeanType beanType = manager.beanType(rootType);
+      Consumer<Object> addDirty = value -> {
+        if (value instanceof BeanRef) {
+          value = ((BeanRef) value).get();
+          if (value == null) return;
+        }
+        EntityBean bean = (EntityBean) value;
+        if (bean._ebean_getIntercept().isDirty() || beanType.isToManyDirty(bean)) {
+          list.add(value);
+        }
+      };
+      longIds.forEachValue(addDirty);
+      intIds.forEachValue(addDirty);
+      if (otherIds != null) {
+        otherIds.values().forEach(addDirty);
+      }
+    }
+  }
+
+  /**
+   * Open addressing (linear probing) table keyed by primitive long.
+   */
+  static final class LongTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    LongTable() {
+      init(INITIAL_CAPACITY);
+    }
+
+    private void init(int capacity) {
+      keys = new long[capacity];
+      values = new Object[capacity];
+      mask = capacity - 1;
+      resizeAt = capacity - (capacity >>> 2);
+    }
+
+    private static int hash(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+
+    int size() {
+      return size;
+    }
+
+    Object get(long key) {
+      int index = hash(key) & mask;
+      Object value;
+      while ((value = values[index]) != null) {
+        if (keys[index] == key) {
+          return value;
+        }
+        index = (index + 1) & mask;
+      }
+      return null;
+    }
+
+    /**
+     * Put the value returning the prior value or null.
+     */
+    Object put(long key, Object value) {
+      int index = hash(key) & mask;
+      Object existing;
+      while ((existing = values[index]) != null) {
+        if (keys[index] == key) {
+          values[index] = value;
+          return existing;
+        }
+        index = (index + 1) & mask;
+      }
+      keys[index] = key;
+      values[index] = value;
+      if (++size >= resizeAt) {
+        resize();
+      }
+      return null;
+    }
+
+    /**
+     * Remove the entry returning the prior value or null.
+     */
+    Object remove(long key) {
+      int index = hash(key) & mask;
+      Object existing;
+      while ((existing = values[index]) != null) {
+        if (keys[index] == key) {
+          shiftBack(index);
+          size--;
+          return existing;
+        }
+        index = (index + 1) & mask;
+      }
+      return null;
+    }
+
+    /**
+     * Backward shift deletion such that probe sequences are not broken.
+     */
+    private void shiftBack(int gap) {
+      int index = (gap + 1) & mask;
+      while (values[index] != null) {
+        int home = hash(keys[index]) & mask;
+        // move the entry into the gap if its home is not within (gap, index]
+        if (((index - home) & mask) >= ((index - gap) & mask)) {
+          keys[gap] = keys[index];
+          values[gap] = values[index];
+          gap = index;
+        }
+        index = (index + 1) & mask;
+      }
+      values[gap] = null;
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+      init(oldKeys.length << 1);
+      size = 0;
+      for (int i = 0; i < oldValues.length; i++) {
+        if (oldValues[i] != null) {
+          put(oldKeys[i], oldValues[i]);
+        }
+      }
+    }
+
+    void clear() {
+      if (size > 0) {
+        init(INITIAL_CAPACITY);
+        size = 0;
+      }
+    }
+
+    void forEachValue(Consumer<Object> consumer) {
+      for (Object value : values) {
+        if (value != null) {
+          consumer.accept(value);
+        }
+      }
+    }
+  }
+
+  private static final class BeanRef extends WeakReference<Object> {
+
+    private final ClassContext classContext;
+    private final Object key;
+    private boolean replaced;
+
+    private BeanRef(ClassContext classContext, Object key, Object referent, ReferenceQueue<? super Object> q) {
+      super(referent, q);
+      this.classContext = classContext;
+      this.key = key;
+    }
+
+    private void setReplaced() {
+      replaced = true;
+    }
+
+    private void expunge() {
+      if (!replaced) {
+        classContext.remove(key);
+      }
+    }
+  }
+}
@@ -0,0 +1,312 @@
+package io.ebeaninternal.server.transaction;
+
+import io.ebean.config.PostCommitOverflow;
+import io.ebean.meta.MetricVisitor;
+import io.ebean.metric.CountMetric;
+import io.ebean.metric.CountMetricStats;
+import io.ebean.metric.MetricFactory;
+import io.ebean.metric.TimedMetric;
+import io.ebeaninternal.api.CoreLog;
+import io.ebeaninternal.api.TransactionEventTable.TableIUD;
+import io.ebeaninternal.server.cache.CacheChangeSet;
+import io.ebeaninternal.server.cluster.ClusterManager;
+import io.ebeaninternal.server.deploy.BeanDescriptorManager;
+import io.ebeaninternal.server.executor.DaemonThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Bounded queue of committed transactions with a dedicated consumer thread performing
+ * the post commit processing.
+ * <p>
+ * The consumer takes the queued transactions in batches. The L2 cache changes of a batch
+ * are merged (per bean type) and applied once and the cluster events of the batch are merged
+ * and broadcast as a single event. BeanPersistListener notification and document store
+ * updates occur per transaction in commit order.
+ * <p>
+ * When the queue is full the committing thread either blocks, drops the transaction replacing
+ * it by table level invalidation of the tables it modified (with {@link PostCommitOverflow#INVALIDATE},
+ * skipping listener notification) or (with {@link PostCommitOverflow#CALLER_RUNS}) performs the
+ * post commit processing itself. When the transaction is dropped or processed by the committing
+ * thread (including when interrupted while blocked) the tables it modified are invalidated after
+ * each batch until the queue is empty such that transactions committed prior to it can not leave
+ * stale entries in the L2 cache.
+ * <p>
+ * The cluster events of a batch use the compact format when the cluster broadcast coalesces
+ * events (the nodes of the cluster then expect it).
+ */
+final class PostCommitPipeline {
+
+  private static final System.Logger log = CoreLog.internal;
+
+  /**
+   * Maximum number of transactions processed as a batch.
+   */
+  static final int MAX_BATCH = 100;
+
+  private final TransactionManager manager;
+  private final ClusterManager clusterManager;
+  private final BeanDescriptorManager descriptorManager;
+  private final String serverName;
+  private final PostCommitOverflow overflow;
+  private final int shutdownWaitSeconds;
+  private final BlockingQueue<Entry> queue;
+  private final Set<String> overflowTables = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger maxDepth = new AtomicInteger();
+  private final TimedMetric lag;
+  private final TimedMetric batchMetric;
+  private final CountMetric overflowCount;
+  private final Thread consumer;
+  private volatile boolean running = true;
+
+  PostCommitPipeline(TransactionManager manager, ClusterManager clusterManager, int queueSize, PostCommitOverflow overflow, int shutdownWaitSeconds) {
+    this.manager = manager;
+    this.clusterManager = clusterManager;
+    this.descriptorManager = manager.descriptorManager();
+    this.serverName = manager.name();
+    this.overflow = overflow == null ? PostCommitOverflow.BLOCK : overflow;
+    this.shutdownWaitSeconds = shutdownWaitSeconds;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    MetricFactory metricFactory = MetricFactory.get();
+    this.lag = metricFactory.createTimedMetric("ebean.postcommit.lag");
+    this.batchMetric = metricFactory.createTimedMetric("ebean.postcommit.batch");
+    this.overflowCount = metricFactory.createCountMetric("ebean.postcommit.overflow");
+    this.consumer = new DaemonThreadFactory("ebean-" + serverName + "-postcommit-").newThread(this::run);
+    this.consumer.start();
+  }
+
+  /**
+   * Add the committed transaction to the queue for processing.
+   */
+  void submit(PostCommitProcessing postCommit) {
+    final Entry entry = new Entry(postCommit);
+    if (!running) {
+      // shutting down so process using the committing thread
+      process(Collections.singletonList(entry), Collections.emptySet());
+      return;
+    }
+    if (queue.offer(entry)) {
+      return;
+    }
+    overflowCount.increment();
+    switch (overflow) {
+      case INVALIDATE:
+        // dropped, invalidate after the previously queued transactions are processed
+        overflowTables.addAll(postCommit.touchedTables());
+        return;
+      case CALLER_RUNS:
+        callerRuns(postCommit);
+        return;
+      default:
+        break;
+    }
+    try {
+      queue.put(entry);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      callerRuns(postCommit);
+    }
+  }
+
+  /**
+   * Perform the post commit processing using the committing thread.
+   */
+  private void callerRuns(PostCommitProcessing postCommit) {
+    // invalidate again after the previously queued transactions are processed
+    overflowTables.addAll(postCommit.touchedTables());
+    postCommit.backgroundNotify().run();
+  }
+
+  private void run() {
+    final List<Entry> batch = new ArrayList<>(MAX_BATCH);
+    final Set<String> invalidate = new HashSet<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, MAX_BATCH - 1);
+          maxDepth.accumulateAndGet(batch.size() + queue.size(), Math::max);
+        }
+        drainOverflowTables(invalidate);
+        if (!batch.isEmpty() || !invalidate.isEmpty()) {
+          process(batch, invalidate);
+        }
+      } catch (InterruptedException e) {
+        log.log(DEBUG, "post commit consumer interrupted");
+      } catch (Throwable e) {
+        log.log(ERROR, "Error performing post commit processing", e);
+      } finally {
+        batch.clear();
+      }
+      if (queue.isEmpty()) {
+        // all transactions committed prior to the overflow are processed
+        invalidate.clear();
+      }
+    }
+  }
+
+  private void drainOverflowTables(Set<String> invalidate) {
+    if (!overflowTables.isEmpty()) {
+      Iterator<String> it = overflowTables.iterator();
+      while (it.hasNext()) {
+        invalidate.add(it.next());
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Process the batch of transactions and then the table invalidation for transactions
+   * processed by the committing thread.
+   */
+  private void process(List<Entry> batch, Set<String> invalidate) {
+    final long startNanos = System.nanoTime();
+    final RemoteTransactionEvent remote = remoteEvent();
+    final CacheChangeSet changes = new CacheChangeSet();
+    for (Entry entry : batch) {
+      changes.merge(entry.postCommit.backgroundCacheChanges());
+      if (remote != null) {
+        RemoteTransactionEvent event = entry.postCommit.remoteTransactionEvent();
+        if (event != null) {
+          remote.merge(event);
+        }
+      }
+    }
+    applyCacheChanges(changes, remote);
+    if (!invalidate.isEmpty()) {
+      applyCacheChanges(invalidation(invalidate, remote), remote);
+    }
+    for (Entry entry : batch) {
+      try {
+        entry.postCommit.notifyListeners();
+      } catch (RuntimeException e) {
+        log.log(ERROR, "Error notifying persist listeners", e);
+      }
+      lag.addSinceNanos(entry.queuedNanos);
+    }
+    if (remote != null && !remote.isEmpty()) {
+      clusterManager.broadcast(remote);
+    }
+    if (!batch.isEmpty()) {
+      batchMetric.addBatchSince(startNanos, batch.size());
+    }
+  }
+
+  /**
+   * Return the event the cluster events of the batch are merged into (null when not clustering).
+   */
+  private RemoteTransactionEvent remoteEvent() {
+    if (!clusterManager.isClustering()) {
+      return null;
+    }
+    return clusterManager.isCoalescing() ? RemoteTransactionEvent.coalesced(serverName) : new RemoteTransactionEvent(serverName);
+  }
+
+  /**
+   * Return the table level invalidation for the tables also adding it to the cluster event.
+   */
+  private CacheChangeSet invalidation(Set<String> tables, RemoteTransactionEvent remote) {
+    final CacheChangeSet invalidation = new CacheChangeSet();
+    invalidation.addInvalidate(tables);
+    final RemoteTransactionEvent tableEvent = remote == null ? null : new RemoteTransactionEvent(serverName);
+    for (String table : tables) {
+      TableIUD tableIUD = new TableIUD(table, true, true, true);
+      descriptorManager.cacheNotify(tableIUD, invalidation);
+      if (tableEvent != null) {
+        tableEvent.addTableIUD(tableIUD);
+      }
+    }
+    if (tableEvent != null) {
+      remote.merge(tableEvent);
+    }
+    return invalidation;
+  }
+
+  private void applyCacheChanges(CacheChangeSet changes, RemoteTransactionEvent remote) {
+    Set<String> touched = changes.touchedTables();
+    if (!touched.isEmpty()) {
+      manager.processTouchedTables(touched, changes.rowMods());
+      if (remote != null) {
+        RemoteTransactionEvent tableMod = new RemoteTransactionEvent(serverName);
+        tableMod.addRemoteTableMod(new RemoteTableMod(new HashSet<>(touched)));
+        remote.merge(tableMod);
+      }
+    }
+    changes.apply();
+  }
+
+  /**
+   * Stop accepting transactions and process the queued transactions.
+   */
+  void shutdown() {
+    running = false;
+    try {
+      consumer.join(TimeUnit.SECONDS.toMillis(shutdownWaitSeconds));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (consumer.isAlive()) {
+      log.log(WARNING, "Post commit processing did not complete within {0}s with {1} queued transactions", shutdownWaitSeconds, queue.size());
+    }
+  }
+
+  /**
+   * Visit the metrics including the maximum queue depth since the last collection.
+   */
+  void visitMetrics(MetricVisitor visitor) {
+    lag.visit(visitor);
+    batchMetric.visit(visitor);
+    overflowCount.visit(visitor);
+    int depth = visitor.reset() ? maxDepth.getAndSet(queue.size()) : maxDepth.get();
+    if (depth > 0) {
+      visitor.visitCount(new DepthStats(visitor.namingConvention().apply("ebean.postcommit.queue.depth"), depth));
+    }
+  }
+
+  private static final class Entry {
+
+    final PostCommitProcessing postCommit;
+    final long queuedNanos;
+
+    Entry(PostCommitProcessing postCommit) {
+      this.postCommit = postCommit;
+      this.queuedNanos = System.nanoTime();
+    }
+  }
+
+  private static final class DepthStats implements CountMetricStats {
+
+    private final String name;
+    private final long count;
+
+    private DepthStats(String name, long count) {
+      this.name = name;
+      this.count = count;
+    }
+
+    @Override
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public long count() {
+      return count;
+    }
+  }
+}
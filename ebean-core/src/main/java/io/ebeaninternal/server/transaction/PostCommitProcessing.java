@@ -11,6 +11,7 @@ import io.ebeaninternal.server.cluster.ClusterManager;
 import io.ebeaninternal.server.core.PersistRequestBean;
 import io.ebeanservice.docstore.api.DocStoreUpdates;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -35,6 +36,8 @@ final class PostCommitProcessing {
   private final DeleteByIdMap deleteByIdMap;
   private final DocStoreMode txnDocStoreMode;
   private final int txnDocStoreBatchSize;
+  private CacheChangeSet cacheChanges;
+  private boolean cacheChangesBuilt;
 
   /**
    * Create for an external modification.
@@ -126,15 +129,56 @@ final class PostCommitProcessing {
     };
   }
 
+  /**
+   * Return the L2 cache changes to apply in the background (null when applied in the foreground).
+   */
+  CacheChangeSet backgroundCacheChanges() {
+    return manager.notifyL2CacheInForeground ? null : cacheChanges();
+  }
+
+  /**
+   * Return the L2 cache changes building them once.
+   */
+  private CacheChangeSet cacheChanges() {
+    if (!cacheChangesBuilt) {
+      cacheChanges = event.buildCacheChanges(manager);
+      cacheChangesBuilt = true;
+    }
+    return cacheChanges;
+  }
+
+  /**
+   * Return the event to send to the cluster (null when not clustering).
+   */
+  RemoteTransactionEvent remoteTransactionEvent() {
+    return remoteTransactionEvent;
+  }
+
+  /**
+   * Return the tables with L2 cache changes (for table level invalidation).
+   */
+  Set<String> touchedTables() {
+    CacheChangeSet cacheChanges = cacheChanges();
+    return cacheChanges == null ? Collections.emptySet() : cacheChanges.touchedTables();
+  }
+
+  /**
+   * Notify persist listeners and process document store updates.
+   */
+  void notifyListeners() {
+    localPersistListenersNotify();
+    processDocStoreUpdates();
+  }
+
   /**
    * Apply the changes to the L2 caches.
    */
   private void processCacheChanges() {
-    CacheChangeSet cacheChanges = event.buildCacheChanges(manager);
+    CacheChangeSet cacheChanges = cacheChanges();
     if (cacheChanges != null) {
       Set<String> touched = cacheChanges.touchedTables();
       if (touched != null && !touched.isEmpty()) {
-        manager.processTouchedTables(touched);
+        manager.processTouchedTables(touched, cacheChanges.rowMods());
         if (remoteTransactionEvent != null) {
           remoteTransactionEvent.addRemoteTableMod(new RemoteTableMod(touched));
         }
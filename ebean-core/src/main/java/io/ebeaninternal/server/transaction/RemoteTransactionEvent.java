@@ -12,7 +12,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public final class RemoteTransactionEvent implements Runnable, BinaryWritable {
 
@@ -28,6 +32,16 @@ public final class RemoteTransactionEvent implements Runnable, BinaryWritable {
 
   private String serverName;
 
+  /**
+   * Merged bean persist ids by descriptor id (for coalesced events).
+   */
+  private Map<String, BeanPersistIds> mergedPersistIds;
+
+  /**
+   * Set for coalesced events that write the ids in compact form.
+   */
+  private boolean compactIds;
+
   private transient SpiEbeanServer server;
 
   /**
@@ -44,6 +58,16 @@ public final class RemoteTransactionEvent implements Runnable, BinaryWritable {
     this.server = server;
   }
 
+  /**
+   * Create an event that other events are merged into (coalesced) prior to sending
+   * to other servers in the cluster. The ids are written in compact form.
+   */
+  public static RemoteTransactionEvent coalesced(String serverName) {
+    RemoteTransactionEvent event = new RemoteTransactionEvent(serverName);
+    event.compactIds = true;
+    return event;
+  }
+
   @Override
   public void run() {
     server.remoteTransactionEvent(this);
@@ -97,6 +121,10 @@ public final class RemoteTransactionEvent implements Runnable, BinaryWritable {
         addRemoteCacheEvent(RemoteCacheEvent.readBinaryMessage(dataInput));
         break;
 
+      case BinaryWritable.TYPE_BEANIDS_COMPACT:
+        addBeanPersistIds(BeanPersistIds.readCompactMessage(server, dataInput));
+        break;
+
       case BinaryWritable.TYPE_TABLEMOD:
         addRemoteTableMod(RemoteTableMod.readBinaryMessage(dataInput));
         break;
@@ -140,7 +168,11 @@ public final class RemoteTransactionEvent implements Runnable, BinaryWritable {
       }
     }
     for (BeanPersistIds aBeanPersistList : beanPersistList) {
-      aBeanPersistList.writeBinary(out);
+      if (compactIds) {
+        aBeanPersistList.writeBinaryCompact(out);
+      } else {
+        aBeanPersistList.writeBinary(out);
+      }
     }
     if (remoteCacheEvent != null) {
       remoteCacheEvent.writeBinary(out);
@@ -157,6 +189,69 @@ public final class RemoteTransactionEvent implements Runnable, BinaryWritable {
       && remoteCacheEvent == null;
   }
 
+  /**
+   * Merge the other event into this coalesced event.
+   * <p>
+   * Table modifications, table IUD flags and cache clear events are combined and the
+   * bean persist ids (including delete by ids) are merged per bean type.
+   */
+  public void merge(RemoteTransactionEvent other) {
+    if (other.remoteTableMod != null) {
+      if (remoteTableMod == null) {
+        remoteTableMod = other.remoteTableMod;
+      } else {
+        Set<String> tables = new LinkedHashSet<>(remoteTableMod.getTables());
+        tables.addAll(other.remoteTableMod.getTables());
+        remoteTableMod = new RemoteTableMod(tables);
+      }
+    }
+    if (other.tableList != null) {
+      for (TableIUD tableIUD : other.tableList) {
+        mergeTableIUD(tableIUD);
+      }
+    }
+    if (other.deleteByIdMap != null) {
+      for (BeanPersistIds deleteIds : other.deleteByIdMap.values()) {
+        mergePersistIds(deleteIds);
+      }
+    }
+    for (BeanPersistIds persistIds : other.beanPersistList) {
+      mergePersistIds(persistIds);
+    }
+    if (other.remoteCacheEvent != null) {
+      remoteCacheEvent = (remoteCacheEvent == null) ? other.remoteCacheEvent : remoteCacheEvent.merge(other.remoteCacheEvent);
+    }
+  }
+
+  private void mergeTableIUD(TableIUD tableIUD) {
+    if (tableList != null) {
+      for (int i = 0; i < tableList.size(); i++) {
+        TableIUD existing = tableList.get(i);
+        if (existing.tableName().equals(tableIUD.tableName())) {
+          tableList.set(i, new TableIUD(existing.tableName(),
+            existing.isInsert() || tableIUD.isInsert(),
+            existing.isUpdate() || tableIUD.isUpdate(),
+            existing.isDelete() || tableIUD.isDelete()));
+          return;
+        }
+      }
+    }
+    addTableIUD(tableIUD);
+  }
+
+  private void mergePersistIds(BeanPersistIds persistIds) {
+    if (mergedPersistIds == null) {
+      mergedPersistIds = new LinkedHashMap<>();
+    }
+    BeanPersistIds merged = mergedPersistIds.get(persistIds.descriptorId());
+    if (merged == null) {
+      merged = new BeanPersistIds(persistIds.getBeanDescriptor());
+      mergedPersistIds.put(persistIds.descriptorId(), merged);
+      beanPersistList.add(merged);
+    }
+    merged.merge(persistIds);
+  }
+
   public void addBeanPersistIds(BeanPersistIds beanPersist) {
     beanPersistList.add(beanPersist);
   }
@@ -5,11 +5,17 @@ import io.ebean.cache.QueryCacheEntry;
 import io.ebean.cache.QueryCacheEntryValidate;
 import io.ebean.cache.ServerCacheNotification;
 import io.ebean.cache.ServerCacheNotify;
+import io.ebean.metric.CountMetric;
+import io.ebeaninternal.server.cache.QueryCacheRowMod;
 
 import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.TRACE;
@@ -19,26 +25,63 @@ import static java.lang.System.Logger.Level.TRACE;
  * <p>
  * This information is used to validate entries in the L2 query caches.
  * </p>
+ * <p>
+ * With row level invalidation updates and deletes are held as row modifications (ids and
+ * modified properties) per table rather than updating the table timestamp. Query cache entries
+ * that hold their result ids and predicate properties are then only invalid when a modified id
+ * is in the result or a modified property is used by the predicates. A bounded number of row
+ * modifications are held per table with the oldest converted to a table timestamp.
+ * </p>
  */
 public final class TableModState implements QueryCacheEntryValidate, ServerCacheNotify {
 
   private static final System.Logger log = AppLog.getLogger("io.ebean.cache.TABLEMOD");
 
+  /**
+   * The maximum number of row modifications held per table.
+   */
+  private static final int MAX_ROW_MODS = 1000;
+
   private final Map<String, Instant> tableModStamp = new ConcurrentHashMap<>();
+  private final Map<String, TableRowMods> tableRowMods = new ConcurrentHashMap<>();
+  private final boolean rowInvalidation;
+  private final CountMetric rowValid;
 
   public TableModState() {
+    this(false, null);
+  }
+
+  /**
+   * Create with row level invalidation and a metric counting entries found valid by it.
+   */
+  public TableModState(boolean rowInvalidation, CountMetric rowValid) {
+    this.rowInvalidation = rowInvalidation;
+    this.rowValid = rowValid;
   }
 
   /**
    * Set the modified timestamp on the tables that have been touched.
    */
   void touch(Set<String> touchedTables) {
+    touch(touchedTables, Collections.emptyMap());
+  }
+
+  /**
+   * Set the modified timestamp on the tables that have been touched or with row level
+   * invalidation add the row modifications for the tables that have them.
+   */
+  void touch(Set<String> touchedTables, Map<String, QueryCacheRowMod> rowMods) {
     final var modTime = Instant.now();
     for (String tableName : touchedTables) {
-      tableModStamp.put(tableName, modTime);
+      QueryCacheRowMod rowMod = rowInvalidation ? rowMods.get(tableName) : null;
+      if (rowMod == null) {
+        tableModStamp.put(tableName, modTime);
+      } else {
+        tableRowMods.computeIfAbsent(tableName, TableRowMods::new).add(modTime, rowMod);
+      }
     }
     if (log.isLoggable(DEBUG)) {
-      log.log(DEBUG, "TableModState updated - touched:{0} modTime:{1}", touchedTables, modTime);
+      log.log(DEBUG, "TableModState updated - touched:{0} rowMods:{1} modTime:{2}", touchedTables, rowMods, modTime);
     }
   }
 
@@ -61,8 +104,32 @@ public final class TableModState implements QueryCacheEntryValidate, ServerCache
   @Override
   public boolean isValid(QueryCacheEntry entry) {
     Set<String> dependentTables = entry.dependentTables();
-    if (dependentTables != null && !dependentTables.isEmpty()) {
-      return isValid(dependentTables, entry.timestamp());
+    if (dependentTables == null || dependentTables.isEmpty()) {
+      return true;
+    }
+    // check row modifications prior to the table timestamps as the oldest
+    // row modifications are converted into table timestamps
+    boolean rowModified = false;
+    if (!tableRowMods.isEmpty()) {
+      for (String tableName : dependentTables) {
+        final TableRowMods rowMods = tableRowMods.get(tableName);
+        if (rowMods != null && rowMods.modifiedSince(entry.timestamp())) {
+          if (!rowMods.isValid(entry)) {
+            if (log.isLoggable(TRACE)) {
+              log.log(TRACE, "Invalidate on table:{0} row modification", tableName);
+            }
+            return false;
+          }
+          rowModified = true;
+        }
+      }
+    }
+    if (!isValid(dependentTables, entry.timestamp())) {
+      return false;
+    }
+    if (rowModified) {
+      // table level invalidation would have treated this entry as invalid
+      rowValid.increment();
     }
     return true;
   }
@@ -95,4 +162,81 @@ public final class TableModState implements QueryCacheEntryValidate, ServerCache
     }
     touch(tableMod.getTables());
   }
+
+  /**
+   * A row modification with its modification time.
+   */
+  private static final class RowMod {
+
+    final Instant modTime;
+    final QueryCacheRowMod rowMod;
+
+    RowMod(Instant modTime, QueryCacheRowMod rowMod) {
+      this.modTime = modTime;
+      this.rowMod = rowMod;
+    }
+  }
+
+  /**
+   * The bounded row modifications for a table ordered by modification time.
+   */
+  private final class TableRowMods {
+
+    private final String tableName;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentLinkedDeque<RowMod> mods = new ConcurrentLinkedDeque<>();
+    private int size;
+
+    TableRowMods(String tableName) {
+      this.tableName = tableName;
+    }
+
+    void add(Instant modTime, QueryCacheRowMod rowMod) {
+      lock.lock();
+      try {
+        final RowMod last = mods.peekLast();
+        if (last != null && last.modTime.compareTo(modTime) > 0) {
+          // keep ordered by modification time, later is more aggressive invalidation
+          modTime = last.modTime;
+        }
+        mods.addLast(new RowMod(modTime, rowMod));
+        if (++size > MAX_ROW_MODS) {
+          // convert the oldest row modification into a table level modification
+          tableModStamp.merge(tableName, mods.peekFirst().modTime, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+          mods.pollFirst();
+          size--;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    boolean modifiedSince(Instant sinceTime) {
+      final RowMod last = mods.peekLast();
+      return last != null && last.modTime.compareTo(sinceTime) > 0;
+    }
+
+    /**
+     * Return true if none of the row modifications since the entry timestamp affect the entry.
+     */
+    boolean isValid(QueryCacheEntry entry) {
+      final Set<Object> ids = entry.ids();
+      if (ids == null || !tableName.equals(entry.baseTable())) {
+        // no row level information for this table
+        return false;
+      }
+      final Instant sinceTime = entry.timestamp();
+      final Iterator<RowMod> it = mods.descendingIterator();
+      while (it.hasNext()) {
+        final RowMod mod = it.next();
+        if (mod.modTime.compareTo(sinceTime) <= 0) {
+          break;
+        }
+        if (mod.rowMod.affects(ids, entry.predicateProperties())) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
 }
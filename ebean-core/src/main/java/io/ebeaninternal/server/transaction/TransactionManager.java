@@ -22,6 +22,7 @@ import io.ebean.plugin.SpiServer;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.api.TransactionEventTable.TableIUD;
 import io.ebeaninternal.server.cache.CacheChangeSet;
+import io.ebeaninternal.server.cache.QueryCacheRowMod;
 import io.ebeaninternal.server.cluster.ClusterManager;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
 import io.ebeaninternal.server.deploy.BeanDescriptorManager;
@@ -38,6 +39,7 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -86,6 +88,7 @@ public class TransactionManager implements SpiTransactionManager {
    */
   final DocStoreUpdateProcessor docStoreUpdateProcessor;
   private final boolean autoPersistUpdates;
+  private final boolean lockFreePersistenceContext;
   private final boolean persistBatch;
   private final boolean persistBatchOnCascade;
   private final BulkEventListenerMap bulkEventListenerMap;
@@ -108,6 +111,7 @@ public class TransactionManager implements SpiTransactionManager {
   private final boolean supportsSavepointId;
   private final ConcurrentHashMap<String, ProfileLocation> profileLocations = new ConcurrentHashMap<>();
   private final boolean autoCommitMode;
+  private final PostCommitPipeline postCommitPipeline;
 
   /**
    * Create the TransactionManager
@@ -121,6 +125,7 @@ public class TransactionManager implements SpiTransactionManager {
     this.skipCacheAfterWrite = options.config.isSkipCacheAfterWrite();
     this.notifyL2CacheInForeground = options.notifyL2CacheInForeground;
     this.autoPersistUpdates = options.config.isAutoPersistUpdates();
+    this.lockFreePersistenceContext = options.config.isLockFreePersistenceContext();
     this.persistBatch = PersistBatch.ALL == options.config.getPersistBatch();
     this.persistBatchOnCascade = PersistBatch.ALL == options.config.appliedPersistBatchOnCascade();
     this.rollbackOnChecked = options.config.isTransactionRollbackOnChecked();
@@ -146,9 +151,13 @@ public class TransactionManager implements SpiTransactionManager {
     this.transactionFactory = TransactionFactoryBuilder.build(this, dataSourceSupplier, tenantProvider);
 
     MetricFactory metricFactory = MetricFactory.get();
-    this.txnMain = metricFactory.createTimedMetric("txn.main");
-    this.txnReadOnly = metricFactory.createTimedMetric("txn.readonly");
+    boolean histogram = options.config.isMetricsHistogram();
+    this.txnMain = metricFactory.createTimedMetric("txn.main", histogram);
+    this.txnReadOnly = metricFactory.createTimedMetric("txn.readonly", histogram);
     this.txnNamed = metricFactory.createTimedMetricMap("txn.named.");
+    int postCommitQueueSize = options.config.getPostCommitQueueSize();
+    this.postCommitPipeline = postCommitQueueSize <= 0 ? null
+      : new PostCommitPipeline(this, clusterManager, postCommitQueueSize, options.config.getPostCommitOverflow(), options.config.getBackgroundExecutorShutdownSecs());
     scopeManager.register(this);
   }
 
@@ -204,6 +213,9 @@ public class TransactionManager implements SpiTransactionManager {
   }
 
   public final void shutdown(boolean shutdownDataSource, boolean deregisterDriver) {
+    if (postCommitPipeline != null) {
+      postCommitPipeline.shutdown();
+    }
     if (shutdownDataSource) {
       dataSourceSupplier.shutdown(deregisterDriver);
     }
@@ -244,6 +256,13 @@ public class TransactionManager implements SpiTransactionManager {
     return autoPersistUpdates;
   }
 
+  /**
+   * Create a new persistence context for a transaction.
+   */
+  final SpiPersistenceContext createPersistenceContext() {
+    return lockFreePersistenceContext ? new LockFreePersistenceContext() : new DefaultPersistenceContext();
+  }
+
   final boolean isPersistBatch() {
     return persistBatch;
   }
@@ -336,7 +355,7 @@ public class TransactionManager implements SpiTransactionManager {
     try {
       PostCommitProcessing postCommit = new PostCommitProcessing(clusterManager, this, transaction);
       postCommit.notifyLocalCache();
-      backgroundExecutor.execute(postCommit.backgroundNotify());
+      postCommit(postCommit);
     } catch (Exception ex) {
       log.log(ERROR, "NotifyOfCommit failed. L2 Cache potentially not notified.", ex);
     }
@@ -357,7 +376,18 @@ public class TransactionManager implements SpiTransactionManager {
 
     PostCommitProcessing postCommit = new PostCommitProcessing(clusterManager, this, event);
     postCommit.notifyLocalCache();
-    backgroundExecutor.execute(postCommit.backgroundNotify());
+    postCommit(postCommit);
+  }
+
+  /**
+   * Perform the background post commit processing using the bounded queue or background executor.
+   */
+  private void postCommit(PostCommitProcessing postCommit) {
+    if (postCommitPipeline != null) {
+      postCommitPipeline.submit(postCommit);
+    } else {
+      backgroundExecutor.execute(postCommit.backgroundNotify());
+    }
   }
 
   /**
@@ -422,8 +452,8 @@ public class TransactionManager implements SpiTransactionManager {
   /**
    * Invalidate the query caches for entities based on views.
    */
-  final void processTouchedTables(Set<String> touchedTables) {
-    tableModState.touch(touchedTables);
+  final void processTouchedTables(Set<String> touchedTables, Map<String, QueryCacheRowMod> rowMods) {
+    tableModState.touch(touchedTables, rowMods);
     if (viewInvalidation) {
       beanDescriptorManager.processViewInvalidation(touchedTables);
     }
@@ -455,6 +485,9 @@ public class TransactionManager implements SpiTransactionManager {
     txnMain.visit(visitor);
     txnReadOnly.visit(visitor);
     txnNamed.visit(visitor);
+    if (postCommitPipeline != null) {
+      postCommitPipeline.visitMetrics(visitor);
+    }
     for (TimedProfileLocation timedLocation : TimedProfileLocationRegistry.registered()) {
       timedLocation.visit(visitor);
     }
@@ -65,6 +65,7 @@ module io.ebean.core {
   exports io.ebeaninternal.server.expression.platform to io.ebean.test;
   exports io.ebeaninternal.server.grammer to io.ebean.test;
   exports io.ebeaninternal.server.idgen to io.ebean.test;
+  exports io.ebeaninternal.server.loadcontext to io.ebean.test;
   exports io.ebeaninternal.server.persist to io.ebean.test, io.ebean.elastic;
   exports io.ebeaninternal.server.query to io.ebean.test;
   exports io.ebeaninternal.server.querydefn to io.ebean.autotune, io.ebean.querybean, io.ebean.test, io.ebean.elastic;
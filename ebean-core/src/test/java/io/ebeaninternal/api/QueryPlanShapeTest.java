@@ -0,0 +1,52 @@
+package io.ebeaninternal.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlanShapeTest {
+
+  private static QueryPlanShape roundTrip(QueryPlanShape shape) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      shape.write(out);
+    }
+    return QueryPlanShape.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+  @Test
+  void write_read() throws IOException {
+    QueryPlanShape shape = new QueryPlanShape(SpiQuery.Type.LIST, null);
+    shape.select("name, status");
+    shape.fetch("customer", null);
+    shape.fetch("lines", "quantity");
+    shape.where("name = ?");
+    shape.orderBy("id desc");
+    shape.limit(10, 20);
+
+    assertThat(roundTrip(shape)).isEqualTo(shape);
+  }
+
+  @Test
+  void write_read_largerThanWriteUTF() throws IOException {
+    StringBuilder in = new StringBuilder("id in (");
+    for (int i = 0; i < 20_000; i++) {
+      in.append("?,");
+    }
+    in.append("?) and name = '\u00fcn\u00efc\u00f6d\u00e9'");
+    assertThat(in.length()).isGreaterThan(65535);
+
+    QueryPlanShape shape = new QueryPlanShape(SpiQuery.Type.LIST, "large");
+    shape.where(in.toString());
+
+    QueryPlanShape read = roundTrip(shape);
+    assertThat(read).isEqualTo(shape);
+    assertThat(read.where().get(0)).isEqualTo(in.toString());
+  }
+}
@@ -0,0 +1,94 @@
+package io.ebeaninternal.server.bind;
+
+import io.ebeaninternal.server.core.timezone.NoDataTimeZone;
+import io.ebeaninternal.server.core.timezone.SimpleDataTimeZone;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataBindCopyTest {
+
+  private final DataBindCopy bind = DataBindCopy.of(new NoDataTimeZone());
+
+  @Test
+  void row_scalars() throws SQLException {
+    bind.setLong(42L);
+    bind.setInt(7);
+    bind.setBoolean(true);
+    bind.setBigDecimal(new BigDecimal("1E+3"));
+    bind.setString("hello");
+    assertThat(bind.row().toString()).isEqualTo("42\t7\tt\t1000\thello");
+  }
+
+  @Test
+  void row_nulls() throws SQLException {
+    bind.setNull(Types.VARCHAR);
+    bind.setString(null);
+    bind.setObject(null, Types.OTHER);
+    assertThat(bind.row().toString()).isEqualTo("\\N\t\\N\t\\N");
+  }
+
+  @Test
+  void row_escaped() throws SQLException {
+    bind.setString("a\tb\nc\rd\\e");
+    assertThat(bind.row().toString()).isEqualTo("a\\tb\\nc\\rd\\\\e");
+  }
+
+  @Test
+  void row_bytes_asHex() throws SQLException {
+    bind.setBytes(new byte[]{0, 15, (byte) 255});
+    assertThat(bind.row().toString()).isEqualTo("\\\\x000fff");
+  }
+
+  @Test
+  void row_array() throws SQLException {
+    bind.setArray("varchar", new Object[]{"a", null, "b\"c"});
+    assertThat(bind.row().toString()).isEqualTo("{\"a\",NULL,\"b\\\\\"c\"}");
+  }
+
+  @Test
+  void row_object() throws SQLException {
+    UUID uuid = UUID.randomUUID();
+    bind.setObject(uuid);
+    assertThat(bind.row().toString()).isEqualTo(uuid.toString());
+  }
+
+  @Test
+  void row_timestamp_withTimeZone() throws SQLException {
+    DataBindCopy utcBind = DataBindCopy.of(new SimpleDataTimeZone("UTC"));
+    LocalDateTime dateTime = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+    Timestamp timestamp = Timestamp.from(dateTime.toInstant(ZoneOffset.UTC));
+    timestamp.setNanos(123_456_000);
+    utcBind.setTimestamp(timestamp);
+    assertThat(utcBind.row().toString()).isEqualTo("2024-03-01 10:15:30.123456+00:00");
+  }
+
+  @Test
+  void row_timestamp_noDataTimeZone_includesOffset() throws SQLException {
+    Instant instant = LocalDateTime.of(2024, 3, 1, 10, 15, 30).toInstant(ZoneOffset.UTC);
+    bind.setTimestamp(Timestamp.from(instant));
+    // same instant regardless of the JVM default time zone
+    OffsetDateTime written = OffsetDateTime.parse(bind.row().toString(), DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSSxxx"));
+    assertThat(written.toInstant()).isEqualTo(instant);
+  }
+
+  @Test
+  void reset_expect_newRow() throws SQLException {
+    bind.setInt(1);
+    bind.setInt(2);
+    bind.reset();
+    bind.setInt(3);
+    assertThat(bind.row().toString()).isEqualTo("3");
+  }
+}
@@ -0,0 +1,88 @@
+package io.ebeaninternal.server.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedBeanDataTest {
+
+  private final CachedBeanDataSchema schema = CachedBeanDataSchema.of(new String[]{"id", "name", "status", "version"});
+
+  private CachedBeanData create() {
+    Object[] values = new Object[schema.size()];
+    long[] loaded = CachedBeanData.newLoaded(values.length);
+    values[0] = "42";
+    CachedBeanData.setLoaded(loaded, 0);
+    values[1] = "rob";
+    CachedBeanData.setLoaded(loaded, 1);
+    values[3] = null;
+    CachedBeanData.setLoaded(loaded, 3);
+    return new CachedBeanData(null, null, schema, values, loaded, 3);
+  }
+
+  @Test
+  void slotAndName() {
+    CachedBeanData data = create();
+    assertThat(data.getSchema()).isSameAs(schema);
+    assertThat(data.isLoaded(1)).isTrue();
+    assertThat(data.isLoaded(2)).isFalse();
+    assertThat(data.isLoaded("name")).isTrue();
+    assertThat(data.isLoaded("status")).isFalse();
+    assertThat(data.isLoaded("version")).isTrue();
+    assertThat(data.isLoaded("unknown")).isFalse();
+    assertThat(data.getData("name")).isEqualTo("rob");
+    assertThat(data.getData(0)).isEqualTo("42");
+    assertThat(data.getData()).containsOnlyKeys("id", "name", "version");
+  }
+
+  @Test
+  void update() {
+    CachedBeanData data = create();
+    CachedBeanData updated = data.update(Map.of("status", "NEW"), 4);
+    assertThat(updated.getSchema()).isSameAs(schema);
+    assertThat(updated.getVersion()).isEqualTo(4);
+    assertThat(updated.getData("status")).isEqualTo("NEW");
+    assertThat(updated.getData("name")).isEqualTo("rob");
+    assertThat(data.isLoaded("status")).isFalse();
+
+    CachedBeanData other = data.update(Map.of("other", "x"), 4);
+    assertThat(other.getData()).containsOnlyKeys("id", "name", "version", "other");
+  }
+
+  @Test
+  void writeRead() throws IOException, ClassNotFoundException {
+    CachedBeanData data = create();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(os)) {
+      data.writeExternal(oos);
+    }
+    CachedBeanData read = new CachedBeanData();
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(os.toByteArray()))) {
+      read.readExternal(ois);
+    }
+    assertThat(read.getData()).isEqualTo(data.getData());
+    assertThat(read.getSchema().matches(schema)).isFalse();
+    assertThat(read.isLoaded("version")).isTrue();
+    assertThat(read.getData("version")).isNull();
+  }
+
+  @Test
+  void moreThan64Slots() {
+    String[] names = new String[100];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = "p" + i;
+    }
+    CachedBeanDataSchema wide = CachedBeanDataSchema.of(names);
+    Object[] values = new Object[names.length];
+    long[] loaded = CachedBeanData.newLoaded(values.length);
+    values[99] = "x";
+    CachedBeanData.setLoaded(loaded, 99);
+    CachedBeanData data = new CachedBeanData(null, null, wide, values, loaded, 0);
+    assertThat(data.isLoaded(99)).isTrue();
+    assertThat(data.isLoaded(35)).isFalse();
+    assertThat(data.getData()).containsOnlyKeys("p99");
+  }
+}
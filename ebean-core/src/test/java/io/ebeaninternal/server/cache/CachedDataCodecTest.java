@@ -0,0 +1,158 @@
+package io.ebeaninternal.server.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedDataCodecTest {
+
+  private final CachedBeanDataSchemas schemas = new CachedBeanDataSchemas();
+  private final CachedBeanDataSchema schema = schemas.register(CachedBeanDataSchema.of(new String[]{"id", "name", "status", "address", "data", "version"}));
+  private final CachedBeanDataSchema embeddedSchema = schemas.register(CachedBeanDataSchema.of(new String[]{"line1", "city"}));
+  private final CachedDataCodec codec = new CachedDataCodec(schemas);
+
+  private CachedBeanData create() {
+    Object[] embeddedValues = {"12 Main St", "Auckland"};
+    long[] embeddedLoaded = CachedBeanData.newLoaded(2);
+    CachedBeanData.setLoaded(embeddedLoaded, 0);
+    CachedBeanData.setLoaded(embeddedLoaded, 1);
+    CachedBeanData address = new CachedBeanData(null, null, embeddedSchema, embeddedValues, embeddedLoaded, 0);
+
+    Object[] values = new Object[schema.size()];
+    long[] loaded = CachedBeanData.newLoaded(values.length);
+    values[0] = "42";
+    CachedBeanData.setLoaded(loaded, 0);
+    values[1] = "rob";
+    CachedBeanData.setLoaded(loaded, 1);
+    values[3] = address;
+    CachedBeanData.setLoaded(loaded, 3);
+    values[4] = new byte[]{1, 2, 3};
+    CachedBeanData.setLoaded(loaded, 4);
+    values[5] = null;
+    CachedBeanData.setLoaded(loaded, 5);
+    return new CachedBeanData(null, "C", schema, values, loaded, 3);
+  }
+
+  @Test
+  void beanData_roundTrip() {
+    CachedBeanData data = create();
+    CachedBeanData read = codec.decodeBeanData(codec.encode(data));
+
+    assertThat(read.getSchema()).isSameAs(schema);
+    assertThat(read.getVersion()).isEqualTo(3);
+    assertThat(read.getWhenCreated()).isEqualTo(data.getWhenCreated());
+    assertThat(read.getDiscValue()).isEqualTo("C");
+    assertThat(read.getData(0)).isEqualTo("42");
+    assertThat(read.getData(1)).isEqualTo("rob");
+    assertThat(read.isLoaded(2)).isFalse();
+    assertThat((byte[]) read.getData(4)).containsExactly(1, 2, 3);
+    assertThat(read.isLoaded(5)).isTrue();
+    assertThat(read.getData(5)).isNull();
+
+    CachedBeanData address = (CachedBeanData) read.getData(3);
+    assertThat(address.getSchema()).isSameAs(embeddedSchema);
+    assertThat(address.getData("city")).isEqualTo("Auckland");
+  }
+
+  @Test
+  void beanData_smallerThanSerialisation() throws IOException {
+    CachedBeanData data = create();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(os)) {
+      data.writeExternal(oos);
+    }
+    assertThat(codec.encode(data).length).isLessThan(os.size() / 2);
+  }
+
+  @Test
+  void beanData_detachedSchema_roundTripByName() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("id", "7");
+    map.put("other", "x");
+    CachedBeanData data = new CachedBeanData(null, null, map, 2);
+
+    CachedBeanData read = codec.decodeBeanData(codec.encode(data));
+    assertThat(read.getData()).isEqualTo(map);
+    assertThat(read.getVersion()).isEqualTo(2);
+  }
+
+  @Test
+  void beanData_unknownSchema_isMiss() {
+    byte[] bytes = codec.encode(create());
+    // header (3 bytes) + flags then the 8 byte schema id
+    bytes[4] ^= (byte) 0xFF;
+    assertThat(codec.decodeBeanData(bytes)).isNull();
+  }
+
+  @Test
+  void beanData_otherFormat_isMiss() throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(os)) {
+      create().writeExternal(oos);
+    }
+    assertThat(codec.decodeBeanData(os.toByteArray())).isNull();
+    assertThat(codec.decodeBeanData(codec.encode(new CachedManyIds(List.of(1L))))).isNull();
+  }
+
+  @Test
+  void beanData_otherCacheManagerSchemas_isMiss() {
+    byte[] bytes = codec.encode(create());
+    // the schema is not registered with the other cache manager
+    CachedDataCodec other = new CachedDataCodec(new CachedBeanDataSchemas());
+    assertThat(other.decodeBeanData(bytes)).isNull();
+  }
+
+  @Test
+  void beanData_propertyTypeChanged_isMiss() {
+    String[] names = {"id", "name"};
+    CachedBeanDataSchemas v1 = new CachedBeanDataSchemas();
+    CachedBeanDataSchema before = v1.register(CachedBeanDataSchema.of(names, new String[]{"java.lang.Long:-5", "java.lang.String:12"}));
+    CachedBeanDataSchemas v2 = new CachedBeanDataSchemas();
+    CachedBeanDataSchema after = v2.register(CachedBeanDataSchema.of(names, new String[]{"java.lang.Long:-5", "java.lang.Integer:4"}));
+    assertThat(before.id()).isNotEqualTo(after.id());
+
+    Object[] values = {"1", "x"};
+    long[] loaded = CachedBeanData.newLoaded(2);
+    CachedBeanData.setLoaded(loaded, 0);
+    CachedBeanData.setLoaded(loaded, 1);
+    byte[] bytes = new CachedDataCodec(v1).encode(new CachedBeanData(null, null, before, values, loaded, 1));
+    assertThat(new CachedDataCodec(v1).decodeBeanData(bytes)).isNotNull();
+    assertThat(new CachedDataCodec(v2).decodeBeanData(bytes)).isNull();
+  }
+
+  @Test
+  void manyIds_roundTrip() {
+    UUID uuid = UUID.randomUUID();
+    List<Object> ids = Arrays.asList(1L, -5L, Long.MAX_VALUE, 42, "abc", uuid, new CachedBeanId("D", 9L));
+    CachedManyIds read = codec.decodeManyIds(codec.encode(new CachedManyIds(ids)));
+
+    List<Object> readIds = read.getIdList();
+    assertThat(readIds.subList(0, 6)).containsExactly(1L, -5L, Long.MAX_VALUE, 42, "abc", uuid);
+    CachedBeanId beanId = (CachedBeanId) readIds.get(6);
+    assertThat(beanId.getDiscValue()).isEqualTo("D");
+    assertThat(beanId.getId()).isEqualTo(9L);
+  }
+
+  @Test
+  void isCanonicalLong() {
+    assertThat(CachedDataCodec.isCanonicalLong("0")).isTrue();
+    assertThat(CachedDataCodec.isCanonicalLong("42")).isTrue();
+    assertThat(CachedDataCodec.isCanonicalLong("-42")).isTrue();
+    assertThat(CachedDataCodec.isCanonicalLong("9223372036854775807")).isTrue();
+    assertThat(CachedDataCodec.isCanonicalLong("9223372036854775808")).isFalse();
+    assertThat(CachedDataCodec.isCanonicalLong("007")).isFalse();
+    assertThat(CachedDataCodec.isCanonicalLong("-0")).isFalse();
+    assertThat(CachedDataCodec.isCanonicalLong("+1")).isFalse();
+    assertThat(CachedDataCodec.isCanonicalLong("1.0")).isFalse();
+    assertThat(CachedDataCodec.isCanonicalLong("")).isFalse();
+  }
+}
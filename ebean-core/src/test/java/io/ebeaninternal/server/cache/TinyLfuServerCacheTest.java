@@ -0,0 +1,97 @@
+package io.ebeaninternal.server.cache;
+
+import io.ebean.cache.ServerCacheConfig;
+import io.ebean.cache.ServerCacheOptions;
+import io.ebean.cache.ServerCacheStatistics;
+import io.ebean.cache.ServerCacheType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TinyLfuServerCacheTest {
+
+  private TinyLfuServerCache createCache(int maxSize, int processors) {
+    ServerCacheOptions cacheOptions = new ServerCacheOptions();
+    cacheOptions.setMaxSize(maxSize);
+    cacheOptions.setMaxIdleSecs(600);
+    cacheOptions.setMaxSecsToLive(600);
+
+    ServerCacheConfig con = new ServerCacheConfig(ServerCacheType.BEAN, "foo", "foo", cacheOptions, null, null);
+    return new TinyLfuServerCache(new DefaultServerCacheConfig(con), processors);
+  }
+
+  @Test
+  void segmentCount() {
+    assertThat(TinyLfuServerCache.segmentCount(100, 8)).isEqualTo(1);
+    assertThat(TinyLfuServerCache.segmentCount(1000, 8)).isEqualTo(4);
+    assertThat(TinyLfuServerCache.segmentCount(1_000_000, 8)).isEqualTo(16);
+    assertThat(TinyLfuServerCache.segmentCount(1_000_000, 128)).isEqualTo(64);
+    assertThat(TinyLfuServerCache.segmentCount(0, 4)).isEqualTo(8);
+  }
+
+  @Test
+  void putGetRemove() {
+    TinyLfuServerCache cache = createCache(100, 4);
+    assertThat(cache.get("A")).isNull();
+    cache.put("A", "a");
+    cache.put("B", "b");
+    assertThat(cache.get("A")).isEqualTo("a");
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.put("A", "a2");
+    assertThat(cache.get("A")).isEqualTo("a2");
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.remove("A");
+    assertThat(cache.get("A")).isNull();
+    assertThat(cache.size()).isEqualTo(1);
+
+    cache.clear();
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.get("B")).isNull();
+
+    ServerCacheStatistics statistics = cache.statistics(true);
+    assertThat(statistics.getHitCount()).isEqualTo(2);
+    assertThat(statistics.getMissCount()).isEqualTo(3);
+    assertThat(statistics.getPutCount()).isEqualTo(3);
+    assertThat(statistics.getRemoveCount()).isEqualTo(1);
+    assertThat(statistics.getClearCount()).isEqualTo(1);
+  }
+
+  @Test
+  void maxSize_bounded() {
+    TinyLfuServerCache cache = createCache(1000, 4);
+    for (int i = 0; i < 10_000; i++) {
+      cache.put(i, i);
+    }
+    assertThat(cache.size()).isLessThanOrEqualTo(1000);
+    ServerCacheStatistics statistics = cache.statistics(false);
+    assertThat(statistics.getEvictCount()).isEqualTo(10_000 - cache.size());
+    assertThat(statistics.getLruCount()).isEqualTo(statistics.getEvictCount());
+  }
+
+  @Test
+  void frequentEntries_notEvictedByOneOffReads() {
+    TinyLfuServerCache cache = createCache(200, 1);
+    for (int i = 0; i < 100; i++) {
+      cache.put("hot" + i, i);
+    }
+    for (int j = 0; j < 5; j++) {
+      for (int i = 0; i < 100; i++) {
+        cache.get("hot" + i);
+      }
+    }
+    // a scan of one off entries
+    for (int i = 0; i < 5000; i++) {
+      cache.put("scan" + i, i);
+    }
+    int hotRetained = 0;
+    for (int i = 0; i < 100; i++) {
+      if (cache.get("hot" + i) != null) {
+        hotRetained++;
+      }
+    }
+    assertThat(hotRetained).isGreaterThan(90);
+    assertThat(cache.size()).isLessThanOrEqualTo(200);
+  }
+}
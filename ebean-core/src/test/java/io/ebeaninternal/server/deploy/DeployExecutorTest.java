@@ -0,0 +1,66 @@
+package io.ebeaninternal.server.deploy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeployExecutorTest {
+
+  private final List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+  @Test
+  void of_serial() {
+    try (DeployExecutor executor = DeployExecutor.of(1, 100)) {
+      assertThat(executor.isParallel()).isFalse();
+    }
+    try (DeployExecutor executor = DeployExecutor.of(4, 1)) {
+      assertThat(executor.isParallel()).isFalse();
+    }
+  }
+
+  @Test
+  void of_parallel() {
+    try (DeployExecutor executor = DeployExecutor.of(4, 100)) {
+      assertThat(executor.isParallel()).isTrue();
+    }
+  }
+
+  @Test
+  void map_preservesOrder() {
+    try (DeployExecutor executor = DeployExecutor.of(4, items.size())) {
+      List<String> result = executor.map(items, String::valueOf);
+      assertThat(result).containsExactlyElementsOf(items.stream().map(String::valueOf).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void map_propagatesException() {
+    try (DeployExecutor executor = DeployExecutor.of(4, items.size())) {
+      assertThatThrownBy(() -> executor.map(items, i -> {
+        if (i == 42) {
+          throw new IllegalArgumentException("bad " + i);
+        }
+        return i;
+      })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad 42");
+    }
+  }
+
+  @Test
+  void forEachGroup_serialWithinGroup() {
+    List<List<Integer>> groups = List.of(items.subList(0, 50), items.subList(50, 100));
+    List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+    try (DeployExecutor executor = DeployExecutor.of(2, items.size())) {
+      executor.forEachGroup(groups, i -> (i < 50 ? first : second).add(i));
+    }
+    assertThat(first).containsExactlyElementsOf(groups.get(0));
+    assertThat(second).containsExactlyElementsOf(groups.get(1));
+  }
+}
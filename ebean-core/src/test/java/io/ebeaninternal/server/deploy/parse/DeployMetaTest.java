@@ -0,0 +1,113 @@
+package io.ebeaninternal.server.deploy.parse;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeployMetaTest {
+
+  static class Sample {
+    static final int IGNORED = 1;
+    long id;
+    String name;
+    Sample parent;
+    List<Sample> children;
+    byte[] data;
+  }
+
+  static class Changed {
+    long id;
+    String name;
+    Sample parent;
+    Set<Sample> children;
+    byte[] data;
+  }
+
+  private final Predicate<Field> ignore = field -> Modifier.isStatic(field.getModifiers());
+  private final Field[] fields = Sample.class.getDeclaredFields();
+
+  @Test
+  void checksum_when_orderAndStaticIgnored() {
+    long checksum = DeployMeta.checksum(fields, ignore);
+    Field[] reversed = fields.clone();
+    Collections.reverse(Arrays.asList(reversed));
+    assertThat(DeployMeta.checksum(reversed, ignore)).isEqualTo(checksum);
+    // matches the checksum generated by the query bean generator, that is, the
+    // persistent field names and erased type names sorted by name
+    assertThat(checksum).isEqualTo(crc(generatedContent(fields)));
+  }
+
+  @Test
+  void checksum_when_fieldTypeChanged() {
+    Field[] changed = Changed.class.getDeclaredFields();
+    assertThat(DeployMeta.checksum(changed, ignore)).isNotEqualTo(DeployMeta.checksum(fields, ignore));
+    assertThat(DeployMeta.checksum(changed, ignore)).isEqualTo(crc(generatedContent(changed)));
+  }
+
+  @Test
+  void isCurrent() throws IOException {
+    String content = "class " + Sample.class.getName() + " " + Long.toHexString(DeployMeta.checksum(fields, ignore)) + "\n";
+    DeployMeta meta = DeployMeta.read(new StringReader(content));
+    assertThat(meta.isCurrent(Sample.class)).isTrue();
+    assertThat(meta.isCurrent(Changed.class)).isFalse();
+  }
+
+  /**
+   * The checksum content as written by the generator (name and type per line sorted by name).
+   */
+  private String generatedContent(Field[] fields) {
+    return Arrays.stream(fields)
+      .filter(ignore.negate())
+      .sorted(Comparator.comparing(Field::getName))
+      .map(field -> field.getName() + " " + field.getType().getTypeName() + "\n")
+      .collect(Collectors.joining());
+  }
+
+  @Test
+  void classMeta() throws IOException {
+    String content = "# generated\n"
+      + "class " + Sample.class.getName() + " " + Long.toHexString(DeployMeta.checksum(fields, ignore)) + "\n"
+      + " id s\n"
+      + " name s\n"
+      + " parent o\n"
+      + " children m\n";
+
+    DeployMeta.ClassMeta meta = DeployMeta.read(new StringReader(content)).classMeta(Sample.class, fields, ignore);
+    assertThat(meta).isNotNull();
+    assertThat(meta.kind("id")).isEqualTo(DeployMeta.Kind.SCALAR);
+    assertThat(meta.kind("parent")).isEqualTo(DeployMeta.Kind.ONE);
+    assertThat(meta.kind("children")).isEqualTo(DeployMeta.Kind.MANY);
+    assertThat(meta.kind("data")).isNull();
+  }
+
+  @Test
+  void classMeta_when_stale() throws IOException {
+    String content = "class " + Sample.class.getName() + " 1a2b3c\n id s\n";
+    assertThat(DeployMeta.read(new StringReader(content)).classMeta(Sample.class, fields, ignore)).isNull();
+  }
+
+  @Test
+  void classMeta_when_none() {
+    assertThat(DeployMeta.none().classMeta(Sample.class, fields, ignore)).isNull();
+  }
+
+  private static long crc(String content) {
+    CRC32 crc = new CRC32();
+    crc.update(content.getBytes(StandardCharsets.UTF_8));
+    return crc.getValue();
+  }
+}
@@ -38,6 +38,22 @@ public class DefaultBackgroundExecutorTest {
     assertThat(future2.get()).isEqualTo("Slow");
   }
 
+  @Test
+  public void submit_virtualThreads() throws Exception {
+    DefaultBackgroundExecutor es = new DefaultBackgroundExecutor(1, 2, "test", null, true);
+
+    final Future<Thread> future = es.submit(Thread::currentThread);
+    final Thread thread = future.get(1, TimeUnit.SECONDS);
+    if (Runtime.version().feature() >= 21) {
+      assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+      assertThat(thread.getName()).startsWith("test-virtual-");
+    } else {
+      assertThat(VirtualThreads.isVirtual(thread)).isFalse();
+      assertThat(thread.getName()).startsWith("test");
+    }
+    es.shutdown();
+  }
+
   @Test
   public void shutdown_slowCallable_expect_interrupted() throws Exception {
 
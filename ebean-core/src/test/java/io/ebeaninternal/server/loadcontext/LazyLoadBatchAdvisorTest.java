@@ -0,0 +1,116 @@
+package io.ebeaninternal.server.loadcontext;
+
+import io.ebean.bean.CallStack;
+import io.ebean.bean.ObjectGraphNode;
+import io.ebean.bean.ObjectGraphOrigin;
+import io.ebean.meta.BasicMetricVisitor;
+import io.ebean.meta.MetaCountMetric;
+import io.ebean.metric.CountMetric;
+import io.ebean.metric.MetricFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyLoadBatchAdvisorTest {
+
+  private final CountMetric grow = MetricFactory.get().createCountMetric("test.grow");
+  private final CountMetric shrink = MetricFactory.get().createCountMetric("test.shrink");
+  private final LazyLoadBatchAdvisor advisor = new LazyLoadBatchAdvisor(100, grow, shrink);
+  private final ObjectGraphNode node = node(1, "customer");
+
+  private static ObjectGraphNode node(int queryHash, String path) {
+    StackTraceElement element = new StackTraceElement("Foo", "bar", "Foo.java", queryHash);
+    ObjectGraphOrigin origin = new ObjectGraphOrigin(queryHash, new CallStack(new Object[]{element}, 0, 0), "Order");
+    return new ObjectGraphNode(origin, path);
+  }
+
+  /**
+   * Simulate a query that lazy loads the given number of beans.
+   */
+  private void query(int lazyLoadCount) {
+    int batchSize = advisor.batchSize(node, 100);
+    int remaining = lazyLoadCount;
+    while (remaining > batchSize) {
+      advisor.overflow(node, batchSize);
+      advisor.load(node, batchSize, batchSize);
+      remaining -= batchSize;
+    }
+    advisor.load(node, batchSize, remaining);
+  }
+
+  @Test
+  void bucket() {
+    assertThat(LazyLoadBatchAdvisor.bucket(1)).isEqualTo(5);
+    assertThat(LazyLoadBatchAdvisor.bucket(5)).isEqualTo(5);
+    assertThat(LazyLoadBatchAdvisor.bucket(6)).isEqualTo(10);
+    assertThat(LazyLoadBatchAdvisor.bucket(41)).isEqualTo(50);
+    assertThat(LazyLoadBatchAdvisor.bucket(101)).isEqualTo(200);
+    assertThat(LazyLoadBatchAdvisor.bucket(5000)).isEqualTo(500);
+    assertThat(LazyLoadBatchAdvisor.nextBucket(100)).isEqualTo(200);
+    assertThat(LazyLoadBatchAdvisor.nextBucket(500)).isEqualTo(500);
+  }
+
+  @Test
+  void batchSize_defaultWhenNotObserved() {
+    assertThat(advisor.batchSize(node, 100)).isEqualTo(100);
+    assertThat(advisor.batchSize(node, 30)).isEqualTo(30);
+  }
+
+  @Test
+  void batchSize_shrinkToObservedLoads() {
+    for (int i = 0; i < LazyLoadBatchAdvisor.SAMPLE_LOADS; i++) {
+      query(12);
+    }
+    assertThat(advisor.batchSize(node, 100)).isEqualTo(20);
+    assertThat(shrink.get(false)).isEqualTo(1);
+
+    // stable once adapted
+    for (int i = 0; i < 5 * LazyLoadBatchAdvisor.SAMPLE_LOADS; i++) {
+      query(12);
+    }
+    assertThat(advisor.batchSize(node, 100)).isEqualTo(20);
+    assertThat(shrink.get(false)).isEqualTo(1);
+    assertThat(grow.get(false)).isEqualTo(0);
+
+    // other nodes are not affected
+    assertThat(advisor.batchSize(node(1, "lines"), 100)).isEqualTo(100);
+    assertThat(advisor.batchSize(node(2, "customer"), 100)).isEqualTo(100);
+  }
+
+  @Test
+  void batchSize_growWhenBuffersOverflow() {
+    for (int i = 0; i < 20; i++) {
+      query(350);
+    }
+    assertThat(advisor.batchSize(node, 100)).isEqualTo(500);
+    assertThat(grow.get(false)).isEqualTo(2);
+
+    // exactly filling the buffer does not grow
+    LazyLoadBatchAdvisor other = new LazyLoadBatchAdvisor(100, grow, shrink);
+    for (int i = 0; i < 2 * LazyLoadBatchAdvisor.SAMPLE_LOADS; i++) {
+      other.load(node, 100, 100);
+    }
+    assertThat(other.batchSize(node, 100)).isEqualTo(100);
+  }
+
+  @Test
+  void batchSize_maxBatchSize() {
+    for (int i = 0; i < 100; i++) {
+      query(5000);
+    }
+    assertThat(advisor.batchSize(node, 100)).isEqualTo(500);
+  }
+
+  @Test
+  void visitMetrics() {
+    for (int i = 0; i < LazyLoadBatchAdvisor.SAMPLE_LOADS; i++) {
+      query(3);
+    }
+    BasicMetricVisitor visitor = new BasicMetricVisitor();
+    advisor.visitMetrics(visitor);
+    assertThat(visitor.countMetrics()).hasSize(1);
+    MetaCountMetric metric = visitor.countMetrics().get(0);
+    assertThat(metric.name()).startsWith("ebean.lazyload.batchsize.").endsWith(".customer");
+    assertThat(metric.count()).isEqualTo(5);
+  }
+}
@@ -0,0 +1,150 @@
+package io.ebeaninternal.server.profile;
+
+import io.ebean.meta.MetricVisitor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+  @Test
+  void index_highestValue() {
+    for (long value = 0; value < 16; value++) {
+      assertThat(LatencyHistogram.index(value)).isEqualTo((int) value);
+      assertThat(LatencyHistogram.highestValue((int) value)).isEqualTo(value);
+    }
+    assertThat(LatencyHistogram.index(16)).isEqualTo(16);
+    assertThat(LatencyHistogram.index(17)).isEqualTo(17);
+    assertThat(LatencyHistogram.index(32)).isEqualTo(32);
+    assertThat(LatencyHistogram.index(33)).isEqualTo(32);
+    assertThat(LatencyHistogram.highestValue(32)).isEqualTo(33);
+    assertThat(LatencyHistogram.index(-1)).isEqualTo(0);
+    assertThat(LatencyHistogram.index(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+  }
+
+  @Test
+  void highestValue_relativeError() {
+    for (long value = 1; value < 10_000_000; value = value * 3 + 1) {
+      long upper = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+      assertThat(upper).isGreaterThanOrEqualTo(value);
+      assertThat((double) (upper - value) / value).isLessThanOrEqualTo(1d / 16);
+    }
+  }
+
+  @Test
+  void percentile() {
+    LatencyHistogram histogram = new LatencyHistogram(4);
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot(MetricVisitor.Mode.CUMULATIVE);
+    assertThat(snapshot.count()).isEqualTo(1000);
+    assertPercentile(snapshot.percentile(50), 500);
+    assertPercentile(snapshot.percentile(95), 950);
+    assertPercentile(snapshot.percentile(99), 990);
+    assertThat(snapshot.percentile(100)).isEqualTo(1023);
+    assertThat(snapshot.percentile(0)).isEqualTo(1);
+  }
+
+  private static void assertPercentile(long actual, long expected) {
+    assertThat(actual).isBetween(expected, expected + expected / 16);
+  }
+
+  @Test
+  void record_withCount() {
+    LatencyHistogram histogram = new LatencyHistogram(1);
+    histogram.record(10, 99);
+    histogram.record(5000);
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot(MetricVisitor.Mode.RESET);
+    assertThat(snapshot.count()).isEqualTo(100);
+    assertThat(snapshot.percentile(99)).isEqualTo(10);
+    assertPercentile(snapshot.percentile(100), 5000);
+  }
+
+  @Test
+  void snapshot_modes() {
+    LatencyHistogram histogram = new LatencyHistogram(2);
+    histogram.record(100);
+    histogram.record(200);
+
+    assertThat(histogram.snapshot(MetricVisitor.Mode.CUMULATIVE).count()).isEqualTo(2);
+    assertThat(histogram.snapshot(MetricVisitor.Mode.DELTA).count()).isEqualTo(2);
+
+    histogram.record(300);
+    assertThat(histogram.snapshot(MetricVisitor.Mode.DELTA).count()).isEqualTo(1);
+    assertThat(histogram.snapshot(MetricVisitor.Mode.CUMULATIVE).count()).isEqualTo(3);
+
+    assertThat(histogram.snapshot(MetricVisitor.Mode.RESET).count()).isEqualTo(3);
+    assertThat(histogram.snapshot(MetricVisitor.Mode.CUMULATIVE).count()).isEqualTo(0);
+    assertThat(histogram.snapshot(MetricVisitor.Mode.CUMULATIVE).percentile(99)).isEqualTo(0);
+  }
+
+  @Test
+  void stripes_allocatedOnContention() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram(8);
+    histogram.record(10, 1000);
+    assertThat(histogram.stripeCount()).isEqualTo(1);
+
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < 100_000; i++) {
+          histogram.record(10);
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(histogram.stripeCount()).isBetween(1, 4);
+    assertThat(histogram.snapshot(MetricVisitor.Mode.CUMULATIVE).count()).isEqualTo(801_000);
+
+    LatencyHistogram single = new LatencyHistogram(1);
+    single.record(10);
+    assertThat(single.stripeCount()).isEqualTo(1);
+  }
+
+  @Test
+  void merge() {
+    LatencyHistogram a = new LatencyHistogram(1);
+    LatencyHistogram b = new LatencyHistogram(1);
+    a.record(10, 50);
+    b.record(1000, 50);
+    LatencyHistogram.Snapshot merged = a.snapshot(MetricVisitor.Mode.RESET).merge(b.snapshot(MetricVisitor.Mode.RESET));
+    assertThat(merged.count()).isEqualTo(100);
+    assertThat(merged.percentile(50)).isEqualTo(10);
+    assertPercentile(merged.percentile(51), 1000);
+  }
+
+  @Test
+  void timedMetric_percentiles() {
+    DTimedMetric metric = new DTimedMetric("hist", true);
+    for (int i = 1; i <= 100; i++) {
+      metric.add(i * 10L);
+    }
+    DTimeMetricStats stats = metric.collect(true);
+    assertThat(stats.hasPercentiles()).isTrue();
+    assertPercentile(stats.percentile(95), 950);
+    assertThat(metric.collect(true)).isNull();
+
+    DTimedMetric cumulative = new DTimedMetric("cumulative", true);
+    cumulative.add(100);
+    cumulative.add(300);
+    DTimeMetricStats first = cumulative.collect(MetricVisitor.Mode.CUMULATIVE);
+    assertThat(first.max()).isEqualTo(300);
+    assertThat(first.initialCollection()).isTrue();
+    // cumulative collection does not reset the max or the initial collection for other reporters
+    DTimeMetricStats reset = cumulative.collect(MetricVisitor.Mode.RESET);
+    assertThat(reset.max()).isEqualTo(300);
+    assertThat(reset.initialCollection()).isTrue();
+    cumulative.add(50);
+    DTimeMetricStats next = cumulative.collect(MetricVisitor.Mode.RESET);
+    assertThat(next.max()).isEqualTo(50);
+    assertThat(next.initialCollection()).isFalse();
+
+    DTimedMetric plain = new DTimedMetric("plain");
+    plain.add(10);
+    assertThat(plain.collect(true).hasPercentiles()).isFalse();
+  }
+}
@@ -0,0 +1,108 @@
+package io.ebeaninternal.server.query;
+
+import io.ebeaninternal.api.CQueryPlanKey;
+import io.ebeaninternal.api.ExtraMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CQueryPlanCacheTest {
+
+  private final ExtraMetrics metrics = new ExtraMetrics();
+
+  private static CQueryPlanKey key(int i) {
+    return new RawSqlQueryPlanKey("select " + i, false, "");
+  }
+
+  @Test
+  void lookup_expect_hitAndMissCounted() {
+    CQueryPlanCache cache = new CQueryPlanCache(10, metrics);
+    CQueryPlan plan = mock(CQueryPlan.class);
+
+    assertThat(cache.lookup(key(1))).isNull();
+    cache.put(key(1), plan, System.nanoTime());
+    assertThat(cache.lookup(key(1))).isSameAs(plan);
+    assertThat(cache.lookup(key(1))).isSameAs(plan);
+    // get does not count
+    assertThat(cache.get(key(1))).isSameAs(plan);
+
+    assertThat(metrics.planMiss().get(false)).isEqualTo(1);
+    assertThat(metrics.planHit().get(false)).isEqualTo(2);
+    assertThat(metrics.planCompile().isEmpty()).isFalse();
+  }
+
+  @Test
+  void put_overMaxSize_expect_frequentlyUsedRetained() {
+    CQueryPlanCache cache = new CQueryPlanCache(10, metrics);
+    for (int i = 0; i < 10; i++) {
+      cache.put(key(i), mock(CQueryPlan.class), 0);
+    }
+    for (int j = 0; j < 10; j++) {
+      for (int i = 0; i < 5; i++) {
+        cache.lookup(key(i));
+      }
+    }
+    assertThat(cache.size()).isEqualTo(10);
+
+    // exceeds max size, trimmed back to 9
+    cache.put(key(10), mock(CQueryPlan.class), 0);
+    assertThat(cache.size()).isEqualTo(9);
+    assertThat(metrics.planEvict().get(false)).isEqualTo(2);
+    for (int i = 0; i < 5; i++) {
+      assertThat(cache.get(key(i))).isNotNull();
+    }
+
+    // a burst of one off plans does not evict the frequently used ones
+    for (int i = 100; i < 120; i++) {
+      cache.put(key(i), mock(CQueryPlan.class), 0);
+    }
+    assertThat(cache.size()).isLessThanOrEqualTo(10);
+    for (int i = 0; i < 5; i++) {
+      assertThat(cache.get(key(i))).isNotNull();
+    }
+  }
+
+  @Test
+  void evictTrimClear_expect_planReleased() {
+    CQueryPlanCache cache = new CQueryPlanCache(3, metrics);
+    CQueryPlan hot = mock(CQueryPlan.class);
+    CQueryPlan cold1 = mock(CQueryPlan.class);
+    CQueryPlan cold2 = mock(CQueryPlan.class);
+    cache.put(key(1), hot, 0);
+    cache.put(key(2), cold1, 0);
+    cache.put(key(3), cold2, 0);
+    cache.lookup(key(1));
+
+    // exceeds max size, trimmed back to 2
+    CQueryPlan unused = mock(CQueryPlan.class);
+    cache.put(key(4), unused, 0);
+    verify(cold1).release();
+    verify(cold2).release();
+    verify(hot, never()).release();
+    verify(unused, never()).release();
+
+    when(hot.lastQueryTime()).thenReturn(System.currentTimeMillis());
+    cache.trim(System.currentTimeMillis() - 1000);
+    verify(unused).release();
+    verify(hot, never()).release();
+
+    cache.clear();
+    verify(hot).release();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  void put_maxSizeZero_expect_unbounded() {
+    CQueryPlanCache cache = new CQueryPlanCache(0, metrics);
+    for (int i = 0; i < 100; i++) {
+      cache.put(key(i), mock(CQueryPlan.class), 0);
+    }
+    assertThat(cache.size()).isEqualTo(100);
+    cache.clear();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,60 @@
+package io.ebeaninternal.server.query;
+
+import io.ebean.meta.MetaQueryPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowPlanCaptureTest {
+
+  @Test
+  void threshold_tracksP99() {
+    SlowPlanCapture capture = new SlowPlanCapture(5, Long.MAX_VALUE);
+    Random random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      capture.sample(1 + random.nextInt(10_000));
+    }
+    assertThat(capture.threshold()).isBetween(9_500L, 10_500L);
+  }
+
+  @Test
+  void sample_triggersCapture() {
+    SlowPlanCapture capture = new SlowPlanCapture(5, 1_000);
+    for (int i = 0; i < SlowPlanCapture.WARMUP; i++) {
+      assertThat(capture.sample(100)).isFalse();
+    }
+    // slow but below the minimum
+    assertThat(capture.sample(900)).isFalse();
+    assertThat(capture.sample(50_000)).isTrue();
+    assertThat(capture.start()).isTrue();
+    assertThat(capture.start()).isFalse();
+    capture.complete();
+    // within the minimum interval
+    assertThat(capture.sample(50_000)).isFalse();
+    assertThat(capture.start()).isFalse();
+  }
+
+  @Test
+  void release() {
+    SlowPlanCapture capture = new SlowPlanCapture(3, 0);
+    assertThat(capture.isReleased()).isFalse();
+    capture.release();
+    assertThat(capture.isReleased()).isTrue();
+  }
+
+  @Test
+  void captures_ringBuffer() {
+    SlowPlanCapture capture = new SlowPlanCapture(3, 0);
+    assertThat(capture.captures()).isEmpty();
+
+    MetaQueryPlan[] plans = new MetaQueryPlan[5];
+    for (int i = 0; i < plans.length; i++) {
+      plans[i] = new DQueryPlanOutput(null, "db", "label" + i, "hash", "sql", null, "bind", "plan");
+      assertThat(capture.nextCount()).isEqualTo(i + 1);
+      assertThat(capture.add(plans[i])).isEqualTo(i + 1);
+    }
+    assertThat(capture.captures()).containsExactly(plans[4], plans[3], plans[2]);
+  }
+}
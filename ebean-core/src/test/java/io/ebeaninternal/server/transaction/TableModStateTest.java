@@ -1,12 +1,19 @@
 package io.ebeaninternal.server.transaction;
 
+import io.ebean.cache.QueryCacheEntry;
+import io.ebean.metric.CountMetric;
+import io.ebean.metric.MetricFactory;
+import io.ebeaninternal.server.cache.QueryCacheRowMod;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -40,6 +47,57 @@ class TableModStateTest {
 
   }
 
+  @Test
+  void isValid_rowInvalidation() throws InterruptedException {
+    CountMetric rowValid = MetricFactory.get().createCountMetric("test.rowvalid");
+    TableModState rowState = new TableModState(true, rowValid);
+
+    Instant before = Instant.now();
+    Thread.sleep(5);
+
+    QueryCacheRowMod update = new QueryCacheRowMod();
+    update.addUpdate(42L, setOf("name"));
+    rowState.touch(setOf("one", "two"), Map.of("one", update));
+
+    // no row information
+    assertFalse(rowState.isValid(new QueryCacheEntry(null, setOf("one"), before)));
+    // table level modification on two
+    assertFalse(rowState.isValid(entry(before, setOf("one", "two"), Set.<Object>of(1L), setOf("status"))));
+
+    // id in the result
+    assertFalse(rowState.isValid(entry(before, setOf("one"), Set.<Object>of(1L, 42L), setOf("status"))));
+    // modified property used by the predicates
+    assertFalse(rowState.isValid(entry(before, setOf("one"), Set.<Object>of(1L), setOf("status", "name"))));
+    // predicates not known
+    assertFalse(rowState.isValid(entry(before, setOf("one"), Set.<Object>of(1L), null)));
+
+    // not affected by the row modification
+    assertThat(rowValid.get(true)).isEqualTo(0);
+    assertTrue(rowState.isValid(entry(before, setOf("one"), Set.<Object>of(1L), setOf("status"))));
+    assertThat(rowValid.get(true)).isEqualTo(1);
+
+    // deleted rows only affect entries containing them
+    QueryCacheRowMod delete = new QueryCacheRowMod();
+    delete.addDelete(List.of(7L));
+    rowState.touch(setOf("one"), Map.of("one", delete));
+    assertTrue(rowState.isValid(entry(before, setOf("one"), Set.<Object>of(1L), setOf("status", "id"))));
+    assertFalse(rowState.isValid(entry(before, setOf("one"), Set.<Object>of(1L, 7L), setOf("status"))));
+  }
+
+  @Test
+  void touch_withoutRowInvalidation_isTableLevel() {
+    Instant before = Instant.now().minusMillis(5);
+    QueryCacheRowMod update = new QueryCacheRowMod();
+    update.addUpdate(42L, setOf("name"));
+    tableModState.touch(setOf("one"), Map.of("one", update));
+
+    assertFalse(tableModState.isValid(entry(before, setOf("one"), Set.<Object>of(1L), setOf("status"))));
+  }
+
+  private QueryCacheEntry entry(Instant timestamp, Set<String> tables, Set<Object> ids, Set<String> predicateProperties) {
+    return new QueryCacheEntry(null, tables, timestamp, "one", ids, predicateProperties);
+  }
+
   private Set<String> setOf(String... tables) {
     Set<String> touched = new HashSet<>();
     Collections.addAll(touched, tables);
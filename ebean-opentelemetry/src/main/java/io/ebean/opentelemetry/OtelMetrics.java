@@ -0,0 +1,63 @@
+package io.ebean.opentelemetry;
+
+import io.ebean.meta.BasicMetricVisitor;
+import io.ebean.meta.MetaTimedMetric;
+import io.ebean.meta.MetricNamingMatch;
+import io.ebean.meta.MetricVisitor;
+import io.ebean.plugin.SpiServer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+
+/**
+ * Exports the latency percentiles of histogram backed timed metrics as an OpenTelemetry gauge.
+ * <p>
+ * The metrics are collected in CUMULATIVE mode such that other metric reporters
+ * (that typically collect with RESET) are not affected.
+ */
+final class OtelMetrics {
+
+  static final String LATENCY = "db.ebean.latency";
+  static final AttributeKey<String> METRIC = AttributeKey.stringKey("ebean.metric");
+  static final AttributeKey<String> QUANTILE = AttributeKey.stringKey("quantile");
+
+  private static final double[] PERCENTILES = {50, 95, 99};
+  private static final String[] QUANTILES = {"0.5", "0.95", "0.99"};
+
+  private final SpiServer server;
+  private final ObservableLongGauge gauge;
+
+  OtelMetrics(SpiServer server, Meter meter) {
+    this.server = server;
+    this.gauge = meter.gaugeBuilder(LATENCY)
+      .ofLongs()
+      .setUnit("us")
+      .setDescription("Ebean query and transaction latency percentiles")
+      .buildWithCallback(this::record);
+  }
+
+  private void record(ObservableLongMeasurement measurement) {
+    BasicMetricVisitor visitor = new BasicMetricVisitor(server.name(), MetricNamingMatch.INSTANCE, MetricVisitor.Mode.CUMULATIVE, true, true, false);
+    server.metaInfo().visitMetrics(visitor);
+    for (MetaTimedMetric metric : visitor.timedMetrics()) {
+      record(measurement, metric);
+    }
+    for (MetaTimedMetric metric : visitor.queryMetrics()) {
+      record(measurement, metric);
+    }
+  }
+
+  private void record(ObservableLongMeasurement measurement, MetaTimedMetric metric) {
+    if (metric.hasPercentiles() && metric.count() > 0) {
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        measurement.record(metric.percentile(PERCENTILES[i]), Attributes.of(METRIC, metric.name(), QUANTILE, QUANTILES[i]));
+      }
+    }
+  }
+
+  void close() {
+    gauge.close();
+  }
+}
@@ -18,6 +18,9 @@ import org.jspecify.annotations.Nullable;
  * span. If no active span exists on the current thread, no profiling stream is
  * created (returns null) to avoid generating noisy root-level spans.
  * <p>
+ * When {@code metricsHistogram} is enabled the latency percentiles of the timed
+ * metrics are additionally exported as a gauge via the global Meter.
+ * <p>
  * Register via ServiceLoader: add this class to
  * {@code META-INF/services/io.ebeaninternal.api.SpiProfileHandler}.
  */
@@ -26,6 +29,7 @@ public final class OtelProfileHandler implements SpiProfileHandler, Plugin {
   static final String INSTRUMENTATION_NAME = "io.ebean";
 
   private Tracer tracer;
+  private OtelMetrics metrics;
 
   public OtelProfileHandler() {
     // tracer resolved lazily in configure() once the OTel SDK is initialized
@@ -41,6 +45,10 @@ public final class OtelProfileHandler implements SpiProfileHandler, Plugin {
     if (tracer == null) {
       tracer = GlobalOpenTelemetry.getTracer(INSTRUMENTATION_NAME);
     }
+    if (server.config().isMetricsHistogram()) {
+      // export the latency percentiles of the histogram backed metrics
+      metrics = new OtelMetrics(server, GlobalOpenTelemetry.getMeter(INSTRUMENTATION_NAME));
+    }
   }
 
   @Override
@@ -50,7 +58,10 @@ public final class OtelProfileHandler implements SpiProfileHandler, Plugin {
 
   @Override
   public void shutdown() {
-    // nothing to do — OTel SDK lifecycle is managed by the application
+    // OTel SDK lifecycle is managed by the application
+    if (metrics != null) {
+      metrics.close();
+    }
   }
 
   /**
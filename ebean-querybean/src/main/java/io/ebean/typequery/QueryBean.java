@@ -14,6 +14,7 @@ import io.ebeaninternal.server.util.ArrayStack;
 import java.sql.Connection;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -890,6 +891,21 @@ public abstract class QueryBean<T, R extends QueryBean<T, R>> implements IQueryB
     return query.findFutureMap();
   }
 
+  @Override
+  public final CompletionStage<List<T>> findListAsync() {
+    return query.findListAsync();
+  }
+
+  @Override
+  public final CompletionStage<T> findOneAsync() {
+    return query.findOneAsync();
+  }
+
+  @Override
+  public final CompletionStage<Integer> findCountAsync() {
+    return query.findCountAsync();
+  }
+
   @Override
   public final PagedList<T> findPagedList() {
     return query.findPagedList();
@@ -2,20 +2,23 @@ package io.ebean.redis;
 
 import io.ebean.cache.ServerCache;
 import io.ebean.meta.MetricVisitor;
-import io.ebeaninternal.server.cache.DefaultServerCache;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Near cache in front of the redis cache with invalidation of the near caches of other
+ * cluster members.
+ */
 public final class DuelCache implements ServerCache, NearCacheInvalidate {
 
-  private final DefaultServerCache near;
+  private final ServerCache near;
   private final RedisCache remote;
   private final NearCacheNotify cacheNotify;
   private final String cacheKey;
 
-  public DuelCache(DefaultServerCache near, RedisCache remote, String cacheKey, NearCacheNotify cacheNotify) {
+  public DuelCache(ServerCache near, RedisCache remote, String cacheKey, NearCacheNotify cacheNotify) {
     this.near = near;
     this.remote = remote;
     this.cacheKey = cacheKey;
@@ -116,14 +119,14 @@ public final class DuelCache implements ServerCache, NearCacheInvalidate {
    * Return the near cache hit count.
    */
   public long getNearHitCount() {
-    return near.getHitCount();
+    return near.statistics(false).getHitCount();
   }
 
   /**
    * Return the near cache miss count.
    */
   public long getNearMissCount() {
-    return near.getMissCount();
+    return near.statistics(false).getMissCount();
   }
 
   /**
@@ -0,0 +1,106 @@
+package io.ebean.redis;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Near cache invalidations collected to be sent to the other cluster members as a single message.
+ * <p>
+ * A clear of a cache supersedes the key invalidations for that cache.
+ */
+final class NearCacheBatch {
+
+  private final Set<String> clear = new LinkedHashSet<>();
+  private final Map<String, Set<Object>> keys = new LinkedHashMap<>();
+
+  /**
+   * Add invalidation of the given keys.
+   */
+  void addKeys(String cacheKey, Collection<Object> ids) {
+    if (!clear.contains(cacheKey)) {
+      keys.computeIfAbsent(cacheKey, k -> new LinkedHashSet<>()).addAll(ids);
+    }
+  }
+
+  /**
+   * Add invalidation of a single key.
+   */
+  void addKey(String cacheKey, Object id) {
+    if (!clear.contains(cacheKey)) {
+      keys.computeIfAbsent(cacheKey, k -> new LinkedHashSet<>()).add(id);
+    }
+  }
+
+  /**
+   * Add clear of the cache.
+   */
+  void addClear(String cacheKey) {
+    keys.remove(cacheKey);
+    clear.add(cacheKey);
+  }
+
+  /**
+   * Return the number of invalidations (keys plus clears).
+   */
+  int size() {
+    int size = clear.size();
+    for (Set<Object> ids : keys.values()) {
+      size += ids.size();
+    }
+    return size;
+  }
+
+  /**
+   * Return the caches to clear.
+   */
+  Set<String> clear() {
+    return clear;
+  }
+
+  /**
+   * Return the keys to invalidate by cache.
+   */
+  Map<String, Set<Object>> keys() {
+    return keys;
+  }
+
+  void write(ObjectOutput out) throws IOException {
+    out.writeInt(clear.size());
+    for (String cacheKey : clear) {
+      out.writeUTF(cacheKey);
+    }
+    out.writeInt(keys.size());
+    for (Map.Entry<String, Set<Object>> entry : keys.entrySet()) {
+      out.writeUTF(entry.getKey());
+      out.writeInt(entry.getValue().size());
+      for (Object id : entry.getValue()) {
+        out.writeObject(id);
+      }
+    }
+  }
+
+  static NearCacheBatch read(ObjectInput in) throws IOException, ClassNotFoundException {
+    NearCacheBatch batch = new NearCacheBatch();
+    int clearCount = in.readInt();
+    for (int i = 0; i < clearCount; i++) {
+      batch.addClear(in.readUTF());
+    }
+    int cacheCount = in.readInt();
+    for (int i = 0; i < cacheCount; i++) {
+      String cacheKey = in.readUTF();
+      int count = in.readInt();
+      Set<Object> ids = new LinkedHashSet<>();
+      for (int j = 0; j < count; j++) {
+        ids.add(in.readObject());
+      }
+      batch.keys.put(cacheKey, ids);
+    }
+    return batch;
+  }
+}
@@ -13,7 +13,8 @@ import io.ebean.metric.TimedMetricStats;
 import io.ebean.redis.encode.Encode;
 import io.ebean.redis.encode.EncodePrefixKey;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.Transaction;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.util.Pool;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.params.SetParams;
@@ -25,8 +26,18 @@ import java.util.*;
 import static java.lang.System.Logger.Level.ERROR;
 import static java.lang.System.Logger.Level.WARNING;
 
+/**
+ * Redis backed L2 cache.
+ * <p>
+ * Multi-key operations are split into chunks of at most batchSize keys (MGET, MSET or SET
+ * with expiration per key) that are sent as a single pipeline such that any number of keys
+ * takes a single round trip. The roundTrips metric counts the requests made to redis and
+ * together with the timed metrics gives the round trips per logical cache operation.
+ */
 final class RedisCache implements ServerCache {
 
+  static final int DEFAULT_BATCH_SIZE = 500;
+
   private static final System.Logger log = AppLog.getLogger(RedisCache.class);
 
   private static final String CURSOR_0 = "0";
@@ -37,6 +48,7 @@ final class RedisCache implements ServerCache {
   private final EncodePrefixKey keyEncode;
   private final Encode valueEncode;
   private final SetParams expiration;
+  private final int batchSize;
   private final TimedMetric metricGet;
   private final TimedMetric metricGetAll;
   private final TimedMetric metricPut;
@@ -46,9 +58,15 @@ final class RedisCache implements ServerCache {
   private final TimedMetric metricClear;
   private final CountMetric hitCount;
   private final CountMetric missCount;
+  private final CountMetric roundTrips;
 
   RedisCache(Pool<Jedis> jedisPool, ServerCacheConfig config, Encode valueEncode) {
+    this(jedisPool, config, valueEncode, DEFAULT_BATCH_SIZE);
+  }
+
+  RedisCache(Pool<Jedis> jedisPool, ServerCacheConfig config, Encode valueEncode, int batchSize) {
     this.jedisPool = jedisPool;
+    this.batchSize = Math.max(1, batchSize);
     this.cacheKey = config.getCacheKey();
     this.keyEncode = new EncodePrefixKey(config.getCacheKey());
     this.valueEncode = valueEncode;
@@ -57,6 +75,7 @@ final class RedisCache implements ServerCache {
     MetricFactory factory = MetricFactory.get();
     hitCount = factory.createCountMetric(namePrefix + ".hit");
     missCount = factory.createCountMetric(namePrefix + ".miss");
+    roundTrips = factory.createCountMetric(namePrefix + ".roundTrips");
     metricGet = factory.createTimedMetric(namePrefix + ".get");
     metricGetAll = factory.createTimedMetric(namePrefix + ".getMany");
     metricPut = factory.createTimedMetric(namePrefix + ".put");
@@ -81,6 +100,7 @@ final class RedisCache implements ServerCache {
   public void visit(MetricVisitor visitor) {
     hitCount.visit(visitor);
     missCount.visit(visitor);
+    roundTrips.visit(visitor);
     metricGet.visit(visitor);
     metricGetAll.visit(visitor);
     metricPut.visit(visitor);
@@ -130,7 +150,7 @@ final class RedisCache implements ServerCache {
     Map<Object, Object> map = new LinkedHashMap<>();
     List<Object> keyList = new ArrayList<>(keys);
     try (Jedis resource = jedisPool.getResource()) {
-      List<byte[]> valsAsBytes = resource.mget(keysAsBytes(keyList));
+      List<byte[]> valsAsBytes = mget(resource, keyList);
       for (int i = 0; i < keyList.size(); i++) {
         Object val = valueDecode(valsAsBytes.get(i));
         if (val != null) {
@@ -153,10 +173,37 @@ final class RedisCache implements ServerCache {
     }
   }
 
+  /**
+   * MGET the keys using a pipeline of chunks when there are more keys than the batch size.
+   */
+  private List<byte[]> mget(Jedis resource, List<Object> keyList) {
+    roundTrips.increment();
+    if (keyList.size() <= batchSize) {
+      return resource.mget(keysAsBytes(keyList));
+    }
+    List<Response<List<byte[]>>> responses = new ArrayList<>();
+    try (Pipeline pipeline = resource.pipelined()) {
+      for (int from = 0; from < keyList.size(); from += batchSize) {
+        responses.add(pipeline.mget(keysAsBytes(chunk(keyList, from))));
+      }
+      pipeline.sync();
+    }
+    List<byte[]> values = new ArrayList<>(keyList.size());
+    for (Response<List<byte[]>> response : responses) {
+      values.addAll(response.get());
+    }
+    return values;
+  }
+
+  private <T> List<T> chunk(List<T> list, int from) {
+    return list.subList(from, Math.min(from + batchSize, list.size()));
+  }
+
   @Override
   public Object get(Object id) {
     long start = System.nanoTime();
     try (Jedis resource = jedisPool.getResource()) {
+      roundTrips.increment();
       Object val = valueDecode(resource.get(key(id)));
       if (val != null) {
         hitCount.increment();
@@ -175,6 +222,7 @@ final class RedisCache implements ServerCache {
   public void put(Object id, Object value) {
     long start = System.nanoTime();
     try (Jedis resource = jedisPool.getResource()) {
+      roundTrips.increment();
       if (expiration == null) {
         resource.set(key(id), value(value));
       } else {
@@ -190,15 +238,16 @@ final class RedisCache implements ServerCache {
   public void putAll(Map<Object, Object> keyValues) {
     long start = System.nanoTime();
     try (Jedis resource = jedisPool.getResource()) {
-      try (final Transaction multi = resource.multi()) {
-        for (Map.Entry<Object, Object> entry : keyValues.entrySet()) {
-          if (expiration == null) {
-            multi.set(key(entry.getKey()), value(entry.getValue()));
-          } else {
-            multi.set(key(entry.getKey()), value(entry.getValue()), expiration);
+      roundTrips.increment();
+      try (Pipeline pipeline = resource.pipelined()) {
+        if (expiration == null) {
+          msetChunks(pipeline, keyValues);
+        } else {
+          for (Map.Entry<Object, Object> entry : keyValues.entrySet()) {
+            pipeline.set(key(entry.getKey()), value(entry.getValue()), expiration);
           }
         }
-        multi.exec();
+        pipeline.sync();
       }
       metricPutAll.addSinceNanos(start);
     } catch (Exception e) {
@@ -206,10 +255,27 @@ final class RedisCache implements ServerCache {
     }
   }
 
+  private void msetChunks(Pipeline pipeline, Map<Object, Object> keyValues) {
+    byte[][] keysValues = new byte[2 * Math.min(batchSize, keyValues.size())][];
+    int pos = 0;
+    int remaining = keyValues.size();
+    for (Map.Entry<Object, Object> entry : keyValues.entrySet()) {
+      keysValues[pos++] = key(entry.getKey());
+      keysValues[pos++] = value(entry.getValue());
+      remaining--;
+      if (pos == keysValues.length) {
+        pipeline.mset(keysValues);
+        pos = 0;
+        keysValues = new byte[2 * Math.min(batchSize, remaining)][];
+      }
+    }
+  }
+
   @Override
   public void remove(Object id) {
     long start = System.nanoTime();
     try (Jedis resource = jedisPool.getResource()) {
+      roundTrips.increment();
       resource.del(key(id));
       metricRemove.addSinceNanos(start);
     } catch (Exception e) {
@@ -221,7 +287,18 @@ final class RedisCache implements ServerCache {
   public void removeAll(Set<Object> keys) {
     long start = System.nanoTime();
     try (Jedis resource = jedisPool.getResource()) {
-      resource.del(keysAsBytes(keys));
+      roundTrips.increment();
+      if (keys.size() <= batchSize) {
+        resource.del(keysAsBytes(keys));
+      } else {
+        List<Object> keyList = new ArrayList<>(keys);
+        try (Pipeline pipeline = resource.pipelined()) {
+          for (int from = 0; from < keyList.size(); from += batchSize) {
+            pipeline.del(keysAsBytes(chunk(keyList, from)));
+          }
+          pipeline.sync();
+        }
+      }
       metricRemoveAll.addSinceNanos(start);
     } catch (Exception e) {
       errorOnWrite(e);
@@ -238,6 +315,7 @@ final class RedisCache implements ServerCache {
       String next;
       byte[] nextCursor = CURSOR_0_BYTES;
       do {
+        roundTrips.increment();
         ScanResult<byte[]> scanResult = resource.scan(nextCursor, params);
         List<byte[]> keys = scanResult.getResult();
         nextCursor = scanResult.getCursorAsBytes();
@@ -247,6 +325,7 @@ final class RedisCache implements ServerCache {
           for (int i = 0; i < keys.size(); i++) {
             raw[i] = keys.get(i);
           }
+          roundTrips.increment();
           resource.del(raw);
         }
         next = SafeEncoder.encode(nextCursor);
@@ -280,6 +359,13 @@ final class RedisCache implements ServerCache {
     return missCount.get(false);
   }
 
+  /**
+   * Return the count of requests made to redis.
+   */
+  long getRoundTrips() {
+    return roundTrips.get(false);
+  }
+
   @Override
   public ServerCacheStatistics statistics(boolean reset) {
     ServerCacheStatistics cacheStats = new ServerCacheStatistics();
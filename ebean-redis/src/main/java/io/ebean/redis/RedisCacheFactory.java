@@ -5,6 +5,7 @@ import io.ebean.BackgroundExecutor;
 import io.ebean.cache.*;
 import io.ebean.DatabaseBuilder;
 import io.ebean.meta.MetricVisitor;
+import io.ebean.metric.CountMetric;
 import io.ebean.metric.MetricFactory;
 import io.ebean.metric.TimedMetric;
 import io.ebean.redis.encode.EncodeBeanData;
@@ -12,9 +13,11 @@ import io.ebean.redis.encode.EncodeManyIdsData;
 import io.ebean.redis.encode.EncodeSerializable;
 import io.ebean.redis.topic.DaemonTopic;
 import io.ebean.redis.topic.DaemonTopicRunner;
+import io.ebeaninternal.server.cache.CachedDataCodec;
 import io.ebeaninternal.server.cache.DefaultServerCache;
 import io.ebeaninternal.server.cache.DefaultServerCacheConfig;
 import io.ebeaninternal.server.cache.DefaultServerQueryCache;
+import io.ebeaninternal.server.cache.TinyLfuServerCache;
 import redis.clients.jedis.BinaryJedisPubSub;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
@@ -28,7 +31,9 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import static java.lang.System.Logger.Level.*;
 import static java.util.Arrays.asList;
@@ -44,6 +49,7 @@ final class RedisCacheFactory implements ServerCacheFactory {
   private static final int MSG_NEARCACHE_CLEAR = 1;
   private static final int MSG_NEARCACHE_KEYS = 2;
   private static final int MSG_NEARCACHE_KEY = 3;
+  private static final int MSG_NEARCACHE_BATCH = 4;
 
   /**
    * Channel for standard L2 cache messages.
@@ -60,13 +66,16 @@ final class RedisCacheFactory implements ServerCacheFactory {
 
   private final ConcurrentHashMap<String, RQueryCache> queryCaches = new ConcurrentHashMap<>();
   private final Map<String, NearCacheInvalidate> nearCacheMap = new ConcurrentHashMap<>();
-  private final EncodeManyIdsData encodeManyIdsData = new EncodeManyIdsData();
-  private final EncodeBeanData encodeBeanData = new EncodeBeanData();
+  private final EncodeManyIdsData encodeManyIdsData;
+  private final EncodeBeanData encodeBeanData;
   private final EncodeSerializable encodeSerializable = new EncodeSerializable();
   private final BackgroundExecutor executor;
   private final Pool<Jedis> jedisPool;
   private final NearCacheNotify nearCacheNotify;
+  private final int batchSize;
+  private final boolean nearCacheTinyLfu;
   private final TimedMetric metricOutNearCache;
+  private final CountMetric metricOutNearInvalidations;
   private final TimedMetric metricOutTableMod;
   private final TimedMetric metricOutQueryCache;
   private final TimedMetric metricInNearCache;
@@ -78,26 +87,47 @@ final class RedisCacheFactory implements ServerCacheFactory {
 
   RedisCacheFactory(DatabaseBuilder.Settings config, BackgroundExecutor executor) {
     this.executor = executor;
-    this.nearCacheNotify = new DNearCacheNotify();
+    CachedDataCodec codec = CachedDataCodec.of(config);
+    this.encodeManyIdsData = new EncodeManyIdsData(codec);
+    this.encodeBeanData = new EncodeBeanData(codec);
+    RedisConfig redisConfig = redisConfig(config);
+    this.batchSize = redisConfig.getBatchSize();
+    this.nearCacheTinyLfu = redisConfig.isNearCacheTinyLfu() || config.isCacheTinyLfu();
+    this.nearCacheNotify = redisConfig.isNearCacheNotifyBatch()
+      ? new DNearCacheBatchNotify(redisConfig.getNearCacheNotifyDelayMillis())
+      : new DNearCacheNotify();
     MetricFactory factory = MetricFactory.get();
     this.metricOutTableMod = factory.createTimedMetric("l2a.outTableMod");
     this.metricOutQueryCache = factory.createTimedMetric("l2a.outQueryCache");
     this.metricOutNearCache = factory.createTimedMetric("l2a.outNearKeys");
+    this.metricOutNearInvalidations = factory.createCountMetric("l2a.outNearInvalidations");
     this.metricInTableMod = factory.createTimedMetric("l2a.inTableMod");
     this.metricInQueryCache = factory.createTimedMetric("l2a.inQueryCache");
     this.metricInNearCache = factory.createTimedMetric("l2a.inNearKeys");
     if (config.isDisableL2Cache()) {
       this.jedisPool = null;
     } else {
-      this.jedisPool = getPool(config);
+      this.jedisPool = getPool(config, redisConfig);
       new DaemonTopicRunner(jedisPool, new CacheDaemonTopic()).run();
     }
   }
 
+  /**
+   * Return the redis configuration with properties applied.
+   */
+  private RedisConfig redisConfig(DatabaseBuilder.Settings config) {
+    RedisConfig redisConfig = config.getServiceObject(RedisConfig.class);
+    if (redisConfig == null) {
+      redisConfig = new RedisConfig();
+    }
+    redisConfig.loadProperties(config.getProperties());
+    return redisConfig;
+  }
+
   /**
    * Return the connection pool to use.
    */
-  private Pool<Jedis> getPool(DatabaseBuilder.Settings config) {
+  private Pool<Jedis> getPool(DatabaseBuilder.Settings config, RedisConfig redisConfig) {
     JedisPool jedisPool = config.getServiceObject(JedisPool.class);
     if (jedisPool != null) {
       return jedisPool;
@@ -106,11 +136,6 @@ final class RedisCacheFactory implements ServerCacheFactory {
     if (sentinelPool != null) {
       return sentinelPool;
     }
-    RedisConfig redisConfig = config.getServiceObject(RedisConfig.class);
-    if (redisConfig == null) {
-      redisConfig = new RedisConfig();
-    }
-    redisConfig.loadProperties(config.getProperties());
     if (redisConfig.getMode() == RedisConfig.Mode.SENTINEL) {
       log.log(INFO, "using l2cache redis sentinel master {0} sentinels {1}",
         redisConfig.getMasterName(), redisConfig.getSentinels());
@@ -125,6 +150,7 @@ final class RedisCacheFactory implements ServerCacheFactory {
     metricOutQueryCache.visit(visitor);
     metricOutTableMod.visit(visitor);
     metricOutNearCache.visit(visitor);
+    metricOutNearInvalidations.visit(visitor);
     metricInTableMod.visit(visitor);
     metricInQueryCache.visit(visitor);
     metricInNearCache.visit(visitor);
@@ -146,21 +172,35 @@ final class RedisCacheFactory implements ServerCacheFactory {
     }
 
     String cacheKey = config.getCacheKey();
-    DefaultServerCache near = new DefaultServerCache(new DefaultServerCacheConfig(config));
-    near.periodicTrim(executor);
+    ServerCache near = createNearCache(config);
     DuelCache duelCache = new DuelCache(near, redisCache, cacheKey, nearCacheNotify);
     nearCacheMap.put(cacheKey, duelCache);
     return config.tenantAware(duelCache);
   }
 
+  /**
+   * Create the near cache using W-TinyLFU admission when configured.
+   */
+  private ServerCache createNearCache(ServerCacheConfig config) {
+    DefaultServerCacheConfig nearConfig = new DefaultServerCacheConfig(config);
+    if (nearCacheTinyLfu) {
+      TinyLfuServerCache near = new TinyLfuServerCache(nearConfig);
+      near.periodicTrim(executor);
+      return near;
+    }
+    DefaultServerCache near = new DefaultServerCache(nearConfig);
+    near.periodicTrim(executor);
+    return near;
+  }
+
   private RedisCache createRedisCache(ServerCacheConfig config) {
     switch (config.getType()) {
       case NATURAL_KEY:
-        return new RedisCache(jedisPool, config, encodeSerializable);
+        return new RedisCache(jedisPool, config, encodeSerializable, batchSize);
       case BEAN:
-        return new RedisCache(jedisPool, config, encodeBeanData);
+        return new RedisCache(jedisPool, config, encodeBeanData, batchSize);
       case COLLECTION_IDS:
-        return new RedisCache(jedisPool, config, encodeManyIdsData);
+        return new RedisCache(jedisPool, config, encodeManyIdsData, batchSize);
       default:
         throw new IllegalArgumentException("Unexpected cache type? " + config.getType());
     }
@@ -289,15 +329,27 @@ final class RedisCacheFactory implements ServerCacheFactory {
     }
   }
 
+  private void sendNearMessage(byte[] message) {
+    long nanos = System.nanoTime();
+    try (Jedis resource = jedisPool.getResource()) {
+      resource.publish(CHANNEL_NEAR_BYTES, message);
+    } finally {
+      metricOutNearCache.addSinceNanos(nanos);
+    }
+  }
+
   /**
    * Near cache notification using a specific Redis channel (CHANNEL_NEAR).
+   * <p>
+   * Each invalidation is sent as its own message by the calling thread.
    */
   private class DNearCacheNotify implements NearCacheNotify {
 
     @Override
     public void invalidateKeys(String cacheKey, Set<Object> keySet) {
       try {
-        sendMessage(messageInvalidateKeys(cacheKey, keySet));
+        sendNearMessage(messageInvalidateKeys(cacheKey, keySet));
+        metricOutNearInvalidations.add(keySet.size());
       } catch (Exception e) {
         logger.log(ERROR, "failed to transmit invalidateKeys() message", e);
       }
@@ -306,27 +358,20 @@ final class RedisCacheFactory implements ServerCacheFactory {
     @Override
     public void invalidateKey(String cacheKey, Object id) {
       try {
-        sendMessage(messageInvalidateKey(cacheKey, id));
+        sendNearMessage(messageInvalidateKey(cacheKey, id));
+        metricOutNearInvalidations.add(1);
       } catch (Exception e) {
-        logger.log(ERROR, "failed to transmit invalidateKeys() message", e);
+        logger.log(ERROR, "failed to transmit invalidateKey() message", e);
       }
     }
 
     @Override
     public void invalidateClear(String cacheKey) {
       try {
-        sendMessage(messageInvalidateClear(cacheKey));
+        sendNearMessage(messageInvalidateClear(cacheKey));
+        metricOutNearInvalidations.add(1);
       } catch (Exception e) {
-        logger.log(ERROR, "failed to transmit invalidateKeys() message", e);
-      }
-    }
-
-    private void sendMessage(byte[] message) {
-      long nanos = System.nanoTime();
-      try (Jedis resource = jedisPool.getResource()) {
-        resource.publish(CHANNEL_NEAR_BYTES, message);
-      } finally {
-        metricOutNearCache.addSinceNanos(nanos);
+        logger.log(ERROR, "failed to transmit invalidateClear() message", e);
       }
     }
 
@@ -369,6 +414,94 @@ final class RedisCacheFactory implements ServerCacheFactory {
     }
   }
 
+  /**
+   * Near cache notification sending batch messages (when nearCacheNotifyBatch is set).
+   * <p>
+   * Invalidations are collected and sent asynchronously such that the invalidations
+   * that occur while a message is pending are sent together as a single message.
+   * <p>
+   * The near caches of other members are not invalidated until the background thread
+   * publishes the message, so they can return stale entries for longer after the commit
+   * than with {@link DNearCacheNotify} (plus the delay when nearCacheNotifyDelayMillis is set).
+   * Only members that support the batch message type can decode these messages.
+   */
+  private class DNearCacheBatchNotify implements NearCacheNotify {
+
+    private final ReentrantLock batchLock = new ReentrantLock();
+    private final int delayMillis;
+    private NearCacheBatch pending;
+
+    DNearCacheBatchNotify(int delayMillis) {
+      this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public void invalidateKeys(String cacheKey, Set<Object> keySet) {
+      add(batch -> batch.addKeys(cacheKey, keySet));
+    }
+
+    @Override
+    public void invalidateKey(String cacheKey, Object id) {
+      add(batch -> batch.addKey(cacheKey, id));
+    }
+
+    @Override
+    public void invalidateClear(String cacheKey) {
+      add(batch -> batch.addClear(cacheKey));
+    }
+
+    private void add(Consumer<NearCacheBatch> invalidation) {
+      boolean schedule = false;
+      batchLock.lock();
+      try {
+        if (pending == null) {
+          pending = new NearCacheBatch();
+          schedule = true;
+        }
+        invalidation.accept(pending);
+      } finally {
+        batchLock.unlock();
+      }
+      if (schedule) {
+        if (delayMillis > 0) {
+          executor.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+          executor.execute(this::flush);
+        }
+      }
+    }
+
+    private void flush() {
+      NearCacheBatch batch;
+      batchLock.lock();
+      try {
+        batch = pending;
+        pending = null;
+      } finally {
+        batchLock.unlock();
+      }
+      if (batch != null) {
+        try {
+          sendNearMessage(messageBatch(batch));
+          metricOutNearInvalidations.add(batch.size());
+        } catch (Exception e) {
+          logger.log(ERROR, "failed to transmit near cache invalidation message", e);
+        }
+      }
+    }
+
+    private byte[] messageBatch(NearCacheBatch batch) throws IOException {
+      ByteArrayOutputStream ba = new ByteArrayOutputStream(100);
+      ObjectOutputStream os = new ObjectOutputStream(ba);
+      os.writeUTF(serverId);
+      os.writeInt(MSG_NEARCACHE_BATCH);
+      batch.write(os);
+      os.flush();
+      os.close();
+      return ba.toByteArray();
+    }
+  }
+
   /**
    * Redis channel listener that supports reconnection etc.
    */
@@ -411,6 +544,10 @@ final class RedisCacheFactory implements ServerCacheFactory {
             return;
           }
           msgType = oi.readInt();
+          if (msgType == MSG_NEARCACHE_BATCH) {
+            nearCacheInvalidateBatch(NearCacheBatch.read(oi));
+            return;
+          }
           cacheKey = oi.readUTF();
           if (logger.isLoggable(DEBUG)) {
             logger.log(DEBUG, "processNearCacheMessage serverId:{0} type:{1} cacheKey:{2}", sourceServerId, msgType, cacheKey);
@@ -443,6 +580,9 @@ final class RedisCacheFactory implements ServerCacheFactory {
           logger.log(ERROR, "failed to decode near cache message [" + SafeEncoder.encode(message) + "] for cache:" + cacheKey, e);
           if (cacheKey != null) {
             nearCacheInvalidateClear(cacheKey);
+          } else if (msgType == MSG_NEARCACHE_BATCH) {
+            // the affected caches are unknown so clear all the near caches
+            nearCacheMap.values().forEach(NearCacheInvalidate::invalidateClear);
           }
         } finally {
           if (msgType != 0) {
@@ -511,6 +651,18 @@ final class RedisCacheFactory implements ServerCacheFactory {
     }
   }
 
+  /**
+   * Invalidate the local near caches for the batch of invalidations.
+   */
+  private void nearCacheInvalidateBatch(NearCacheBatch batch) {
+    for (String cacheKey : batch.clear()) {
+      nearCacheInvalidateClear(cacheKey);
+    }
+    for (Map.Entry<String, Set<Object>> entry : batch.keys().entrySet()) {
+      nearCacheInvalidateKeys(entry.getKey(), entry.getValue());
+    }
+  }
+
   private void warnNearCacheNotFound(String cacheKey) {
     logger.log(WARNING, "No near cache found for cacheKey [" + cacheKey + "] yet - probably on startup");
   }
@@ -43,6 +43,10 @@ public class RedisConfig {
   private String username;
   private String password;
   private boolean ssl;
+  private int batchSize = 500;
+  private boolean nearCacheTinyLfu;
+  private boolean nearCacheNotifyBatch;
+  private int nearCacheNotifyDelayMillis;
 
   /**
    * Return a new connection pool based on the configuration.
@@ -244,6 +248,85 @@ public class RedisConfig {
     this.ssl = ssl;
   }
 
+  /**
+   * Return the maximum number of keys per MGET, MSET or DEL command.
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Set the maximum number of keys per MGET, MSET or DEL command (default 500).
+   * <p>
+   * Larger getAll / putAll / removeAll operations are split into multiple commands that
+   * are sent as a single pipeline.
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Return true if near caches use W-TinyLFU admission and eviction.
+   */
+  public boolean isNearCacheTinyLfu() {
+    return nearCacheTinyLfu;
+  }
+
+  /**
+   * Set to true for near caches to use W-TinyLFU admission and eviction.
+   * <p>
+   * With this entries that are read once do not evict frequently read entries from the
+   * near cache. Near caches also use W-TinyLFU when {@code cacheTinyLfu} is set on the
+   * database configuration.
+   */
+  public void setNearCacheTinyLfu(boolean nearCacheTinyLfu) {
+    this.nearCacheTinyLfu = nearCacheTinyLfu;
+  }
+
+  /**
+   * Return true if near cache invalidations are sent asynchronously as batch messages.
+   */
+  public boolean isNearCacheNotifyBatch() {
+    return nearCacheNotifyBatch;
+  }
+
+  /**
+   * Set to true to send near cache invalidations asynchronously as batch messages (default false).
+   * <p>
+   * By default each invalidation is published as its own message by the thread processing
+   * the commit. With batching the invalidations are collected and published by a background
+   * thread such that the invalidations that occur while a message is pending are sent together
+   * as a single message. This reduces the number of messages published but the near caches
+   * of other members can then return stale entries for longer after the commit, that is, until
+   * the background thread publishes the message (plus the nearCacheNotifyDelayMillis if set).
+   * <p>
+   * Members that do not support the batch message fail to decode it. For a rolling upgrade,
+   * first upgrade all the members with batching off (they accept both message formats) and
+   * then turn batching on.
+   */
+  public void setNearCacheNotifyBatch(boolean nearCacheNotifyBatch) {
+    this.nearCacheNotifyBatch = nearCacheNotifyBatch;
+  }
+
+  /**
+   * Return the delay in millis used to batch near cache invalidation messages.
+   */
+  public int getNearCacheNotifyDelayMillis() {
+    return nearCacheNotifyDelayMillis;
+  }
+
+  /**
+   * Set the delay in millis used to collect near cache invalidations into a single message.
+   * <p>
+   * Only used with nearCacheNotifyBatch. Invalidations are sent asynchronously with the
+   * invalidations that occur while a message is pending being added to that message. With a
+   * delay greater than 0 the message is sent after that delay (collecting more invalidations
+   * at the cost of the near caches of other members being stale for longer).
+   */
+  public void setNearCacheNotifyDelayMillis(int nearCacheNotifyDelayMillis) {
+    this.nearCacheNotifyDelayMillis = nearCacheNotifyDelayMillis;
+  }
+
   public void loadProperties(Properties properties) {
     Reader reader = new Reader(properties);
     this.mode = parseMode(reader.get("ebean.redis.mode", null));
@@ -260,6 +343,10 @@ public class RedisConfig {
     this.username = reader.get("ebean.redis.username", username);
     this.password = reader.get("ebean.redis.password", password);
     this.blockWhenExhausted = reader.getBool("ebean.redis.blockWhenExhausted", blockWhenExhausted);
+    this.batchSize = reader.getInt("ebean.redis.batchSize", batchSize);
+    this.nearCacheTinyLfu = reader.getBool("ebean.redis.nearCacheTinyLfu", nearCacheTinyLfu);
+    this.nearCacheNotifyBatch = reader.getBool("ebean.redis.nearCacheNotifyBatch", nearCacheNotifyBatch);
+    this.nearCacheNotifyDelayMillis = reader.getInt("ebean.redis.nearCacheNotifyDelayMillis", nearCacheNotifyDelayMillis);
   }
 
   private static class Reader {
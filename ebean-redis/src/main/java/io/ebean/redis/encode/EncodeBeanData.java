@@ -1,42 +1,28 @@
 package io.ebean.redis.encode;
 
 import io.ebeaninternal.server.cache.CachedBeanData;
+import io.ebeaninternal.server.cache.CachedDataCodec;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-
+/**
+ * Encode CachedBeanData using the binary schema versioned encoding.
+ * <p>
+ * Entries written by a node with a different schema decode as null (cache miss).
+ */
 public final class EncodeBeanData implements Encode {
 
+  private final CachedDataCodec codec;
+
+  public EncodeBeanData(CachedDataCodec codec) {
+    this.codec = codec;
+  }
+
   @Override
   public byte[] encode(Object value) {
-    try {
-      CachedBeanData data = (CachedBeanData) value;
-      ByteArrayOutputStream os = new ByteArrayOutputStream();
-      ObjectOutputStream oos = new ObjectOutputStream(os);
-      data.writeExternal(oos);
-      oos.flush();
-      oos.close();
-      return os.toByteArray();
-
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to decode cache data", e);
-    }
+    return codec.encode((CachedBeanData) value);
   }
 
   @Override
   public Object decode(byte[] data) {
-    try {
-      ByteArrayInputStream is = new ByteArrayInputStream(data);
-      ObjectInputStream ois = new ObjectInputStream(is);
-      CachedBeanData read = new CachedBeanData();
-      read.readExternal(ois);
-      return read;
-
-    } catch (ClassNotFoundException | IOException e) {
-      throw new RuntimeException("Failed to decode cache data", e);
-    }
+    return codec.decodeBeanData(data);
   }
 }
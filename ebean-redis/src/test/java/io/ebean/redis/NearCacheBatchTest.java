@@ -0,0 +1,50 @@
+package io.ebean.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheBatchTest {
+
+  @Test
+  void clearSupersedesKeys() {
+    NearCacheBatch batch = new NearCacheBatch();
+    batch.addKey("a", 1L);
+    batch.addKeys("a", Set.of(2L, 3L));
+    batch.addKey("b", "x");
+    assertThat(batch.size()).isEqualTo(4);
+
+    batch.addClear("a");
+    batch.addKey("a", 4L);
+    assertThat(batch.clear()).containsExactly("a");
+    assertThat(batch.keys()).containsOnlyKeys("b");
+    assertThat(batch.size()).isEqualTo(2);
+  }
+
+  @Test
+  void writeRead() throws IOException, ClassNotFoundException {
+    NearCacheBatch batch = new NearCacheBatch();
+    batch.addKeys("a", Set.of(1L, 2L));
+    batch.addKey("b", "x");
+    batch.addClear("c");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+      batch.write(os);
+    }
+    NearCacheBatch read;
+    try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      read = NearCacheBatch.read(is);
+    }
+    assertThat(read.clear()).containsExactly("c");
+    assertThat(read.keys().get("a")).containsExactlyInAnyOrder(1L, 2L);
+    assertThat(read.keys().get("b")).containsExactly("x");
+  }
+}
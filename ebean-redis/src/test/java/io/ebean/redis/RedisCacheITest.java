@@ -100,6 +100,28 @@ class RedisCacheITest {
         .containsEntry("b", "B");
     }
 
+    @Test
+    void putAll_getAll_largerThanBatchSize() {
+      RedisCache batched = new RedisCache(pool, RedisTestFixtures.naturalKeyConfig(cacheKey), new io.ebean.redis.encode.EncodeSerializable(), 10);
+      Map<Object, Object> entries = new LinkedHashMap<>();
+      for (int i = 0; i < 35; i++) {
+        entries.put("k" + i, "v" + i);
+      }
+      batched.putAll(entries);
+      assertThat(batched.getRoundTrips()).isEqualTo(1);
+
+      Set<Object> keys = new java.util.LinkedHashSet<>(entries.keySet());
+      keys.add("missing");
+      Map<Object, Object> found = batched.getAll(keys);
+      assertThat(found).isEqualTo(entries);
+      assertThat(batched.getRoundTrips()).isEqualTo(2);
+      assertThat(batched.getMissCount()).isEqualTo(1);
+
+      batched.removeAll(entries.keySet());
+      assertThat(batched.getAll(entries.keySet())).isEmpty();
+      assertThat(batched.getRoundTrips()).isEqualTo(4);
+    }
+
     @Test
     void remove() {
       cache.put("1", "one");
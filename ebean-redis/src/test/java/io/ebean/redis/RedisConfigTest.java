@@ -101,5 +101,26 @@ class RedisConfigTest {
     assertThat(config.getPassword()).isNull();
     assertThat(config.isSsl()).isFalse();
     assertThat(config.getSentinels()).isEmpty();
+    assertThat(config.getBatchSize()).isEqualTo(500);
+    assertThat(config.isNearCacheTinyLfu()).isFalse();
+    assertThat(config.isNearCacheNotifyBatch()).isFalse();
+    assertThat(config.getNearCacheNotifyDelayMillis()).isZero();
+  }
+
+  @Test
+  void loadCacheProperties() {
+    Properties p = new Properties();
+    p.setProperty("ebean.redis.batchSize", "100");
+    p.setProperty("ebean.redis.nearCacheTinyLfu", "true");
+    p.setProperty("ebean.redis.nearCacheNotifyBatch", "true");
+    p.setProperty("ebean.redis.nearCacheNotifyDelayMillis", "5");
+
+    RedisConfig config = new RedisConfig();
+    config.loadProperties(p);
+
+    assertThat(config.getBatchSize()).isEqualTo(100);
+    assertThat(config.isNearCacheTinyLfu()).isTrue();
+    assertThat(config.isNearCacheNotifyBatch()).isTrue();
+    assertThat(config.getNearCacheNotifyDelayMillis()).isEqualTo(5);
   }
 }
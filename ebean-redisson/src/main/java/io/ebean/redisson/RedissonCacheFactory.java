@@ -15,6 +15,7 @@ import io.ebean.redisson.encode.SerializableCodec;
 import io.ebean.redisson.encode.VersionGatedCodec;
 import io.ebean.redisson.near.NearCacheInvalidate;
 import io.ebean.redisson.near.NearCacheNotify;
+import io.ebeaninternal.server.cache.CachedDataCodec;
 import io.ebeaninternal.server.cache.DefaultServerCache;
 import io.ebeaninternal.server.cache.DefaultServerCacheConfig;
 import io.ebeaninternal.server.cache.DefaultServerQueryCache;
@@ -48,8 +49,8 @@ public class RedissonCacheFactory implements ServerCacheFactory {
     private final ConcurrentHashMap<String, RQueryCache> queryCaches = new ConcurrentHashMap<>();
     private final Map<String, NearCacheInvalidate> nearCacheMap = new ConcurrentHashMap<>();
     private final SerializableCodec serializableCodec = new SerializableCodec();
-    private final CachedBeanDataCodec cachedBeanDataCodec = new CachedBeanDataCodec();
-    private final CachedManyIdsCodec cachedManyIdsCodec = new CachedManyIdsCodec();
+    private final CachedBeanDataCodec cachedBeanDataCodec;
+    private final CachedManyIdsCodec cachedManyIdsCodec;
     private final BackgroundExecutor executor;
     private final RedissonClient redissonClient;
     private final NearCacheNotify nearCacheNotify;
@@ -67,6 +68,9 @@ public class RedissonCacheFactory implements ServerCacheFactory {
 
     RedissonCacheFactory(DatabaseBuilder.Settings config, BackgroundExecutor executor) {
         this.executor = executor;
+        CachedDataCodec codec = CachedDataCodec.of(config);
+        this.cachedBeanDataCodec = new CachedBeanDataCodec(codec);
+        this.cachedManyIdsCodec = new CachedManyIdsCodec(codec);
         this.nearCacheNotify = new DNearCacheNotify();
         MetricFactory factory = MetricFactory.get();
         this.metricOutTableMod = factory.createTimedMetric("l2a.outTableMod");
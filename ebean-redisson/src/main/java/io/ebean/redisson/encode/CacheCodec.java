@@ -1,6 +1,7 @@
 package io.ebean.redisson.encode;
 
 import io.ebean.cache.TenantAwareKey;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.redisson.client.codec.BaseCodec;
 import org.redisson.client.protocol.Decoder;
@@ -10,6 +11,15 @@ import java.nio.charset.StandardCharsets;
 
 public abstract class CacheCodec extends BaseCodec {
 
+    /**
+     * Read the remaining bytes of the buffer.
+     */
+    static byte[] readBytes(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
     @Override
     public Encoder getMapKeyEncoder() {
         return in -> {
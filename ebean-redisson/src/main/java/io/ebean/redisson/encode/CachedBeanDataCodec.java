@@ -1,44 +1,26 @@
 package io.ebean.redisson.encode;
 
 import io.ebeaninternal.server.cache.CachedBeanData;
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
+import io.ebeaninternal.server.cache.CachedDataCodec;
+import io.netty.buffer.Unpooled;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.Encoder;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-
+/**
+ * Codec for CachedBeanData using the binary schema versioned encoding.
+ * <p>
+ * Entries written by a node with a different schema decode as null (cache miss).
+ */
 public class CachedBeanDataCodec extends CacheCodec {
 
-    private final Encoder encoder = in -> {
-        ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
-        try (ByteBufOutputStream os = new ByteBufOutputStream(out);
-             ObjectOutputStream oos = new ObjectOutputStream(os)) {
-            ((CachedBeanData) in).writeExternal(oos);
-            return os.buffer();
-        } catch (IOException e) {
-            out.release();
-            throw e;
-        } catch (Exception e) {
-            out.release();
-            throw new IOException(e);
-        }
-    };
-    private final Decoder<Object> decoder = (in, state) -> {
+    private final Encoder encoder;
+
+    private final Decoder<Object> decoder;
 
-        try (ByteBufInputStream is = new ByteBufInputStream(in);
-             ObjectInputStream ois = new ObjectInputStream(is)) {
-            CachedBeanData data = new CachedBeanData();
-            data.readExternal(ois);
-            return data;
-        } catch (IOException | ClassNotFoundException e) {
-            throw new RuntimeException(e);
-        }
-    };
+    public CachedBeanDataCodec(CachedDataCodec codec) {
+        this.encoder = in -> Unpooled.wrappedBuffer(codec.encode((CachedBeanData) in));
+        this.decoder = (in, state) -> codec.decodeBeanData(readBytes(in));
+    }
 
     @Override
     public Encoder getValueEncoder() {
@@ -1,6 +1,8 @@
 package io.ebean.redisson.encode;
 
 import io.ebeaninternal.server.cache.CachedBeanData;
+import io.ebeaninternal.server.cache.CachedBeanDataSchemas;
+import io.ebeaninternal.server.cache.CachedDataCodec;
 import io.netty.buffer.ByteBuf;
 import org.junit.jupiter.api.Test;
 import org.redisson.client.protocol.Decoder;
@@ -21,7 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class VersionGatedCodecTest {
 
-  private final CachedBeanDataCodec inner = new CachedBeanDataCodec();
+  private final CachedBeanDataCodec inner = new CachedBeanDataCodec(new CachedDataCodec(new CachedBeanDataSchemas()));
   private final VersionGatedCodec codec = new VersionGatedCodec(inner);
 
   private final Encoder valueEncoder = codec.getValueEncoder();
@@ -52,7 +54,7 @@ class VersionGatedCodecTest {
   @Test
   void encoder_zeroVersion_whenNoCachedBeanData() throws Exception {
     // Non-CachedBeanData value → version treated as 0
-    CachedBeanDataCodec codec2 = new CachedBeanDataCodec();
+    CachedBeanDataCodec codec2 = new CachedBeanDataCodec(new CachedDataCodec(new CachedBeanDataSchemas()));
     VersionGatedCodec gated = new VersionGatedCodec(codec2);
 
     CachedBeanData data = beanData(0L);
@@ -19,12 +19,16 @@ import org.tests.model.basic.EBasicLog;
 import org.tests.model.basic.ResetBasicData;
 
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class DtoQueryTest extends BaseTestCase {
 
@@ -137,12 +141,114 @@ class DtoQueryTest extends BaseTestCase {
   }
 
   private void seedData() {
+    seedData("dtoFindEachBatch ");
+  }
+
+  private void seedData(String prefix) {
     for (int i = 0; i < 15; i++) {
-      EBasicLog log = new EBasicLog("dtoFindEachBatch "+i);
+      EBasicLog log = new EBasicLog(prefix + i);
       DB.save(log);
     }
   }
 
+  @Test
+  void dto_findEachParallel() {
+    seedData("dtoFindEachParallel ");
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      resetFindEachCounts();
+      server().findDto(DCust.class, "select id, name from e_basic_log where name like ?")
+        .setParameter("dtoFindEachParallel%")
+        .findEach(4, 2, executor, batch -> {
+          batchCount.incrementAndGet();
+          rowCount.addAndGet(batch.size());
+        });
+
+      assertThat(batchCount.get()).isEqualTo(4);
+      assertThat(rowCount.get()).isEqualTo(15);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void dto_findEachParallel_invalidArguments() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      DtoQuery<DCust> query = server().findDto(DCust.class, "select id, name from e_basic_log where name like ?")
+        .setParameter("dtoParallelInvalid%");
+
+      assertThatThrownBy(() -> query.findEach(0, 2, executor, batch -> {}))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("batchSize");
+      assertThatThrownBy(() -> query.findEach(4, 0, executor, batch -> {}))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("parallelism");
+      assertThatThrownBy(() -> query.findEach(4, -1, executor, batch -> {}))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("parallelism");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void dto_findEachParallel_consumerThrows() {
+    seedData("dtoParallelThrows ");
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      DtoQuery<DCust> query = server().findDto(DCust.class, "select id, name from e_basic_log where name like ?")
+        .setParameter("dtoParallelThrows%");
+
+      assertThatThrownBy(() -> query.findEach(4, 2, executor, batch -> {
+        throw new IllegalArgumentException("bad chunk");
+      })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad chunk");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void dto_findEachRow() {
+    seedData("dtoFindEachRow ");
+
+    List<String> names = new ArrayList<>();
+    server().findDto(Object.class, "select id, name, null as other from e_basic_log where name like ? order by id")
+      .setParameter("dtoFindEachRow%")
+      .findEachRow(row -> {
+        assertThat(row.columnCount()).isEqualTo(3);
+        assertThat(row.columnIndex("NAME")).isEqualTo(1);
+        assertThat(row.getLong(0)).isGreaterThan(0);
+        assertThat(row.isNull(2)).isTrue();
+        assertThat(row.get(2)).isNull();
+        assertThat(row.rowNumber()).isEqualTo(names.size());
+        names.add(row.getString(1));
+      });
+
+    assertThat(names).hasSize(15);
+    assertThat(names.get(0)).isEqualTo("dtoFindEachRow 0");
+  }
+
+  @Test
+  void dto_findEachRow_getBoolean() {
+    seedData("dtoRowBoolean ");
+
+    AtomicInteger rows = new AtomicInteger();
+    server().findDto(Object.class, "select 'true', 'FALSE', '1', 'N', true, 0, null from e_basic_log where name like ?")
+      .setParameter("dtoRowBoolean%")
+      .findEachRow(row -> {
+        assertThat(row.getBoolean(0)).isTrue();
+        assertThat(row.getBoolean(1)).isFalse();
+        assertThat(row.getBoolean(2)).isTrue();
+        assertThat(row.getBoolean(3)).isFalse();
+        assertThat(row.getBoolean(4)).isTrue();
+        assertThat(row.getBoolean(5)).isFalse();
+        assertThat(row.getBoolean(6)).isFalse();
+        rows.incrementAndGet();
+      });
+
+    assertThat(rows.get()).isEqualTo(15);
+  }
+
   @Test
   void dto_findOneEmpty() {
     ResetBasicData.reset();
@@ -17,22 +17,28 @@ import io.ebean.meta.MetricVisitor;
 import io.ebean.plugin.Property;
 import io.ebean.plugin.SpiServer;
 import io.ebean.text.json.JsonContext;
+import io.ebean.text.json.JsonWriteOptions;
 import io.ebeaninternal.api.*;
 import io.ebeaninternal.api.SpiQuery.Type;
 import io.ebeaninternal.server.core.SpiResultSet;
 import io.ebeaninternal.server.core.timezone.DataTimeZone;
 import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.loadcontext.LazyLoadBatchAdvisor;
 import io.ebeaninternal.server.query.CQuery;
 import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
 
 import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import javax.sql.DataSource;
+import java.io.OutputStream;
 import java.time.Clock;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 
@@ -137,6 +143,31 @@ public class TDSpiEbeanServer extends TDSpiServer implements SpiEbeanServer {
     return null;
   }
 
+  @Override
+  public SpiPersistenceContext createPersistenceContext() {
+    return null;
+  }
+
+  @Override
+  public <T> CompletionStage<List<T>> findListAsync(SpiQuery<T> query) {
+    return null;
+  }
+
+  @Override
+  public <T> CompletionStage<T> findOneAsync(SpiQuery<T> query) {
+    return null;
+  }
+
+  @Override
+  public <T> CompletionStage<Integer> findCountAsync(SpiQuery<T> query) {
+    return null;
+  }
+
+  @Override
+  public <R> CompletionStage<R> executeAsync(CancelableQuery query, Supplier<R> supplier) {
+    return null;
+  }
+
   @Override
   public DocumentStore docStore() {
     return null;
@@ -285,6 +316,11 @@ public class TDSpiEbeanServer extends TDSpiServer implements SpiEbeanServer {
     return 0;
   }
 
+  @Override
+  public LazyLoadBatchAdvisor lazyLoadBatchAdvisor() {
+    return null;
+  }
+
   @Override
   public boolean isSupportedType(java.lang.reflect.Type genericType) {
     return false;
@@ -415,6 +451,14 @@ public class TDSpiEbeanServer extends TDSpiServer implements SpiEbeanServer {
   public <T> void findDtoEach(SpiDtoQuery<T> query, int batch, Consumer<List<T>> consumer) {
   }
 
+  @Override
+  public <T> void findDtoEach(SpiDtoQuery<T> query, int batch, int parallelism, Executor executor, Consumer<List<T>> consumer) {
+  }
+
+  @Override
+  public <T> void findDtoEachRow(SpiDtoQuery<T> query, Consumer<RowView> consumer) {
+  }
+
   @Override
   public <T> void findDtoEachWhile(SpiDtoQuery<T> query, Predicate<T> consumer) {
   }
@@ -654,6 +698,14 @@ public class TDSpiEbeanServer extends TDSpiServer implements SpiEbeanServer {
     return null;
   }
 
+  @Override
+  public <T> void writeJson(SpiQuery<T> query, io.avaje.json.JsonWriter writer, JsonWriteOptions options) {
+  }
+
+  @Override
+  public <T> void writeJson(SpiQuery<T> query, OutputStream outputStream, JsonWriteOptions options) {
+  }
+
   @Override
   public <T> FutureRowCount<T> findFutureCount(SpiQuery<T> query) {
     return null;
@@ -967,6 +1019,21 @@ public class TDSpiEbeanServer extends TDSpiServer implements SpiEbeanServer {
   public void insertAll(Collection<?> beans, Transaction transaction) {
   }
 
+  @Override
+  public <T> long insertAll(Class<T> beanType, Iterator<T> beans) {
+    return 0;
+  }
+
+  @Override
+  public <T> long insertAll(Class<T> beanType, Stream<T> beans) {
+    return 0;
+  }
+
+  @Override
+  public <T> long insertAll(Class<T> beanType, Iterator<T> beans, Transaction transaction) {
+    return 0;
+  }
+
   @Override
   public void slowQueryCheck(long executionTimeMicros, int rowCount, SpiQuery<?> query) {
   }
@@ -0,0 +1,169 @@
+package io.ebean.xtest.internal.server.cluster;
+
+import io.ebean.Database;
+import io.ebean.xtest.BaseTestCase;
+import io.ebean.xtest.internal.api.TDSpiEbeanServer;
+import io.ebeaninternal.api.TransactionEventTable;
+import io.ebeaninternal.server.cache.RemoteCacheEvent;
+import io.ebeaninternal.server.cluster.BinaryTransactionEventReader;
+import io.ebeaninternal.server.cluster.ClusterBroadcast;
+import io.ebeaninternal.server.cluster.CoalescingClusterBroadcast;
+import io.ebeaninternal.server.core.PersistRequest;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.transaction.BeanPersistIds;
+import io.ebeaninternal.server.transaction.RemoteTableMod;
+import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.Customer;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingClusterBroadcastTest extends BaseTestCase {
+
+  private final BeanDescriptor<Customer> customerDescriptor = getBeanDescriptor(Customer.class);
+  private final BinaryTransactionEventReader reader = new BinaryTransactionEventReader(name -> new TDEbeanServer());
+
+  private RemoteTransactionEvent event(int id) {
+    RemoteTransactionEvent event = new RemoteTransactionEvent("db");
+    event.addRemoteTableMod(new RemoteTableMod(Set.of("o_customer")));
+    event.addTableIUD(new TransactionEventTable.TableIUD("foo", id % 2 == 0, id % 2 == 1, false));
+    BeanPersistIds persistIds = new BeanPersistIds(customerDescriptor);
+    persistIds.addId(PersistRequest.Type.UPDATE, id);
+    event.addBeanPersistIds(persistIds);
+    return event;
+  }
+
+  @Test
+  void maxEvents_sentWithoutWaitingForWindow() {
+    LoopbackBroadcast loopback = new LoopbackBroadcast();
+    CoalescingClusterBroadcast broadcast = new CoalescingClusterBroadcast(loopback, 60_000, 100);
+
+    int eventCount = 5_000;
+    long individualBytes = 0;
+    for (int i = 0; i < eventCount; i++) {
+      RemoteTransactionEvent event = event(i);
+      individualBytes += loopback.write(event).length;
+      broadcast.broadcast(event);
+    }
+    // sent on reaching maxEvents (the 60 second window has not elapsed)
+    assertThat(loopback.received).hasSize(eventCount / 100);
+    assertThat(loopback.bytes).isLessThan(individualBytes / 10);
+
+    RemoteTransactionEvent first = loopback.received.get(0);
+    assertThat(first.getRemoteTableMod().getTables()).containsOnly("o_customer");
+    assertThat(first.getTableIUDList()).hasSize(1);
+    TransactionEventTable.TableIUD tableIUD = first.getTableIUDList().get(0);
+    assertThat(tableIUD.isInsert()).isTrue();
+    assertThat(tableIUD.isUpdate()).isTrue();
+    assertThat(tableIUD.isDelete()).isFalse();
+    assertThat(first.getBeanPersistList()).hasSize(1);
+    assertThat(first.getBeanPersistList().get(0).getIds()).hasSize(100).contains(0, 42, 99);
+    broadcast.shutdown();
+  }
+
+  @Test
+  void window_flushesPendingEvents() throws InterruptedException {
+    LoopbackBroadcast loopback = new LoopbackBroadcast();
+    CoalescingClusterBroadcast broadcast = new CoalescingClusterBroadcast(loopback, 5, 100);
+
+    broadcast.broadcast(event(7));
+    broadcast.broadcast(event(3));
+    broadcast.broadcast(new RemoteTransactionEvent("db").cacheClear(Customer.class));
+
+    for (int i = 0; i < 200 && loopback.received.isEmpty(); i++) {
+      Thread.sleep(5);
+    }
+    assertThat(loopback.received).hasSize(1);
+    RemoteTransactionEvent received = loopback.received.get(0);
+    assertThat(received.getBeanPersistList().get(0).getIds()).containsExactly(3, 7);
+    RemoteCacheEvent cacheEvent = received.getRemoteCacheEvent();
+    assertThat(cacheEvent.getClearCaches()).containsOnly(Customer.class.getName());
+    broadcast.shutdown();
+  }
+
+  @Test
+  void shutdown_flushesPendingEvents() {
+    LoopbackBroadcast loopback = new LoopbackBroadcast();
+    CoalescingClusterBroadcast broadcast = new CoalescingClusterBroadcast(loopback, 60_000, 100);
+
+    broadcast.broadcast(event(1));
+    broadcast.broadcast(new RemoteTransactionEvent("db").cacheClearAll());
+    assertThat(loopback.received).isEmpty();
+
+    broadcast.shutdown();
+    assertThat(loopback.received).hasSize(1);
+    assertThat(loopback.received.get(0).getRemoteCacheEvent().isClearAll()).isTrue();
+    assertThat(loopback.shutdown).isTrue();
+  }
+
+  @Test
+  void compactIds_longAndNegative() throws IOException {
+    RemoteTransactionEvent event = RemoteTransactionEvent.coalesced("db");
+    BeanPersistIds persistIds = new BeanPersistIds(customerDescriptor);
+    List<Object> ids = new ArrayList<>();
+    Collections.addAll(ids, -5L, Long.MAX_VALUE, 0L, 1_000_000_000_000L, 0L, Long.MIN_VALUE);
+    for (Object id : ids) {
+      persistIds.addId(PersistRequest.Type.DELETE, id);
+    }
+    event.addBeanPersistIds(persistIds);
+
+    RemoteTransactionEvent read = reader.read(event.writeBinaryAsBytes(256));
+    assertThat(read.getBeanPersistList().get(0).getIds())
+      .containsExactly(Long.MIN_VALUE, -5L, 0L, 1_000_000_000_000L, Long.MAX_VALUE);
+  }
+
+  /**
+   * Loopback stand-in for the cluster transport that reads back what is sent.
+   */
+  class LoopbackBroadcast implements ClusterBroadcast {
+
+    final List<RemoteTransactionEvent> received = Collections.synchronizedList(new ArrayList<>());
+    long bytes;
+    boolean shutdown;
+
+    byte[] write(RemoteTransactionEvent event) {
+      try {
+        return event.writeBinaryAsBytes(256);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void startup() {
+      // do nothing
+    }
+
+    @Override
+    public void shutdown() {
+      shutdown = true;
+    }
+
+    @Override
+    public void broadcast(RemoteTransactionEvent event) {
+      byte[] data = write(event);
+      bytes += data.length;
+      try {
+        received.add(reader.read(data));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  class TDEbeanServer extends TDSpiEbeanServer {
+    @Nonnull
+    @Override
+    public BeanDescriptor<?> descriptorById(@Nonnull String descriptorId) {
+      return customerDescriptor;
+    }
+  }
+}
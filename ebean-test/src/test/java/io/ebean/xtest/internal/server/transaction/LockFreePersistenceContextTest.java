@@ -0,0 +1,199 @@
+package io.ebean.xtest.internal.server.transaction;
+
+import io.ebean.bean.PersistenceContext;
+import io.ebeaninternal.server.deploy.PersistenceContextUtil;
+import io.ebeaninternal.server.transaction.DefaultPersistenceContext;
+import io.ebeaninternal.server.transaction.LockFreePersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.Car;
+import org.tests.model.basic.Contact;
+import org.tests.model.basic.Customer;
+import org.tests.model.basic.Vehicle;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockFreePersistenceContextTest {
+
+  private final Customer customer42;
+  private final Car car1;
+
+  LockFreePersistenceContextTest() {
+    customer42 = new Customer();
+    customer42.setId(42);
+    car1 = new Car();
+    car1.setId(1);
+  }
+
+  private LockFreePersistenceContext pcWith42() {
+    LockFreePersistenceContext pc = new LockFreePersistenceContext();
+    pc.put(Customer.class, 42, customer42);
+    return pc;
+  }
+
+  @Test
+  void put_get_withInheritance() {
+    PersistenceContext pc = new LockFreePersistenceContext();
+    pc.put(PersistenceContextUtil.root(Vehicle.class), 1, car1);
+
+    assertThat(pc.get(PersistenceContextUtil.root(Car.class), 1)).isSameAs(car1);
+  }
+
+  @Test
+  void putIfAbsent() {
+    PersistenceContext pc = pcWith42();
+    assertThat(pc.putIfAbsent(Customer.class, 42, new Customer())).isSameAs(customer42);
+    assertThat(pc.putIfAbsent(Customer.class, 43, new Customer())).isNull();
+    assertThat(pc.size(Customer.class)).isEqualTo(2);
+  }
+
+  @Test
+  void longAndIntegerIds_areDistinct() {
+    PersistenceContext pc = pcWith42();
+    assertThat(pc.get(Customer.class, 42L)).isNull();
+    Customer other = new Customer();
+    pc.put(Customer.class, 42L, other);
+    assertThat(pc.get(Customer.class, 42L)).isSameAs(other);
+    assertThat(pc.get(Customer.class, 42)).isSameAs(customer42);
+    assertThat(pc.size(Customer.class)).isEqualTo(2);
+  }
+
+  @Test
+  void otherIdTypes() {
+    PersistenceContext pc = new LockFreePersistenceContext();
+    UUID id = UUID.randomUUID();
+    pc.put(Customer.class, id, customer42);
+    assertThat(pc.get(Customer.class, id)).isSameAs(customer42);
+    pc.clear(Customer.class, id);
+    assertThat(pc.size(Customer.class)).isEqualTo(0);
+  }
+
+  @Test
+  void getWithOption_when_deleted() {
+    PersistenceContext pc = pcWith42();
+    pc.deleted(Customer.class, 42);
+
+    PersistenceContext.WithOption withOption = pc.getWithOption(Customer.class, 42);
+    assertThat(withOption.isDeleted()).isTrue();
+    assertThat(pc.getWithOption(Contact.class, 42)).isNull();
+  }
+
+  @Test
+  void deleted_when_typeNotLoaded_expect_sameAsDefault() {
+    for (PersistenceContext pc : new PersistenceContext[]{new LockFreePersistenceContext(), new DefaultPersistenceContext()}) {
+      // no class context is created for a type that has not been loaded
+      pc.deleted(Customer.class, 42);
+      assertThat(pc.toString()).doesNotContain(Customer.class.getName());
+      assertThat(pc.getWithOption(Customer.class, 42)).isNull();
+      assertThat(pc.size(Customer.class)).isEqualTo(0);
+
+      pc.put(Customer.class, 43, new Customer());
+      pc.deleted(Customer.class, 42);
+      assertThat(pc.getWithOption(Customer.class, 42).isDeleted()).isTrue();
+      assertThat(pc.getWithOption(Customer.class, 43).isDeleted()).isFalse();
+    }
+  }
+
+  @Test
+  void many_removeAndResize() {
+    PersistenceContext pc = new LockFreePersistenceContext();
+    addCustomers(pc, 0, 10_000);
+    assertThat(pc.size(Customer.class)).isEqualTo(10_000);
+    for (int i = 0; i < 10_000; i += 2) {
+      pc.clear(Customer.class, (long) i);
+    }
+    assertThat(pc.size(Customer.class)).isEqualTo(5_000);
+    for (int i = 0; i < 10_000; i++) {
+      Object found = pc.get(Customer.class, (long) i);
+      if (i % 2 == 0) {
+        assertThat(found).isNull();
+      } else {
+        assertThat(((Customer) found).getId()).isEqualTo(i);
+      }
+    }
+    pc.clear(Customer.class);
+    assertThat(pc.size(Customer.class)).isEqualTo(0);
+  }
+
+  @Test
+  void beginIterate_many() throws InterruptedException {
+    LockFreePersistenceContext pc = new LockFreePersistenceContext();
+    addCustomers(pc, 1, 100);
+    pc.beginIterate();
+    addCustomers(pc, 200, 103);
+    assertThat(pc.size(Customer.class)).isEqualTo(203);
+    pc.endIterate();
+
+    System.gc();
+    Thread.sleep(100); // give the GC some time
+
+    pc.get(Customer.class, 1L);
+    assertThat(pc.size(Customer.class)).isEqualTo(100);
+  }
+
+  @Test
+  void usedByOtherThread() throws InterruptedException {
+    LockFreePersistenceContext pc = pcWith42();
+    Thread other = new Thread(() -> pc.put(Customer.class, 43, new Customer()));
+    other.start();
+    other.join();
+    assertThat(pc.size(Customer.class)).isEqualTo(2);
+    assertThat(pc.get(Customer.class, 42)).isSameAs(customer42);
+  }
+
+  @Test
+  void usedConcurrently_ownerAndOtherThread() throws Exception {
+    LockFreePersistenceContext pc = new LockFreePersistenceContext();
+    pc.put(Customer.class, -1L, new Customer());
+    CountDownLatch start = new CountDownLatch(1);
+    Thread other = new Thread(() -> {
+      await(start);
+      addCustomers(pc, 100_000, 20_000);
+    });
+    other.start();
+    start.countDown();
+    // the owner keeps mutating while the other thread switches the context to shared
+    addCustomers(pc, 0, 20_000);
+    other.join();
+
+    assertThat(pc.size(Customer.class)).isEqualTo(40_001);
+    for (long i = 0; i < 20_000; i++) {
+      assertThat(pc.get(Customer.class, i)).isNotNull();
+      assertThat(pc.get(Customer.class, 100_000 + i)).isNotNull();
+    }
+  }
+
+  @Test
+  void multipleTypes_clear() {
+    PersistenceContext pc = pcWith42();
+    pc.put(Contact.class, 42, new Contact());
+    assertThat(pc.get(Contact.class, 42)).isNotNull();
+    assertThat(pc.get(Customer.class, 42)).isSameAs(customer42);
+    pc.clear();
+    assertThat(pc.get(Customer.class, 42)).isNull();
+    assertThat(pc.size(Contact.class)).isEqualTo(0);
+  }
+
+  @Test
+  void toString_sillyTest() {
+    assertThat(pcWith42().toString()).contains("org.tests.model.basic.Customer");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void addCustomers(PersistenceContext pc, int start, int loop) {
+    for (int i = start; i < start + loop; i++) {
+      Customer bean = new Customer();
+      bean.setId(i);
+      pc.put(Customer.class, (long) i, bean);
+    }
+  }
+}
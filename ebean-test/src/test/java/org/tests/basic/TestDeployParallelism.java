@@ -0,0 +1,124 @@
+package org.tests.basic;
+
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.xtest.BaseTestCase;
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.deploy.BeanProperty;
+import io.ebeaninternal.server.deploy.BeanPropertyAssocMany;
+import io.ebeaninternal.server.deploy.BeanPropertyAssocOne;
+import io.ebeaninternal.server.deploy.InheritInfo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deploy the full test model serially and with deployParallelism and compare the descriptors.
+ */
+class TestDeployParallelism extends BaseTestCase {
+
+  private static Database serial;
+  private static Database parallel;
+
+  @BeforeAll
+  static void create() {
+    serial = create("deploySerial", 1);
+    parallel = create("deployParallel", 4);
+  }
+
+  @AfterAll
+  static void shutdown() {
+    serial.shutdown();
+    parallel.shutdown();
+  }
+
+  private static Database create(String name, int deployParallelism) {
+    DatabaseBuilder config = Database.builder();
+    config.setName(name);
+    config.loadFromProperties();
+    config.setDataSource(DB.getDefault().dataSource());
+    config.setReadOnlyDataSource(DB.getDefault().readOnlyDataSource());
+    config.setDdlExtra(false);
+    config.setDdlGenerate(false);
+    config.setDdlRun(false);
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.deployParallelism(deployParallelism);
+    return config.build();
+  }
+
+  @Test
+  void parallel_expect_sameDescriptorsAsSerial() {
+    Map<String, List<String>> expected = describe(serial);
+    Map<String, List<String>> actual = describe(parallel);
+
+    assertThat(expected).hasSizeGreaterThan(100);
+    assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+    for (Map.Entry<String, List<String>> entry : expected.entrySet()) {
+      assertThat(actual.get(entry.getKey()))
+        .describedAs(entry.getKey())
+        .containsExactlyElementsOf(entry.getValue());
+    }
+  }
+
+  @Test
+  void parallel_expect_inheritanceAndAssociationsDeployed() {
+    Map<String, List<String>> actual = describe(parallel);
+    assertThat(actual.values().stream().flatMap(List::stream))
+      .anyMatch(line -> line.startsWith("inherit "))
+      .anyMatch(line -> line.startsWith("one "))
+      .anyMatch(line -> line.startsWith("many "));
+  }
+
+  /**
+   * Return the properties, associations and inheritance of each descriptor by full name.
+   */
+  private static Map<String, List<String>> describe(Database database) {
+    Map<String, List<String>> map = new TreeMap<>();
+    for (BeanDescriptor<?> desc : ((SpiEbeanServer) database).descriptors()) {
+      map.put(desc.fullName(), describe(desc));
+    }
+    return map;
+  }
+
+  private static List<String> describe(BeanDescriptor<?> desc) {
+    List<String> lines = new ArrayList<>();
+    BeanProperty idProperty = desc.idProperty();
+    lines.add("table " + desc.baseTable() + " id " + (idProperty == null ? null : idProperty.name()));
+    for (BeanProperty property : desc.propertiesAll()) {
+      lines.add("property " + property.getClass().getSimpleName() + " " + property.name()
+        + " " + property.dbColumn() + " " + property.type().getName() + " " + property.jdbcType());
+    }
+    for (BeanPropertyAssocOne<?> one : desc.propertiesOne()) {
+      lines.add("one " + one.name() + " " + one.targetType().getName() + " mappedBy:" + one.mappedBy() + " join:" + one.tableJoin());
+    }
+    for (BeanPropertyAssocMany<?> many : desc.propertiesMany()) {
+      lines.add("many " + many.name() + " " + many.targetType().getName() + " " + many.manyType()
+        + " mappedBy:" + many.mappedBy() + " join:" + many.tableJoin()
+        + (many.isManyToMany() ? " intersection:" + many.intersectionTableJoin() : ""));
+    }
+    InheritInfo inheritInfo = desc.inheritInfo();
+    if (inheritInfo != null) {
+      List<String> children = new ArrayList<>();
+      for (InheritInfo child : inheritInfo.getChildren()) {
+        children.add(child.getType().getName());
+      }
+      children.sort(null);
+      lines.add("inherit root:" + inheritInfo.getRoot().getType().getName()
+        + " parent:" + (inheritInfo.getParent() == null ? null : inheritInfo.getParent().getType().getName())
+        + " column:" + inheritInfo.getDiscriminatorColumn()
+        + " value:" + inheritInfo.getDiscriminatorValue()
+        + " children:" + children);
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,201 @@
+package org.tests.batchinsert;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.Transaction;
+import io.ebean.config.ContainerConfig;
+import io.ebean.xtest.BaseTestCase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.EBasicVer;
+import org.tests.model.types.SomeMultiRowBean;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestBatchInsertMultiRow extends BaseTestCase {
+
+  private static Database database;
+
+  @BeforeAll
+  static void create() {
+    DatabaseBuilder config = Database.builder();
+    config.setName("multiRowInsert");
+    config.setDdlExtra(false);
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource.multiRowInsert.username", "sa");
+    properties.setProperty("datasource.multiRowInsert.password", "");
+    properties.setProperty("datasource.multiRowInsert.databaseUrl", "jdbc:h2:mem:multiRowInsert;");
+    properties.setProperty("datasource.multiRowInsert.databaseDriver", "org.h2.Driver");
+
+    config.loadFromProperties(properties);
+    config.setContainerConfig(new ContainerConfig());
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.ddlGenerate(true);
+    config.ddlRun(true);
+    config.persistBatchMultiRow(true);
+    config.addClass(EBasicVer.class);
+    config.addClass(SomeMultiRowBean.class);
+    database = config.build();
+  }
+
+  @AfterAll
+  static void shutdown() {
+    database.shutdown();
+  }
+
+  @Test
+  void insertBatch_expect_generatedKeys() {
+    // 45 rows executed as buckets of 32, 8 and 5 x 1
+    List<EBasicVer> beans = new ArrayList<>();
+    try (Transaction txn = database.beginTransaction()) {
+      txn.setBatchSize(100);
+      for (int i = 0; i < 45; i++) {
+        EBasicVer bean = new EBasicVer("multi" + i);
+        beans.add(bean);
+        database.save(bean);
+      }
+      txn.commit();
+    }
+
+    for (EBasicVer bean : beans) {
+      assertThat(bean.getId()).isNotNull();
+    }
+    assertThat(beans).extracting(EBasicVer::getId).doesNotHaveDuplicates();
+    assertThat(database.find(EBasicVer.class).where().startsWith("name", "multi").findCount()).isEqualTo(45);
+
+    EBasicVer found = database.find(EBasicVer.class, beans.get(40).getId());
+    assertThat(found.getName()).isEqualTo("multi40");
+  }
+
+  @Test
+  void insertBatch_multipleFlush() {
+    List<EBasicVer> beans = new ArrayList<>();
+    try (Transaction txn = database.beginTransaction()) {
+      txn.setBatchSize(10);
+      for (int i = 0; i < 25; i++) {
+        EBasicVer bean = new EBasicVer("flush" + i);
+        beans.add(bean);
+        database.save(bean);
+      }
+      txn.commit();
+    }
+
+    assertThat(beans).extracting(EBasicVer::getId).doesNotContainNull().doesNotHaveDuplicates();
+    assertThat(database.find(EBasicVer.class).where().startsWith("name", "flush").findCount()).isEqualTo(25);
+  }
+
+  @Test
+  void insertBatch_valuesCapturedAtSave() {
+    List<EBasicVer> beans = new ArrayList<>();
+    try (Transaction txn = database.beginTransaction()) {
+      txn.setBatchSize(100);
+      for (int i = 0; i < 10; i++) {
+        EBasicVer bean = new EBasicVer("captured" + i);
+        bean.setDescription("atSave");
+        beans.add(bean);
+        database.save(bean);
+        // mutating the bean after save does not change what the batch inserts
+        bean.setDescription("afterSave");
+      }
+      txn.commit();
+    }
+
+    List<EBasicVer> found = database.find(EBasicVer.class).where().startsWith("name", "captured").findList();
+    assertThat(found).hasSize(10);
+    assertThat(found).extracting(EBasicVer::getDescription).containsOnly("atSave");
+  }
+
+  @Test
+  void insertBatch_allScalarTypes() {
+    Instant instant = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    LocalDateTime localDateTime = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    Timestamp timestamp = Timestamp.from(instant.minusSeconds(60));
+
+    // 12 rows executed as buckets of 8 and 4 x 1, every second row with null values
+    List<SomeMultiRowBean> beans = new ArrayList<>();
+    try (Transaction txn = database.beginTransaction()) {
+      txn.setBatchSize(100);
+      for (int i = 0; i < 12; i++) {
+        SomeMultiRowBean bean = new SomeMultiRowBean();
+        bean.setName("types" + i);
+        bean.setCode((char) ('a' + i));
+        if (i % 2 == 0) {
+          Map<String, Object> content = new LinkedHashMap<>();
+          content.put("row", "row" + i);
+          content.put("name", "json" + i);
+          bean.setStatus(i % 4 == 0 ? SomeMultiRowBean.Status.NEW : SomeMultiRowBean.Status.ACTIVE);
+          bean.setLevel(i % 4 == 0 ? SomeMultiRowBean.Level.LOW : SomeMultiRowBean.Level.HIGH);
+          bean.setUid(new UUID(i, i + 1));
+          bean.setContent(content);
+          bean.setClob("clob" + i);
+          bean.setBlob(("blob" + i).getBytes(StandardCharsets.UTF_8));
+          bean.setBytes(new byte[]{(byte) i, 2, 3});
+          bean.setFlag(i % 4 == 0);
+          bean.setShortValue((short) i);
+          bean.setIntValue(i * 10);
+          bean.setDoubleValue(i + 0.5d);
+          bean.setFloatValue(i + 0.25f);
+          bean.setAmount(new BigDecimal(i + ".5"));
+          bean.setLocalDate(LocalDate.of(2020, 1, i + 1));
+          bean.setLocalDateTime(localDateTime.plusHours(i));
+          bean.setLocalTime(LocalTime.of(i, 30));
+          bean.setInstant(instant.plusSeconds(i));
+          bean.setTimestamp(timestamp);
+          bean.setSqlTime(Time.valueOf(LocalTime.of(10, i)));
+        }
+        beans.add(bean);
+        database.save(bean);
+      }
+      txn.commit();
+    }
+
+    assertThat(beans).extracting(SomeMultiRowBean::getId).doesNotContainNull().doesNotHaveDuplicates();
+    for (SomeMultiRowBean bean : beans) {
+      SomeMultiRowBean found = database.find(SomeMultiRowBean.class, bean.getId());
+      assertThat(found.getName()).isEqualTo(bean.getName());
+      assertThat(found.getCode()).isEqualTo(bean.getCode());
+      assertThat(found.getStatus()).isEqualTo(bean.getStatus());
+      assertThat(found.getLevel()).isEqualTo(bean.getLevel());
+      assertThat(found.getUid()).isEqualTo(bean.getUid());
+      assertThat(found.getContent()).isEqualTo(bean.getContent());
+      assertThat(found.getClob()).isEqualTo(bean.getClob());
+      assertThat(found.getBlob()).isEqualTo(bean.getBlob());
+      assertThat(found.getBytes()).isEqualTo(bean.getBytes());
+      assertThat(found.getFlag()).isEqualTo(bean.getFlag());
+      assertThat(found.getShortValue()).isEqualTo(bean.getShortValue());
+      assertThat(found.getIntValue()).isEqualTo(bean.getIntValue());
+      assertThat(found.getDoubleValue()).isEqualTo(bean.getDoubleValue());
+      assertThat(found.getFloatValue()).isEqualTo(bean.getFloatValue());
+      if (bean.getAmount() == null) {
+        assertThat(found.getAmount()).isNull();
+      } else {
+        assertThat(found.getAmount()).isEqualByComparingTo(bean.getAmount());
+      }
+      assertThat(found.getLocalDate()).isEqualTo(bean.getLocalDate());
+      assertThat(found.getLocalDateTime()).isEqualTo(bean.getLocalDateTime());
+      assertThat(found.getLocalTime()).isEqualTo(bean.getLocalTime());
+      assertThat(found.getInstant()).isEqualTo(bean.getInstant());
+      assertThat(found.getTimestamp()).isEqualTo(bean.getTimestamp());
+      assertThat(found.getSqlTime()).isEqualTo(bean.getSqlTime());
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package org.tests.batchinsert;
+
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.Transaction;
+import io.ebean.xtest.BaseTestCase;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.EBasicVer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestBulkInsertAll extends BaseTestCase {
+
+  private final Database database = DB.getDefault();
+
+  @Test
+  void insertAll_iterator() {
+    List<EBasicVer> beans = IntStream.range(0, 250)
+      .mapToObj(i -> new EBasicVer("bulkIter" + i))
+      .collect(Collectors.toList());
+
+    long rows = database.insertAll(EBasicVer.class, beans.iterator());
+
+    assertThat(rows).isEqualTo(250);
+    assertThat(database.find(EBasicVer.class).where().startsWith("name", "bulkIter").findCount()).isEqualTo(250);
+  }
+
+  @Test
+  void insertAll_stream_pulledLazily() {
+    AtomicInteger created = new AtomicInteger();
+    Stream<EBasicVer> beans = Stream.generate(() -> new EBasicVer("bulkStream" + created.incrementAndGet())).limit(120);
+
+    long rows = database.insertAll(EBasicVer.class, beans);
+
+    assertThat(rows).isEqualTo(120);
+    assertThat(created.get()).isEqualTo(120);
+    assertThat(database.find(EBasicVer.class).where().startsWith("name", "bulkStream").findCount()).isEqualTo(120);
+  }
+
+  @Test
+  void insertAll_transactionRollback() {
+    try (Transaction txn = database.beginTransaction()) {
+      long rows = database.insertAll(EBasicVer.class, Stream.of(new EBasicVer("bulkRollback0"), new EBasicVer("bulkRollback1")).iterator(), txn);
+      assertThat(rows).isEqualTo(2);
+      txn.rollback();
+    }
+    assertThat(database.find(EBasicVer.class).where().startsWith("name", "bulkRollback").findCount()).isEqualTo(0);
+  }
+
+  @Test
+  void insertAll_empty() {
+    assertThat(database.insertAll(EBasicVer.class, Stream.empty())).isEqualTo(0);
+  }
+}
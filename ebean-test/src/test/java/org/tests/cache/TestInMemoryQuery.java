@@ -0,0 +1,501 @@
+package org.tests.cache;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.LikeType;
+import io.ebean.OrderBy;
+import io.ebean.Query;
+import io.ebean.Transaction;
+import io.ebean.annotation.Platform;
+import io.ebean.config.ContainerConfig;
+import io.ebean.test.LoggedSql;
+import io.ebean.xtest.BaseTestCase;
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.api.SpiQuery;
+import io.ebeaninternal.api.TransactionEventTable;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.el.ElMatchCompiler;
+import io.ebeaninternal.server.el.ElStringCollation;
+import io.ebeaninternal.server.transaction.RemoteTableMod;
+import io.ebeaninternal.server.transaction.RemoteTransactionEvent;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tests.model.cache.EInMemoryGroup;
+import org.tests.model.cache.EInMemoryRef;
+import org.tests.model.cache.EInMemoryRef.Status;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Queries on a type configured for in memory evaluation are run both in memory and against
+ * the database and the results compared.
+ */
+class TestInMemoryQuery extends BaseTestCase {
+
+  private static Database database;
+  private static EInMemoryGroup g1;
+  private static EInMemoryRef a, b, c, d, e, f, g;
+
+  @BeforeAll
+  static void create() {
+    DatabaseBuilder config = Database.builder();
+    config.setName("inMemoryQuery");
+    config.setDdlExtra(false);
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource.inMemoryQuery.username", "sa");
+    properties.setProperty("datasource.inMemoryQuery.password", "");
+    properties.setProperty("datasource.inMemoryQuery.databaseUrl", "jdbc:h2:mem:inMemoryQuery;");
+    properties.setProperty("datasource.inMemoryQuery.databaseDriver", "org.h2.Driver");
+
+    config.loadFromProperties(properties);
+    config.setContainerConfig(new ContainerConfig());
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.ddlGenerate(true);
+    config.ddlRun(true);
+    config.addClass(EInMemoryRef.class);
+    config.addClass(EInMemoryGroup.class);
+    config.addInMemoryQueryType(EInMemoryRef.class, "code", "region");
+    database = config.build();
+
+    g1 = new EInMemoryGroup("g1");
+    EInMemoryGroup g2 = new EInMemoryGroup("g2");
+    database.saveAll(g1, g2);
+
+    a = new EInMemoryRef("A", "Alpha", "north", 10, Status.ACTIVE, g1);
+    b = new EInMemoryRef("B", "beta", "south", 20, Status.ACTIVE, g1);
+    c = new EInMemoryRef("C", "Gamma_1", null, null, Status.RETIRED, g2);
+    d = new EInMemoryRef("D", null, "north", 30, null, null);
+    e = new EInMemoryRef("E", "50% off", "east", 20, Status.ACTIVE, g2);
+    f = new EInMemoryRef("F", "delta", "south", 5, Status.ACTIVE, g1);
+    g = new EInMemoryRef("G", "ALPHA", "west", 15, Status.RETIRED, null);
+    database.saveAll(a, b, c, d, e, f, g);
+    // soft deleted
+    database.delete(f);
+  }
+
+  @AfterAll
+  static void shutdown() {
+    database.shutdown();
+  }
+
+  private static Query<EInMemoryRef> find() {
+    return database.find(EInMemoryRef.class);
+  }
+
+  private static List<Long> ids(List<EInMemoryRef> list) {
+    return list.stream().map(EInMemoryRef::getId).collect(Collectors.toList());
+  }
+
+  private static List<Long> sorted(List<Long> ids) {
+    return ids.stream().sorted().collect(Collectors.toList());
+  }
+
+  private static boolean isOrdered(Query<EInMemoryRef> query) {
+    OrderBy<EInMemoryRef> orderBy = ((SpiQuery<EInMemoryRef>) query).getOrderBy();
+    return orderBy != null && !orderBy.isEmpty();
+  }
+
+  /**
+   * Return the ids of the query executed against the database.
+   */
+  private static List<Long> fromDatabase(Consumer<Query<EInMemoryRef>> spec) {
+    Query<EInMemoryRef> query = find().setUseCache(false);
+    spec.accept(query);
+    return ids(query.findList());
+  }
+
+  /**
+   * Assert the query is evaluated in memory (without sql) with the same result as the database.
+   */
+  private static List<Long> assertInMemory(Consumer<Query<EInMemoryRef>> spec) {
+    Query<EInMemoryRef> dbQuery = find().setUseCache(false);
+    spec.accept(dbQuery);
+    List<Long> expected = ids(dbQuery.findList());
+    int expectedCount = dbQuery.findCount();
+
+    // ensure the snapshot is loaded
+    find().findCount();
+
+    Query<EInMemoryRef> query = find();
+    spec.accept(query);
+    assertThat(((SpiQuery<EInMemoryRef>) query).inMemoryQuery()).isNotNull();
+
+    LoggedSql.start();
+    List<Long> actual = ids(query.findList());
+    Query<EInMemoryRef> countQuery = find();
+    spec.accept(countQuery);
+    int count = countQuery.findCount();
+    assertThat(LoggedSql.stop()).isEmpty();
+
+    if (isOrdered(query)) {
+      assertThat(actual).containsExactlyElementsOf(expected);
+    } else {
+      assertThat(sorted(actual)).containsExactlyElementsOf(sorted(expected));
+    }
+    assertThat(count).isEqualTo(expectedCount);
+    return actual;
+  }
+
+  /**
+   * Assert the query falls back to the database with the same result as the database.
+   */
+  private static List<Long> assertDatabase(Consumer<Query<EInMemoryRef>> spec) {
+    List<Long> expected = fromDatabase(spec);
+    find().findCount();
+
+    Query<EInMemoryRef> query = find();
+    spec.accept(query);
+    assertThat(((SpiQuery<EInMemoryRef>) query).inMemoryQuery()).isNull();
+
+    LoggedSql.start();
+    List<Long> actual = ids(query.findList());
+    assertThat(LoggedSql.stop()).isNotEmpty();
+
+    if (isOrdered(query)) {
+      assertThat(actual).containsExactlyElementsOf(expected);
+    } else {
+      assertThat(sorted(actual)).containsExactlyElementsOf(sorted(expected));
+    }
+    return actual;
+  }
+
+  @Test
+  void all_excludesSoftDeleted() {
+    List<Long> ids = assertInMemory(q -> {});
+    assertThat(ids).containsExactlyInAnyOrder(a.getId(), b.getId(), c.getId(), d.getId(), e.getId(), g.getId());
+  }
+
+  @Test
+  void nulls_threeValuedLogic() {
+    assertThat(assertInMemory(q -> q.where().ne("region", "north")))
+      .containsExactlyInAnyOrder(b.getId(), e.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().not().eq("region", "north")))
+      .containsExactlyInAnyOrder(b.getId(), e.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().notIn("region", "north", "south")))
+      .containsExactlyInAnyOrder(e.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().lt("weight", 20)))
+      .containsExactlyInAnyOrder(a.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().not().ge("weight", 20)))
+      .containsExactlyInAnyOrder(a.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().or().eq("region", "north").isNull("region")))
+      .containsExactlyInAnyOrder(a.getId(), c.getId(), d.getId());
+    assertThat(assertInMemory(q -> q.where().isNull("weight")))
+      .containsExactly(c.getId());
+    assertThat(assertInMemory(q -> q.where().isNotNull("name")))
+      .doesNotContain(d.getId());
+    assertThat(assertInMemory(q -> q.where().isNull("grp")))
+      .containsExactlyInAnyOrder(d.getId(), g.getId());
+    assertInMemory(q -> q.where().not().or().eq("region", "north").gt("weight", 15));
+    assertInMemory(q -> q.where().ne("status", Status.ACTIVE));
+  }
+
+  @Test
+  void like_andEscape() {
+    assertThat(assertInMemory(q -> q.where().contains("name", "50%")))
+      .containsExactly(e.getId());
+    assertThat(assertInMemory(q -> q.where().startsWith("name", "Gamma_")))
+      .containsExactly(c.getId());
+    assertThat(assertInMemory(q -> q.where().endsWith("name", "ta")))
+      .containsExactly(b.getId());
+    assertThat(assertInMemory(q -> q.where().like("name", "_eta")))
+      .containsExactly(b.getId());
+    assertThat(assertInMemory(q -> q.where().like("name", "%a%")))
+      .containsExactlyInAnyOrder(a.getId(), b.getId(), c.getId());
+    assertThat(assertInMemory(q -> q.where().ilike("name", "alpha")))
+      .containsExactlyInAnyOrder(a.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().icontains("name", "LPH")))
+      .containsExactlyInAnyOrder(a.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().istartsWith("name", "GAM")))
+      .containsExactly(c.getId());
+    // the escape character differs by platform such that this executes against the database
+    assertDatabase(q -> q.where().like("name", "Gamma\\_%"));
+  }
+
+  @Test
+  void ieq() {
+    assertThat(assertInMemory(q -> q.where().ieq("name", "ALPHA")))
+      .containsExactlyInAnyOrder(a.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().ine("name", "alpha")))
+      .containsExactlyInAnyOrder(b.getId(), c.getId(), e.getId());
+  }
+
+  @Test
+  void between() {
+    assertThat(assertInMemory(q -> q.where().between("weight", 10, 20)))
+      .containsExactlyInAnyOrder(a.getId(), b.getId(), e.getId(), g.getId());
+    assertThat(assertInMemory(q -> q.where().not().between("weight", 10, 20)))
+      .containsExactly(d.getId());
+    assertInMemory(q -> q.where().between("code", "B", "D"));
+  }
+
+  @Test
+  void in_and_idIn() {
+    assertThat(assertInMemory(q -> q.where().in("code", "A", "C", "Z")))
+      .containsExactlyInAnyOrder(a.getId(), c.getId());
+    assertThat(assertInMemory(q -> q.where().in("weight", 10, 20)))
+      .containsExactlyInAnyOrder(a.getId(), b.getId(), e.getId());
+    assertThat(assertInMemory(q -> q.where().in("code", List.of())))
+      .isEmpty();
+    assertThat(assertInMemory(q -> q.where().idIn(a.getId(), d.getId(), f.getId())))
+      .containsExactlyInAnyOrder(a.getId(), d.getId());
+    assertThat(assertInMemory(q -> q.where().or().idEq(b.getId()).eq("code", "E").endOr()))
+      .containsExactlyInAnyOrder(b.getId(), e.getId());
+    assertThat(assertInMemory(q -> q.where().eq("grp.id", g1.getId())))
+      .containsExactlyInAnyOrder(a.getId(), b.getId());
+  }
+
+  @Test
+  void and_or_not() {
+    assertThat(assertInMemory(q -> q.where()
+      .or()
+        .and().eq("region", "north").gt("weight", 15).endAnd()
+        .eq("code", "B")
+      .endOr()))
+      .containsExactlyInAnyOrder(b.getId(), d.getId());
+
+    assertThat(assertInMemory(q -> q.where()
+      .eq("status", Status.ACTIVE)
+      .not().or().eq("region", "east").lt("weight", 15).endOr()))
+      .containsExactly(b.getId());
+
+    assertInMemory(q -> q.where().or().isNull("name").ieq("name", "beta").endOr().ge("weight", 20));
+  }
+
+  @Test
+  void indexed_sameAsFullScan() {
+    // eq and in on indexed properties use the index, like without wildcards and or scan all the rows
+    List<Long> indexed = assertInMemory(q -> q.where().eq("region", "north"));
+    List<Long> scanned = assertInMemory(q -> q.where().like("region", "north"));
+    assertThat(indexed).containsExactlyElementsOf(scanned).containsExactlyInAnyOrder(a.getId(), d.getId());
+
+    List<Long> indexedIn = assertInMemory(q -> q.where().in("region", "north", "south"));
+    List<Long> scannedOr = assertInMemory(q -> q.where().or().eq("region", "north").eq("region", "south"));
+    assertThat(sorted(indexedIn)).containsExactlyElementsOf(sorted(scannedOr));
+
+    // index used by a predicate that is not the first
+    assertThat(assertInMemory(q -> q.where().gt("weight", 10).eq("region", "north")))
+      .containsExactly(d.getId());
+    assertThat(assertInMemory(q -> q.where().eq("code", "E").eq("region", "east")))
+      .containsExactly(e.getId());
+    assertThat(assertInMemory(q -> q.where().eq("region", "none")))
+      .isEmpty();
+    // the soft deleted row is not in the index
+    assertThat(assertInMemory(q -> q.where().eq("code", "F")))
+      .isEmpty();
+  }
+
+  @Test
+  void firstRowMaxRows_withOrderBy() {
+    assertThat(assertInMemory(q -> q.orderBy("code").setFirstRow(1).setMaxRows(3)))
+      .containsExactly(b.getId(), c.getId(), d.getId());
+    assertThat(assertInMemory(q -> q.orderBy("code desc").setMaxRows(2)))
+      .containsExactly(g.getId(), e.getId());
+    assertThat(assertInMemory(q -> q.orderBy("code").setFirstRow(10)))
+      .isEmpty();
+    assertInMemory(q -> q.where().ge("weight", 10).orderBy("weight desc nulls last, code").setMaxRows(3));
+    assertInMemory(q -> q.orderBy("weight asc nulls first, code").setFirstRow(2).setMaxRows(10));
+    assertInMemory(q -> q.orderBy("name desc nulls first, id").setFirstRow(1));
+  }
+
+  @Test
+  void firstRowMaxRows_withoutOrderBy() {
+    List<Long> all = fromDatabase(q -> q.where().isNotNull("name"));
+
+    List<Long> first = ids(find().where().isNotNull("name").setMaxRows(2).findList());
+    List<Long> second = ids(find().where().isNotNull("name").setFirstRow(2).setMaxRows(2).findList());
+    List<Long> rest = ids(find().where().isNotNull("name").setFirstRow(4).findList());
+
+    // rows are not in a defined order but the pages are disjoint and cover all the rows
+    assertThat(first).hasSize(2);
+    assertThat(second).hasSize(2).doesNotContainAnyElementsOf(first);
+    assertThat(rest).hasSize(all.size() - 4).doesNotContainAnyElementsOf(first).doesNotContainAnyElementsOf(second);
+    assertThat(all).containsAll(first).containsAll(second).containsAll(rest);
+    assertThat(fromDatabase(q -> q.where().isNotNull("name").setMaxRows(2))).hasSize(2);
+  }
+
+  @Test
+  void orderBy_nullableWithoutNulls_expectDatabase() {
+    // the default ordering of nulls differs by platform
+    assertDatabase(q -> q.orderBy("weight, code"));
+    assertDatabase(q -> q.orderBy("name desc").setMaxRows(3));
+  }
+
+  @Test
+  void stringCollation() {
+    assertThat(ElStringCollation.of(Platform.H2)).isEqualTo(ElStringCollation.BINARY);
+    assertThat(ElStringCollation.of(Platform.POSTGRES)).isEqualTo(ElStringCollation.BINARY_EQUALITY);
+    assertThat(ElStringCollation.of(Platform.MYSQL)).isEqualTo(ElStringCollation.DATABASE);
+    assertThat(ElStringCollation.of(Platform.SQLSERVER17)).isEqualTo(ElStringCollation.DATABASE);
+  }
+
+  @Test
+  void stringCollation_database_expectStringsNotSupported() {
+    BeanDescriptor<EInMemoryRef> desc = ((SpiEbeanServer) database).descriptor(EInMemoryRef.class);
+    ElMatchCompiler<EInMemoryRef> compiler = new ElMatchCompiler<>(desc, ElStringCollation.DATABASE);
+
+    assertThat(compiler.indexProperty("code")).isNull();
+    assertThat(compiler.eq("code", "a")).isNull();
+    assertThat(compiler.in("code", List.of("a", "b"), false)).isNull();
+    assertThat(compiler.ieq("name", "a", false)).isNull();
+    assertThat(compiler.like("name", "a%", LikeType.RAW, false)).isNull();
+    assertThat(compiler.gt("code", "a")).isNull();
+    assertThat(compiler.orderBy(new OrderBy<>("code"))).isNull();
+    // other types are still supported
+    assertThat(compiler.eq("status", Status.ACTIVE)).isNotNull();
+    assertThat(compiler.orderBy(new OrderBy<>("id"))).isNotNull();
+  }
+
+  @Test
+  void stringCollation_binaryEquality_expectOrderingNotSupported() {
+    BeanDescriptor<EInMemoryRef> desc = ((SpiEbeanServer) database).descriptor(EInMemoryRef.class);
+    ElMatchCompiler<EInMemoryRef> compiler = new ElMatchCompiler<>(desc, ElStringCollation.BINARY_EQUALITY);
+
+    assertThat(compiler.indexProperty("code")).isNotNull();
+    assertThat(compiler.eq("code", "a")).isNotNull();
+    assertThat(compiler.like("name", "a%", LikeType.RAW, false)).isNotNull();
+    assertThat(compiler.gt("code", "a")).isNull();
+    assertThat(compiler.between("code", "a", "c")).isNull();
+    assertThat(compiler.orderBy(new OrderBy<>("code"))).isNull();
+  }
+
+  @Test
+  void fallback_joins() {
+    assertDatabase(q -> q.fetch("grp").where().eq("region", "north"));
+    assertDatabase(q -> q.where().eq("grp.name", "g1"));
+    assertDatabase(q -> q.orderBy("grp.name nulls last, code"));
+  }
+
+  @Test
+  void fallback_rawSql() {
+    assertDatabase(q -> q.where().raw("weight > ?", 10));
+    assertDatabase(q -> q.where().or().eq("code", "A").raw("weight is null").endOr());
+  }
+
+  @Test
+  void fallback_formula() {
+    assertThat(assertDatabase(q -> q.where().eq("upperName", "ALPHA")))
+      .containsExactlyInAnyOrder(a.getId(), g.getId());
+    assertDatabase(q -> q.where().isNotNull("upperName").orderBy("upperName, id"));
+  }
+
+  @Test
+  void fallback_softDelete() {
+    assertThat(assertDatabase(q -> q.setIncludeSoftDeletes().where().eq("code", "F")))
+      .containsExactly(f.getId());
+    // soft deleted rows are not in the snapshot
+    assertThat(assertInMemory(q -> q.where().eq("deleted", true)))
+      .isEmpty();
+  }
+
+  @Test
+  void fallback_asOf() {
+    Query<EInMemoryRef> query = find().asOf(new Timestamp(System.currentTimeMillis()));
+    assertThat(((SpiQuery<EInMemoryRef>) query).inMemoryQuery()).isNull();
+  }
+
+  @Test
+  void fallback_skipCache() {
+    find().findCount();
+    try (Transaction transaction = database.beginTransaction()) {
+      transaction.setSkipCache(true);
+      LoggedSql.start();
+      List<EInMemoryRef> list = find().usingTransaction(transaction).where().eq("region", "north").findList();
+      int count = find().usingTransaction(transaction).where().eq("region", "north").findCount();
+      assertThat(LoggedSql.stop()).hasSize(2);
+      assertThat(ids(list)).containsExactlyInAnyOrder(a.getId(), d.getId());
+      assertThat(count).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void invalidate_localInsertUpdateDelete() {
+    assertThat(assertInMemory(q -> q.where().eq("region", "local"))).isEmpty();
+
+    EInMemoryRef local = new EInMemoryRef("L1", "local", "local", 1, Status.ACTIVE, null);
+    database.save(local);
+    assertThat(assertInMemory(q -> q.where().eq("region", "local"))).containsExactly(local.getId());
+
+    EInMemoryRef copy = find().where().eq("code", "L1").findOne();
+    assertThat(copy).isNotNull();
+    copy.setName("local-modified");
+    copy.setWeight(2);
+    database.save(copy);
+    assertThat(assertInMemory(q -> q.where().eq("name", "local-modified").eq("weight", 2))).containsExactly(local.getId());
+    assertThat(find().setUnmodifiable(true).where().eq("code", "L1").findOne().getName()).isEqualTo("local-modified");
+
+    database.delete(copy);
+    assertThat(assertInMemory(q -> q.where().eq("region", "local"))).isEmpty();
+  }
+
+  @Test
+  void invalidate_remoteTableModification() throws SQLException {
+    EInMemoryRef remote = new EInMemoryRef("R1", "remote", "remote", 1, Status.ACTIVE, null);
+    database.save(remote);
+    assertThat(assertInMemory(q -> q.where().eq("name", "remote"))).containsExactly(remote.getId());
+
+    // modified by another instance, the snapshot is stale until notified
+    updateName(remote.getId(), "remote-1");
+    assertThat(ids(find().where().eq("name", "remote").findList())).containsExactly(remote.getId());
+
+    RemoteTransactionEvent tableMod = new RemoteTransactionEvent("other");
+    tableMod.addRemoteTableMod(new RemoteTableMod(Set.of("e_in_memory_ref")));
+    ((SpiEbeanServer) database).remoteTransactionEvent(tableMod);
+    assertThat(assertInMemory(q -> q.where().eq("name", "remote-1"))).containsExactly(remote.getId());
+
+    // remote update notified as a table insert update delete
+    updateName(remote.getId(), "remote-2");
+    RemoteTransactionEvent tableIud = new RemoteTransactionEvent("other");
+    tableIud.addTableIUD(new TransactionEventTable.TableIUD("e_in_memory_ref", false, true, false));
+    ((SpiEbeanServer) database).remoteTransactionEvent(tableIud);
+    assertThat(assertInMemory(q -> q.where().eq("name", "remote-2"))).containsExactly(remote.getId());
+
+    database.delete(find().setId(remote.getId()).findOne());
+    assertThat(assertInMemory(q -> q.where().eq("region", "remote"))).isEmpty();
+  }
+
+  private static void updateName(long id, String name) throws SQLException {
+    try (Connection connection = database.dataSource().getConnection();
+         PreparedStatement statement = connection.prepareStatement("update e_in_memory_ref set name = ? where id = ?")) {
+      statement.setString(1, name);
+      statement.setLong(2, id);
+      assertThat(statement.executeUpdate()).isEqualTo(1);
+      connection.commit();
+    }
+  }
+
+  @Test
+  void unmodifiable_sharesSnapshotBeans_otherwiseCopies() {
+    find().findCount();
+    List<EInMemoryRef> shared = find().setUnmodifiable(true).where().eq("region", "north").orderBy("code").findList();
+    List<EInMemoryRef> sharedAgain = find().setUnmodifiable(true).where().in("code", "A", "D").orderBy("code").findList();
+    assertThat(shared).hasSize(2);
+    assertThat(sharedAgain.get(0)).isSameAs(shared.get(0));
+    assertThat(sharedAgain.get(1)).isSameAs(shared.get(1));
+
+    List<EInMemoryRef> copies = find().where().eq("region", "north").orderBy("code").findList();
+    List<EInMemoryRef> otherCopies = find().where().eq("region", "north").orderBy("code").findList();
+    assertThat(copies).hasSize(2);
+    assertThat(copies.get(0)).isNotSameAs(shared.get(0));
+    assertThat(otherCopies.get(0)).isNotSameAs(copies.get(0));
+    assertThat(copies.get(0).getName()).isEqualTo("Alpha");
+    assertThat(copies.get(0).getGrp().getId()).isEqualTo(g1.getId());
+
+    // modifying a copy (without saving) does not change the snapshot
+    copies.get(0).setName("modified");
+    assertThat(find().setUnmodifiable(true).where().eq("code", "A").findOne().getName()).isEqualTo("Alpha");
+    assertThat(find().where().eq("code", "A").findOne().getName()).isEqualTo("Alpha");
+  }
+}
@@ -0,0 +1,151 @@
+package org.tests.cache;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.config.ContainerConfig;
+import io.ebean.meta.MetaCountMetric;
+import io.ebean.xtest.BaseTestCase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tests.model.cache.EColAB;
+import org.tests.model.cache.EColEmployee;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestQueryCacheRowInvalidation extends BaseTestCase {
+
+  private static Database database;
+
+  @BeforeAll
+  static void create() {
+    DatabaseBuilder config = Database.builder();
+    config.setName("rowInvalidation");
+    config.setDdlExtra(false);
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource.rowInvalidation.username", "sa");
+    properties.setProperty("datasource.rowInvalidation.password", "");
+    properties.setProperty("datasource.rowInvalidation.databaseUrl", "jdbc:h2:mem:rowInvalidation;");
+    properties.setProperty("datasource.rowInvalidation.databaseDriver", "org.h2.Driver");
+
+    config.loadFromProperties(properties);
+    config.setContainerConfig(new ContainerConfig());
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.ddlGenerate(true);
+    config.ddlRun(true);
+    config.queryCacheRowInvalidation(true);
+    config.addClass(EColAB.class);
+    config.addClass(EColEmployee.class);
+    database = config.build();
+  }
+
+  @AfterAll
+  static void shutdown() {
+    database.shutdown();
+  }
+
+  private List<EColAB> findByColumnB(String columnB) {
+    return database.find(EColAB.class)
+      .setUseQueryCache(true)
+      .where().eq("columnB", columnB)
+      .orderBy("id")
+      .findList();
+  }
+
+  private long rowValidCount() {
+    return database.metaInfo().collectMetrics().countMetrics().stream()
+      .filter(metric -> metric.name().equals("ebean.querycache.rowvalid"))
+      .mapToLong(MetaCountMetric::count)
+      .sum();
+  }
+
+  @Test
+  void updateAndDelete_onlyInvalidateAffectedEntries() {
+    EColAB a1 = new EColAB("a1", "row");
+    EColAB a2 = new EColAB("a2", "row");
+    EColAB other = new EColAB("o1", "other");
+    EColAB other2 = new EColAB("o2", "other");
+    database.saveAll(a1, a2, other, other2);
+    rowValidCount();
+
+    List<EColAB> list = findByColumnB("row");
+    assertThat(list).hasSize(2);
+
+    // not in the result and columnA not used by the predicates
+    other.setColumnA("o1-modified");
+    database.save(other);
+    assertThat(findByColumnB("row")).isSameAs(list);
+
+    // not in the result and can not newly match
+    database.delete(other2);
+    assertThat(findByColumnB("row")).isSameAs(list);
+    assertThat(rowValidCount()).isEqualTo(2);
+
+    // modified row in the result
+    a1.setColumnA("a1-modified");
+    database.save(a1);
+    List<EColAB> list2 = findByColumnB("row");
+    assertThat(list2).isNotSameAs(list);
+    assertThat(list2.get(0).getColumnA()).isEqualTo("a1-modified");
+
+    // modified predicate property such that the row newly matches
+    other.setColumnB("row");
+    database.save(other);
+    List<EColAB> list3 = findByColumnB("row");
+    assertThat(list3).isNotSameAs(list2);
+    assertThat(list3).hasSize(3);
+
+    // deleted row in the result
+    database.delete(a2);
+    List<EColAB> list4 = findByColumnB("row");
+    assertThat(list4).hasSize(2);
+
+    // inserts invalidate at table level
+    database.save(new EColAB("a3", "row"));
+    assertThat(findByColumnB("row")).hasSize(3);
+  }
+
+  private List<EColEmployee> findFetchManager(String name) {
+    return database.find(EColEmployee.class)
+      .setUseQueryCache(true)
+      .fetch("manager")
+      .where().eq("name", name)
+      .findList();
+  }
+
+  private List<EColEmployee> findByManagerName(String managerName) {
+    return database.find(EColEmployee.class)
+      .setUseQueryCache(true)
+      .where().eq("manager.name", managerName)
+      .findList();
+  }
+
+  @Test
+  void update_referencedRowOfSameTable_expect_cacheMiss() {
+    EColEmployee boss = new EColEmployee("boss", null);
+    database.save(boss);
+    EColEmployee emp = new EColEmployee("emp", boss);
+    database.save(emp);
+
+    List<EColEmployee> fetched = findFetchManager("emp");
+    assertThat(fetched).hasSize(1);
+    assertThat(findFetchManager("emp")).isSameAs(fetched);
+    List<EColEmployee> filtered = findByManagerName("boss");
+    assertThat(filtered).hasSize(1);
+    assertThat(findByManagerName("boss")).isSameAs(filtered);
+
+    // the manager is not a result id of either query but is joined via the same table
+    boss.setName("boss-modified");
+    database.save(boss);
+
+    List<EColEmployee> fetched2 = findFetchManager("emp");
+    assertThat(fetched2).isNotSameAs(fetched);
+    assertThat(fetched2.get(0).getManager().getName()).isEqualTo("boss-modified");
+    assertThat(findByManagerName("boss")).isNotSameAs(filtered).isEmpty();
+  }
+}
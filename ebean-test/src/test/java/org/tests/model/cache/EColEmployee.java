@@ -0,0 +1,52 @@
+package org.tests.model.cache;
+
+import io.ebean.Model;
+import io.ebean.annotation.Cache;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Cache(enableQueryCache = true)
+@Entity
+@Table(name = "e_col_employee")
+public class EColEmployee extends Model {
+
+  @Id
+  private Integer id;
+
+  private String name;
+
+  @ManyToOne
+  private EColEmployee manager;
+
+  public EColEmployee(String name, EColEmployee manager) {
+    this.name = name;
+    this.manager = manager;
+  }
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public EColEmployee getManager() {
+    return manager;
+  }
+
+  public void setManager(EColEmployee manager) {
+    this.manager = manager;
+  }
+}
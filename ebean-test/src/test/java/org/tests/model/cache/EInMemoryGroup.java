@@ -0,0 +1,35 @@
+package org.tests.model.cache;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "e_in_memory_group")
+public class EInMemoryGroup {
+
+  @Id
+  private Long id;
+
+  private String name;
+
+  public EInMemoryGroup(String name) {
+    this.name = name;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+}
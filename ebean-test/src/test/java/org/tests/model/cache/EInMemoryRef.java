@@ -0,0 +1,125 @@
+package org.tests.model.cache;
+
+import io.ebean.annotation.Cache;
+import io.ebean.annotation.Formula;
+import io.ebean.annotation.SoftDelete;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Cache(enableQueryCache = true)
+@Entity
+@Table(name = "e_in_memory_ref")
+public class EInMemoryRef {
+
+  public enum Status {
+    ACTIVE,
+    RETIRED
+  }
+
+  @Id
+  private Long id;
+
+  @Column(nullable = false)
+  private String code;
+
+  private String name;
+
+  private String region;
+
+  private Integer weight;
+
+  @Enumerated(EnumType.STRING)
+  private Status status;
+
+  @ManyToOne
+  private EInMemoryGroup grp;
+
+  @Formula(select = "upper(${ta}.name)")
+  private String upperName;
+
+  @SoftDelete
+  private boolean deleted;
+
+  public EInMemoryRef(String code, String name, String region, Integer weight, Status status, EInMemoryGroup grp) {
+    this.code = code;
+    this.name = name;
+    this.region = region;
+    this.weight = weight;
+    this.status = status;
+    this.grp = grp;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getCode() {
+    return code;
+  }
+
+  public void setCode(String code) {
+    this.code = code;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getRegion() {
+    return region;
+  }
+
+  public void setRegion(String region) {
+    this.region = region;
+  }
+
+  public Integer getWeight() {
+    return weight;
+  }
+
+  public void setWeight(Integer weight) {
+    this.weight = weight;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public EInMemoryGroup getGrp() {
+    return grp;
+  }
+
+  public void setGrp(EInMemoryGroup grp) {
+    this.grp = grp;
+  }
+
+  public String getUpperName() {
+    return upperName;
+  }
+
+  public boolean isDeleted() {
+    return deleted;
+  }
+
+  public void setDeleted(boolean deleted) {
+    this.deleted = deleted;
+  }
+}
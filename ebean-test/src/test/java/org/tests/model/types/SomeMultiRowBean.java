@@ -0,0 +1,259 @@
+package org.tests.model.types;
+
+import io.ebean.annotation.DbJson;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A property per scalar type family for multi-row insert.
+ */
+@Entity
+public class SomeMultiRowBean {
+
+  public enum Status {
+    NEW, ACTIVE
+  }
+
+  public enum Level {
+    LOW, HIGH
+  }
+
+  @Id
+  Long id;
+
+  String name;
+
+  @Enumerated(EnumType.STRING)
+  Status status;
+
+  @Enumerated(EnumType.ORDINAL)
+  Level level;
+
+  UUID uid;
+
+  @DbJson(length = 500)
+  Map<String, Object> content;
+
+  @Lob
+  String clob;
+
+  @Lob
+  byte[] blob;
+
+  byte[] bytes;
+
+  Boolean flag;
+
+  Short shortValue;
+
+  Integer intValue;
+
+  Double doubleValue;
+
+  Float floatValue;
+
+  BigDecimal amount;
+
+  char code;
+
+  LocalDate localDate;
+
+  LocalDateTime localDateTime;
+
+  LocalTime localTime;
+
+  Instant instant;
+
+  Timestamp timestamp;
+
+  Time sqlTime;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public Level getLevel() {
+    return level;
+  }
+
+  public void setLevel(Level level) {
+    this.level = level;
+  }
+
+  public UUID getUid() {
+    return uid;
+  }
+
+  public void setUid(UUID uid) {
+    this.uid = uid;
+  }
+
+  public Map<String, Object> getContent() {
+    return content;
+  }
+
+  public void setContent(Map<String, Object> content) {
+    this.content = content;
+  }
+
+  public String getClob() {
+    return clob;
+  }
+
+  public void setClob(String clob) {
+    this.clob = clob;
+  }
+
+  public byte[] getBlob() {
+    return blob;
+  }
+
+  public void setBlob(byte[] blob) {
+    this.blob = blob;
+  }
+
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  public void setBytes(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  public Boolean getFlag() {
+    return flag;
+  }
+
+  public void setFlag(Boolean flag) {
+    this.flag = flag;
+  }
+
+  public Short getShortValue() {
+    return shortValue;
+  }
+
+  public void setShortValue(Short shortValue) {
+    this.shortValue = shortValue;
+  }
+
+  public Integer getIntValue() {
+    return intValue;
+  }
+
+  public void setIntValue(Integer intValue) {
+    this.intValue = intValue;
+  }
+
+  public Double getDoubleValue() {
+    return doubleValue;
+  }
+
+  public void setDoubleValue(Double doubleValue) {
+    this.doubleValue = doubleValue;
+  }
+
+  public Float getFloatValue() {
+    return floatValue;
+  }
+
+  public void setFloatValue(Float floatValue) {
+    this.floatValue = floatValue;
+  }
+
+  public BigDecimal getAmount() {
+    return amount;
+  }
+
+  public void setAmount(BigDecimal amount) {
+    this.amount = amount;
+  }
+
+  public char getCode() {
+    return code;
+  }
+
+  public void setCode(char code) {
+    this.code = code;
+  }
+
+  public LocalDate getLocalDate() {
+    return localDate;
+  }
+
+  public void setLocalDate(LocalDate localDate) {
+    this.localDate = localDate;
+  }
+
+  public LocalDateTime getLocalDateTime() {
+    return localDateTime;
+  }
+
+  public void setLocalDateTime(LocalDateTime localDateTime) {
+    this.localDateTime = localDateTime;
+  }
+
+  public LocalTime getLocalTime() {
+    return localTime;
+  }
+
+  public void setLocalTime(LocalTime localTime) {
+    this.localTime = localTime;
+  }
+
+  public Instant getInstant() {
+    return instant;
+  }
+
+  public void setInstant(Instant instant) {
+    this.instant = instant;
+  }
+
+  public Timestamp getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Timestamp timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public Time getSqlTime() {
+    return sqlTime;
+  }
+
+  public void setSqlTime(Time sqlTime) {
+    this.sqlTime = sqlTime;
+  }
+}
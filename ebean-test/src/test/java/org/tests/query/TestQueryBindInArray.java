@@ -0,0 +1,122 @@
+package org.tests.query;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.config.ContainerConfig;
+import io.ebean.meta.MetaCountMetric;
+import io.ebean.test.LoggedSql;
+import io.ebean.xtest.BaseTestCase;
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.TSDetail;
+import org.tests.model.basic.TSMaster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestQueryBindInArray extends BaseTestCase {
+
+  private static Database database;
+
+  @BeforeAll
+  static void create() {
+    DatabaseBuilder config = Database.builder();
+    config.setName("bindInArray");
+    config.setDdlExtra(false);
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource.bindInArray.username", "sa");
+    properties.setProperty("datasource.bindInArray.password", "");
+    properties.setProperty("datasource.bindInArray.databaseUrl", "jdbc:h2:mem:bindInArray;");
+    properties.setProperty("datasource.bindInArray.databaseDriver", "org.h2.Driver");
+
+    config.loadFromProperties(properties);
+    config.setContainerConfig(new ContainerConfig());
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.ddlGenerate(true);
+    config.ddlRun(true);
+    config.bindInArray(true);
+    config.addClass(TSMaster.class);
+    config.addClass(TSDetail.class);
+    database = config.build();
+  }
+
+  @AfterAll
+  static void shutdown() {
+    database.shutdown();
+  }
+
+  private static void resetMetrics() {
+    database.metaInfo().resetAllMetrics();
+  }
+
+  private long countMetric(String name) {
+    return database.metaInfo().collectMetrics().countMetrics().stream()
+      .filter(metric -> metric.name().equals(name))
+      .mapToLong(MetaCountMetric::count)
+      .sum();
+  }
+
+  private static String sqlOnly(String loggedSql) {
+    int pos = loggedSql.indexOf("--bind");
+    return pos == -1 ? loggedSql : loggedSql.substring(0, pos);
+  }
+
+  private List<Integer> insertMasters(int count) {
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      TSMaster master = new TSMaster();
+      master.setName("m" + i);
+      master.addDetail(new TSDetail("d" + i + "a"));
+      master.addDetail(new TSDetail("d" + i + "b"));
+      database.save(master);
+      ids.add(master.getId());
+    }
+    return ids;
+  }
+
+  @Test
+  void idIn_singleQueryPlanForAnyNumberOfIds() {
+    List<Integer> ids = insertMasters(12);
+    BeanDescriptor<TSMaster> descriptor = ((SpiEbeanServer) database).descriptor(TSMaster.class);
+    resetMetrics();
+
+    LoggedSql.start();
+    int planCount = descriptor.queryPlanCount();
+    assertThat(database.find(TSMaster.class).where().idIn(ids.subList(0, 3)).findList()).hasSize(3);
+    assertThat(database.find(TSMaster.class).where().idIn(ids.subList(0, 7)).findList()).hasSize(7);
+    assertThat(database.find(TSMaster.class).where().idIn(ids).findList()).hasSize(12);
+    assertThat(descriptor.queryPlanCount()).isEqualTo(planCount + 1);
+
+    List<String> sql = LoggedSql.stop();
+    assertThat(sql).hasSize(3);
+    assertThat(sql.get(0)).contains(" = any(?)");
+    assertThat(sqlOnly(sql.get(0))).isEqualTo(sqlOnly(sql.get(2)));
+    assertThat(countMetric("ebean.query.bind.inarray")).isEqualTo(3);
+    assertThat(countMetric("ebean.query.bind.inexpanded")).isEqualTo(0);
+  }
+
+  @Test
+  void lazyLoadMany_bindsParentIdsAsArray() {
+    insertMasters(3);
+    List<TSMaster> masters = database.find(TSMaster.class).select("name").where().startsWith("name", "m").findList();
+
+    LoggedSql.start();
+    int detailCount = 0;
+    for (TSMaster master : masters) {
+      detailCount += master.getDetails().size();
+    }
+    assertThat(detailCount).isEqualTo(2 * masters.size());
+
+    List<String> sql = LoggedSql.stop();
+    assertThat(sql).hasSize(1);
+    assertThat(sql.get(0)).contains(" = any(?)");
+  }
+}
@@ -0,0 +1,122 @@
+package org.tests.query;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.Transaction;
+import io.ebean.config.ContainerConfig;
+import io.ebean.xtest.BaseTestCase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.EOptOneA;
+import org.tests.model.basic.EOptOneB;
+import org.tests.model.basic.EOptOneC;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestQueryCompiledRowReader extends BaseTestCase {
+
+  private static Database database;
+
+  @BeforeAll
+  static void create() {
+    DatabaseBuilder config = Database.builder();
+    config.setName("compiledRowReader");
+    config.setDdlExtra(false);
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource.compiledRowReader.username", "sa");
+    properties.setProperty("datasource.compiledRowReader.password", "");
+    properties.setProperty("datasource.compiledRowReader.databaseUrl", "jdbc:h2:mem:compiledRowReader;");
+    properties.setProperty("datasource.compiledRowReader.databaseDriver", "org.h2.Driver");
+
+    config.loadFromProperties(properties);
+    config.setContainerConfig(new ContainerConfig());
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.ddlGenerate(true);
+    config.ddlRun(true);
+    config.compiledRowReader(true);
+    config.addClass(EOptOneA.class);
+    config.addClass(EOptOneB.class);
+    config.addClass(EOptOneC.class);
+    database = config.build();
+
+    for (int i = 0; i < 5; i++) {
+      EOptOneC c = new EOptOneC();
+      c.setNameForC("c" + i);
+      database.save(c);
+      EOptOneB b = new EOptOneB();
+      b.setNameForB("b" + i);
+      b.setC(c);
+      database.save(b);
+      EOptOneA a = new EOptOneA();
+      a.setNameForA("a" + i);
+      a.setB(i % 2 == 0 ? b : null);
+      database.save(a);
+    }
+  }
+
+  @AfterAll
+  static void shutdown() {
+    database.shutdown();
+  }
+
+  @Test
+  void findList_withJoins() {
+    List<EOptOneA> list = database.find(EOptOneA.class)
+      .fetch("b")
+      .fetch("b.c")
+      .orderBy("id")
+      .findList();
+
+    assertThat(list).hasSize(5);
+    for (int i = 0; i < 5; i++) {
+      EOptOneA a = list.get(i);
+      assertThat(a.getNameForA()).isEqualTo("a" + i);
+      assertThat(a.getVersion()).isNotNull();
+      assertThat(a.getCretime()).isNotNull();
+      if (i % 2 == 0) {
+        assertThat(a.getB().getNameForB()).isEqualTo("b" + i);
+        assertThat(a.getB().getC().getNameForC()).isEqualTo("c" + i);
+      } else {
+        assertThat(a.getB()).isNull();
+      }
+    }
+  }
+
+  @Test
+  void findList_partial_expect_lazyLoad() {
+    List<EOptOneA> list = database.find(EOptOneA.class)
+      .select("nameForA")
+      .orderBy("id")
+      .findList();
+
+    assertThat(list).hasSize(5);
+    EOptOneA first = list.get(0);
+    assertThat(database.beanState(first).loadedProps()).contains("nameForA");
+    // lazy loading the remaining properties
+    assertThat(first.getVersion()).isNotNull();
+    assertThat(first.getB().getNameForB()).isEqualTo("b0");
+  }
+
+  @Test
+  void findList_sameTransaction_expect_contextBean() {
+    try (Transaction txn = database.beginTransaction()) {
+      List<EOptOneB> first = database.find(EOptOneB.class).orderBy("id").findList();
+      List<EOptOneA> list = database.find(EOptOneA.class)
+        .fetch("b")
+        .where().isNotNull("b")
+        .orderBy("id")
+        .findList();
+
+      assertThat(list).hasSize(3);
+      assertThat(list.get(0).getB()).isSameAs(first.get(0));
+      assertThat(list.get(0).getB().getNameForB()).isEqualTo("b0");
+      txn.rollback();
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package org.tests.query;
+
+import io.ebean.DB;
+import io.ebean.DtoQuery;
+import io.ebean.SqlRow;
+import io.ebean.annotation.Platform;
+import io.ebean.xtest.BaseTestCase;
+import io.ebean.xtest.ForPlatform;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.Customer;
+import org.tests.model.basic.Order;
+import org.tests.model.basic.ResetBasicData;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestQueryFindAsync extends BaseTestCase {
+
+  public static class CustomerDto {
+
+    private final int id;
+    private final String name;
+
+    public CustomerDto(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  @Test
+  void findListAsync() {
+    ResetBasicData.reset();
+
+    CompletionStage<List<Order>> stage = DB.find(Order.class).findListAsync();
+    List<Order> orders = stage.toCompletableFuture().join();
+    assertThat(orders).hasSize(DB.find(Order.class).findCount());
+  }
+
+  @Test
+  void findOneAsync_and_findCountAsync() {
+    ResetBasicData.reset();
+
+    Order first = DB.find(Order.class).orderBy("id").setMaxRows(1).findOne();
+    Order found = DB.find(Order.class).where().idEq(first.getId()).findOneAsync().toCompletableFuture().join();
+    assertThat(found.getId()).isEqualTo(first.getId());
+
+    CompletableFuture<Integer> count = DB.find(Customer.class).findCountAsync().toCompletableFuture();
+    CompletableFuture<Integer> orderCount = DB.find(Order.class).findCountAsync().toCompletableFuture();
+    assertThat(count.join()).isEqualTo(DB.find(Customer.class).findCount());
+    assertThat(orderCount.join()).isEqualTo(DB.find(Order.class).findCount());
+  }
+
+  @Test
+  void sqlQuery_findListAsync() {
+    ResetBasicData.reset();
+
+    List<SqlRow> rows = DB.sqlQuery("select id, name from o_customer").findListAsync().toCompletableFuture().join();
+    assertThat(rows).hasSize(DB.find(Customer.class).findCount());
+  }
+
+  @Test
+  void cancel() {
+    ResetBasicData.reset();
+
+    CompletableFuture<List<Order>> future = DB.find(Order.class).findListAsync().toCompletableFuture();
+    future.cancel(true);
+    assertThat(future.isCancelled()).isTrue();
+  }
+
+  /**
+   * A predicate that runs for a very long time unless the statement is cancelled.
+   */
+  private static final String SLOW_PREDICATE = "(select sum(x) from system_range(1, 100000000000)) > 0";
+
+  @ForPlatform(Platform.H2)
+  @Test
+  void findListAsync_cancel_abortsExecutingStatement() throws InterruptedException {
+    ResetBasicData.reset();
+
+    CompletableFuture<List<Customer>> future = DB.find(Customer.class)
+      .where().raw(SLOW_PREDICATE)
+      .findListAsync()
+      .toCompletableFuture();
+
+    assertCancelAbortsStatement(future);
+  }
+
+  @ForPlatform(Platform.H2)
+  @Test
+  void findCountAsync_cancel_abortsExecutingStatement() throws InterruptedException {
+    ResetBasicData.reset();
+
+    CompletableFuture<Integer> future = DB.find(Customer.class)
+      .where().raw(SLOW_PREDICATE)
+      .findCountAsync()
+      .toCompletableFuture();
+
+    assertCancelAbortsStatement(future);
+  }
+
+  private static void assertCancelAbortsStatement(CompletableFuture<?> future) throws InterruptedException {
+    assertThat(awaitExecuting(true)).isTrue();
+    future.cancel(true);
+    assertThat(future.isCancelled()).isTrue();
+    // the cancel reaches the copied query and cancels the executing JDBC statement
+    assertThat(awaitExecuting(false)).isTrue();
+  }
+
+  /**
+   * Wait for the slow statement to be executing (or not executing) returning false on timeout.
+   */
+  private static boolean awaitExecuting(boolean executing) throws InterruptedException {
+    long until = System.currentTimeMillis() + 10_000;
+    while (System.currentTimeMillis() < until) {
+      if (isExecuting() == executing) {
+        return true;
+      }
+      Thread.sleep(20);
+    }
+    return false;
+  }
+
+  private static boolean isExecuting() {
+    return DB.sqlQuery("select executing_statement from information_schema.sessions")
+      .findList()
+      .stream()
+      .map(row -> row.getString("executing_statement"))
+      .anyMatch(sql -> sql != null && sql.contains("system_range(1, 100000000000)"));
+  }
+
+  @Test
+  void dtoQuery_findListAsync_usesCopy() {
+    ResetBasicData.reset();
+
+    DtoQuery<CustomerDto> query = DB.findDto(CustomerDto.class, "select id, name from o_customer where id > ?");
+    query.setParameter(0);
+    CompletableFuture<List<CustomerDto>> all = query.findListAsync().toCompletableFuture();
+    // reusing the query does not change the asynchronous execution
+    query.setParameter(1, Integer.MAX_VALUE);
+    assertThat(all.join()).hasSize(DB.find(Customer.class).findCount());
+    assertThat(query.findList()).isEmpty();
+  }
+}
@@ -0,0 +1,139 @@
+package org.tests.query;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.config.ContainerConfig;
+import io.ebean.xtest.BaseTestCase;
+import io.ebeaninternal.api.QueryPlanShape;
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tests.model.basic.EOptOneA;
+import org.tests.model.basic.EOptOneB;
+import org.tests.model.basic.EOptOneC;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestQueryPlanSnapshot extends BaseTestCase {
+
+  @TempDir
+  Path tempDir;
+
+  private Database create(String snapshotFile) {
+    DatabaseBuilder config = Database.builder();
+    config.setName("planSnapshot");
+    config.setDdlExtra(false);
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource.planSnapshot.username", "sa");
+    properties.setProperty("datasource.planSnapshot.password", "");
+    properties.setProperty("datasource.planSnapshot.databaseUrl", "jdbc:h2:mem:planSnapshot;");
+    properties.setProperty("datasource.planSnapshot.databaseDriver", "org.h2.Driver");
+
+    config.loadFromProperties(properties);
+    config.setContainerConfig(new ContainerConfig());
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.ddlGenerate(true);
+    config.ddlRun(true);
+    config.queryPlanSnapshotFile(snapshotFile);
+    config.queryPlanSnapshotBackground(false);
+    config.addClass(EOptOneA.class);
+    config.addClass(EOptOneB.class);
+    config.addClass(EOptOneC.class);
+    return config.build();
+  }
+
+  private static void runQueries(Database database) {
+    database.find(EOptOneA.class)
+      .where().eq("nameForA", "a0")
+      .orderBy("id")
+      .findList();
+
+    database.find(EOptOneA.class)
+      .fetch("b")
+      .where().startsWith("nameForA", "a")
+      .or().isNull("b").gt("id", 2).endOr()
+      .setMaxRows(10)
+      .findList();
+
+    database.find(EOptOneA.class)
+      .where().in("id", 1, 2, 3)
+      .findList();
+  }
+
+  private static BeanDescriptor<EOptOneA> descriptor(Database database) {
+    return ((SpiEbeanServer) database).descriptor(EOptOneA.class);
+  }
+
+  @Test
+  void snapshot_writtenOnShutdown_replayedOnStart() {
+    String snapshotFile = tempDir.resolve("plans.snapshot").toString();
+
+    Database first = create(snapshotFile);
+    runQueries(first);
+    // not replayable (for update) so not included in the snapshot
+    first.find(EOptOneA.class).forUpdate().where().eq("nameForA", "a0").findList();
+    assertThat(descriptor(first).queryPlanShapes()).hasSize(3);
+    first.shutdown();
+
+    assertThat(tempDir.resolve("plans.snapshot")).exists();
+
+    Database second = create(snapshotFile);
+    try {
+      int warmed = descriptor(second).queryPlanCount();
+      assertThat(warmed).isEqualTo(3);
+
+      // the same query shapes use the replayed query plans
+      runQueries(second);
+      assertThat(descriptor(second).queryPlanCount()).isEqualTo(warmed);
+    } finally {
+      second.shutdown();
+    }
+  }
+
+  @Test
+  void snapshot_planKeyDifferent_expect_notBuilt() throws IOException {
+    String snapshotFile = tempDir.resolve("plans-key.snapshot").toString();
+
+    Database first = create(snapshotFile);
+    runQueries(first);
+    BeanDescriptor<EOptOneA> desc = descriptor(first);
+    List<QueryPlanShape> shapes = desc.queryPlanShapes();
+    long checksum = desc.deployChecksum();
+    first.shutdown();
+
+    assertThat(shapes).hasSize(3);
+    assertThat(shapes).extracting(QueryPlanShape::planKey).doesNotContainNull();
+    // a shape that does not replay to the captured query plan
+    shapes.get(0).planKey("changed");
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(snapshotFile))) {
+      out.writeInt(3);
+      out.writeBoolean(true);
+      QueryPlanShape.writeString(out, EOptOneA.class.getName());
+      out.writeLong(checksum);
+      out.writeInt(shapes.size());
+      for (QueryPlanShape shape : shapes) {
+        shape.write(out);
+      }
+      out.writeBoolean(false);
+    }
+
+    Database second = create(snapshotFile);
+    try {
+      assertThat(descriptor(second).queryPlanCount()).isEqualTo(2);
+      runQueries(second);
+      assertThat(descriptor(second).queryPlanCount()).isEqualTo(3);
+    } finally {
+      second.shutdown();
+    }
+  }
+}
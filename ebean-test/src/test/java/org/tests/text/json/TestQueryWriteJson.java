@@ -0,0 +1,93 @@
+package org.tests.text.json;
+
+import io.avaje.json.JsonWriter;
+import io.avaje.json.stream.JsonStream;
+import io.ebean.DB;
+import io.ebean.FetchPath;
+import io.ebean.Query;
+import io.ebean.text.PathProperties;
+import io.ebean.text.json.JsonWriteOptions;
+import io.ebean.xtest.BaseTestCase;
+import io.ebeaninternal.api.SpiQuery;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tests.model.basic.Contact;
+import org.tests.model.basic.Customer;
+import org.tests.model.basic.ResetBasicData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestQueryWriteJson extends BaseTestCase {
+
+  @BeforeAll
+  static void before() {
+    ResetBasicData.reset();
+  }
+
+  @Test
+  void writeJson_outputStream() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DB.find(Customer.class)
+      .select("id, name")
+      .fetch("contacts", "firstName")
+      .orderBy("id")
+      .writeJson(out, null);
+
+    String json = out.toString(StandardCharsets.UTF_8);
+    assertThat(json).startsWith("[{").endsWith("}]");
+
+    List<Customer> expected = DB.find(Customer.class).select("id, name").orderBy("id").findList();
+    List<Customer> written = DB.json().toList(Customer.class, json);
+    assertThat(written).hasSameSizeAs(expected);
+    for (int i = 0; i < expected.size(); i++) {
+      Customer customer = written.get(i);
+      assertThat(customer.getId()).isEqualTo(expected.get(i).getId());
+      assertThat(customer.getName()).isEqualTo(expected.get(i).getName());
+      int contactCount = DB.find(Contact.class).where().eq("customer.id", customer.getId()).findCount();
+      assertThat(customer.getContacts()).hasSize(contactCount);
+    }
+  }
+
+  @Test
+  void writeJson_jsonWriter_withPathProperties() {
+    FetchPath pathProperties = PathProperties.parse("id,name");
+    JsonWriteOptions options = JsonWriteOptions.parsePath("id,name");
+
+    StringWriter buffer = new StringWriter();
+    try (JsonWriter writer = JsonStream.builder().build().writer(buffer)) {
+      DB.find(Customer.class)
+        .apply(pathProperties)
+        .where().startsWith("name", "Cust NoAddress")
+        .writeJson(writer, options);
+    }
+
+    assertThat(buffer.toString()).isEqualTo("[{\"id\":" + noAddressId() + ",\"name\":\"Cust NoAddress\"}]");
+  }
+
+  @Test
+  void writeJson_queryNotModified() {
+    Query<Customer> query = DB.find(Customer.class).select("id, name").orderBy("id");
+    query.writeJson(new ByteArrayOutputStream(), null);
+
+    assertThat(((SpiQuery<Customer>) query).isDisableLazyLoading()).isFalse();
+    // lazy loading still available on the query results
+    Customer customer = query.setMaxRows(1).findOne();
+    assertThat(customer.getStatus()).isNotNull();
+  }
+
+  @Test
+  void writeJson_empty() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DB.find(Customer.class).where().eq("name", "DoesNotExist").writeJson(out, null);
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+  }
+
+  private static Integer noAddressId() {
+    return DB.find(Customer.class).where().eq("name", "Cust NoAddress").findOne().getId();
+  }
+}
@@ -0,0 +1,196 @@
+package org.tests.transaction;
+
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebean.config.ContainerConfig;
+import io.ebean.config.PostCommitOverflow;
+import io.ebean.event.AbstractBeanPersistListener;
+import io.ebean.meta.MetaCountMetric;
+import io.ebean.meta.MetaTimedMetric;
+import io.ebean.meta.ServerMetrics;
+import io.ebean.test.LoggedSql;
+import io.ebean.xtest.BaseTestCase;
+import org.junit.jupiter.api.Test;
+import org.tests.model.cache.EColAB;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestPostCommitQueue extends BaseTestCase {
+
+  private static Database create(String name, int queueSize, PostCommitOverflow overflow, Listener listener) {
+    DatabaseBuilder config = Database.builder();
+    config.setName(name);
+    config.setDdlExtra(false);
+
+    Properties properties = new Properties();
+    properties.setProperty("datasource." + name + ".username", "sa");
+    properties.setProperty("datasource." + name + ".password", "");
+    properties.setProperty("datasource." + name + ".databaseUrl", "jdbc:h2:mem:" + name + ";");
+    properties.setProperty("datasource." + name + ".databaseDriver", "org.h2.Driver");
+
+    config.loadFromProperties(properties);
+    config.setContainerConfig(new ContainerConfig());
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.ddlGenerate(true);
+    config.ddlRun(true);
+    config.postCommitQueueSize(queueSize);
+    config.postCommitOverflow(overflow);
+    config.add(listener);
+    config.addClass(EColAB.class);
+    return config.build();
+  }
+
+  private static void await(IntSupplier count, int expected) throws InterruptedException {
+    for (int i = 0; i < 500 && count.getAsInt() < expected; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(count.getAsInt()).isEqualTo(expected);
+  }
+
+  private static long countMetric(ServerMetrics metrics, String name) {
+    return metrics.countMetrics().stream()
+      .filter(metric -> metric.name().equals(name))
+      .mapToLong(MetaCountMetric::count)
+      .sum();
+  }
+
+  private static long timedMetricCount(ServerMetrics metrics, String name) {
+    return metrics.timedMetrics().stream()
+      .filter(metric -> metric.name().equals(name))
+      .mapToLong(MetaTimedMetric::count)
+      .sum();
+  }
+
+  @Test
+  void block_allTransactionsProcessed() throws InterruptedException {
+    Listener listener = new Listener();
+    Database database = create("postCommitBlock", 4, PostCommitOverflow.BLOCK, listener);
+    try {
+      for (int i = 0; i < 50; i++) {
+        database.save(new EColAB("a" + i, "b"));
+      }
+      await(listener.inserted::get, 50);
+
+      ServerMetrics metrics = database.metaInfo().collectMetrics();
+      assertThat(timedMetricCount(metrics, "ebean.postcommit.lag")).isEqualTo(50);
+      assertThat(countMetric(metrics, "ebean.postcommit.queue.depth")).isBetween(1L, 4L);
+    } finally {
+      database.shutdown();
+    }
+  }
+
+  @Test
+  void callerRuns_overflowProcessedByCommittingThread() throws InterruptedException {
+    Listener listener = new Listener();
+    Database database = create("postCommitCallerRuns", 1, PostCommitOverflow.CALLER_RUNS, listener);
+    try {
+      EColAB cached = new EColAB("cached", "x");
+      database.save(cached);
+      await(listener.inserted::get, 1);
+      database.find(EColAB.class, cached.getId());
+
+      // the consumer blocks notifying the listener, the next transaction fills the queue
+      listener.block = new CountDownLatch(1);
+      database.save(new EColAB("block", "x"));
+      assertThat(listener.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+      database.save(new EColAB("queued", "x"));
+
+      // the queue is full so this transaction is processed by the committing thread
+      cached.setColumnB("y");
+      database.update(cached);
+      assertThat(listener.updated.get()).isEqualTo(1);
+      assertThat(listener.inserted.get()).isEqualTo(1);
+
+      listener.block.countDown();
+      await(listener.inserted::get, 3);
+      assertThat(listener.updated.get()).isEqualTo(1);
+      assertThat(countMetric(database.metaInfo().collectMetrics(), "ebean.postcommit.overflow")).isEqualTo(1);
+
+      // bean cache invalidated after the queued transactions such that the find by id hits the database
+      LoggedSql.start();
+      EColAB found = database.find(EColAB.class, cached.getId());
+      List<String> sql = LoggedSql.stop();
+      assertThat(found.getColumnB()).isEqualTo("y");
+      assertThat(sql).hasSize(1);
+    } finally {
+      database.shutdown();
+    }
+  }
+
+  @Test
+  void invalidate_droppedTransactionInvalidatesCache() throws InterruptedException {
+    Listener listener = new Listener();
+    Database database = create("postCommitInvalidate", 1, PostCommitOverflow.INVALIDATE, listener);
+    try {
+      EColAB cached = new EColAB("cached", "x");
+      database.save(cached);
+      await(listener.inserted::get, 1);
+      database.find(EColAB.class, cached.getId());
+
+      // the consumer blocks notifying the listener, the next transaction fills the queue
+      listener.block = new CountDownLatch(1);
+      database.save(new EColAB("block", "x"));
+      assertThat(listener.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+      database.save(new EColAB("queued", "x"));
+
+      // the queue is full so this transaction is dropped (the listener is skipped)
+      cached.setColumnB("y");
+      database.update(cached);
+
+      listener.block.countDown();
+      await(listener.inserted::get, 3);
+      assertThat(listener.updated.get()).isEqualTo(0);
+      assertThat(countMetric(database.metaInfo().collectMetrics(), "ebean.postcommit.overflow")).isEqualTo(1);
+
+      // bean cache invalidated such that the find by id hits the database
+      LoggedSql.start();
+      EColAB found = database.find(EColAB.class, cached.getId());
+      List<String> sql = LoggedSql.stop();
+      assertThat(found.getColumnB()).isEqualTo("y");
+      assertThat(sql).hasSize(1);
+    } finally {
+      database.shutdown();
+    }
+  }
+
+  static class Listener extends AbstractBeanPersistListener {
+
+    final AtomicInteger inserted = new AtomicInteger();
+    final AtomicInteger updated = new AtomicInteger();
+    final CountDownLatch blocked = new CountDownLatch(1);
+    volatile CountDownLatch block;
+
+    @Override
+    public boolean isRegisterFor(Class<?> cls) {
+      return EColAB.class.equals(cls);
+    }
+
+    @Override
+    public void inserted(Object bean) {
+      CountDownLatch latch = block;
+      if (latch != null && "block".equals(((EColAB) bean).getColumnA())) {
+        blocked.countDown();
+        try {
+          latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      inserted.incrementAndGet();
+    }
+
+    @Override
+    public void updated(Object bean, Set<String> updatedProperties) {
+      updated.incrementAndGet();
+    }
+  }
+}
@@ -26,6 +26,7 @@ public class H2Platform extends DatabasePlatform {
     this.nativeUuidType = true;
     this.selectCountWithColumnAlias = true;
     this.supportsDeleteTableAlias = true;
+    this.supportsMultiRowInsert = true;
     this.inlineSqlUpdateLimit = true;
     this.dbDefaultValue.setNow("now()");
     this.exceptionTranslator =
@@ -17,6 +17,8 @@ public abstract class BaseMySqlPlatform extends DatabasePlatform {
     this.selectCountWithAlias = true;
     this.supportsSavepointId = false;
     this.inlineSqlUpdateLimit = true;
+    this.supportsMultiRowInsert = true;
+    this.maxBindParameters = 65535;
     this.dbEncrypt = new MySqlDbEncrypt();
     this.historySupport = new MySqlHistorySupport();
     this.dbIdentity.setIdType(IdType.IDENTITY);
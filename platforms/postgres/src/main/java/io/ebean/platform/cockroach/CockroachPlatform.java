@@ -12,6 +12,7 @@ public class CockroachPlatform extends PostgresPlatform {
     super();
     this.platform = Platform.COCKROACH;
     this.historySupport = null; // not yet implemented in DDL
+    this.supportsCopyIn = false; // use batched inserts for bulk insert
   }
 
 }
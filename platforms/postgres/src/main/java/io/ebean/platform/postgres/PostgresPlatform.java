@@ -31,6 +31,8 @@ public class PostgresPlatform extends DatabasePlatform {
     this.maxInBinding = 32_000; // technically 32_767
     this.supportsNativeIlike = true;
     this.supportsDeleteTableAlias = true;
+    this.supportsMultiRowInsert = true;
+    this.supportsCopyIn = true;
     this.selectCountWithAlias = true;
     this.blobDbType = Types.LONGVARBINARY;
     this.clobDbType = Types.VARCHAR;
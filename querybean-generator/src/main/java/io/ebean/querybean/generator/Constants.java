@@ -21,9 +21,14 @@ interface Constants {
   String DBJSON = "io.ebean.annotation.DbJson";
   String DBJSONB = "io.ebean.annotation.DbJsonB";
   String DBNAME = "io.ebean.annotation.DbName";
+  String DBMAP = "io.ebean.annotation.DbMap";
+  String UNMAPPED_JSON = "io.ebean.annotation.UnmappedJson";
+  String TRANSIENT = "jakarta.persistence.Transient";
+  String CONVERT = "jakarta.persistence.Convert";
 
   String MODULEINFO = "io.ebean.config.ModuleInfo";
   String METAINF_MANIFEST = "META-INF/ebean-generated-info.mf";
+  String METAINF_DEPLOY = "META-INF/ebean-generated-deploy.txt";
   String METAINF_SERVICES_MODULELOADER = "META-INF/services/io.ebean.config.EntityClassRegister";
 
   String DTO_MAPPING = "io.ebean.annotation.DtoMapping";
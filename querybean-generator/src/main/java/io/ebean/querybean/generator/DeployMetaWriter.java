@@ -0,0 +1,186 @@
+package io.ebean.querybean.generator;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.FileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Write the deployment metadata for the entity beans (and their super classes).
+ * <p>
+ * For each class this is the checksum of the persistent fields (name and erased type)
+ * and the kind of each field that can be determined at compile time - scalar, associated
+ * one or associated many. At startup the kind is used instead of resolving the field
+ * generic types and checking annotations via reflection. A class with a checksum that
+ * does not match the runtime fields (stale metadata) is deployed using reflection.
+ * <pre>
+ *
+ *   class org.example.Customer 5d0f4a1c
+ *    name s
+ *    billingAddress o
+ *    orders m
+ *
+ * </pre>
+ */
+class DeployMetaWriter implements Constants {
+
+  private static final String MODEL = "io.ebean.Model";
+  private static final String[] SPECIAL = {TRANSIENT, CONVERT, DBJSON, DBJSONB, DBARRAY, DBMAP, UNMAPPED_JSON};
+  private static final Set<String> MANY_TYPES = Set.of("java.util.List", "java.util.Set", "java.util.Map", "java.util.SequencedSet", "java.util.SequencedMap");
+
+  private final ProcessingContext processingContext;
+  private final Set<String> written = new LinkedHashSet<>();
+  private final StringBuilder content = new StringBuilder(4096);
+
+  DeployMetaWriter(ProcessingContext processingContext) {
+    this.processingContext = processingContext;
+  }
+
+  void write() throws IOException {
+    for (String bean : processingContext.getDbEntities()) {
+      addBean(bean);
+    }
+    for (Set<String> beans : processingContext.getOtherDbEntities().values()) {
+      for (String bean : beans) {
+        addBean(bean);
+      }
+    }
+    if (written.isEmpty()) {
+      return;
+    }
+    FileObject jfo = processingContext.createDeployMetaWriter();
+    if (jfo != null) {
+      try (Writer writer = jfo.openWriter()) {
+        writer.write("# generated by Ebean query bean generator\n");
+        writer.write(content.toString());
+      }
+    }
+    writeNativeImageResources();
+  }
+
+  private void writeNativeImageResources() throws IOException {
+    FileObject jfo = processingContext.createMetaInfWriter("META-INF/native-image/" + processingContext.getFactoryPackage() + ".ebean-entity/resource-config.json");
+    if (jfo != null) {
+      try (Writer writer = jfo.openWriter()) {
+        writer.write("{\"resources\": {\"includes\": [{\"pattern\": \"\\\\Q" + METAINF_DEPLOY + "\\\\E\"}]}}\n");
+      }
+    }
+  }
+
+  private void addBean(String fullName) {
+    TypeElement element = processingContext.elementUtils().getTypeElement(fullName);
+    while (element != null) {
+      String binaryName = processingContext.elementUtils().getBinaryName(element).toString();
+      if (binaryName.equals(MODEL) || binaryName.equals("java.lang.Object") || !written.add(binaryName)) {
+        return;
+      }
+      addClass(binaryName, element);
+      TypeMirror superclass = element.getSuperclass();
+      element = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+  }
+
+  private void addClass(String binaryName, TypeElement element) {
+    final Map<String, String> types = new TreeMap<>();
+    final StringBuilder kinds = new StringBuilder();
+    for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+      if (ignoreField(field)) {
+        continue;
+      }
+      String name = field.getSimpleName().toString();
+      types.put(name, typeName(processingContext.typeUtils().erasure(field.asType())));
+      char kind = kind(field);
+      if (kind != 0) {
+        kinds.append(' ').append(name).append(' ').append(kind).append('\n');
+      }
+    }
+    content.append("class ").append(binaryName).append(' ').append(checksum(types)).append('\n').append(kinds);
+  }
+
+  /**
+   * Same as the fields ignored at runtime (static, transient and Ebean or AspectJ internal fields).
+   */
+  private static boolean ignoreField(VariableElement field) {
+    Set<Modifier> modifiers = field.getModifiers();
+    String name = field.getSimpleName().toString();
+    return modifiers.contains(Modifier.STATIC)
+      || modifiers.contains(Modifier.TRANSIENT)
+      || name.startsWith("_ebean_")
+      || name.startsWith("ajc$instance$");
+  }
+
+  /**
+   * Return the kind of the field or 0 when it is determined at runtime.
+   */
+  private char kind(VariableElement field) {
+    if (ProcessingContext.hasAnnotations(field, SPECIAL)) {
+      return 0;
+    }
+    TypeMirror type = field.asType();
+    if (type.getKind().isPrimitive()) {
+      return 's';
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      // type variable or array
+      return 0;
+    }
+    DeclaredType declaredType = (DeclaredType) type;
+    Element typeElement = declaredType.asElement();
+    if (MANY_TYPES.contains(((TypeElement) typeElement).getQualifiedName().toString())) {
+      List<? extends TypeMirror> args = declaredType.getTypeArguments();
+      if (args.isEmpty()) {
+        return 0;
+      }
+      TypeMirror target = args.get(args.size() - 1);
+      return target.getKind() == TypeKind.DECLARED && isBean(((DeclaredType) target).asElement()) ? 'm' : 0;
+    }
+    if (isBean(typeElement)) {
+      return 'o';
+    }
+    return typeElement.getKind() == ElementKind.ENUM || declaredType.getTypeArguments().isEmpty() ? 's' : 0;
+  }
+
+  private boolean isBean(Element element) {
+    return processingContext.isEntityOrEmbedded(element);
+  }
+
+  /**
+   * Return the type name matching {@code Class.getTypeName()} at runtime.
+   */
+  private String typeName(TypeMirror type) {
+    if (type.getKind() == TypeKind.ARRAY) {
+      return typeName(((ArrayType) type).getComponentType()) + "[]";
+    }
+    if (type.getKind() == TypeKind.DECLARED) {
+      return processingContext.elementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+    }
+    return type.toString();
+  }
+
+  /**
+   * Checksum of the field names and types sorted by name (matching DeployMeta at runtime).
+   */
+  static String checksum(Map<String, String> types) {
+    CRC32 crc = new CRC32();
+    for (Map.Entry<String, String> entry : types.entrySet()) {
+      crc.update((entry.getKey() + ' ' + entry.getValue() + '\n').getBytes(StandardCharsets.UTF_8));
+    }
+    return Long.toHexString(crc.getValue());
+  }
+}
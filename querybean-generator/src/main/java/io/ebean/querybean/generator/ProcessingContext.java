@@ -223,7 +223,7 @@ class ProcessingContext implements Constants {
     );
   }
 
-  private static boolean hasAnnotations(Element element, String... annotations) {
+  static boolean hasAnnotations(Element element, String... annotations) {
     return getAnnotation(element, annotations) != null;
   }
 
@@ -246,7 +246,7 @@ class ProcessingContext implements Constants {
     return hasAnnotations(mappedSuper, MAPPED_SUPERCLASS, INHERITANCE, DISCRIMINATOR_VALUE);
   }
 
-  private boolean isEntityOrEmbedded(Element mappedSuper) {
+  boolean isEntityOrEmbedded(Element mappedSuper) {
     return hasAnnotations(mappedSuper, ENTITY, EMBEDDABLE);
   }
 
@@ -676,6 +676,10 @@ class ProcessingContext implements Constants {
     return createMetaInfWriter(METAINF_MANIFEST);
   }
 
+  FileObject createDeployMetaWriter() throws IOException {
+    return createMetaInfWriter(METAINF_DEPLOY);
+  }
+
   FileObject createNativeImageWriter(String name) throws IOException {
     String nm = "META-INF/native-image/" + name + "/reflect-config.json";
     return createMetaInfWriter(nm);
@@ -125,6 +125,7 @@ public class Processor extends AbstractProcessor implements Constants {
     try {
       SimpleModuleInfoWriter moduleWriter = new SimpleModuleInfoWriter(processingContext);
       moduleWriter.write();
+      new DeployMetaWriter(processingContext).write();
     } catch (FilerException e) {
       processingContext.logWarn(null, "FilerException trying to write EntityClassRegister error: " + e);
     } catch (Throwable e) {
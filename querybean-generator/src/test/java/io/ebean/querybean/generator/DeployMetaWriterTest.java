@@ -0,0 +1,186 @@
+package io.ebean.querybean.generator;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the processor over a small entity model and checks the generated deployment metadata
+ * (META-INF/ebean-generated-deploy.txt) - the field kinds and that the checksum matches the
+ * checksum computed at runtime from the declared fields of the compiled classes.
+ */
+class DeployMetaWriterTest {
+
+  @Test
+  void write_expectKindsAndRuntimeChecksum() throws Exception {
+    Path sourceDir = Files.createTempDirectory("deploy-meta-src");
+    Path outDir = Files.createTempDirectory("deploy-meta-out");
+    Path genSourceDir = Files.createTempDirectory("deploy-meta-gensrc");
+    Path classesDir = Files.createTempDirectory("deploy-meta-classes");
+
+    writeSource(sourceDir, "org.tests.deploymeta.BaseEntity",
+      "package org.tests.deploymeta;\n"
+        + "\n"
+        + "import jakarta.persistence.Id;\n"
+        + "import jakarta.persistence.MappedSuperclass;\n"
+        + "import jakarta.persistence.Version;\n"
+        + "\n"
+        + "@MappedSuperclass\n"
+        + "public abstract class BaseEntity {\n"
+        + "  @Id\n"
+        + "  long id;\n"
+        + "  @Version\n"
+        + "  long version;\n"
+        + "}\n");
+    writeSource(sourceDir, "org.tests.deploymeta.Status",
+      "package org.tests.deploymeta;\n"
+        + "\n"
+        + "public enum Status { NEW, ACTIVE }\n");
+    writeSource(sourceDir, "org.tests.deploymeta.Customer",
+      "package org.tests.deploymeta;\n"
+        + "\n"
+        + "import jakarta.persistence.Entity;\n"
+        + "import jakarta.persistence.ManyToOne;\n"
+        + "import jakarta.persistence.OneToMany;\n"
+        + "import jakarta.persistence.Transient;\n"
+        + "import java.util.List;\n"
+        + "\n"
+        + "@Entity\n"
+        + "public class Customer extends BaseEntity {\n"
+        + "  static final int MAX = 10;\n"
+        + "  String name;\n"
+        + "  Status status;\n"
+        + "  @ManyToOne\n"
+        + "  Customer parent;\n"
+        + "  @OneToMany(mappedBy = \"customer\")\n"
+        + "  List<Order> orders;\n"
+        + "  @Transient\n"
+        + "  String notes;\n"
+        + "  transient String cached;\n"
+        + "  byte[] data;\n"
+        + "}\n");
+    writeSource(sourceDir, "org.tests.deploymeta.Order",
+      "package org.tests.deploymeta;\n"
+        + "\n"
+        + "import jakarta.persistence.Entity;\n"
+        + "import jakarta.persistence.Id;\n"
+        + "import jakarta.persistence.ManyToOne;\n"
+        + "\n"
+        + "@Entity\n"
+        + "public class Order {\n"
+        + "  @Id\n"
+        + "  Long id;\n"
+        + "  @ManyToOne\n"
+        + "  Customer customer;\n"
+        + "}\n");
+
+    List<Path> sourceFiles;
+    try (var walk = Files.walk(sourceDir)) {
+      sourceFiles = walk.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList());
+    }
+    // the generated query beans reference ebean-querybean (not available here) so only
+    // the annotation processing is run, and the entity classes are compiled separately
+    compile(sourceFiles, List.of("-proc:only", "-d", outDir.toString(), "-s", genSourceDir.toString(), "-processor", Processor.class.getName()));
+    assertTrue(compile(sourceFiles, List.of("-proc:none", "-d", classesDir.toString())), "entity classes should compile");
+
+    Path deployFile = outDir.resolve(Constants.METAINF_DEPLOY);
+    assertTrue(Files.exists(deployFile), "expected generated " + Constants.METAINF_DEPLOY);
+    Map<String, List<String>> generated = read(Files.readAllLines(deployFile, StandardCharsets.UTF_8));
+
+    assertEquals(List.of("id s", "version s"), sorted(generated.get("org.tests.deploymeta.BaseEntity")));
+    // @Transient and array fields have no kind (determined at runtime), static and transient fields are ignored
+    assertEquals(List.of("name s", "orders m", "parent o", "status s"), sorted(generated.get("org.tests.deploymeta.Customer")));
+    assertEquals(List.of("customer o", "id s"), sorted(generated.get("org.tests.deploymeta.Order")));
+
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+      for (String className : List.of("org.tests.deploymeta.BaseEntity", "org.tests.deploymeta.Customer", "org.tests.deploymeta.Order")) {
+        Class<?> type = classLoader.loadClass(className);
+        assertEquals(runtimeChecksum(type), generated.get(className).get(0), "checksum of " + className);
+      }
+    }
+  }
+
+  /**
+   * Return the generated lines by class name with the checksum as the first entry.
+   */
+  private static Map<String, List<String>> read(List<String> lines) {
+    Map<String, List<String>> classes = new LinkedHashMap<>();
+    List<String> current = null;
+    for (String line : lines) {
+      if (line.startsWith("class ")) {
+        String[] tokens = line.split(" ");
+        current = new ArrayList<>();
+        current.add(tokens[2]);
+        classes.put(tokens[1], current);
+      } else if (current != null && !line.isBlank() && !line.startsWith("#")) {
+        current.add(line.trim());
+      }
+    }
+    return classes;
+  }
+
+  private static List<String> sorted(List<String> classLines) {
+    return classLines.subList(1, classLines.size()).stream().sorted().collect(Collectors.toList());
+  }
+
+  /**
+   * The checksum computed at runtime from the persistent declared fields (as per DeployMeta in ebean-core).
+   */
+  private static String runtimeChecksum(Class<?> type) {
+    CRC32 crc = new CRC32();
+    Arrays.stream(type.getDeclaredFields())
+      .filter(field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()))
+      .sorted(Comparator.comparing(Field::getName))
+      .forEach(field -> crc.update((field.getName() + ' ' + field.getType().getTypeName() + '\n').getBytes(StandardCharsets.UTF_8)));
+    return Long.toHexString(crc.getValue());
+  }
+
+  private static boolean compile(List<Path> sourceFiles, List<String> options) throws IOException {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.getDefault(), null)) {
+      Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromPaths(sourceFiles);
+      return compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call();
+    }
+  }
+
+  private void writeSource(Path sourceDir, String fqn, String content) {
+    try {
+      Path pkgDir = sourceDir.resolve(fqn.substring(0, fqn.lastIndexOf('.')).replace('.', '/'));
+      Files.createDirectories(pkgDir);
+      String simpleName = fqn.substring(fqn.lastIndexOf('.') + 1);
+      Path file = pkgDir.resolve(simpleName + ".java");
+      try (Writer writer = Files.newBufferedWriter(file)) {
+        writer.write(content);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package org.example.records;
+
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.DatabaseBuilder;
+import io.ebeaninternal.api.SpiEbeanServer;
+import io.ebeaninternal.server.deploy.BeanDescriptor;
+import io.ebeaninternal.server.deploy.BeanProperty;
+import io.ebeaninternal.server.deploy.BeanPropertyAssocMany;
+import io.ebeaninternal.server.deploy.BeanPropertyAssocOne;
+import io.ebeaninternal.server.deploy.parse.DeployMeta;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The deployment metadata generated by the query bean generator is loaded and the properties
+ * created using it match the properties created via reflection.
+ */
+class GeneratedDeployMetaTest {
+
+  private static final List<Class<?>> beanTypes = new ArrayList<>();
+  private static Database generated;
+  private static Database reflection;
+
+  @BeforeAll
+  static void create() {
+    for (BeanDescriptor<?> desc : ((SpiEbeanServer) DB.getDefault()).descriptors()) {
+      beanTypes.add(desc.type());
+    }
+    generated = create("deployGenerated", true);
+    reflection = create("deployReflection", false);
+  }
+
+  @AfterAll
+  static void shutdown() {
+    generated.shutdown();
+    reflection.shutdown();
+  }
+
+  private static Database create(String name, boolean loadModuleInfo) {
+    DatabaseBuilder config = Database.builder();
+    config.setName(name);
+    config.setDataSource(DB.getDefault().dataSource());
+    config.setDdlGenerate(false);
+    config.setDdlRun(false);
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.loadModuleInfo(loadModuleInfo);
+    config.addAll(beanTypes);
+    return config.build();
+  }
+
+  @Test
+  void load_expect_currentForEntities() {
+    DeployMeta meta = DeployMeta.load(getClass().getClassLoader());
+    assertThat(meta.isCurrent(Course.class)).isTrue();
+    assertThat(meta.isCurrent(BaseModel.class)).isTrue();
+    assertThat(meta.isCurrent(HiBasic.class)).isTrue();
+    assertThat(DeployMeta.none().isCurrent(Course.class)).isFalse();
+  }
+
+  @Test
+  void properties_expect_sameAsReflection() {
+    Map<String, List<String>> expected = describe(reflection);
+    Map<String, List<String>> actual = describe(generated);
+
+    assertThat(expected).isNotEmpty();
+    assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+    for (Map.Entry<String, List<String>> entry : expected.entrySet()) {
+      assertThat(actual.get(entry.getKey()))
+        .describedAs(entry.getKey())
+        .containsExactlyElementsOf(entry.getValue());
+    }
+  }
+
+  private static Map<String, List<String>> describe(Database database) {
+    Map<String, List<String>> map = new TreeMap<>();
+    for (BeanDescriptor<?> desc : ((SpiEbeanServer) database).descriptors()) {
+      List<String> lines = new ArrayList<>();
+      for (BeanProperty property : desc.propertiesAll()) {
+        lines.add(property.getClass().getSimpleName() + " " + property.name() + " " + property.dbColumn()
+          + " " + property.type().getName() + " " + property.jdbcType() + " id:" + property.isId() + " version:" + property.isVersion());
+      }
+      for (BeanPropertyAssocOne<?> one : desc.propertiesOne()) {
+        lines.add("one " + one.name() + " " + one.targetType().getName() + " join:" + one.tableJoin());
+      }
+      for (BeanPropertyAssocMany<?> many : desc.propertiesMany()) {
+        lines.add("many " + many.name() + " " + many.targetType().getName() + " " + many.manyType() + " join:" + many.tableJoin());
+      }
+      map.put(desc.fullName(), lines);
+    }
+    return map;
+  }
+}